@@ -0,0 +1,143 @@
+package battleship.bench;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import battleship.arena.GameArena;
+import battleship.controller.GameCommand;
+import battleship.controller.GameSession;
+import battleship.model.GameRules;
+import battleship.strategy.FleetPlacementStrategy;
+import battleship.strategy.PlacementStrategy;
+
+/**
+ * This class parks many games that wait for a shot, first as sessions on the heap and then in
+ * a {@link GameArena}, and prints the heap, the memory outside the heap and the time spent in
+ * garbage collection of both. Every game has placed its ships and fired a few shots.
+ * <p>
+ * Arguments: [games] [heap|arena]
+ */
+public class ArenaLoadTest {
+    // number of shots every game fires before it is parked
+    private static final int SHOTS = 20;
+
+    public static void main(String[] args) {
+        int games = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        String mode = args.length > 1 ? args[1] : "both";
+        GameRules rules = GameRules.standard();
+        if (!"arena".equals(mode)) {
+            heap(rules, games);
+        }
+        if (!"heap".equals(mode)) {
+            arena(rules, games);
+        }
+    }
+
+    /**
+     * This method keeps the games as sessions on the heap
+     *
+     * @param rules		the {@link GameRules}
+     * @param games		the number of games
+     */
+    private static void heap(GameRules rules, int games) {
+        long heapBefore = usedHeap();
+        long gcBefore = gcMillis();
+        long start = System.nanoTime();
+        List<GameSession> sessions = new ArrayList<>(games);
+        PlacementStrategy placement = new FleetPlacementStrategy(rules);
+        Random random = new Random(1);
+        for (int game = 0; game < games; game++) {
+            GameSession session = new GameSession(rules);
+            play(session, placement, random);
+            sessions.add(session);
+        }
+        report("heap", games, start, usedHeap() - heapBefore, 0, gcMillis() - gcBefore);
+        sessions.clear();
+    }
+
+    /**
+     * This method parks the games in an arena
+     *
+     * @param rules		the {@link GameRules}
+     * @param games		the number of games
+     */
+    private static void arena(GameRules rules, int games) {
+        long heapBefore = usedHeap();
+        long gcBefore = gcMillis();
+        long start = System.nanoTime();
+        GameArena arena = new GameArena(rules);
+        PlacementStrategy placement = new FleetPlacementStrategy(rules);
+        Random random = new Random(1);
+        for (int game = 0; game < games; game++) {
+            int slot = arena.allocate();
+            GameSession session = arena.session(slot);
+            play(session, placement, random);
+            arena.park(slot, session);
+        }
+        report("arena", games, start, usedHeap() - heapBefore, arena.getMemoryBytes(), gcMillis() - gcBefore);
+    }
+
+    /**
+     * This method adds the players, places their ships and fires a few shots
+     *
+     * @param session		the {@link GameSession}
+     * @param placement		the {@link PlacementStrategy} of both players
+     * @param random		the {@link Random} generator of the shots
+     */
+    private static void play(GameSession session, PlacementStrategy placement, Random random) {
+        session.submit(GameCommand.addPlayer("Player1"));
+        session.submit(GameCommand.addPlayer("Player2"));
+        while (session.getNextShipType() != null) {
+            session.submit(GameCommand.placeShip(placement.shipCoordinates(session.getNextShipType(),
+                    session.getCurrentPlayer().getBattlefield())));
+        }
+        int cells = session.getRules().getHeight() * session.getRules().getWidth();
+        for (int shot = 0; shot < SHOTS; shot++) {
+            session.submit(GameCommand.shot(session.getRules().getCoordinates().get(random.nextInt(cells))));
+        }
+    }
+
+    /**
+     * This method prints the results of a run
+     *
+     * @param name			the name of the run
+     * @param games			the number of games
+     * @param start			the start time of the run in nanoseconds
+     * @param heap			the number of bytes of the heap taken by the games
+     * @param offHeap		the number of bytes outside the heap taken by the games
+     * @param gcMillis		the time spent in garbage collection in milliseconds
+     */
+    private static void report(String name, int games, long start, long heap, long offHeap, long gcMillis) {
+        System.out.printf("%-6s %,d games in %.1f s: heap %,d bytes per game, off-heap %,d bytes per game, gc %d ms%n",
+                name, games, (System.nanoTime() - start) / 1e9, heap / games, offHeap / games, gcMillis);
+    }
+
+    /**
+     * This method returns the used heap after a garbage collection
+     *
+     * @return	the number of bytes
+     */
+    private static long usedHeap() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    /**
+     * This method returns the time all garbage collectors have spent so far
+     *
+     * @return	the time in milliseconds
+     */
+    private static long gcMillis() {
+        long millis = 0;
+        for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            millis += Math.max(collector.getCollectionTime(), 0);
+        }
+        return millis;
+    }
+}
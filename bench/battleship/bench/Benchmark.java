@@ -0,0 +1,28 @@
+package battleship.bench;
+
+/**
+ * This interface contains the methods required to implement a benchmark
+ */
+public interface Benchmark {
+    /**
+     * This method returns the name of the benchmark
+     *
+     * @return	the {@link String} benchmark name
+     */
+    String getName();
+
+    /**
+     * This method prepares the state for the next batch of operations, it is not measured
+     *
+     * @param batchSize		the number of operations in the batch
+     */
+    void setUp(int batchSize);
+
+    /**
+     * This method performs one measured operation
+     *
+     * @param index		the index of the operation in the batch
+     * @return			a value derived from the operation, so that it cannot be optimized away
+     */
+    long run(int index);
+}
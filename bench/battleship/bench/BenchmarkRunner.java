@@ -0,0 +1,349 @@
+package battleship.bench;
+
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.regex.Pattern;
+
+/**
+ * This class runs the benchmarks and reports the throughput and the allocation of every benchmark.
+ * <p>
+ * Options:
+ * <pre>
+ *   -w count         warmup iterations (default 3)
+ *   -i count         measured iterations (default 5)
+ *   -t millis        duration of an iteration (default 1000)
+ *   -f regex         run only benchmarks whose name contains a match
+ *   --save file      save the results as a baseline
+ *   --baseline file  compare with a saved baseline, exit with status 1 on a regression
+ *   --threshold pct  allowed regression in percent (default 10)
+ * </pre>
+ */
+public class BenchmarkRunner {
+    // the largest number of operations measured between two clock readings
+    private static final int MAX_BATCH_SIZE = 1000;
+
+    // the stream for the report, benchmarks may replace System.out
+    private final PrintStream report;
+    // the bean that counts allocated bytes of a thread
+    private final com.sun.management.ThreadMXBean threadBean;
+    // keeps the values returned by the benchmarks alive
+    private long sink;
+
+    /**
+     * Constructs the runner
+     *
+     * @param report	the {@link PrintStream} for the report
+     */
+    public BenchmarkRunner(PrintStream report) {
+        this.report = report;
+        this.threadBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    }
+
+    public static void main(String[] args) throws IOException {
+        int warmups = 3;
+        int iterations = 5;
+        long millis = 1000;
+        Pattern filter = Pattern.compile("");
+        String save = null;
+        String baseline = null;
+        double threshold = 10;
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "-w":
+                    warmups = Integer.parseInt(args[++i]);
+                    break;
+                case "-i":
+                    iterations = Integer.parseInt(args[++i]);
+                    break;
+                case "-t":
+                    millis = Long.parseLong(args[++i]);
+                    break;
+                case "-f":
+                    filter = Pattern.compile(args[++i]);
+                    break;
+                case "--save":
+                    save = args[++i];
+                    break;
+                case "--baseline":
+                    baseline = args[++i];
+                    break;
+                case "--threshold":
+                    threshold = Double.parseDouble(args[++i]);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown option " + args[i]);
+            }
+        }
+
+        BenchmarkRunner runner = new BenchmarkRunner(System.out);
+        Properties results = new Properties();
+        for (Benchmark benchmark : benchmarks()) {
+            if (filter.matcher(benchmark.getName()).find()) {
+                Result result = runner.measure(benchmark, warmups, iterations, millis);
+                results.setProperty(benchmark.getName(), result.format());
+            }
+        }
+
+        if (save != null) {
+            try (OutputStream out = new FileOutputStream(save)) {
+                results.store(out, "battleship benchmark baseline");
+            }
+        }
+        if (baseline != null && !runner.compare(results, baseline, threshold)) {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * This method returns all benchmarks
+     *
+     * @return	the {@link Benchmark} list
+     */
+    private static List<Benchmark> benchmarks() {
+        List<Benchmark> benchmarks = new ArrayList<>();
+        benchmarks.add(new ShotBenchmark(10, 10, 1, false));
+        benchmarks.add(new ShotBenchmark(100, 100, 50, false));
+        benchmarks.add(new ShotBenchmark(10, 10, 1, true));
+        benchmarks.add(new ShotBenchmark(100, 100, 50, true));
+        benchmarks.add(new MoveBenchmark(10, 10, 1, true));
+        benchmarks.add(new MoveBenchmark(100, 100, 50, true));
+        benchmarks.add(new MoveBenchmark(10, 10, 1, false));
+        benchmarks.add(new MoveBenchmark(100, 100, 50, false));
+        benchmarks.add(new PlacementBenchmark(10, 10, 1));
+        benchmarks.add(new PlacementBenchmark(100, 100, 50));
+        benchmarks.add(new FleetBenchmark(10, 10, 1, true));
+        benchmarks.add(new FleetBenchmark(100, 100, 50, true));
+        benchmarks.add(new FleetBenchmark(10, 10, 1, false));
+        benchmarks.add(new FleetBenchmark(100, 100, 50, false));
+        benchmarks.add(new FogBenchmark(10, 10, 1, true));
+        benchmarks.add(new FogBenchmark(100, 100, 50, true));
+        benchmarks.add(new FogBenchmark(10, 10, 1, false));
+        benchmarks.add(new FogBenchmark(100, 100, 50, false));
+        benchmarks.add(new RenderBenchmark(10, 10, 1));
+        benchmarks.add(new RenderBenchmark(100, 100, 50));
+        benchmarks.add(new GameBenchmark());
+        for (HeatmapBenchmark.Operation operation : HeatmapBenchmark.Operation.values()) {
+            benchmarks.add(new HeatmapBenchmark(10, 10, 1, operation));
+            benchmarks.add(new HeatmapBenchmark(100, 100, 50, operation));
+        }
+        benchmarks.add(new SolverBenchmark(10, 10, 1));
+        benchmarks.add(new SolverBenchmark(100, 100, 50));
+        for (ParserBenchmark.Parser parser : ParserBenchmark.Parser.values()) {
+            benchmarks.add(new ParserBenchmark(10, 10, parser));
+            benchmarks.add(new ParserBenchmark(100, 100, parser));
+        }
+        return benchmarks;
+    }
+
+    /**
+     * This method measures the benchmark and prints the result
+     *
+     * @param benchmark		the {@link Benchmark}
+     * @param warmups		the number of warmup iterations
+     * @param iterations	the number of measured iterations
+     * @param millis		the duration of an iteration
+     * @return				the {@link Result} of the measured iterations
+     */
+    public Result measure(Benchmark benchmark, int warmups, int iterations, long millis) {
+        int batchSize = batchSize(benchmark, millis);
+        for (int i = 0; i < warmups; i++) {
+            iteration(benchmark, batchSize, millis);
+        }
+        Result[] results = new Result[iterations];
+        for (int i = 0; i < iterations; i++) {
+            results[i] = iteration(benchmark, batchSize, millis);
+        }
+        Result result = Result.average(results);
+        report.printf("%-32s %14.1f ops/s  +-%5.1f%%  %10.1f B/op  %8.1f MB/s%n",
+                benchmark.getName(), result.opsPerSecond, result.error, result.bytesPerOp,
+                result.opsPerSecond * result.bytesPerOp / (1024 * 1024));
+        return result;
+    }
+
+    /**
+     * This method chooses the batch size so that a slow benchmark still runs
+     * many batches in an iteration
+     *
+     * @param benchmark		the {@link Benchmark}
+     * @param millis		the duration of an iteration
+     * @return				the number of operations in a batch
+     */
+    private int batchSize(Benchmark benchmark, long millis) {
+        int batchSize = 1;
+        while (batchSize < MAX_BATCH_SIZE) {
+            benchmark.setUp(batchSize);
+            long start = System.nanoTime();
+            for (int i = 0; i < batchSize; i++) {
+                sink += benchmark.run(i);
+            }
+            if (System.nanoTime() - start > millis * 10_000) {
+                break;
+            }
+            batchSize *= 2;
+        }
+        return Math.min(batchSize, MAX_BATCH_SIZE);
+    }
+
+    /**
+     * This method runs batches of the benchmark for the specified time
+     *
+     * @param benchmark		the {@link Benchmark}
+     * @param batchSize		the number of operations in a batch
+     * @param millis		the duration of the iteration
+     * @return				the {@link Result} of the iteration
+     */
+    private Result iteration(Benchmark benchmark, int batchSize, long millis) {
+        long threadId = Thread.currentThread().getId();
+        long operations = 0;
+        long nanos = 0;
+        long bytes = 0;
+        long deadline = System.nanoTime() + millis * 1_000_000;
+
+        while (System.nanoTime() < deadline) {
+            benchmark.setUp(batchSize);
+            long allocatedBefore = threadBean.getThreadAllocatedBytes(threadId);
+            long start = System.nanoTime();
+            for (int i = 0; i < batchSize; i++) {
+                sink += benchmark.run(i);
+            }
+            nanos += System.nanoTime() - start;
+            bytes += threadBean.getThreadAllocatedBytes(threadId) - allocatedBefore;
+            operations += batchSize;
+        }
+        return new Result(operations * 1e9 / nanos, 0, (double) bytes / operations);
+    }
+
+    /**
+     * This method compares the results with a saved baseline and prints the regressions
+     *
+     * @param results		the results of this run
+     * @param file			the baseline file
+     * @param threshold		allowed regression in percent
+     * @return				true if there is no regression, false otherwise
+     * @throws IOException	if the baseline could not be read
+     */
+    private boolean compare(Properties results, String file, double threshold) throws IOException {
+        Properties baseline = new Properties();
+        try (InputStream in = new FileInputStream(file)) {
+            baseline.load(in);
+        }
+
+        boolean passed = true;
+        for (String name : results.stringPropertyNames()) {
+            String expected = baseline.getProperty(name);
+            if (expected == null) {
+                continue;
+            }
+            Result before = Result.parse(expected);
+            Result after = Result.parse(results.getProperty(name));
+            if (after.opsPerSecond < before.opsPerSecond * (1 - threshold / 100)) {
+                report.printf("REGRESSION %s: %.1f ops/s, baseline %.1f ops/s%n",
+                        name, after.opsPerSecond, before.opsPerSecond);
+                passed = false;
+            }
+            // a few bytes are tolerated, the allocated bytes counter is not exact
+            if (after.bytesPerOp > before.bytesPerOp * (1 + threshold / 100) + 16) {
+                report.printf("REGRESSION %s: %.1f B/op, baseline %.1f B/op%n",
+                        name, after.bytesPerOp, before.bytesPerOp);
+                passed = false;
+            }
+        }
+        return passed;
+    }
+
+    /**
+     * This class represents the result of a benchmark
+     */
+    public static class Result {
+        // operations per second
+        private final double opsPerSecond;
+        // relative standard deviation of the throughput in percent
+        private final double error;
+        // allocated bytes per operation
+        private final double bytesPerOp;
+
+        /**
+         * Constructs a result
+         *
+         * @param opsPerSecond	operations per second
+         * @param error			relative standard deviation of the throughput in percent
+         * @param bytesPerOp	allocated bytes per operation
+         */
+        public Result(double opsPerSecond, double error, double bytesPerOp) {
+            this.opsPerSecond = opsPerSecond;
+            this.error = error;
+            this.bytesPerOp = bytesPerOp;
+        }
+
+        /**
+         * This method returns operations per second
+         *
+         * @return	operations per second
+         */
+        public double getOpsPerSecond() {
+            return opsPerSecond;
+        }
+
+        /**
+         * This method returns allocated bytes per operation
+         *
+         * @return	allocated bytes per operation
+         */
+        public double getBytesPerOp() {
+            return bytesPerOp;
+        }
+
+        /**
+         * This method averages the results of the iterations
+         *
+         * @param results	the {@link Result} array of the iterations
+         * @return			the average {@link Result}
+         */
+        private static Result average(Result[] results) {
+            double ops = 0;
+            double bytes = 0;
+            for (Result result : results) {
+                ops += result.opsPerSecond;
+                bytes += result.bytesPerOp;
+            }
+            ops /= results.length;
+            bytes /= results.length;
+
+            double variance = 0;
+            for (Result result : results) {
+                variance += (result.opsPerSecond - ops) * (result.opsPerSecond - ops);
+            }
+            double deviation = results.length > 1 ? Math.sqrt(variance / (results.length - 1)) : 0;
+            return new Result(ops, ops > 0 ? deviation * 100 / ops : 0, bytes);
+        }
+
+        /**
+         * This method converts the result to the baseline format
+         *
+         * @return	the {@link String} with the result
+         */
+        private String format() {
+            return opsPerSecond + "," + bytesPerOp;
+        }
+
+        /**
+         * This method reads the result in the baseline format
+         *
+         * @param value		the {@link String} with the result
+         * @return			the {@link Result}
+         */
+        private static Result parse(String value) {
+            String[] parts = value.split(",");
+            return new Result(Double.parseDouble(parts[0]), 0, Double.parseDouble(parts[1]));
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package battleship.bench;
+
+import java.util.List;
+
+import battleship.action.GameAction;
+import battleship.model.GameRules;
+import battleship.model.Player;
+import battleship.model.Validation;
+import battleship.model.ship.ShipType;
+import battleship.strategy.RandomPlacementStrategy;
+import battleship.strategy.SequentialFleetGenerator;
+
+/**
+ * This class measures generating a random legal fleet, either with the {@link SequentialFleetGenerator}
+ * or by drawing random positions with the {@link RandomPlacementStrategy} until
+ * {@link GameAction#tryPlaceShip} accepts them
+ */
+public class FleetBenchmark implements Benchmark {
+    // the rules with the battlefield size and the fleet
+    private final GameRules rules;
+    // true if the generator is measured
+    private final boolean generator;
+    // the generator of the fleets
+    private final SequentialFleetGenerator fleetGenerator;
+    // the placements written by the generator
+    private final int[] placements;
+    // the strategy that draws random positions
+    private final RandomPlacementStrategy strategy;
+
+    /**
+     * Constructs the benchmark
+     *
+     * @param height		battlefield height
+     * @param width			battlefield width
+     * @param copies		the number of copies of the standard fleet
+     * @param generator		true to measure the generator, false to measure drawing and rejecting positions
+     */
+    public FleetBenchmark(int height, int width, int copies, boolean generator) {
+        this.rules = new GameRules(height, width, Fleets.types(copies));
+        this.generator = generator;
+        this.fleetGenerator = new SequentialFleetGenerator(rules);
+        this.placements = new int[rules.getFleet().size()];
+        this.strategy = new RandomPlacementStrategy();
+    }
+
+    @Override
+    public String getName() {
+        return String.format("fleet %s %dx%d", generator ? "generator" : "rejection",
+                rules.getHeight(), rules.getWidth());
+    }
+
+    @Override
+    public void setUp(int batchSize) {
+    }
+
+    @Override
+    public long run(int index) {
+        if (generator) {
+            fleetGenerator.next(placements);
+            return placements[0];
+        }
+
+        Player player = new Player("Player", rules);
+        List<ShipType> fleet = rules.getFleet();
+        for (ShipType shipType : fleet) {
+            while (GameAction.tryPlaceShip(player, shipType,
+                    strategy.shipCoordinates(shipType, player.getBattlefield())) != Validation.OK) {
+                // the ship touches another one, draw again
+            }
+        }
+        return player.getBattlefield().markAt(0, 0).ordinal();
+    }
+}
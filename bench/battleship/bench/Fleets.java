@@ -0,0 +1,63 @@
+package battleship.bench;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import battleship.model.Coordinate;
+import battleship.model.ship.ShipType;
+
+/**
+ * This class builds fleet layouts used by the benchmarks
+ */
+public final class Fleets {
+
+    private Fleets() {
+    }
+
+    /**
+     * This method lays out copies of the standard fleet on a battlefield. The ships are placed
+     * horizontally on every second row with one free cell between them, so the layout is legal.
+     *
+     * @param height	battlefield height
+     * @param width		battlefield width
+     * @param copies	the number of copies of the standard fleet
+     * @return			the list of {@link Coordinate} arrays, one per ship, in the order of {@link #types}
+     */
+    public static List<Coordinate[]> layout(int height, int width, int copies) {
+        List<Coordinate[]> fleet = new ArrayList<>();
+        int vertical = 0;
+        int horizontal = 0;
+        for (ShipType shipType : types(copies)) {
+            if (horizontal + shipType.getSize() > width) {
+                vertical += 2;
+                horizontal = 0;
+            }
+            if (vertical >= height) {
+                throw new IllegalArgumentException("The fleet does not fit on the battlefield.");
+            }
+            Coordinate[] coordinates = new Coordinate[shipType.getSize()];
+            for (int i = 0; i < coordinates.length; i++) {
+                coordinates[i] = new Coordinate(vertical, horizontal++);
+            }
+            horizontal++;
+            fleet.add(coordinates);
+        }
+        return fleet;
+    }
+
+    /**
+     * This method returns ship types of copies of the standard fleet
+     *
+     * @param copies	the number of copies of the standard fleet
+     * @return			the {@link ShipType} list
+     */
+    public static List<ShipType> types(int copies) {
+        List<ShipType> types = new ArrayList<>();
+        for (int i = 0; i < copies; i++) {
+            for (ShipType shipType : ShipType.values()) {
+                types.add(shipType);
+            }
+        }
+        return types;
+    }
+}
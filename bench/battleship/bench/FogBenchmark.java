@@ -0,0 +1,82 @@
+package battleship.bench;
+
+import java.util.List;
+
+import battleship.action.GameAction;
+import battleship.model.Coordinate;
+import battleship.model.Player;
+import battleship.model.field.Battlefield;
+import battleship.model.field.BitboardBattlefield;
+import battleship.model.field.BoardView;
+import battleship.model.field.Mark;
+import battleship.model.ship.ShipType;
+
+/**
+ * This class measures reading a half shot battlefield under fog, either from the
+ * {@link Battlefield#getBattlefieldUnderFog()} copy or from the {@link Battlefield#getViewUnderFog()} view
+ */
+public class FogBenchmark implements Benchmark {
+    // battlefield height
+    private final int height;
+    // battlefield width
+    private final int width;
+    // the battlefield to hide under the fog
+    private final Battlefield battlefield;
+    // true if the battlefield is copied before it is read
+    private final boolean copy;
+
+    /**
+     * Constructs the benchmark
+     *
+     * @param height	battlefield height
+     * @param width		battlefield width
+     * @param copies	the number of copies of the standard fleet
+     * @param copy		true if the battlefield is copied before it is read
+     */
+    public FogBenchmark(int height, int width, int copies, boolean copy) {
+        this.height = height;
+        this.width = width;
+        this.battlefield = new BitboardBattlefield(height, width);
+        this.copy = copy;
+
+        Player player = new Player("Player", battlefield);
+        List<ShipType> types = Fleets.types(copies);
+        List<Coordinate[]> fleet = Fleets.layout(height, width, copies);
+        for (int i = 0; i < types.size(); i++) {
+            GameAction.placeShip(player, types.get(i), fleet.get(i));
+        }
+        for (int i = 0; i < height * width; i += 2) {
+            GameAction.shot(player, new Coordinate(i / width, i % width));
+        }
+    }
+
+    @Override
+    public String getName() {
+        return String.format("underFog %s %dx%d", copy ? "copy" : "view", height, width);
+    }
+
+    @Override
+    public void setUp(int batchSize) {
+    }
+
+    @Override
+    public long run(int index) {
+        long fog = 0;
+        if (copy) {
+            Mark[][] marks = battlefield.getBattlefieldUnderFog();
+            for (Mark[] row : marks) {
+                for (Mark mark : row) {
+                    fog += mark == Mark.FOG ? 1 : 0;
+                }
+            }
+        } else {
+            BoardView view = battlefield.getViewUnderFog();
+            for (int i = 0; i < height; i++) {
+                for (int j = 0; j < width; j++) {
+                    fog += view.markAt(i, j) == Mark.FOG ? 1 : 0;
+                }
+            }
+        }
+        return fog;
+    }
+}
@@ -0,0 +1,109 @@
+package battleship.bench;
+
+import java.util.List;
+
+import battleship.controller.GameController;
+import battleship.controller.GameView;
+import battleship.model.Coordinate;
+import battleship.model.ShotResult;
+import battleship.model.field.BoardView;
+import battleship.model.ship.ShipType;
+
+/**
+ * This class measures a full game driven through {@link GameController} by a scripted {@link GameView}
+ */
+public class GameBenchmark implements Benchmark {
+
+    @Override
+    public String getName() {
+        return "fullGame 10x10";
+    }
+
+    @Override
+    public void setUp(int batchSize) {
+    }
+
+    @Override
+    public long run(int index) {
+        ScriptedView view = new ScriptedView();
+        new GameController(view).run();
+        return view.shots;
+    }
+
+    /**
+     * This class is a {@link GameView} that places the same fleet for both players
+     * and shoots at every cell of the enemy battlefield row by row
+     */
+    private static class ScriptedView implements GameView {
+        // coordinates of the ships of the fleet
+        private static final List<Coordinate[]> FLEET = Fleets.layout(10, 10, 1);
+        // every cell of the battlefield in the order of the shots
+        private static final Coordinate[] TARGETS = new Coordinate[100];
+
+        static {
+            for (int i = 0; i < TARGETS.length; i++) {
+                TARGETS[i] = new Coordinate(i / 10, i % 10);
+            }
+        }
+
+        // game controller
+        private GameController controller;
+        // the number of the next ship to place
+        private int ship;
+        // the index of the next target of each player
+        private final int[] targets = new int[2];
+        // the player that moves now
+        private int current;
+        // the number of shots in the game
+        private long shots;
+
+        @Override
+        public void setController(GameController controller) {
+            this.controller = controller;
+        }
+
+        @Override
+        public void showBattlefield(BoardView battlefield) {
+        }
+
+        @Override
+        public void showBattlefields(BoardView enemyBattlefield, BoardView playerBattlefield) {
+        }
+
+        @Override
+        public void showWinner(String playerName) {
+        }
+
+        @Override
+        public void showShotResult(ShotResult shotResult) {
+        }
+
+        @Override
+        public void promptForPlayer() {
+            controller.addPlayer("Player1");
+            controller.addPlayer("Player2");
+        }
+
+        @Override
+        public void promptForShipsPlacement(String playerName) {
+            ship = 0;
+        }
+
+        @Override
+        public void promptForShipCoordinates(ShipType shipType) {
+            controller.placeShip(shipType, FLEET.get(ship++));
+        }
+
+        @Override
+        public void promptForAnotherPlayer() {
+            current = 1 - current;
+            controller.switchPlayer();
+        }
+
+        @Override
+        public void promptForShot(String playerName) {
+            shots++;
+            controller.performShot(TARGETS[targets[current]++]);
+        }
+    }
+}
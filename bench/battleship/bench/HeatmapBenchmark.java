@@ -0,0 +1,96 @@
+package battleship.bench;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import battleship.ai.ProbabilityShotStrategy;
+import battleship.model.Coordinate;
+import battleship.model.ShotResult;
+import battleship.model.field.BitboardBattlefield;
+import battleship.model.field.BoardView;
+
+/**
+ * This class measures the heatmap of {@link ProbabilityShotStrategy}: the incremental update
+ * after a shot, the full recomputation it replaces, and the choice of the next shot
+ */
+public class HeatmapBenchmark implements Benchmark {
+    // the measured operation
+    public enum Operation {
+        UPDATE, RECOMPUTE, NEXT_SHOT
+    }
+
+    // every seventh cell is shot before the measurement
+    private static final int PRIMED_STEP = 7;
+
+    // battlefield height
+    private final int height;
+    // battlefield width
+    private final int width;
+    // the number of copies of the standard fleet
+    private final int copies;
+    // the measured operation
+    private final Operation operation;
+    // cells that are shot in the measurement
+    private final Coordinate[] targets;
+    // the battlefield passed to the strategy, the strategy keeps its own record of the shots
+    private final BoardView battlefield;
+    // strategies for the current batch
+    private ProbabilityShotStrategy[] strategies;
+
+    /**
+     * Constructs the benchmark
+     *
+     * @param height		battlefield height
+     * @param width			battlefield width
+     * @param copies		the number of copies of the standard fleet
+     * @param operation		the measured {@link Operation}
+     */
+    public HeatmapBenchmark(int height, int width, int copies, Operation operation) {
+        this.height = height;
+        this.width = width;
+        this.copies = copies;
+        this.operation = operation;
+        this.battlefield = new BitboardBattlefield(height, width).getViewUnderFog();
+
+        List<Coordinate> targets = new ArrayList<>();
+        for (int i = 0; i < height * width; i++) {
+            if (i % PRIMED_STEP != 0) {
+                targets.add(new Coordinate(i / width, i % width));
+            }
+        }
+        this.targets = targets.toArray(new Coordinate[0]);
+    }
+
+    @Override
+    public String getName() {
+        return String.format("heatmap %s %dx%d", operation.name().toLowerCase(), height, width);
+    }
+
+    @Override
+    public void setUp(int batchSize) {
+        int count = operation == Operation.UPDATE ? (batchSize + targets.length - 1) / targets.length : 1;
+        strategies = new ProbabilityShotStrategy[count];
+        for (int i = 0; i < count; i++) {
+            strategies[i] = new ProbabilityShotStrategy(height, width, Fleets.types(copies));
+            for (int j = 0; j < height * width; j += PRIMED_STEP) {
+                strategies[i].shotResult(new Coordinate(j / width, j % width), ShotResult.MISS);
+            }
+        }
+    }
+
+    @Override
+    public long run(int index) {
+        switch (operation) {
+            case UPDATE:
+                Coordinate target = targets[index % targets.length];
+                ProbabilityShotStrategy strategy = strategies[index / targets.length];
+                strategy.shotResult(target, ShotResult.MISS);
+                return strategy.getDensity(target.getVertical(), target.getHorizontal());
+            case RECOMPUTE:
+                strategies[0].recompute();
+                return strategies[0].getDensity(0, 0);
+            default:
+                return strategies[0].nextShot(battlefield).getVertical();
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package battleship.bench;
+
+import java.util.List;
+import java.util.Random;
+
+import battleship.action.GameAction;
+import battleship.model.Coordinate;
+import battleship.model.Player;
+import battleship.model.field.BitboardBattlefield;
+import battleship.model.field.Mark;
+import battleship.model.ship.ShipType;
+
+/**
+ * This class measures trying a shot from a position in the middle of a game the way a search does,
+ * with {@link GameAction#apply} and {@link GameAction#undo} on the battlefield itself or on a copy of
+ * the battlefield that is built with the fleet and the shots of the position
+ */
+public class MoveBenchmark implements Benchmark {
+    // battlefield height
+    private final int height;
+    // battlefield width
+    private final int width;
+    // ship types of the fleet
+    private final List<ShipType> types;
+    // coordinates of the ships of the fleet
+    private final List<Coordinate[]> fleet;
+    // true to take the shot back, false to shoot at a copy
+    private final boolean undo;
+    // the position, half of the cells have been shot at
+    private final Player position;
+    // the cells the shots are tried at
+    private final int[] targets;
+
+    /**
+     * Constructs the benchmark
+     *
+     * @param height	battlefield height
+     * @param width		battlefield width
+     * @param copies	the number of copies of the standard fleet
+     * @param undo		true to take the shot back, false to shoot at a copy
+     */
+    public MoveBenchmark(int height, int width, int copies, boolean undo) {
+        this.height = height;
+        this.width = width;
+        this.types = Fleets.types(copies);
+        this.fleet = Fleets.layout(height, width, copies);
+        this.undo = undo;
+        this.position = place();
+        Random random = new Random(1);
+        for (int i = 0; i < height * width / 2; i++) {
+            GameAction.shot(position, random.nextInt(height * width));
+        }
+        this.targets = new int[height * width];
+        for (int i = 0; i < targets.length; i++) {
+            targets[i] = random.nextInt(height * width);
+        }
+    }
+
+    @Override
+    public String getName() {
+        return String.format("move %s %dx%d ships=%d", undo ? "undo" : "copy", height, width, types.size());
+    }
+
+    @Override
+    public void setUp(int batchSize) {
+    }
+
+    @Override
+    public long run(int index) {
+        int cell = targets[index % targets.length];
+        if (undo) {
+            long move = GameAction.apply(position, cell);
+            GameAction.undo(position, move);
+            return move;
+        }
+        Player copy = place();
+        for (int i = 0; i < height * width; i++) {
+            Mark mark = position.getMarkByCoordinate(i);
+            if (mark != Mark.FOG && mark != Mark.SHIP) {
+                GameAction.apply(copy, i);
+            }
+        }
+        return GameAction.apply(copy, cell);
+    }
+
+    /**
+     * This method places the fleet on a new battlefield
+     *
+     * @return	the {@link Player} with the battlefield
+     */
+    private Player place() {
+        Player player = new Player("Player", new BitboardBattlefield(height, width));
+        for (int j = 0; j < types.size(); j++) {
+            GameAction.placeShip(player, types.get(j), fleet.get(j));
+        }
+        return player;
+    }
+}
@@ -0,0 +1,139 @@
+package battleship.bench;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import battleship.model.Coordinate;
+import battleship.model.Coordinates;
+import battleship.view.CommandParser;
+import battleship.view.RowLabel;
+
+/**
+ * This class measures parsing the commands a player types, a shot at every other command and a
+ * ship at the others, with the split and parse path the views used before the {@link CommandParser}
+ * and with the parser reading a string or a buffer
+ */
+public class ParserBenchmark implements Benchmark {
+    /**
+     * This enum represents the ways the commands are parsed
+     */
+    public enum Parser {
+        // String.split, substring and Integer.parseInt for every command
+        SPLIT,
+        // the CommandParser reading the lines
+        CHARS,
+        // the CommandParser reading a buffer with all commands
+        BYTES
+    }
+
+    // number of different commands
+    private static final int COMMANDS = 4096;
+    // number of letters
+    private static final int LETTERS = 26;
+
+    // battlefield height
+    private final int height;
+    // battlefield width
+    private final int width;
+    // the way the commands are parsed
+    private final Parser parser;
+    // the coordinates of the battlefield
+    private final Coordinates coordinates;
+    // the commands as lines
+    private final String[] lines;
+    // the commands as ASCII lines one after another
+    private final ByteBuffer buffer;
+    // the parser of the commands
+    private final CommandParser commandParser;
+
+    /**
+     * Constructs the benchmark
+     *
+     * @param height	battlefield height
+     * @param width		battlefield width
+     * @param parser	the {@link Parser}
+     */
+    public ParserBenchmark(int height, int width, Parser parser) {
+        this.height = height;
+        this.width = width;
+        this.parser = parser;
+        this.coordinates = Coordinates.of(height, width);
+        this.commandParser = new CommandParser(coordinates);
+
+        Random random = new Random(1);
+        this.lines = new String[COMMANDS];
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < COMMANDS; i++) {
+            int row = random.nextInt(height);
+            int column = random.nextInt(width);
+            String line = RowLabel.of(row) + (column + 1);
+            if (i % 2 == 1) {
+                line += " " + RowLabel.of(row) + (Math.min(column + 4, width - 1) + 1);
+            }
+            lines[i] = line;
+            text.append(line).append('\n');
+        }
+        byte[] bytes = text.toString().getBytes(StandardCharsets.US_ASCII);
+        this.buffer = ByteBuffer.allocateDirect(bytes.length);
+        buffer.put(bytes).flip();
+    }
+
+    @Override
+    public String getName() {
+        return String.format("parse %s %dx%d", parser.name().toLowerCase(), height, width);
+    }
+
+    @Override
+    public void setUp(int batchSize) {
+        buffer.rewind();
+    }
+
+    @Override
+    public long run(int index) {
+        switch (parser) {
+            case SPLIT:
+                long sum = 0;
+                for (String coordinate : lines[index % COMMANDS].split(" ")) {
+                    sum += coordinates.cellOf(split(coordinate));
+                }
+                return sum;
+            case CHARS:
+                return commandParser.parse(lines[index % COMMANDS], 0) + commandParser.getCell(0);
+            default:
+                if (!buffer.hasRemaining()) {
+                    buffer.rewind();
+                }
+                return commandParser.parse(buffer) + commandParser.getCell(0);
+        }
+    }
+
+    /**
+     * This method converts the string to a coordinate the way the views did before the {@link CommandParser}
+     *
+     * @param coordinate	the {@link String} with the coordinate
+     * @return				the {@link Coordinate}
+     */
+    private Coordinate split(String coordinate) {
+        int letters = 0;
+        while (letters < coordinate.length() && coordinate.charAt(letters) >= 'A' && coordinate.charAt(letters) <= 'Z') {
+            letters++;
+        }
+        if (letters == 0) {
+            throw new IllegalArgumentException("Wrong coordinate!");
+        }
+        // the rows are labeled like spreadsheet columns
+        int vertical = 0;
+        for (int i = 0; i < letters; i++) {
+            vertical = vertical * LETTERS + coordinate.charAt(i) - 'A' + 1;
+        }
+        vertical--;
+        int horizontal;
+        try {
+            horizontal = Integer.parseInt(coordinate.substring(letters)) - 1;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Wrong coordinate!");
+        }
+        return coordinates.get(vertical, horizontal);
+    }
+}
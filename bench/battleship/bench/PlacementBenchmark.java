@@ -0,0 +1,62 @@
+package battleship.bench;
+
+import java.util.List;
+
+import battleship.action.GameAction;
+import battleship.model.Coordinate;
+import battleship.model.Player;
+import battleship.model.field.BitboardBattlefield;
+import battleship.model.ship.ShipType;
+
+/**
+ * This class measures placing a whole fleet with {@link GameAction#placeShip},
+ * which includes the check whether the location is free
+ */
+public class PlacementBenchmark implements Benchmark {
+    // battlefield height
+    private final int height;
+    // battlefield width
+    private final int width;
+    // ship types of the fleet
+    private final List<ShipType> types;
+    // coordinates of the ships of the fleet
+    private final List<Coordinate[]> fleet;
+    // players with empty battlefields for the current batch
+    private Player[] players;
+
+    /**
+     * Constructs the benchmark
+     *
+     * @param height	battlefield height
+     * @param width		battlefield width
+     * @param copies	the number of copies of the standard fleet
+     */
+    public PlacementBenchmark(int height, int width, int copies) {
+        this.height = height;
+        this.width = width;
+        this.types = Fleets.types(copies);
+        this.fleet = Fleets.layout(height, width, copies);
+    }
+
+    @Override
+    public String getName() {
+        return String.format("placeFleet %dx%d ships=%d", height, width, types.size());
+    }
+
+    @Override
+    public void setUp(int batchSize) {
+        players = new Player[batchSize];
+        for (int i = 0; i < batchSize; i++) {
+            players[i] = new Player("Player", new BitboardBattlefield(height, width));
+        }
+    }
+
+    @Override
+    public long run(int index) {
+        Player player = players[index];
+        for (int i = 0; i < types.size(); i++) {
+            GameAction.placeShip(player, types.get(i), fleet.get(i));
+        }
+        return player.getShipByCoordinate(fleet.get(0)[0]) == null ? 0 : 1;
+    }
+}
@@ -0,0 +1,79 @@
+package battleship.bench;
+
+import java.io.BufferedReader;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.io.StringReader;
+import java.util.List;
+
+import battleship.action.GameAction;
+import battleship.model.Coordinate;
+import battleship.model.Player;
+import battleship.model.field.BitboardBattlefield;
+import battleship.model.field.BoardView;
+import battleship.model.ship.ShipType;
+import battleship.view.ConsoleView;
+
+/**
+ * This class measures {@link ConsoleView#showBattlefield} writing to a discarding stream
+ */
+public class RenderBenchmark implements Benchmark {
+    // stream that discards everything written to it
+    private static final PrintStream NULL_STREAM = new PrintStream(new OutputStream() {
+        @Override
+        public void write(int b) {
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+        }
+    }, true);
+
+    // battlefield height
+    private final int height;
+    // battlefield width
+    private final int width;
+    // the battlefield to render
+    private final BoardView battlefield;
+    // the view to render with
+    private final ConsoleView view;
+
+    /**
+     * Constructs the benchmark
+     *
+     * @param height	battlefield height
+     * @param width		battlefield width
+     * @param copies	the number of copies of the standard fleet
+     */
+    public RenderBenchmark(int height, int width, int copies) {
+        this.height = height;
+        this.width = width;
+
+        Player player = new Player("Player", new BitboardBattlefield(height, width));
+        List<ShipType> types = Fleets.types(copies);
+        List<Coordinate[]> fleet = Fleets.layout(height, width, copies);
+        for (int i = 0; i < types.size(); i++) {
+            GameAction.placeShip(player, types.get(i), fleet.get(i));
+        }
+        for (int i = 0; i < height * width; i += 3) {
+            GameAction.shot(player, new Coordinate(i / width, i % width));
+        }
+        this.battlefield = player.getBattlefield();
+        this.view = new ConsoleView(new BufferedReader(new StringReader("")), NULL_STREAM);
+    }
+
+    @Override
+    public String getName() {
+        return String.format("render %dx%d", height, width);
+    }
+
+    @Override
+    public void setUp(int batchSize) {
+    }
+
+    @Override
+    public long run(int index) {
+        view.showBattlefield(battlefield);
+        return index;
+    }
+}
@@ -0,0 +1,67 @@
+package battleship.bench;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.function.Supplier;
+
+import battleship.controller.GameCommand;
+import battleship.controller.GameController;
+import battleship.controller.GameSession;
+import battleship.model.Coordinate;
+import battleship.model.GameRules;
+import battleship.sim.Bots;
+import battleship.sim.SimulationView;
+import battleship.strategy.Bot;
+import battleship.view.RowLabel;
+
+/**
+ * This class writes the scripts of games played by bots, the input for {@code Main --batch}.
+ * Every placement and shot is written as the line a player would type in the console.
+ * <p>
+ * Arguments: file [games] [bot]
+ */
+public class ScriptGenerator {
+
+    public static void main(String[] args) throws IOException {
+        int games = args.length > 1 ? Integer.parseInt(args[1]) : 100_000;
+        String bot = args.length > 2 ? args[2] : "hunt";
+        GameRules rules = GameRules.standard();
+        Supplier<Bot> bots = Bots.byName(bot, rules);
+
+        try (Writer out = new BufferedWriter(Files.newBufferedWriter(Paths.get(args[0]), StandardCharsets.US_ASCII),
+                1 << 16)) {
+            for (int game = 0; game < games; game++) {
+                out.write("# game " + (game + 1) + "\n");
+                GameSession session = new GameSession(rules);
+                session.addListener((command, event) -> {
+                    try {
+                        if (command.getType() == GameCommand.Type.PLACE_SHIP) {
+                            Coordinate[] coordinates = command.getCoordinates();
+                            out.write(label(coordinates[0]) + " " + label(coordinates[coordinates.length - 1]) + "\n");
+                        } else if (command.getType() == GameCommand.Type.SHOT) {
+                            out.write(label(command.getCoordinate()) + "\n");
+                        }
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                new GameController(new SimulationView(bots.get(), bots.get()), session).run();
+            }
+        }
+    }
+
+    /**
+     * This method returns the coordinate as a player types it
+     *
+     * @param coordinate	the {@link Coordinate}
+     * @return				the {@link String} with the coordinate, e.g. "A1"
+     */
+    private static String label(Coordinate coordinate) {
+        return RowLabel.of(coordinate.getVertical()) + (coordinate.getHorizontal() + 1);
+    }
+}
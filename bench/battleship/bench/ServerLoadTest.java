@@ -0,0 +1,219 @@
+package battleship.bench;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import battleship.model.Coordinate;
+import battleship.model.GameRules;
+import battleship.server.GameServer;
+import battleship.view.RowLabel;
+
+/**
+ * This class runs many games on a {@link GameServer} at once over the loopback interface.
+ * <p>
+ * All players connect and place their ships first, so every game waits for the first shot.
+ * Then the memory of the idle games is measured, and all players fire at every cell in turn
+ * until the games finish. The players are driven by one thread with a selector, so the test
+ * itself needs no thread per player. Every game takes four sockets, the limit of open files
+ * must be large enough.
+ * <p>
+ * Arguments: [matches]
+ */
+public class ServerLoadTest {
+    // time without any output after which the games are considered idle
+    private static final long QUIET_MILLIS = 1000;
+
+    // the selector of the player channels
+    private final Selector selector;
+    // the buffer the output of the server is read into and discarded
+    private final ByteBuffer buffer;
+    // number of channels that are not closed by the server
+    private int open;
+
+    /**
+     * Constructs the load test
+     *
+     * @throws IOException	if the selector could not be opened
+     */
+    public ServerLoadTest() throws IOException {
+        this.selector = Selector.open();
+        this.buffer = ByteBuffer.allocateDirect(64 * 1024);
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        int matches = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+        new ServerLoadTest().run(matches);
+    }
+
+    /**
+     * This method runs the games and prints the report
+     *
+     * @param matches				the number of games
+     * @throws IOException			if a player could not connect
+     * @throws InterruptedException	if the thread was interrupted while the server stopped
+     */
+    public void run(int matches) throws IOException, InterruptedException {
+        GameRules rules = GameRules.standard();
+        GameServer server = new GameServer(rules,
+                new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), matches, 0);
+        server.start();
+        long heapBefore = usedHeap();
+        InetSocketAddress address = new InetSocketAddress(InetAddress.getLoopbackAddress(), server.getPort());
+
+        byte[] placement = placementScript(rules);
+        byte[] shots = shotScript(rules);
+        SocketChannel[] players = new SocketChannel[2 * matches];
+        long start = System.nanoTime();
+        for (int i = 0; i < players.length; i++) {
+            players[i] = SocketChannel.open(address);
+            players[i].configureBlocking(false);
+            players[i].register(selector, SelectionKey.OP_READ);
+            write(players[i], placement);
+            open++;
+            if (i % 1000 == 999) {
+                drain(0);
+            }
+        }
+        while (server.getActiveMatches() < matches) {
+            drain(100);
+        }
+        while (drain(QUIET_MILLIS) > 0) {
+            // wait until every game waits for the first shot
+        }
+        long connected = System.nanoTime();
+
+        long heap = usedHeap() - heapBefore;
+        int threads = ManagementFactory.getThreadMXBean().getThreadCount();
+        System.out.printf("idle games:        %d (connected in %.1f s)%n", server.getActiveMatches(),
+                (connected - start) / 1e9);
+        System.out.printf("heap per game:     %d B%n", heap / matches);
+        System.out.printf("threads:           %d%n", threads);
+
+        long playStart = System.nanoTime();
+        for (SocketChannel player : players) {
+            write(player, shots);
+        }
+        while (open > 0) {
+            drain(QUIET_MILLIS);
+        }
+        long nanos = System.nanoTime() - playStart;
+        System.out.printf("finished games:    %d in %.1f s, %.1f games/s%n", server.getFinishedMatches(),
+                nanos / 1e9, server.getFinishedMatches() * 1e9 / nanos);
+
+        server.close();
+        selector.close();
+    }
+
+    /**
+     * This method reads and discards the output of the server
+     *
+     * @param timeout		the time to wait for the output in milliseconds, 0 to return at once
+     * @return				the number of bytes read
+     * @throws IOException	if the output could not be read
+     */
+    private long drain(long timeout) throws IOException {
+        if (timeout == 0) {
+            selector.selectNow();
+        } else {
+            selector.select(timeout);
+        }
+        long bytes = 0;
+        for (SelectionKey key : selector.selectedKeys()) {
+            SocketChannel channel = (SocketChannel) key.channel();
+            int read;
+            do {
+                buffer.clear();
+                try {
+                    read = channel.read(buffer);
+                } catch (IOException e) {
+                    // the server resets the connection of a loser whose shots are left unread
+                    read = -1;
+                }
+                bytes += Math.max(read, 0);
+            } while (read > 0);
+            if (read < 0) {
+                key.cancel();
+                channel.close();
+                open--;
+            }
+        }
+        selector.selectedKeys().clear();
+        return bytes;
+    }
+
+    /**
+     * This method writes all the bytes to the channel, the output is drained while the channel is full
+     *
+     * @param channel		the {@link SocketChannel}
+     * @param bytes			the bytes to write
+     * @throws IOException	if the bytes could not be written
+     */
+    private void write(SocketChannel channel, byte[] bytes) throws IOException {
+        ByteBuffer script = ByteBuffer.wrap(bytes);
+        while (script.hasRemaining()) {
+            if (channel.write(script) == 0) {
+                drain(10);
+            }
+        }
+    }
+
+    /**
+     * This method builds the lines that place the fleet
+     *
+     * @param rules		the {@link GameRules}
+     * @return			the bytes of the lines
+     */
+    private static byte[] placementScript(GameRules rules) {
+        StringBuilder script = new StringBuilder();
+        List<Coordinate[]> fleet = Fleets.layout(rules.getHeight(), rules.getWidth(), 1);
+        for (Coordinate[] ship : fleet) {
+            script.append(toString(ship[0])).append(' ').append(toString(ship[ship.length - 1])).append('\n');
+        }
+        return script.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * This method builds the lines that shoot at every cell
+     *
+     * @param rules		the {@link GameRules}
+     * @return			the bytes of the lines
+     */
+    private static byte[] shotScript(GameRules rules) {
+        StringBuilder script = new StringBuilder();
+        for (int i = 0; i < rules.getHeight(); i++) {
+            for (int j = 0; j < rules.getWidth(); j++) {
+                script.append(toString(new Coordinate(i, j))).append('\n');
+            }
+        }
+        return script.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * This method converts the {@link Coordinate} to the string
+     *
+     * @param coordinate	the {@link Coordinate}
+     * @return				the {@link String} with the coordinate, e.g. "A1"
+     */
+    private static String toString(Coordinate coordinate) {
+        return RowLabel.of(coordinate.getVertical()) + (coordinate.getHorizontal() + 1);
+    }
+
+    /**
+     * This method returns the used heap after a garbage collection
+     *
+     * @return	the used heap in bytes
+     */
+    private static long usedHeap() {
+        System.gc();
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
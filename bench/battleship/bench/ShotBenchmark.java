@@ -0,0 +1,75 @@
+package battleship.bench;
+
+import java.util.List;
+
+import battleship.action.GameAction;
+import battleship.model.Coordinate;
+import battleship.model.Player;
+import battleship.model.field.BitboardBattlefield;
+import battleship.model.ship.ShipType;
+
+/**
+ * This class measures {@link GameAction#shot} on battlefields with a placed fleet,
+ * with a {@link Coordinate} or with a packed cell index
+ */
+public class ShotBenchmark implements Benchmark {
+    // battlefield height
+    private final int height;
+    // battlefield width
+    private final int width;
+    // ship types of the fleet
+    private final List<ShipType> types;
+    // coordinates of the ships of the fleet
+    private final List<Coordinate[]> fleet;
+    // every cell of the battlefield in the order of the shots
+    private final Coordinate[] targets;
+    // true to shoot at packed cell indexes
+    private final boolean packed;
+    // players to shoot at in the current batch
+    private Player[] players;
+
+    /**
+     * Constructs the benchmark
+     *
+     * @param height	battlefield height
+     * @param width		battlefield width
+     * @param copies	the number of copies of the standard fleet
+     * @param packed	true to shoot at packed cell indexes, false to shoot at coordinates
+     */
+    public ShotBenchmark(int height, int width, int copies, boolean packed) {
+        this.height = height;
+        this.width = width;
+        this.types = Fleets.types(copies);
+        this.fleet = Fleets.layout(height, width, copies);
+        this.targets = new Coordinate[height * width];
+        for (int i = 0; i < targets.length; i++) {
+            targets[i] = new Coordinate(i / width, i % width);
+        }
+        this.packed = packed;
+    }
+
+    @Override
+    public String getName() {
+        return String.format("shot%s %dx%d ships=%d", packed ? " packed" : "", height, width, types.size());
+    }
+
+    @Override
+    public void setUp(int batchSize) {
+        players = new Player[(batchSize + targets.length - 1) / targets.length];
+        for (int i = 0; i < players.length; i++) {
+            players[i] = new Player("Player", new BitboardBattlefield(height, width));
+            for (int j = 0; j < types.size(); j++) {
+                GameAction.placeShip(players[i], types.get(j), fleet.get(j));
+            }
+        }
+    }
+
+    @Override
+    public long run(int index) {
+        Player player = players[index / targets.length];
+        if (packed) {
+            return GameAction.shot(player, index % targets.length).ordinal();
+        }
+        return GameAction.shot(player, targets[index % targets.length]).ordinal();
+    }
+}
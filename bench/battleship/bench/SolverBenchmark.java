@@ -0,0 +1,78 @@
+package battleship.bench;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import battleship.action.GameAction;
+import battleship.ai.MonteCarloSolver;
+import battleship.model.Coordinate;
+import battleship.model.Player;
+import battleship.model.field.BitboardBattlefield;
+import battleship.model.field.BoardView;
+import battleship.model.ship.ShipType;
+
+/**
+ * This class measures the latency of an analysis of {@link MonteCarloSolver} with the default
+ * budget on a battlefield with hits, misses and sunk ships. An analysis that converges
+ * early finishes before the budget runs out.
+ */
+public class SolverBenchmark implements Benchmark {
+    // every seventh cell is shot before the measurement
+    private static final int PRIMED_STEP = 7;
+
+    // battlefield height
+    private final int height;
+    // battlefield width
+    private final int width;
+    // the battlefield under fog
+    private final BoardView battlefield;
+    // the ships that have not sunk
+    private final List<ShipType> remaining;
+    // the solver
+    private final MonteCarloSolver solver;
+
+    /**
+     * Constructs the benchmark
+     *
+     * @param height	battlefield height
+     * @param width		battlefield width
+     * @param copies	the number of copies of the standard fleet
+     */
+    public SolverBenchmark(int height, int width, int copies) {
+        this.height = height;
+        this.width = width;
+        this.solver = new MonteCarloSolver();
+
+        Player player = new Player("Player", new BitboardBattlefield(height, width));
+        List<ShipType> types = Fleets.types(copies);
+        List<Coordinate[]> fleet = Fleets.layout(height, width, copies);
+        for (int i = 0; i < types.size(); i++) {
+            GameAction.placeShip(player, types.get(i), fleet.get(i));
+        }
+        for (int i = 0; i < height * width; i += PRIMED_STEP) {
+            GameAction.shot(player, i);
+        }
+        this.battlefield = player.getBattlefieldUnderFog();
+
+        this.remaining = new ArrayList<>();
+        for (int i = 0; i < types.size(); i++) {
+            if (!player.getShipByCoordinate(fleet.get(i)[0]).isSank()) {
+                remaining.add(types.get(i));
+            }
+        }
+    }
+
+    @Override
+    public String getName() {
+        return String.format("solver %dx%d", height, width);
+    }
+
+    @Override
+    public void setUp(int batchSize) {
+    }
+
+    @Override
+    public long run(int index) {
+        return solver.analyse(battlefield, remaining).getSamples();
+    }
+}
@@ -1,15 +1,69 @@
-package battleship;
-
-import battleship.controller.GameController;
-import battleship.controller.GameView;
-import battleship.view.ConsoleView;
-
-public class Main {
-
-	public static void main(String[] args) {
-		GameView view = new ConsoleView();
-        GameController controller = new GameController(view);
-        controller.run();
-	}
-
-}
+package battleship;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+
+import battleship.ai.ProbabilityShotStrategy;
+import battleship.controller.GameController;
+import battleship.controller.GameView;
+import battleship.log.GameLogWriter;
+import battleship.log.GameRecorder;
+import battleship.model.GameRules;
+import battleship.strategy.Bot;
+import battleship.strategy.FleetPlacementStrategy;
+import battleship.view.BatchRunner;
+import battleship.view.ConsoleView;
+
+public class Main {
+
+	public static void main(String[] args) throws IOException {
+		// --computer makes the second player the computer,
+		// --board <height> <width> <fleets> plays on a larger battlefield with several fleets,
+		// --log <file> appends the game to a game log,
+		// --batch <file or directory> plays the games of the scripts and prints only the results,
+		// --salvo plays the salvo variant, a player fires one shot for every ship afloat
+		boolean computer = false;
+		boolean salvo = false;
+		GameRules rules = GameRules.standard();
+		String logFile = null;
+		String batch = null;
+		for (int i = 0; i < args.length; i++) {
+			if ("--computer".equals(args[i])) {
+				computer = true;
+			} else if ("--board".equals(args[i]) && i + 3 < args.length) {
+				rules = GameRules.scaled(Integer.parseInt(args[i + 1]), Integer.parseInt(args[i + 2]),
+						Integer.parseInt(args[i + 3]));
+				i += 3;
+			} else if ("--log".equals(args[i]) && i + 1 < args.length) {
+				logFile = args[++i];
+			} else if ("--batch".equals(args[i]) && i + 1 < args.length) {
+				batch = args[++i];
+			} else if ("--salvo".equals(args[i])) {
+				salvo = true;
+			}
+		}
+		if (salvo) {
+			rules = rules.withSalvo();
+		}
+
+		if (batch != null) {
+			new BatchRunner(rules, System.out).run(Paths.get(batch));
+			return;
+		}
+
+		GameView view = computer
+				? new ConsoleView(new Bot(new FleetPlacementStrategy(rules),
+						new ProbabilityShotStrategy(rules.getHeight(), rules.getWidth(), rules.getFleet())))
+				: new ConsoleView();
+        GameController controller = new GameController(view, rules);
+		if (logFile == null) {
+			controller.run();
+			return;
+		}
+		try (GameLogWriter log = new GameLogWriter(Paths.get(logFile))) {
+			GameRecorder.record(log, controller.getSession());
+			controller.run();
+		}
+	}
+
+}
@@ -1,78 +1,262 @@
-package battleship.action;
-
-import battleship.model.Coordinate;
-import battleship.model.Player;
-import battleship.model.ShotResult;
-import battleship.model.field.Mark;
-import battleship.model.ship.Ship;
-import battleship.model.ship.ShipType;
-
-/**
- * This class performs the actions for the game 'battlefield'
- */
-public class GameAction {
-    /**
-     * This method adds a ship to the battlefield of a given player
-     *
-     * @param player		the {@link Player} who adds the ship
-     * @param shipType		the {@link ShipType} the type of ship to be added
-     * @param coordinates	the {@link Coordinate} array with the coordinates of the ship
-     */
-    public static void placeShip(Player player, ShipType shipType, Coordinate[] coordinates) {
-        if (isLocationFree(player.getBattlefield(), coordinates)) {
-            Ship ship = new Ship(shipType, coordinates);
-            player.addShip(ship);
-        } else {
-            throw new IllegalArgumentException("You placed it too close to another one.");
-        }
-    }
-
-    /**
-     * This method shoots at the specified coordinates
-     *
-     * @param player		the {@link Player} who performs the shot
-     * @param coordinate	the {@link Coordinate} for the shot
-     * @return				the {@link ShotResult}
-     */
-    public static ShotResult shot(Player player, Coordinate coordinate) {
-        if (Mark.SHIP.equals(player.getMarkByCoordinate(coordinate))) {
-            player.setMarkByCoordinate(coordinate, Mark.HIT);
-            Ship ship = player.getShipByCoordinate(coordinate);
-            return ship.isSank() ? ShotResult.SANK : ShotResult.HIT;
-        } else {
-            player.setMarkByCoordinate(coordinate, Mark.MISS);
-            return ShotResult.MISS;
-        }
-    }
-
-    /**
-     * This method checks if you can add a ship at the specified coordinates
-     *
-     * @param battlefield	the {@link Mark} a matrix array representing the player's battlefield
-     * @param coordinates	the {@link Coordinate} array with the coordinates of the ship
-     * @return				true if u can add, false otherwise
-     */
-    private static boolean isLocationFree(Mark[][] battlefield, Coordinate[] coordinates) {
-        // first and last coordinate of the ship
-        int startX = coordinates[0].getHorizontal();
-        int endX = coordinates[coordinates.length - 1].getHorizontal();
-        int startY = coordinates[0].getVertical();
-        int endY = coordinates[coordinates.length - 1].getVertical();
-
-        // extreme points for verification
-        if (startX > 0) startX--;
-        if (startY > 0) startY--;
-        if (endX < battlefield.length - 1) startX++;
-        if (endY < battlefield[0].length - 1) endY++;
-
-        // check if the cell is free
-        for (int i = startY; i <= endY; i++) {
-            for (int j = startX; j <= endX; j++) {
-                if (battlefield[i][j] != Mark.FOG) {
-                    return false;
-                }
-            }
-        }
-        return true;
-    }
-}
+package battleship.action;
+
+import battleship.metrics.EngineMetrics;
+import battleship.model.Coordinate;
+import battleship.model.Coordinates;
+import battleship.model.Player;
+import battleship.model.ShotResult;
+import battleship.model.Validation;
+import battleship.model.field.BoardView;
+import battleship.model.field.Mark;
+import battleship.model.ship.Ship;
+import battleship.model.ship.ShipType;
+
+/**
+ * This class performs the actions for the game 'battlefield'
+ */
+public class GameAction {
+    // all marks by the ordinal
+    private static final Mark[] MARKS = Mark.values();
+    // all shot results by the ordinal
+    private static final ShotResult[] SHOT_RESULTS = ShotResult.values();
+
+    /**
+     * This method adds a ship to the battlefield of a given player
+     *
+     * @param player						the {@link Player} who adds the ship
+     * @param shipType						the {@link ShipType} the type of ship to be added
+     * @param coordinates					the {@link Coordinate} array with the coordinates of the ship
+     * @throws IllegalArgumentException		if the ship could not be placed, with the message of the {@link Validation}
+     */
+    public static void placeShip(Player player, ShipType shipType, Coordinate[] coordinates)
+            throws IllegalArgumentException {
+        Validation validation = tryPlaceShip(player, shipType, coordinates);
+        if (validation != Validation.OK) {
+            throw new IllegalArgumentException(validation.getMessage());
+        }
+    }
+
+    /**
+     * This method adds a ship to the battlefield of a given player if it can be placed there,
+     * it throws no exception
+     *
+     * @param player		the {@link Player} who adds the ship
+     * @param shipType		the {@link ShipType} the type of ship to be added
+     * @param coordinates	the {@link Coordinate} array with the coordinates of the ship
+     * @return				{@link Validation#OK} if the ship has been placed, the reason why not otherwise
+     */
+    public static Validation tryPlaceShip(Player player, ShipType shipType, Coordinate[] coordinates) {
+        Validation validation = validatePlacement(player, shipType, coordinates);
+        if (validation == Validation.OK) {
+            player.addShip(new Ship(shipType, coordinates));
+        }
+        return validation;
+    }
+
+    /**
+     * This method checks if a ship can be placed on the battlefield of a given player: the ship has
+     * the length of its type, lies in one row or one column without gaps, is inside the battlefield
+     * and neither contains nor touches another ship
+     *
+     * @param player		the {@link Player} who adds the ship
+     * @param shipType		the {@link ShipType} the type of ship to be added
+     * @param coordinates	the {@link Coordinate} array with the coordinates of the ship
+     * @return				the {@link Validation}
+     */
+    public static Validation validatePlacement(Player player, ShipType shipType, Coordinate[] coordinates) {
+        if (coordinates == null || coordinates.length != shipType.getSize()) {
+            return Validation.WRONG_LENGTH;
+        }
+        BoardView battlefield = player.getBattlefield();
+        int top = Integer.MAX_VALUE;
+        int bottom = -1;
+        int left = Integer.MAX_VALUE;
+        int right = -1;
+        for (Coordinate coordinate : coordinates) {
+            if (coordinate == null || coordinate.getVertical() < 0 || coordinate.getVertical() >= battlefield.getHeight()
+                    || coordinate.getHorizontal() < 0 || coordinate.getHorizontal() >= battlefield.getWidth()) {
+                return Validation.OUT_OF_BOUNDS;
+            }
+            top = Math.min(top, coordinate.getVertical());
+            bottom = Math.max(bottom, coordinate.getVertical());
+            left = Math.min(left, coordinate.getHorizontal());
+            right = Math.max(right, coordinate.getHorizontal());
+        }
+        int length = coordinates.length;
+        if (!(top == bottom && right - left == length - 1) && !(left == right && bottom - top == length - 1)) {
+            return Validation.NOT_ALIGNED;
+        }
+        // a part that occurs twice leaves a gap in the line
+        int offsets = 0;
+        for (Coordinate coordinate : coordinates) {
+            offsets |= 1 << (coordinate.getVertical() - top + coordinate.getHorizontal() - left);
+        }
+        if (offsets != (1 << length) - 1) {
+            return Validation.NOT_ALIGNED;
+        }
+        return player.isLocationFree(coordinates) ? Validation.OK : Validation.ADJACENT;
+    }
+
+    /**
+     * This method checks if a shot at the cell with the specified index is inside the battlefield of
+     * a given player and the cell has not been shot yet, it does not allocate
+     *
+     * @param player	the {@link Player} whose battlefield is shot at
+     * @param cell		the cell index, {@code vertical * width + horizontal}
+     * @return			{@link Validation#OK}, {@link Validation#OUT_OF_BOUNDS} or {@link Validation#ALREADY_SHOT}
+     */
+    public static Validation validateShot(Player player, int cell) {
+        BoardView battlefield = player.getBattlefield();
+        if (cell < 0 || cell >= battlefield.getHeight() * battlefield.getWidth()) {
+            return Validation.OUT_OF_BOUNDS;
+        }
+        Mark mark = player.getMarkByCoordinate(cell);
+        return mark == Mark.FOG || mark == Mark.SHIP ? Validation.OK : Validation.ALREADY_SHOT;
+    }
+
+    /**
+     * This method shoots at the specified coordinates
+     *
+     * @param player		the {@link Player} who performs the shot
+     * @param coordinate	the {@link Coordinate} for the shot
+     * @return				the {@link ShotResult}
+     * @throws IndexOutOfBoundsException	if the coordinate is not on the battlefield
+     */
+    public static ShotResult shot(Player player, Coordinate coordinate) throws IndexOutOfBoundsException {
+        BoardView battlefield = player.getBattlefield();
+        Coordinates coordinates = Coordinates.of(battlefield.getHeight(), battlefield.getWidth());
+        if (!coordinates.contains(coordinate)) {
+            throw new IndexOutOfBoundsException("Wrong coordinate " + coordinate.getVertical()
+                    + ", " + coordinate.getHorizontal());
+        }
+        return shot(player, coordinates.cellOf(coordinate));
+    }
+
+    /**
+     * This method shoots at the cell with the specified index, it does not allocate. A cell that
+     * has been shot already keeps its mark, see {@link #apply(Player, int)}.
+     *
+     * @param player	the {@link Player} who performs the shot
+     * @param cell		the cell index, {@code vertical * width + horizontal}
+     * @return			the {@link ShotResult}
+     * @throws IndexOutOfBoundsException	if the cell is not on the battlefield
+     */
+    public static ShotResult shot(Player player, int cell) throws IndexOutOfBoundsException {
+        long move = apply(player, cell);
+        ShotResult shotResult = moveResult(move);
+        if (EngineMetrics.ENABLED && isFirstShot(move)) {
+            EngineMetrics.get().shotFired(shotResult);
+        }
+        return shotResult;
+    }
+
+    /**
+     * This method shoots at the cell with the specified index and returns a move that records what
+     * the shot changed, so that {@link #undo(Player, long)} can take it back. A move is a packed
+     * {@code long}, the shot neither allocates nor is counted by the metrics: it is meant for searches
+     * that try many shots on the same battlefield instead of copying it. Every shot of the game is
+     * made here. A cell that has been shot already keeps its mark and the shot gets
+     * {@link ShotResult#HIT} for a part of a ship, {@link ShotResult#MISS} otherwise.
+     *
+     * @param player	the {@link Player} whose battlefield is shot at
+     * @param cell		the cell index, {@code vertical * width + horizontal}
+     * @return			the move, read by {@link #moveCell(long)} and {@link #moveResult(long)}
+     * @throws IndexOutOfBoundsException	if the cell is not on the battlefield
+     */
+    public static long apply(Player player, int cell) throws IndexOutOfBoundsException {
+        BoardView battlefield = player.getBattlefield();
+        if (cell < 0 || cell >= battlefield.getHeight() * battlefield.getWidth()) {
+            throw new IndexOutOfBoundsException("Wrong cell " + cell);
+        }
+        Mark before = player.getMarkByCoordinate(cell);
+        ShotResult shotResult;
+        if (Mark.SHIP.equals(before)) {
+            player.setMarkByCoordinate(cell, Mark.HIT);
+            // the hit shows as sunk when it was the last part of the ship, no ship object is needed
+            shotResult = Mark.SANK.equals(player.getMarkByCoordinate(cell)) ? ShotResult.SANK : ShotResult.HIT;
+        } else if (Mark.FOG.equals(before)) {
+            player.setMarkByCoordinate(cell, Mark.MISS);
+            shotResult = ShotResult.MISS;
+        } else {
+            shotResult = Mark.MISS.equals(before) ? ShotResult.MISS : ShotResult.HIT;
+        }
+        return (long) cell << 16 | before.ordinal() << 8 | shotResult.ordinal();
+    }
+
+    /**
+     * This method takes back a move made by {@link #apply(Player, int)}: the cell gets its mark back and a
+     * damaged ship part is repaired. The moves must be taken back in the reverse order they were made.
+     *
+     * @param player	the {@link Player} whose battlefield was shot at
+     * @param move		the move
+     */
+    public static void undo(Player player, long move) {
+        player.restoreMarkByCoordinate(moveCell(move), moveMark(move));
+    }
+
+    /**
+     * This method returns the cell a move was made at
+     *
+     * @param move	the move made by {@link #apply(Player, int)}
+     * @return		the cell index, {@code vertical * width + horizontal}
+     */
+    public static int moveCell(long move) {
+        return (int) (move >>> 16);
+    }
+
+    /**
+     * This method returns the result of the shot of a move
+     *
+     * @param move	the move made by {@link #apply(Player, int)}
+     * @return		the {@link ShotResult}
+     */
+    public static ShotResult moveResult(long move) {
+        return SHOT_RESULTS[(int) move & 0xFF];
+    }
+
+    /**
+     * This method fires a salvo at the cells with the specified indexes in one pass, it does not allocate.
+     * The shots are made by {@link #apply(Player, int)}, so a cell that has been shot already, by an earlier
+     * shot of the salvo or before it, is not shot again and is not counted by the metrics. Whether the player
+     * has lost is checked once after the whole salvo.
+     *
+     * @param player	the {@link Player} whose battlefield is shot at
+     * @param cells		the cell indexes, {@code vertical * width + horizontal}
+     * @param count		the number of shots, the first count cells are fired at
+     * @param results	the array the {@link ShotResult}s are written to in the order of the cells
+     * @return			true if the player has lost all ships, false otherwise
+     * @throws IndexOutOfBoundsException	if a cell is not on the battlefield, the earlier shots stay made
+     */
+    public static boolean shots(Player player, int[] cells, int count, ShotResult[] results)
+            throws IndexOutOfBoundsException {
+        for (int i = 0; i < count; i++) {
+            long move = apply(player, cells[i]);
+            results[i] = moveResult(move);
+            if (EngineMetrics.ENABLED && isFirstShot(move)) {
+                EngineMetrics.get().shotFired(results[i]);
+            }
+        }
+        return player.loss();
+    }
+
+    /**
+     * This method checks if a move shot at a cell that had not been shot before
+     *
+     * @param move	the move made by {@link #apply(Player, int)}
+     * @return		true if the move changed the battlefield, false otherwise
+     */
+    private static boolean isFirstShot(long move) {
+        Mark before = moveMark(move);
+        return before == Mark.FOG || before == Mark.SHIP;
+    }
+
+    /**
+     * This method returns the mark the cell of a move had before the move
+     *
+     * @param move	the move made by {@link #apply(Player, int)}
+     * @return		the {@link Mark}
+     */
+    private static Mark moveMark(long move) {
+        return MARKS[(int) (move >>> 8) & 0xFF];
+    }
+}
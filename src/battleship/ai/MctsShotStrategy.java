@@ -0,0 +1,707 @@
+package battleship.ai;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.IntStream;
+
+import battleship.action.GameAction;
+import battleship.model.Coordinate;
+import battleship.model.Coordinates;
+import battleship.model.Player;
+import battleship.model.ShotResult;
+import battleship.model.field.BitboardBattlefield;
+import battleship.model.field.BoardView;
+import battleship.model.field.Mark;
+import battleship.model.ship.Ship;
+import battleship.model.ship.ShipType;
+import battleship.strategy.ShotStrategy;
+
+/**
+ * This class shoots at the cell chosen by a Monte Carlo tree search over fleets that are consistent
+ * with the enemy's battlefield under fog.
+ * <p>
+ * Every searcher draws fleets with the sampler of the {@link MonteCarloSolver}. They add up to the prior,
+ * the probability that a cell contains a ship, and are drawn again with the probability of their weights
+ * to be placed on battlefields of their own, the determinizations. A determinization is built when an
+ * iteration picks it first. An iteration walks down the tree: a node is the state of the battlefield under
+ * fog after the shots of its path, an edge is a shot from it and the results of the shot lead to different
+ * nodes. A node adds edges as it is visited more often, cells next to the hits of a ship afloat first and
+ * then the cells with the largest prior, and chooses the edge with the largest mean reward plus a bonus that
+ * grows with the prior of its cell and shrinks with its visits. The first new node ends the walk and the
+ * game is played to the end by a rollout that shoots next to the hits and otherwise at the largest prior.
+ * The reward is larger the fewer shots the whole game took. All shots are made with
+ * {@link GameAction#apply(Player, int)} and taken back with {@link GameAction#undo(Player, long)}, so a
+ * determinization is built once and reused by every iteration instead of being copied.
+ * <p>
+ * The searchers run in parallel on the workers of a {@link ForkJoinPool}, each with its own tree, until
+ * the latency budget runs out. Their roots are merged and the cell visited most often is shot. The enemy's
+ * ships that have not sunk are read from the {@link Mark#SANK} marks, so the strategy keeps no state.
+ */
+public class MctsShotStrategy implements ShotStrategy {
+    // the default latency budget of a shot
+    public static final long DEFAULT_BUDGET_NANOS = 20_000_000;
+    // the number of determinizations of a searcher
+    private static final int DETERMINIZATIONS = 256;
+    // the number of fleets a searcher draws at most for the prior
+    private static final int SAMPLES = 1024;
+    // the part of the budget a searcher draws fleets for the prior in
+    private static final int SAMPLING_SHARE = 4;
+    // the weight of the prior in the choice of an edge
+    private static final double EXPLORATION = 2;
+
+    // the enemy's ships
+    private final List<ShipType> fleet;
+    // the pool the searchers run in
+    private final ForkJoinPool pool;
+    // the latency budget of a shot
+    private final long budgetNanos;
+
+    /**
+     * Constructs the strategy with the common pool and the default budget
+     *
+     * @param fleet		the {@link ShipType} list of the enemy's ships
+     */
+    public MctsShotStrategy(List<ShipType> fleet) {
+        this(fleet, ForkJoinPool.commonPool(), DEFAULT_BUDGET_NANOS);
+    }
+
+    /**
+     * Constructs the strategy
+     *
+     * @param fleet			the {@link ShipType} list of the enemy's ships
+     * @param pool			the {@link ForkJoinPool} the searchers run in, one searcher per worker
+     * @param budgetNanos	the latency budget of a shot in nanoseconds
+     */
+    public MctsShotStrategy(List<ShipType> fleet, ForkJoinPool pool, long budgetNanos) {
+        this.fleet = new ArrayList<>(fleet);
+        this.pool = pool;
+        this.budgetNanos = budgetNanos;
+    }
+
+    @Override
+    public Coordinate nextShot(BoardView enemyBattlefield) {
+        long deadline = System.nanoTime() + budgetNanos;
+        int height = enemyBattlefield.getHeight();
+        int width = enemyBattlefield.getWidth();
+        List<ShipType> remaining = remainingShips(enemyBattlefield);
+        MonteCarloSolver.Problem problem = new MonteCarloSolver.Problem(enemyBattlefield, remaining);
+
+        SplittableRandom seeds = new SplittableRandom(ThreadLocalRandom.current().nextLong());
+        Searcher[] searchers = new Searcher[pool.getParallelism()];
+        ForkJoinTask<?>[] tasks = new ForkJoinTask<?>[searchers.length];
+        for (int i = 0; i < searchers.length; i++) {
+            searchers[i] = new Searcher(enemyBattlefield, remaining, problem, seeds.split(),
+                    deadline - budgetNanos + budgetNanos / SAMPLING_SHARE, deadline);
+            tasks[i] = pool.submit(searchers[i]);
+        }
+        for (ForkJoinTask<?> task : tasks) {
+            task.join();
+        }
+
+        long[] visits = new long[height * width];
+        for (Searcher searcher : searchers) {
+            for (Edge edge = searcher.root == null ? null : searcher.root.edges; edge != null; edge = edge.next) {
+                visits[edge.cell] += edge.visits;
+            }
+        }
+        int best = -1;
+        for (int i = 0; i < visits.length; i++) {
+            if (visits[i] > 0 && (best < 0 || visits[i] > visits[best])) {
+                best = i;
+            }
+        }
+        if (best < 0) {
+            // no fleet could be drawn in time, any cell that may contain a ship is shot
+            best = fallbackCell(enemyBattlefield);
+        }
+        return Coordinates.of(height, width).get(best);
+    }
+
+    @Override
+    public void shotResult(Coordinate coordinate, ShotResult shotResult) {
+    }
+
+    /**
+     * This method returns the enemy's ships that have not sunk. Ships do not touch, so every straight
+     * run of {@link Mark#SANK} marks is one sunk ship and a ship of its length is removed from the fleet.
+     *
+     * @param battlefield	the {@link BoardView} of the enemy's battlefield under fog
+     * @return				the {@link ShipType} list of the remaining ships
+     */
+    private List<ShipType> remainingShips(BoardView battlefield) {
+        List<ShipType> remaining = new ArrayList<>(fleet);
+        int height = battlefield.getHeight();
+        int width = battlefield.getWidth();
+        for (int i = 0; i < height; i++) {
+            for (int j = 0; j < width; j++) {
+                if (battlefield.markAt(i, j) != Mark.SANK
+                        || i > 0 && battlefield.markAt(i - 1, j) == Mark.SANK
+                        || j > 0 && battlefield.markAt(i, j - 1) == Mark.SANK) {
+                    continue;
+                }
+                int length = 1;
+                while (j + length < width && battlefield.markAt(i, j + length) == Mark.SANK) {
+                    length++;
+                }
+                if (length == 1) {
+                    while (i + length < height && battlefield.markAt(i + length, j) == Mark.SANK) {
+                        length++;
+                    }
+                }
+                for (int k = 0; k < remaining.size(); k++) {
+                    if (remaining.get(k).getSize() == length) {
+                        remaining.remove(k);
+                        break;
+                    }
+                }
+            }
+        }
+        return remaining;
+    }
+
+    /**
+     * This method returns a fogged cell, one that is not known to be empty if there is one
+     *
+     * @param battlefield	the {@link BoardView} of the enemy's battlefield under fog
+     * @return				the cell index
+     */
+    private static int fallbackCell(BoardView battlefield) {
+        int width = battlefield.getWidth();
+        int fogged = -1;
+        for (int i = 0; i < battlefield.getHeight() * width; i++) {
+            if (battlefield.markAt(i / width, i % width) != Mark.FOG) {
+                continue;
+            }
+            if (!knownEmpty(battlefield, i / width, i % width)) {
+                return i;
+            }
+            fogged = fogged < 0 ? i : fogged;
+        }
+        if (fogged < 0) {
+            throw new IllegalStateException("There are no cells left to shoot at.");
+        }
+        return fogged;
+    }
+
+    /**
+     * This method checks if the cell cannot contain a ship because it touches a sunk ship
+     * or a hit diagonally
+     *
+     * @param battlefield	the {@link BoardView} under fog
+     * @param row			the row of the cell
+     * @param column		the column of the cell
+     * @return				true if the cell is empty, false if it may contain a ship
+     */
+    private static boolean knownEmpty(BoardView battlefield, int row, int column) {
+        for (int i = Math.max(row - 1, 0); i <= Math.min(row + 1, battlefield.getHeight() - 1); i++) {
+            for (int j = Math.max(column - 1, 0); j <= Math.min(column + 1, battlefield.getWidth() - 1); j++) {
+                Mark mark = battlefield.markAt(i, j);
+                if (mark == Mark.SANK || mark == Mark.HIT && i != row && j != column) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * This class is a state of the battlefield under fog in the tree of a searcher
+     */
+    private static final class Node {
+        // the cells tried from this node
+        private final long[] tried;
+        // the edges of the tried cells, the last tried first
+        private Edge edges;
+        // the number of edges
+        private int edgeCount;
+        // the number of iterations that passed this node
+        private int visits;
+
+        /**
+         * Constructs a node
+         *
+         * @param cells		the number of cells of the battlefield
+         */
+        Node(int cells) {
+            this.tried = new long[(cells + Long.SIZE - 1) / Long.SIZE];
+        }
+
+        /**
+         * This method checks if the cell has been tried from this node
+         *
+         * @param cell	the cell index
+         * @return		true if the cell has an edge, false otherwise
+         */
+        boolean isTried(int cell) {
+            return (tried[cell >>> 6] & 1L << cell) != 0;
+        }
+
+        /**
+         * This method adds an edge for the cell
+         *
+         * @param cell	the cell index
+         * @param bias	the prior of the shot relative to the largest prior
+         * @return		the new {@link Edge}
+         */
+        Edge addEdge(int cell, double bias) {
+            tried[cell >>> 6] |= 1L << cell;
+            Edge edge = new Edge(cell, bias);
+            edge.next = edges;
+            edges = edge;
+            edgeCount++;
+            return edge;
+        }
+    }
+
+    /**
+     * This class is a shot from a node in the tree of a searcher
+     */
+    private static final class Edge {
+        // the cell of the shot
+        private final int cell;
+        // the next edge of the same node
+        private Edge next;
+        // the nodes the shot leads to, by the ordinal of the ShotResult
+        private final Node[] children = new Node[ShotResult.values().length];
+        // the prior of the shot relative to the largest prior, 1 for a shot next to a hit
+        private final double bias;
+        // the number of iterations that made the shot
+        private int visits;
+        // the sum of the rewards of these iterations
+        private double reward;
+
+        /**
+         * Constructs an edge
+         *
+         * @param cell	the cell of the shot
+         * @param bias	the prior of the shot relative to the largest prior
+         */
+        Edge(int cell, double bias) {
+            this.cell = cell;
+            this.bias = bias;
+        }
+    }
+
+    /**
+     * This class searches a tree of its own until the deadline
+     */
+    private static final class Searcher implements Runnable {
+        // the enemy's battlefield under fog
+        private final BoardView battlefield;
+        // the ships that have not sunk
+        private final List<ShipType> remaining;
+        // the sampler of the fleets
+        private final MonteCarloSolver.Sampler sampler;
+        // the generator of this searcher
+        private final SplittableRandom random;
+        // the time until which fleets are drawn for the prior
+        private final long samplingEnd;
+        // the time at which the search ends
+        private final long deadline;
+        // battlefield height
+        private final int height;
+        // battlefield width
+        private final int width;
+        // the weighted number of fleets in which every cell contains a ship
+        private final double[] prior;
+        // the cells by the prior, the largest first
+        private int[] order;
+        // the number of ships of a fleet
+        private final int ships;
+        // the first cells of the ships of the drawn fleets, one fleet after another
+        private final int[] fleetCells;
+        // the lengths of the ships of the drawn fleets, negative for a vertical ship
+        private final int[] fleetLengths;
+        // the cumulative probabilities of the drawn fleets
+        private final double[] cumulative;
+        // the number of drawn fleets
+        private int fleetCount;
+        // the determinizations, null until they are picked first
+        private final Player[] boards;
+        // the moves of the current iteration
+        private final long[] moves;
+        // the nodes of the path of the current iteration
+        private final Node[] pathNodes;
+        // the edges of the path of the current iteration
+        private final Edge[] pathEdges;
+        // the hits of ships that had not sunk when they were made, the first baseHits are on the battlefield
+        private final int[] hits;
+        // the number of hits on the battlefield under fog
+        private int baseHits;
+        // the index in the order before which no cell is useful in the current iteration
+        private int cursor;
+        // the number of useful cells on the battlefield under fog
+        private int useful;
+        // the number of ship parts that have not been hit
+        private int parts;
+        // the root of the tree, null if no fleet could be drawn
+        private Node root;
+
+        /**
+         * Constructs a searcher
+         *
+         * @param battlefield	the {@link BoardView} of the enemy's battlefield under fog
+         * @param remaining		the {@link ShipType} list of the ships that have not sunk
+         * @param problem		the input of the sampler
+         * @param random		the {@link SplittableRandom} of this searcher
+         * @param samplingEnd	the time until which fleets are drawn for the prior
+         * @param deadline		the time at which the search ends
+         */
+        Searcher(BoardView battlefield, List<ShipType> remaining, MonteCarloSolver.Problem problem,
+                SplittableRandom random, long samplingEnd, long deadline) {
+            this.battlefield = battlefield;
+            this.remaining = remaining;
+            this.sampler = new MonteCarloSolver.Sampler(problem, random.split());
+            this.random = random;
+            this.samplingEnd = samplingEnd;
+            this.deadline = deadline;
+            this.height = battlefield.getHeight();
+            this.width = battlefield.getWidth();
+            this.prior = new double[height * width];
+            this.ships = remaining.size();
+            this.fleetCells = new int[SAMPLES * ships];
+            this.fleetLengths = new int[SAMPLES * ships];
+            this.cumulative = new double[SAMPLES];
+            this.boards = new Player[DETERMINIZATIONS];
+            this.moves = new long[height * width];
+            this.pathNodes = new Node[height * width];
+            this.pathEdges = new Edge[height * width];
+            this.hits = new int[height * width];
+        }
+
+        @Override
+        public void run() {
+            drawFleets();
+            if (fleetCount == 0) {
+                return;
+            }
+            order = IntStream.range(0, prior.length).boxed()
+                    .sorted((a, b) -> Double.compare(prior[b], prior[a]))
+                    .mapToInt(Integer::intValue).toArray();
+            Player board = pick();
+            for (int i = 0; i < height * width; i++) {
+                if (board.getMarkByCoordinate(i) == Mark.HIT) {
+                    hits[baseHits++] = i;
+                }
+                if (isUseful(board, i)) {
+                    useful++;
+                }
+            }
+            parts = -baseHits;
+            for (ShipType shipType : remaining) {
+                parts += shipType.getSize();
+            }
+            root = new Node(height * width);
+            do {
+                iterate(pick());
+            } while (System.nanoTime() < deadline);
+        }
+
+        /**
+         * This method draws fleets and adds them up to the prior. The sampler may cover hits with a ship
+         * that has no other parts, such a fleet would sink a ship that is afloat and is rejected. The
+         * weights are kept relative to the largest one so far, like the sums of the solver.
+         */
+        private void drawFleets() {
+            double[] logWeights = new double[SAMPLES];
+            double reference = Double.NEGATIVE_INFINITY;
+            for (int draw = 0; draw < SAMPLES; draw++) {
+                long now = System.nanoTime();
+                if (now >= deadline || now >= samplingEnd && fleetCount > 0) {
+                    break;
+                }
+                double logWeight = sampler.draw();
+                if (logWeight == Double.NEGATIVE_INFINITY || sinksAfloat()) {
+                    continue;
+                }
+                if (logWeight > reference) {
+                    double scale = Math.exp(reference - logWeight);
+                    for (int i = 0; i < prior.length; i++) {
+                        prior[i] *= scale;
+                    }
+                    reference = logWeight;
+                }
+                double weight = Math.exp(logWeight - reference);
+                for (int ship = 0; ship < ships; ship++) {
+                    int step = sampler.getShipLength(ship) < 0 ? width : 1;
+                    for (int i = 0; i < Math.abs(sampler.getShipLength(ship)); i++) {
+                        prior[sampler.getShipCell(ship) + i * step] += weight;
+                    }
+                    fleetCells[fleetCount * ships + ship] = sampler.getShipCell(ship);
+                    fleetLengths[fleetCount * ships + ship] = sampler.getShipLength(ship);
+                }
+                logWeights[fleetCount++] = logWeight;
+            }
+            double sum = 0;
+            for (int i = 0; i < fleetCount; i++) {
+                sum += Math.exp(logWeights[i] - reference);
+                cumulative[i] = sum;
+            }
+            for (int i = 0; i < fleetCount; i++) {
+                cumulative[i] /= sum;
+            }
+        }
+
+        /**
+         * This method checks if a ship of the last sample covers only hits
+         *
+         * @return	true if the sample sinks a ship that is afloat, false otherwise
+         */
+        private boolean sinksAfloat() {
+            for (int ship = 0; ship < ships; ship++) {
+                int step = sampler.getShipLength(ship) < 0 ? width : 1;
+                boolean allHit = true;
+                for (int i = 0; i < Math.abs(sampler.getShipLength(ship)) && allHit; i++) {
+                    int cell = sampler.getShipCell(ship) + i * step;
+                    allHit = battlefield.markAt(cell / width, cell % width) == Mark.HIT;
+                }
+                if (allHit) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * This method places a drawn fleet on a new battlefield and shoots at every cell that has been
+         * shot at or is known to be empty on the battlefield under fog
+         *
+         * @param fleet		the index of the fleet
+         * @return			the {@link Player} with the battlefield
+         */
+        private Player board(int fleet) {
+            Coordinates coordinates = Coordinates.of(height, width);
+            Player board = new Player("determinization", new BitboardBattlefield(height, width));
+            for (int ship = fleet * ships; ship < (fleet + 1) * ships; ship++) {
+                int length = Math.abs(fleetLengths[ship]);
+                int step = fleetLengths[ship] < 0 ? width : 1;
+                Coordinate[] cells = new Coordinate[length];
+                for (int i = 0; i < length; i++) {
+                    cells[i] = coordinates.get(fleetCells[ship] + i * step);
+                }
+                board.addShip(new Ship(shipType(length), cells));
+            }
+            for (int i = 0; i < height * width; i++) {
+                if (battlefield.markAt(i / width, i % width) != Mark.FOG
+                        || knownEmpty(battlefield, i / width, i % width)) {
+                    GameAction.apply(board, i);
+                }
+            }
+            return board;
+        }
+
+        /**
+         * This method returns a remaining ship type of the length, the ships of the same length
+         * are alike for the search
+         *
+         * @param length	the length of the ship
+         * @return			the {@link ShipType}
+         */
+        private ShipType shipType(int length) {
+            for (ShipType shipType : remaining) {
+                if (shipType.getSize() == length) {
+                    return shipType;
+                }
+            }
+            throw new IllegalStateException("No remaining ship has length " + length + ".");
+        }
+
+        /**
+         * This method picks a determinization at random, it is built from a fleet drawn with the
+         * probability of its weight when it is picked first
+         *
+         * @return	the {@link Player} with the battlefield of the determinization
+         */
+        private Player pick() {
+            int index = random.nextInt(DETERMINIZATIONS);
+            if (boards[index] == null) {
+                double u = random.nextDouble();
+                int fleet = 0;
+                while (fleet < fleetCount - 1 && u >= cumulative[fleet]) {
+                    fleet++;
+                }
+                boards[index] = board(fleet);
+            }
+            return boards[index];
+        }
+
+        /**
+         * This method walks down the tree, adds a node, plays the game to the end, adds the reward
+         * to the edges of the path and takes all shots back
+         *
+         * @param board		the {@link Player} with the battlefield of the determinization
+         */
+        private void iterate(Player board) {
+            int hitCount = baseHits;
+            int shots = 0;
+            int path = 0;
+            cursor = 0;
+            Node node = root;
+            while (node != null && !board.loss()) {
+                Edge edge = select(node, board, hitCount);
+                long move = GameAction.apply(board, edge.cell);
+                moves[shots++] = move;
+                ShotResult shotResult = GameAction.moveResult(move);
+                if (shotResult == ShotResult.HIT) {
+                    hits[hitCount++] = edge.cell;
+                }
+                pathNodes[path] = node;
+                pathEdges[path++] = edge;
+                node = edge.children[shotResult.ordinal()];
+                if (node == null) {
+                    edge.children[shotResult.ordinal()] = new Node(height * width);
+                }
+            }
+            while (!board.loss()) {
+                int cell = target(board, hitCount, null);
+                cell = cell < 0 ? hunt(board) : cell;
+                long move = GameAction.apply(board, cell);
+                moves[shots++] = move;
+                if (GameAction.moveResult(move) == ShotResult.HIT) {
+                    hits[hitCount++] = cell;
+                }
+            }
+
+            double reward = (double) (useful - shots) / Math.max(useful - parts, 1);
+            for (int i = 0; i < path; i++) {
+                pathNodes[i].visits++;
+                pathEdges[i].visits++;
+                pathEdges[i].reward += reward;
+            }
+            while (shots > 0) {
+                GameAction.undo(board, moves[--shots]);
+            }
+        }
+
+        /**
+         * This method chooses the edge of the node. While the node has fewer edges than the square root
+         * of its visits, it adds an edge for an untried cell next to a hit or, if there is none, for the
+         * useful cell with the largest prior. Otherwise it chooses the edge with the largest mean reward
+         * plus a bonus that is proportional to the prior of its cell and shrinks as it is visited more.
+         *
+         * @param node		the {@link Node}
+         * @param board		the {@link Player} with the battlefield in the state of the node
+         * @param hitCount	the number of hits made so far
+         * @return			the {@link Edge}
+         */
+        private Edge select(Node node, Player board, int hitCount) {
+            if (node.edgeCount <= Math.sqrt(node.visits)) {
+                int cell = target(board, hitCount, node);
+                if (cell >= 0) {
+                    return node.addEdge(cell, 1);
+                }
+                for (int k = 0; k < order.length; k++) {
+                    if (!node.isTried(order[k]) && isUseful(board, order[k])) {
+                        return node.addEdge(order[k], prior[order[k]] / Math.max(prior[order[0]], Double.MIN_VALUE));
+                    }
+                }
+            }
+            double sqrtVisits = Math.sqrt(node.visits);
+            Edge best = node.edges;
+            double bestValue = Double.NEGATIVE_INFINITY;
+            for (Edge edge = node.edges; edge != null; edge = edge.next) {
+                double value = edge.reward / edge.visits + EXPLORATION * edge.bias * sqrtVisits / (1 + edge.visits);
+                if (value > bestValue) {
+                    best = edge;
+                    bestValue = value;
+                }
+            }
+            return best;
+        }
+
+        /**
+         * This method chooses a shot next to the last hit of a ship that has not sunk, along the line of
+         * its hits if it has more than one. Of the cells at both ends the one with the larger prior is chosen.
+         *
+         * @param board		the {@link Player} with the battlefield
+         * @param hitCount	the number of hits made so far
+         * @param node		the {@link Node} whose tried cells are skipped, null to skip none
+         * @return			the cell index, -1 if there is no such cell
+         */
+        private int target(Player board, int hitCount, Node node) {
+            for (int k = hitCount - 1; k >= 0; k--) {
+                int hit = hits[k];
+                if (board.getMarkByCoordinate(hit) != Mark.HIT) {
+                    continue;
+                }
+                int row = hit / width;
+                int column = hit % width;
+                boolean horizontal = column > 0 && board.getMarkByCoordinate(hit - 1) == Mark.HIT
+                        || column < width - 1 && board.getMarkByCoordinate(hit + 1) == Mark.HIT;
+                boolean vertical = row > 0 && board.getMarkByCoordinate(hit - width) == Mark.HIT
+                        || row < height - 1 && board.getMarkByCoordinate(hit + width) == Mark.HIT;
+                int best = -1;
+                for (int direction = 0; direction < 4; direction++) {
+                    boolean isVertical = direction >= 2;
+                    if (isVertical ? horizontal : vertical) {
+                        continue;
+                    }
+                    int cell = extend(board, row, column, isVertical, (direction & 1) == 0 ? -1 : 1);
+                    if (cell >= 0 && (node == null || !node.isTried(cell)) && (best < 0 || prior[cell] > prior[best])) {
+                        best = cell;
+                    }
+                }
+                if (best >= 0) {
+                    return best;
+                }
+            }
+            return -1;
+        }
+
+        /**
+         * This method walks from the hit over hits in the direction to the first cell that is not a hit
+         *
+         * @param board			the {@link Player} with the battlefield
+         * @param row			the row of the hit
+         * @param column		the column of the hit
+         * @param isVertical	true to walk along the column
+         * @param sign			-1 to walk up or left, 1 to walk down or right
+         * @return				the cell index if it is useful, -1 otherwise
+         */
+        private int extend(Player board, int row, int column, boolean isVertical, int sign) {
+            do {
+                row += isVertical ? sign : 0;
+                column += isVertical ? 0 : sign;
+            } while (row >= 0 && row < height && column >= 0 && column < width
+                    && board.getMarkByCoordinate(row * width + column) == Mark.HIT);
+            if (row < 0 || row >= height || column < 0 || column >= width) {
+                return -1;
+            }
+            return isUseful(board, row * width + column) ? row * width + column : -1;
+        }
+
+        /**
+         * This method chooses the useful cell with the largest prior. A cell that is not useful stays so
+         * until the shots are taken back, so the search goes on where the last one stopped.
+         *
+         * @param board		the {@link Player} with the battlefield
+         * @return			the cell index
+         */
+        private int hunt(Player board) {
+            while (cursor < order.length && !isUseful(board, order[cursor])) {
+                cursor++;
+            }
+            if (cursor == order.length) {
+                throw new IllegalStateException("A ship is afloat but no cell is left to shoot at.");
+            }
+            return order[cursor];
+        }
+
+        /**
+         * This method checks if the cell has not been shot at and may contain a ship
+         *
+         * @param board		the {@link Player} with the battlefield
+         * @param cell		the cell index
+         * @return			true if the cell is useful, false otherwise
+         */
+        private boolean isUseful(Player board, int cell) {
+            Mark mark = board.getMarkByCoordinate(cell);
+            return (mark == Mark.FOG || mark == Mark.SHIP) && !knownEmpty(board.getBattlefieldUnderFog(),
+                    cell / width, cell % width);
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package battleship.ai;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import battleship.model.Coordinate;
+import battleship.model.Coordinates;
+import battleship.model.ShotResult;
+import battleship.model.field.BoardView;
+import battleship.model.field.Mark;
+import battleship.model.ship.ShipType;
+import battleship.strategy.ShotStrategy;
+
+/**
+ * This class shoots at the cell that the {@link MonteCarloSolver} recommends. When a ship
+ * sinks, its length is read from the {@link Mark#SANK} marks and a ship of that length is
+ * removed from the remaining ships.
+ */
+public class MonteCarloShotStrategy implements ShotStrategy {
+    // the solver
+    private final MonteCarloSolver solver;
+    // the ships of the enemy that have not sunk
+    private final List<ShipType> remaining;
+    // the shots that sank ships that have not been removed from the remaining ships yet
+    private final List<Coordinate> sunk;
+    // the cells chosen for the salvo being chosen, cleared after every salvo
+    private boolean[] chosen = new boolean[0];
+
+    /**
+     * Constructs the strategy with a solver with the default budget
+     *
+     * @param fleet		the {@link ShipType} list of the enemy's ships
+     */
+    public MonteCarloShotStrategy(List<ShipType> fleet) {
+        this(fleet, new MonteCarloSolver());
+    }
+
+    /**
+     * Constructs the strategy
+     *
+     * @param fleet		the {@link ShipType} list of the enemy's ships
+     * @param solver	the {@link MonteCarloSolver}
+     */
+    public MonteCarloShotStrategy(List<ShipType> fleet, MonteCarloSolver solver) {
+        this.solver = solver;
+        this.remaining = new ArrayList<>(fleet);
+        this.sunk = new ArrayList<>();
+    }
+
+    @Override
+    public Coordinate nextShot(BoardView enemyBattlefield) {
+        removeSunkShips(enemyBattlefield);
+        Coordinate shot = solver.analyse(enemyBattlefield, remaining).getRecommendedShot();
+        if (shot == null) {
+            throw new IllegalStateException("There are no cells left to shoot at.");
+        }
+        return shot;
+    }
+
+    /**
+     * This method chooses the fogged cells of the salvo with the largest probabilities of a ship
+     * in one analysis. If fewer cells are left than the salvo has shots, the first shot is repeated.
+     *
+     * @param enemyBattlefield	the {@link BoardView} of the enemy's battlefield under fog
+     * @param shots				the {@link Coordinate} array the shots are written to
+     * @param count				the number of shots of the salvo
+     */
+    @Override
+    public void nextShots(BoardView enemyBattlefield, Coordinate[] shots, int count) {
+        removeSunkShips(enemyBattlefield);
+        MonteCarloSolver.Estimate estimate = solver.analyse(enemyBattlefield, remaining);
+        int height = enemyBattlefield.getHeight();
+        int width = enemyBattlefield.getWidth();
+        Coordinates coordinates = Coordinates.of(height, width);
+        if (chosen.length < height * width) {
+            chosen = new boolean[height * width];
+        }
+        for (int k = 0; k < count; k++) {
+            int best = -1;
+            for (int i = 0; i < height * width; i++) {
+                if (!chosen[i] && enemyBattlefield.markAt(i / width, i % width) == Mark.FOG
+                        && (best < 0 || estimate.getProbability(i / width, i % width)
+                                > estimate.getProbability(best / width, best % width))) {
+                    best = i;
+                }
+            }
+            if (best < 0 && k == 0) {
+                throw new IllegalStateException("There are no cells left to shoot at.");
+            }
+            shots[k] = best < 0 ? shots[0] : coordinates.get(best);
+            chosen[coordinates.cellOf(shots[k])] = true;
+        }
+        for (int k = 0; k < count; k++) {
+            chosen[coordinates.cellOf(shots[k])] = false;
+        }
+    }
+
+    @Override
+    public void shotResult(Coordinate coordinate, ShotResult shotResult) {
+        if (shotResult == ShotResult.SANK) {
+            sunk.add(coordinate);
+        }
+    }
+
+    /**
+     * This method removes the ships sunk by the last shots from the remaining ships
+     *
+     * @param battlefield	the {@link BoardView} of the enemy's battlefield under fog
+     */
+    private void removeSunkShips(BoardView battlefield) {
+        for (Coordinate coordinate : sunk) {
+            removeSunkShip(battlefield, coordinate);
+        }
+        sunk.clear();
+    }
+
+    /**
+     * This method removes the ship that sank at the coordinate from the remaining ships
+     *
+     * @param battlefield	the {@link BoardView} of the enemy's battlefield under fog
+     * @param coordinate	the {@link Coordinate} of the shot that sank the ship
+     */
+    private void removeSunkShip(BoardView battlefield, Coordinate coordinate) {
+        int row = coordinate.getVertical();
+        int column = coordinate.getHorizontal();
+        int horizontal = 1;
+        for (int j = column - 1; j >= 0 && battlefield.markAt(row, j) == Mark.SANK; j--) {
+            horizontal++;
+        }
+        for (int j = column + 1; j < battlefield.getWidth() && battlefield.markAt(row, j) == Mark.SANK; j++) {
+            horizontal++;
+        }
+        int vertical = 1;
+        for (int i = row - 1; i >= 0 && battlefield.markAt(i, column) == Mark.SANK; i--) {
+            vertical++;
+        }
+        for (int i = row + 1; i < battlefield.getHeight() && battlefield.markAt(i, column) == Mark.SANK; i++) {
+            vertical++;
+        }
+
+        int length = Math.max(horizontal, vertical);
+        for (int i = 0; i < remaining.size(); i++) {
+            if (remaining.get(i).getSize() == length) {
+                remaining.remove(i);
+                return;
+            }
+        }
+    }
+}
@@ -0,0 +1,865 @@
+package battleship.ai;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ThreadLocalRandom;
+
+import battleship.model.Coordinate;
+import battleship.model.Coordinates;
+import battleship.model.field.BoardView;
+import battleship.model.field.Mark;
+import battleship.model.ship.ShipType;
+
+/**
+ * This class estimates the probability that a cell of the enemy's battlefield contains a ship
+ * by sampling fleets that are consistent with the battlefield under fog.
+ * <p>
+ * A consistent fleet places every remaining ship on cells that have not been missed, covers
+ * every hit of a ship that has not sunk and touches neither another ship nor a sunk one.
+ * A sample is built by placing a ship through every uncovered hit first and then the other ships
+ * at random legal positions. Every choice is uniform among the legal ones and the sample is
+ * weighted by the number of choices, so the weighted samples estimate the uniform distribution
+ * over the consistent fleets.
+ * <p>
+ * The samples are drawn in rounds by one sampler per worker of a {@link ForkJoinPool}. A sampler
+ * owns its random generator and its sums, the sums are merged only after the round is joined.
+ * Sampling stops when the confidence intervals are narrow enough, when the best cell is clearly
+ * ahead of the second best, or when the latency budget runs out.
+ */
+public class MonteCarloSolver {
+    // the default latency budget of an analysis
+    public static final long DEFAULT_BUDGET_NANOS = 5_000_000;
+    // the default half-width of the confidence intervals at which sampling stops
+    public static final double DEFAULT_TOLERANCE = 0.02;
+    // z-score of the 95% confidence intervals
+    private static final double Z = 1.96;
+    // the effective number of samples needed before the intervals are trusted
+    private static final double MIN_EFFECTIVE_SAMPLES = 100;
+    // the number of rounds the budget is split into
+    private static final int ROUNDS = 8;
+
+    // the cell may contain a ship
+    private static final byte FREE = 0;
+    // the cell cannot contain a ship
+    private static final byte BLOCKED = 1;
+    // the cell contains a hit part of a ship that has not sunk and is not covered yet
+    private static final byte HIT = 2;
+    // the cell contains a ship of the sample
+    private static final byte OCCUPIED = 3;
+
+    // the pool the samplers run in
+    private final ForkJoinPool pool;
+    // the latency budget of an analysis
+    private final long budgetNanos;
+    // the half-width of the confidence intervals at which sampling stops
+    private final double tolerance;
+
+    /**
+     * Constructs the solver with the common pool and the default budget and tolerance
+     */
+    public MonteCarloSolver() {
+        this(ForkJoinPool.commonPool(), DEFAULT_BUDGET_NANOS, DEFAULT_TOLERANCE);
+    }
+
+    /**
+     * Constructs the solver
+     *
+     * @param pool			the {@link ForkJoinPool} the samplers run in, one sampler per worker
+     * @param budgetNanos	the latency budget of an analysis in nanoseconds
+     * @param tolerance		the half-width of the confidence intervals at which sampling stops
+     */
+    public MonteCarloSolver(ForkJoinPool pool, long budgetNanos, double tolerance) {
+        this.pool = pool;
+        this.budgetNanos = budgetNanos;
+        this.tolerance = tolerance;
+    }
+
+    /**
+     * This method estimates the hit probabilities of the battlefield under fog
+     *
+     * @param battlefield	the {@link Mark} matrix of the enemy's battlefield under fog
+     * @param remaining		the {@link ShipType} list of the ships that have not sunk
+     * @return				the {@link Estimate}
+     */
+    public Estimate analyse(Mark[][] battlefield, List<ShipType> remaining) {
+        return analyse(new MarksView(battlefield), remaining);
+    }
+
+    /**
+     * This method estimates the hit probabilities of the battlefield under fog
+     *
+     * @param battlefield	the {@link BoardView} of the enemy's battlefield under fog
+     * @param remaining		the {@link ShipType} list of the ships that have not sunk
+     * @return				the {@link Estimate}
+     */
+    public Estimate analyse(BoardView battlefield, List<ShipType> remaining) {
+        long start = System.nanoTime();
+        long deadline = start + budgetNanos;
+        Problem problem = new Problem(battlefield, remaining);
+
+        SplittableRandom seeds = new SplittableRandom(ThreadLocalRandom.current().nextLong());
+        Sampler[] samplers = new Sampler[pool.getParallelism()];
+        for (int i = 0; i < samplers.length; i++) {
+            samplers[i] = new Sampler(problem, seeds.split());
+        }
+
+        ForkJoinTask<?>[] tasks = new ForkJoinTask<?>[samplers.length];
+        long slice = Math.max(budgetNanos / ROUNDS, 1);
+        Estimate estimate;
+        do {
+            long roundEnd = Math.min(deadline, System.nanoTime() + slice);
+            for (int i = 0; i < samplers.length; i++) {
+                samplers[i].roundEnd = roundEnd;
+                tasks[i] = pool.submit(samplers[i]);
+            }
+            for (ForkJoinTask<?> task : tasks) {
+                task.join();
+            }
+            estimate = merge(problem, samplers, System.nanoTime() - start);
+        } while (!estimate.isConverged() && System.nanoTime() < deadline);
+        return estimate;
+    }
+
+    /**
+     * This method merges the sums of the samplers into an estimate
+     *
+     * @param problem		the {@link Problem}
+     * @param samplers		the {@link Sampler} array
+     * @param elapsedNanos	the time spent on the analysis
+     * @return				the {@link Estimate}
+     */
+    private Estimate merge(Problem problem, Sampler[] samplers, long elapsedNanos) {
+        double reference = Double.NEGATIVE_INFINITY;
+        long samples = 0;
+        long rejected = 0;
+        for (Sampler sampler : samplers) {
+            if (sampler.sumWeights > 0) {
+                reference = Math.max(reference, sampler.logReference);
+            }
+            samples += sampler.samples;
+            rejected += sampler.rejected;
+        }
+
+        double[] probabilities = new double[problem.base.length];
+        double sumWeights = 0;
+        double sumSquares = 0;
+        for (Sampler sampler : samplers) {
+            if (sampler.sumWeights > 0) {
+                double scale = Math.exp(sampler.logReference - reference);
+                sumWeights += sampler.sumWeights * scale;
+                sumSquares += sampler.sumSquares * scale * scale;
+                for (int i = 0; i < probabilities.length; i++) {
+                    probabilities[i] += sampler.occupancy[i] * scale;
+                }
+            }
+        }
+        double effective = sumSquares > 0 ? sumWeights * sumWeights / sumSquares : 0;
+
+        int best = -1;
+        int second = -1;
+        double widest = 0;
+        for (int i = 0; i < probabilities.length; i++) {
+            if (problem.base[i] != FREE) {
+                probabilities[i] = 0;
+                continue;
+            }
+            probabilities[i] = sumWeights > 0 ? probabilities[i] / sumWeights : 0;
+            widest = Math.max(widest, halfWidth(probabilities[i], effective));
+            if (best < 0 || probabilities[i] > probabilities[best]) {
+                second = best;
+                best = i;
+            } else if (second < 0 || probabilities[i] > probabilities[second]) {
+                second = i;
+            }
+        }
+
+        boolean converged = best < 0;
+        if (effective >= MIN_EFFECTIVE_SAMPLES) {
+            converged = widest <= tolerance || second < 0
+                    || probabilities[best] - halfWidth(probabilities[best], effective)
+                    > probabilities[second] + halfWidth(probabilities[second], effective);
+        }
+        return new Estimate(problem.height, problem.width, probabilities, best,
+                samples, rejected, effective, elapsedNanos, converged);
+    }
+
+    /**
+     * This method returns the half-width of the confidence interval of a probability
+     *
+     * @param probability	the estimated probability
+     * @param effective		the effective number of samples
+     * @return				the half-width
+     */
+    private static double halfWidth(double probability, double effective) {
+        return effective > 0 ? Z * Math.sqrt(probability * (1 - probability) / effective) : 1;
+    }
+
+    /**
+     * This class contains the result of an analysis
+     */
+    public static final class Estimate {
+        // battlefield height
+        private final int height;
+        // battlefield width
+        private final int width;
+        // the probability that every cell contains a ship, 0 for the cells that have been shot
+        private final double[] probabilities;
+        // the cell with the highest probability, -1 if every cell has been shot
+        private final int recommended;
+        // the number of consistent samples
+        private final long samples;
+        // the number of samples that could not be completed
+        private final long rejected;
+        // the effective number of samples of the weighted samples
+        private final double effectiveSamples;
+        // the time spent on the analysis
+        private final long elapsedNanos;
+        // true if sampling stopped before the budget ran out
+        private final boolean converged;
+
+        /**
+         * Constructs an estimate
+         *
+         * @param height			battlefield height
+         * @param width				battlefield width
+         * @param probabilities		the probability of every cell
+         * @param recommended		the cell with the highest probability, -1 if none
+         * @param samples			the number of consistent samples
+         * @param rejected			the number of samples that could not be completed
+         * @param effectiveSamples	the effective number of samples
+         * @param elapsedNanos		the time spent on the analysis
+         * @param converged			true if sampling stopped before the budget ran out
+         */
+        private Estimate(int height, int width, double[] probabilities, int recommended, long samples,
+                         long rejected, double effectiveSamples, long elapsedNanos, boolean converged) {
+            this.height = height;
+            this.width = width;
+            this.probabilities = probabilities;
+            this.recommended = recommended;
+            this.samples = samples;
+            this.rejected = rejected;
+            this.effectiveSamples = effectiveSamples;
+            this.elapsedNanos = elapsedNanos;
+            this.converged = converged;
+        }
+
+        /**
+         * This method returns the probability that the cell contains a ship
+         *
+         * @param vertical		the row of the cell
+         * @param horizontal	the column of the cell
+         * @return				the probability, 0 for a cell that has been shot
+         */
+        public double getProbability(int vertical, int horizontal) {
+            return probabilities[vertical * width + horizontal];
+        }
+
+        /**
+         * This method returns the recommended shot
+         *
+         * @return	the {@link Coordinate} of the cell with the highest probability,
+         * 			{@code null} if every cell has been shot
+         */
+        public Coordinate getRecommendedShot() {
+            return recommended < 0 ? null : Coordinates.of(height, width).get(recommended);
+        }
+
+        /**
+         * This method returns the number of consistent samples
+         *
+         * @return	the number of samples
+         */
+        public long getSamples() {
+            return samples;
+        }
+
+        /**
+         * This method returns the number of samples that could not be completed
+         *
+         * @return	the number of rejected samples
+         */
+        public long getRejectedSamples() {
+            return rejected;
+        }
+
+        /**
+         * This method returns the effective number of samples, the weighted samples are worth
+         * as much as this number of unweighted ones
+         *
+         * @return	the effective number of samples
+         */
+        public double getEffectiveSamples() {
+            return effectiveSamples;
+        }
+
+        /**
+         * This method returns the time spent on the analysis
+         *
+         * @return	the time in nanoseconds
+         */
+        public long getElapsedNanos() {
+            return elapsedNanos;
+        }
+
+        /**
+         * This method checks if sampling stopped before the budget ran out
+         *
+         * @return	true if the estimate converged, false if the budget ran out
+         */
+        public boolean isConverged() {
+            return converged;
+        }
+    }
+
+    /**
+     * This class contains the input of an analysis, it is read by all samplers and never changed
+     */
+    static final class Problem {
+        // battlefield height
+        private final int height;
+        // battlefield width
+        private final int width;
+        // the state of every cell before a sample
+        private final byte[] base;
+        // the cells with hits of ships that have not sunk
+        private final int[] hits;
+        // the distinct lengths of the remaining ships in ascending order
+        private final int[] lengths;
+        // the number of remaining ships of each length
+        private final int[] counts;
+        // the logarithms of the factorials up to the largest count
+        private final double[] logFactorials;
+
+        /**
+         * Constructs the input of an analysis
+         *
+         * @param battlefield	the {@link BoardView} of the battlefield under fog
+         * @param remaining		the {@link ShipType} list of the ships that have not sunk
+         */
+        Problem(BoardView battlefield, List<ShipType> remaining) {
+            this.height = battlefield.getHeight();
+            this.width = battlefield.getWidth();
+            this.base = new byte[height * width];
+            int hitCount = 0;
+            for (int i = 0; i < height; i++) {
+                for (int j = 0; j < width; j++) {
+                    Mark mark = battlefield.markAt(i, j);
+                    if (mark == Mark.HIT) {
+                        base[i * width + j] = HIT;
+                        hitCount++;
+                    } else if (mark == Mark.MISS || mark == Mark.SANK) {
+                        base[i * width + j] = BLOCKED;
+                    }
+                }
+            }
+            // no ship touches a sunk one
+            for (int i = 0; i < height; i++) {
+                for (int j = 0; j < width; j++) {
+                    if (battlefield.markAt(i, j) == Mark.SANK) {
+                        block(i, j);
+                    }
+                }
+            }
+
+            this.hits = new int[hitCount];
+            for (int i = 0, k = 0; i < base.length; i++) {
+                if (base[i] == HIT) {
+                    hits[k++] = i;
+                }
+            }
+
+            this.lengths = remaining.stream().mapToInt(ShipType::getSize).distinct().sorted().toArray();
+            this.counts = new int[lengths.length];
+            int largest = 0;
+            for (ShipType shipType : remaining) {
+                for (int i = 0; i < lengths.length; i++) {
+                    if (lengths[i] == shipType.getSize()) {
+                        largest = Math.max(largest, ++counts[i]);
+                    }
+                }
+            }
+            this.logFactorials = new double[largest + 1];
+            for (int i = 1; i <= largest; i++) {
+                logFactorials[i] = logFactorials[i - 1] + Math.log(i);
+            }
+        }
+
+        /**
+         * This method blocks the free neighbours of the cell
+         *
+         * @param row		the row of the cell
+         * @param column	the column of the cell
+         */
+        private void block(int row, int column) {
+            for (int i = Math.max(row - 1, 0); i <= Math.min(row + 1, height - 1); i++) {
+                for (int j = Math.max(column - 1, 0); j <= Math.min(column + 1, width - 1); j++) {
+                    if (base[i * width + j] == FREE) {
+                        base[i * width + j] = BLOCKED;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * This class draws samples of one worker and sums them up. The {@link MctsShotStrategy} also draws
+     * the fleets it searches over with it.
+     */
+    static final class Sampler implements Runnable {
+        // the input of the analysis
+        private final Problem problem;
+        // battlefield height
+        private final int height;
+        // battlefield width
+        private final int width;
+        // the generator of this sampler
+        private final SplittableRandom random;
+        // the state of every cell in the current sample
+        private final byte[] state;
+        // the number of ships of each length left to place in the current sample
+        private final int[] remaining;
+        // the cells covered by the ships of the current sample
+        private final int[] placed;
+        // the number of covered cells in the current sample
+        private int placedCount;
+        // the first cell of every ship of the current sample
+        private final int[] shipCells;
+        // the length of every ship of the current sample, negative for a vertical ship
+        private final int[] shipLengths;
+        // the number of ships of the current sample
+        private int shipCount;
+        // the number of horizontal positions in every row, per length
+        private final int[][] rowPositions;
+        // the number of vertical positions in every column, per length
+        private final int[][] columnPositions;
+        // the number of horizontal positions, per length
+        private final long[] horizontalTotals;
+        // the number of vertical positions, per length
+        private final long[] verticalTotals;
+        // the positions before the first ship of a sample
+        private final int[][] initialRowPositions;
+        // the positions before the first ship of a sample
+        private final int[][] initialColumnPositions;
+        // the positions before the first ship of a sample
+        private final long[] initialHorizontalTotals;
+        // the positions before the first ship of a sample
+        private final long[] initialVerticalTotals;
+
+        // the time at which the current round ends, set before the round is submitted
+        private long roundEnd;
+        // the weighted number of samples in which every cell contains a ship
+        private final double[] occupancy;
+        // the sum of the weights
+        private double sumWeights;
+        // the sum of the squared weights
+        private double sumSquares;
+        // the logarithm of the weight that the sums are relative to
+        private double logReference;
+        // the number of consistent samples
+        private long samples;
+        // the number of samples that could not be completed
+        private long rejected;
+
+        /**
+         * Constructs a sampler
+         *
+         * @param problem	the input of the analysis
+         * @param random	the {@link SplittableRandom} of this sampler
+         */
+        Sampler(Problem problem, SplittableRandom random) {
+            this.problem = problem;
+            this.height = problem.height;
+            this.width = problem.width;
+            this.random = random;
+            this.state = new byte[problem.base.length];
+            this.remaining = new int[problem.lengths.length];
+            this.placed = new int[state.length];
+            int ships = 0;
+            for (int count : problem.counts) {
+                ships += count;
+            }
+            this.shipCells = new int[ships];
+            this.shipLengths = new int[ships];
+            this.rowPositions = new int[problem.lengths.length][height];
+            this.columnPositions = new int[problem.lengths.length][width];
+            this.horizontalTotals = new long[problem.lengths.length];
+            this.verticalTotals = new long[problem.lengths.length];
+            this.occupancy = new double[state.length];
+
+            System.arraycopy(problem.base, 0, state, 0, state.length);
+            for (int row = 0; row < height; row++) {
+                countRuns(row, false, 0, width - 1, 1);
+            }
+            for (int column = 0; column < width; column++) {
+                countRuns(column, true, 0, height - 1, 1);
+            }
+            this.initialRowPositions = copy(rowPositions);
+            this.initialColumnPositions = copy(columnPositions);
+            this.initialHorizontalTotals = horizontalTotals.clone();
+            this.initialVerticalTotals = verticalTotals.clone();
+        }
+
+        @Override
+        public void run() {
+            do {
+                sample();
+            } while (System.nanoTime() < roundEnd);
+        }
+
+        /**
+         * This method draws one sample and adds it to the sums
+         */
+        private void sample() {
+            double logWeight = draw();
+            if (logWeight > Double.NEGATIVE_INFINITY) {
+                add(logWeight);
+            }
+        }
+
+        /**
+         * This method draws one sample, its ships are kept until the next one is drawn
+         *
+         * @return	the logarithm of the weight of the sample,
+         * 			{@link Double#NEGATIVE_INFINITY} if the sample could not be completed
+         */
+        double draw() {
+            System.arraycopy(problem.base, 0, state, 0, state.length);
+            System.arraycopy(problem.counts, 0, remaining, 0, remaining.length);
+            for (int k = 0; k < remaining.length; k++) {
+                System.arraycopy(initialRowPositions[k], 0, rowPositions[k], 0, height);
+                System.arraycopy(initialColumnPositions[k], 0, columnPositions[k], 0, width);
+            }
+            System.arraycopy(initialHorizontalTotals, 0, horizontalTotals, 0, remaining.length);
+            System.arraycopy(initialVerticalTotals, 0, verticalTotals, 0, remaining.length);
+            placedCount = 0;
+            shipCount = 0;
+            double logWeight = 0;
+
+            for (int hit : problem.hits) {
+                if (state[hit] != HIT) {
+                    continue;
+                }
+                int options = coverHit(hit, -1);
+                if (options == 0) {
+                    rejected++;
+                    return Double.NEGATIVE_INFINITY;
+                }
+                coverHit(hit, random.nextInt(options));
+                logWeight += Math.log(options);
+            }
+
+            // the longest ships have the fewest positions, they are placed first
+            for (int k = problem.lengths.length - 1; k >= 0; k--) {
+                for (int i = 0; i < remaining[k]; i++) {
+                    long positions = horizontalTotals[k] + verticalTotals[k];
+                    if (positions == 0) {
+                        rejected++;
+                        return Double.NEGATIVE_INFINITY;
+                    }
+                    placeAt(k, random.nextLong(positions));
+                    logWeight += Math.log(positions);
+                }
+                // the ships of the same length are placed in any order
+                logWeight -= problem.logFactorials[remaining[k]];
+            }
+            return logWeight;
+        }
+
+        /**
+         * This method returns the number of ships of the last sample
+         *
+         * @return	the number of ships
+         */
+        int getShipCount() {
+            return shipCount;
+        }
+
+        /**
+         * This method returns the first cell of a ship of the last sample, the top or the left one
+         *
+         * @param ship	the index of the ship
+         * @return		the cell index, {@code vertical * width + horizontal}
+         */
+        int getShipCell(int ship) {
+            return shipCells[ship];
+        }
+
+        /**
+         * This method returns the length of a ship of the last sample
+         *
+         * @param ship	the index of the ship
+         * @return		the length, negative for a vertical ship
+         */
+        int getShipLength(int ship) {
+            return shipLengths[ship];
+        }
+
+        /**
+         * This method counts the positions of the remaining ships that cover the hit,
+         * or places a ship at one of them
+         *
+         * @param hit		the cell of the hit
+         * @param choice	the number of the position to place a ship at, -1 to only count
+         * @return			the number of positions
+         */
+        private int coverHit(int hit, int choice) {
+            int row = hit / width;
+            int column = hit % width;
+            int options = 0;
+            for (int k = 0; k < problem.lengths.length; k++) {
+                if (remaining[k] == 0) {
+                    continue;
+                }
+                int length = problem.lengths[k];
+                for (int start = Math.max(column - length + 1, 0); start <= column && start + length <= width; start++) {
+                    if (fitsOverHits(row, start, length, false) && options++ == choice) {
+                        placeShip(row, start, length, false);
+                        remaining[k]--;
+                        return options;
+                    }
+                }
+                for (int start = Math.max(row - length + 1, 0); start <= row && start + length <= height; start++) {
+                    if (length > 1 && fitsOverHits(start, column, length, true) && options++ == choice) {
+                        placeShip(start, column, length, true);
+                        remaining[k]--;
+                        return options;
+                    }
+                }
+            }
+            return options;
+        }
+
+        /**
+         * This method checks if a ship fits at the position over free cells and hits,
+         * without touching a hit it does not cover
+         *
+         * @param row			the row of the first cell
+         * @param column		the column of the first cell
+         * @param length		the length of the ship
+         * @param isVertical	true if the ship is vertical
+         * @return				true if the ship fits, false otherwise
+         */
+        private boolean fitsOverHits(int row, int column, int length, boolean isVertical) {
+            int bottom = isVertical ? row + length - 1 : row;
+            int right = isVertical ? column : column + length - 1;
+            for (int i = Math.max(row - 1, 0); i <= Math.min(bottom + 1, height - 1); i++) {
+                for (int j = Math.max(column - 1, 0); j <= Math.min(right + 1, width - 1); j++) {
+                    byte cell = state[i * width + j];
+                    boolean inside = i >= row && i <= bottom && j >= column && j <= right;
+                    if (inside ? cell != FREE && cell != HIT : cell == HIT) {
+                        return false;
+                    }
+                }
+            }
+            return true;
+        }
+
+        /**
+         * This method places a ship and counts the positions of the lines around it again
+         *
+         * @param row			the row of the first cell
+         * @param column		the column of the first cell
+         * @param length		the length of the ship
+         * @param isVertical	true if the ship is vertical
+         */
+        private void placeShip(int row, int column, int length, boolean isVertical) {
+            place(row, column, length, isVertical);
+            shipCells[shipCount] = row * width + column;
+            shipLengths[shipCount++] = isVertical ? -length : length;
+            int bottom = Math.min(isVertical ? row + length : row + 1, height - 1);
+            int right = Math.min(isVertical ? column + 1 : column + length, width - 1);
+            for (int i = Math.max(row - 1, 0); i <= bottom; i++) {
+                countLine(i, false);
+            }
+            for (int j = Math.max(column - 1, 0); j <= right; j++) {
+                countLine(j, true);
+            }
+        }
+
+        /**
+         * This method counts the positions of the line again
+         *
+         * @param line			the row or the column
+         * @param isVertical	true if the line is a column
+         */
+        private void countLine(int line, boolean isVertical) {
+            int[][] positions = isVertical ? columnPositions : rowPositions;
+            long[] totals = isVertical ? verticalTotals : horizontalTotals;
+            for (int k = 0; k < totals.length; k++) {
+                totals[k] -= positions[k][line];
+                positions[k][line] = 0;
+            }
+            countRuns(line, isVertical, 0, (isVertical ? height : width) - 1, 1);
+        }
+
+        /**
+         * This method adds or subtracts the positions of the free runs within a part of the line.
+         * The part must not cut a free run. A ship of length 1 has only horizontal positions.
+         *
+         * @param line			the row or the column
+         * @param isVertical	true if the line is a column
+         * @param from			the first cell of the part
+         * @param to			the last cell of the part
+         * @param sign			1 to add the positions, -1 to subtract them
+         */
+        private void countRuns(int line, boolean isVertical, int from, int to, int sign) {
+            int[] lengths = problem.lengths;
+            int[][] positions = isVertical ? columnPositions : rowPositions;
+            long[] totals = isVertical ? verticalTotals : horizontalTotals;
+            int stride = isVertical ? width : 1;
+            int first = isVertical ? line : line * width;
+            int run = 0;
+            for (int i = from; i <= to + 1; i++) {
+                if (i <= to && state[first + i * stride] == FREE) {
+                    run++;
+                    continue;
+                }
+                for (int k = 0; k < lengths.length && lengths[k] <= run; k++) {
+                    if (!isVertical || lengths[k] > 1) {
+                        int fits = sign * (run - lengths[k] + 1);
+                        positions[k][line] += fits;
+                        totals[k] += fits;
+                    }
+                }
+                run = 0;
+            }
+        }
+
+        /**
+         * This method places a ship and blocks its neighbours
+         *
+         * @param row			the row of the first cell
+         * @param column		the column of the first cell
+         * @param length		the length of the ship
+         * @param isVertical	true if the ship is vertical
+         */
+        private void place(int row, int column, int length, boolean isVertical) {
+            int bottom = isVertical ? row + length - 1 : row;
+            int right = isVertical ? column : column + length - 1;
+            for (int i = Math.max(row - 1, 0); i <= Math.min(bottom + 1, height - 1); i++) {
+                for (int j = Math.max(column - 1, 0); j <= Math.min(right + 1, width - 1); j++) {
+                    int cell = i * width + j;
+                    if (i >= row && i <= bottom && j >= column && j <= right) {
+                        state[cell] = OCCUPIED;
+                        placed[placedCount++] = cell;
+                    } else if (state[cell] == FREE) {
+                        state[cell] = BLOCKED;
+                    }
+                }
+            }
+        }
+
+        /**
+         * This method places a ship of the length at the position with the specified number
+         *
+         * @param k			the index of the length
+         * @param position	the number of the position among the horizontal and then the vertical ones
+         */
+        private void placeAt(int k, long position) {
+            int length = problem.lengths[k];
+            boolean isVertical = position >= horizontalTotals[k];
+            int[] positions = isVertical ? columnPositions[k] : rowPositions[k];
+            long rest = isVertical ? position - horizontalTotals[k] : position;
+            int line = 0;
+            while (rest >= positions[line]) {
+                rest -= positions[line++];
+            }
+
+            int size = isVertical ? height : width;
+            int stride = isVertical ? width : 1;
+            int first = isVertical ? line : line * width;
+            int start = 0;
+            for (int i = 0; i <= size; i++) {
+                if (i < size && state[first + i * stride] == FREE) {
+                    continue;
+                }
+                int fits = i - start - length + 1;
+                if (fits > 0) {
+                    if (rest < fits) {
+                        start += (int) rest;
+                        break;
+                    }
+                    rest -= fits;
+                }
+                start = i + 1;
+            }
+
+            placeShip(isVertical ? start : line, isVertical ? line : start, length, isVertical);
+        }
+
+        /**
+         * This method adds the current sample to the sums. The sums are kept relative to the
+         * largest weight so far, so that the weights of large battlefields do not overflow.
+         *
+         * @param logWeight		the logarithm of the weight of the sample
+         */
+        private void add(double logWeight) {
+            samples++;
+            if (sumWeights == 0 || logWeight > logReference) {
+                if (sumWeights > 0) {
+                    double scale = Math.exp(logReference - logWeight);
+                    for (int i = 0; i < occupancy.length; i++) {
+                        occupancy[i] *= scale;
+                    }
+                    sumWeights *= scale;
+                    sumSquares *= scale * scale;
+                }
+                logReference = logWeight;
+            }
+            double weight = Math.exp(logWeight - logReference);
+            sumWeights += weight;
+            sumSquares += weight * weight;
+            for (int i = 0; i < placedCount; i++) {
+                occupancy[placed[i]] += weight;
+            }
+        }
+
+        /**
+         * This method copies the matrix
+         *
+         * @param matrix	the matrix
+         * @return			the copy
+         */
+        private static int[][] copy(int[][] matrix) {
+            int[][] copy = new int[matrix.length][];
+            for (int i = 0; i < matrix.length; i++) {
+                copy[i] = matrix[i].clone();
+            }
+            return copy;
+        }
+    }
+
+    /**
+     * This class is a {@link BoardView} of a {@link Mark} matrix
+     */
+    private static final class MarksView implements BoardView {
+        // the marks
+        private final Mark[][] marks;
+
+        /**
+         * Constructs a view
+         *
+         * @param marks		the {@link Mark} matrix
+         */
+        MarksView(Mark[][] marks) {
+            this.marks = marks;
+        }
+
+        @Override
+        public int getHeight() {
+            return marks.length;
+        }
+
+        @Override
+        public int getWidth() {
+            return marks.length == 0 ? 0 : marks[0].length;
+        }
+
+        @Override
+        public Mark markAt(int vertical, int horizontal) {
+            return marks[vertical][horizontal];
+        }
+    }
+}
@@ -0,0 +1,321 @@
+package battleship.ai;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import battleship.model.Coordinate;
+import battleship.model.Coordinates;
+import battleship.model.ShotResult;
+import battleship.model.field.BoardView;
+import battleship.model.ship.ShipType;
+import battleship.strategy.ShotStrategy;
+
+/**
+ * This class shoots at the cell covered by the largest number of positions in which the
+ * remaining ships can still be placed. Positions through hits of ships that have not sunk
+ * yet weigh more, so the strategy finishes a ship once it finds one.
+ * <p>
+ * The density of a cell is the sum of the horizontal positions in its row and the vertical
+ * positions in its column. A shot changes only the positions in its row and its column,
+ * so after a shot only these lines are counted again instead of the whole battlefield.
+ */
+public class ProbabilityShotStrategy implements ShotStrategy {
+    // the cell has not been shot and may contain a ship
+    private static final byte UNKNOWN = 0;
+    // the cell contains no ship
+    private static final byte EMPTY = 1;
+    // the cell contains a part of a ship that has not sunk yet
+    private static final byte HIT = 2;
+    // the cell contains a part of a sunk ship
+    private static final byte SUNK = 3;
+    // the additional weight of a position for every hit it covers
+    private static final int HIT_WEIGHT = 20;
+
+    // battlefield height
+    private final int height;
+    // battlefield width
+    private final int width;
+    // the state of every cell
+    private final byte[] cells;
+    // the cells that have been shot
+    private final boolean[] shot;
+    // the cells chosen for the salvo being chosen, cleared after every salvo
+    private final boolean[] chosen;
+    // the distinct lengths of the ships
+    private final int[] lengths;
+    // the number of ships of each length that have not sunk
+    private final int[] remaining;
+    // weighted horizontal positions covering every cell, per length
+    private final int[][] horizontal;
+    // weighted vertical positions covering every cell, per length
+    private final int[][] vertical;
+    // the density of every cell over all remaining ships
+    private final long[] density;
+
+    /**
+     * Constructs the strategy for the standard battlefield and fleet
+     */
+    public ProbabilityShotStrategy() {
+        this(10, 10, Arrays.asList(ShipType.values()));
+    }
+
+    /**
+     * Constructs the strategy
+     *
+     * @param height	battlefield height
+     * @param width		battlefield width
+     * @param fleet		the {@link ShipType} list of the enemy's ships
+     */
+    public ProbabilityShotStrategy(int height, int width, List<ShipType> fleet) {
+        this.height = height;
+        this.width = width;
+        this.cells = new byte[height * width];
+        this.shot = new boolean[cells.length];
+        this.chosen = new boolean[cells.length];
+        this.lengths = fleet.stream().mapToInt(ShipType::getSize).distinct().sorted().toArray();
+        this.remaining = new int[lengths.length];
+        for (ShipType shipType : fleet) {
+            remaining[Arrays.binarySearch(lengths, shipType.getSize())]++;
+        }
+        this.horizontal = new int[lengths.length][cells.length];
+        this.vertical = new int[lengths.length][cells.length];
+        this.density = new long[cells.length];
+        recompute();
+    }
+
+    @Override
+    public Coordinate nextShot(BoardView enemyBattlefield) {
+        int best = -1;
+        int ties = 0;
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < cells.length; i++) {
+            if (cells[i] != UNKNOWN) {
+                continue;
+            }
+            if (best < 0 || density[i] > density[best]) {
+                best = i;
+                ties = 1;
+            } else if (density[i] == density[best] && random.nextInt(++ties) == 0) {
+                best = i;
+            }
+        }
+        if (best < 0) {
+            best = firstNotShot();
+        }
+        return Coordinates.of(height, width).get(best);
+    }
+
+    /**
+     * This method chooses the cells of the salvo with the largest densities. The densities are not
+     * counted again between the shots, the salvo is chosen in one pass per shot without allocation.
+     * If fewer cells are left than the salvo has shots, the first shot is repeated.
+     *
+     * @param enemyBattlefield	the {@link BoardView} of the enemy's battlefield under fog
+     * @param shots				the {@link Coordinate} array the shots are written to
+     * @param count				the number of shots of the salvo
+     */
+    @Override
+    public void nextShots(BoardView enemyBattlefield, Coordinate[] shots, int count) {
+        Coordinates coordinates = Coordinates.of(height, width);
+        for (int k = 0; k < count; k++) {
+            int best = -1;
+            for (int i = 0; i < cells.length; i++) {
+                if (cells[i] == UNKNOWN && !chosen[i] && (best < 0 || density[i] > density[best])) {
+                    best = i;
+                }
+            }
+            if (best < 0) {
+                for (int i = 0; i < shot.length && best < 0; i++) {
+                    if (!shot[i] && !chosen[i]) {
+                        best = i;
+                    }
+                }
+            }
+            if (best < 0 && k == 0) {
+                throw new IllegalStateException("There are no cells left to shoot at.");
+            }
+            shots[k] = best < 0 ? shots[0] : coordinates.get(best);
+            chosen[coordinates.cellOf(shots[k])] = true;
+        }
+        for (int k = 0; k < count; k++) {
+            chosen[coordinates.cellOf(shots[k])] = false;
+        }
+    }
+
+    @Override
+    public void shotResult(Coordinate coordinate, ShotResult shotResult) {
+        int row = coordinate.getVertical();
+        int column = coordinate.getHorizontal();
+        if (shot[row * width + column]) {
+            // a repeated shot of a salvo reports the mark that is already known
+            return;
+        }
+        shot[row * width + column] = true;
+        switch (shotResult) {
+            case MISS:
+                cells[row * width + column] = EMPTY;
+                recomputeRow(row);
+                recomputeColumn(column);
+                break;
+            case HIT:
+                cells[row * width + column] = HIT;
+                recomputeRow(row);
+                recomputeColumn(column);
+                break;
+            case SANK:
+                cells[row * width + column] = HIT;
+                sink(row, column);
+        }
+    }
+
+    /**
+     * This method returns the density of the cell
+     *
+     * @param row		the row of the cell
+     * @param column	the column of the cell
+     * @return			the weighted number of positions of the remaining ships covering the cell
+     */
+    public long getDensity(int row, int column) {
+        return density[row * width + column];
+    }
+
+    /**
+     * This method counts the positions of all lines again
+     */
+    public void recompute() {
+        for (int row = 0; row < height; row++) {
+            recomputeRow(row);
+        }
+        for (int column = 0; column < width; column++) {
+            recomputeColumn(column);
+        }
+    }
+
+    /**
+     * This method returns a cell that has not been shot. It is used only if the ships were placed
+     * so that no position of the remaining ships is left, e.g. two ships in one line were taken for one.
+     *
+     * @return	the index of the cell
+     * @throws IllegalStateException	if every cell has been shot
+     */
+    private int firstNotShot() throws IllegalStateException {
+        for (int i = 0; i < shot.length; i++) {
+            if (!shot[i]) {
+                return i;
+            }
+        }
+        throw new IllegalStateException("There are no cells left to shoot at.");
+    }
+
+    /**
+     * This method marks the ship through the cell as sunk, removes it from the remaining ships
+     * and counts the affected lines again
+     *
+     * @param row		the row of the last hit of the ship
+     * @param column	the column of the last hit of the ship
+     */
+    private void sink(int row, int column) {
+        // the hits in line with the last hit are taken for the sunk ship
+        int left = column;
+        int right = column;
+        while (left > 0 && cells[row * width + left - 1] == HIT) left--;
+        while (right < width - 1 && cells[row * width + right + 1] == HIT) right++;
+        int top = row;
+        int bottom = row;
+        if (left == right) {
+            while (top > 0 && cells[(top - 1) * width + column] == HIT) top--;
+            while (bottom < height - 1 && cells[(bottom + 1) * width + column] == HIT) bottom++;
+        }
+
+        for (int i = top; i <= bottom; i++) {
+            for (int j = left; j <= right; j++) {
+                cells[i * width + j] = SUNK;
+            }
+        }
+
+        int k = Arrays.binarySearch(lengths, Math.max(right - left, bottom - top) + 1);
+        if (k >= 0 && remaining[k] > 0) {
+            for (int i = 0; i < cells.length; i++) {
+                density[i] -= horizontal[k][i] + vertical[k][i];
+            }
+            remaining[k]--;
+        }
+
+        for (int i = top; i <= bottom; i++) {
+            recomputeRow(i);
+        }
+        for (int j = left; j <= right; j++) {
+            recomputeColumn(j);
+        }
+    }
+
+    /**
+     * This method counts the horizontal positions in the row again
+     *
+     * @param row	the row
+     */
+    private void recomputeRow(int row) {
+        for (int k = 0; k < lengths.length; k++) {
+            recomputeLine(horizontal[k], k, row * width, 1, width);
+        }
+    }
+
+    /**
+     * This method counts the vertical positions in the column again
+     *
+     * @param column	the column
+     */
+    private void recomputeColumn(int column) {
+        for (int k = 0; k < lengths.length; k++) {
+            recomputeLine(vertical[k], k, column, width, height);
+        }
+    }
+
+    /**
+     * This method counts the positions of the ships of one length in a line again and
+     * replaces their old contribution to the density with the new one
+     *
+     * @param positions		the positions covering every cell in the direction of the line
+     * @param k				the index of the length
+     * @param start			the index of the first cell of the line
+     * @param step			the difference between the indexes of two neighbouring cells of the line
+     * @param size			the number of cells in the line
+     */
+    private void recomputeLine(int[] positions, int k, int start, int step, int size) {
+        int length = lengths[k];
+        int count = remaining[k];
+        int end = start + step * size;
+        for (int i = start; i < end; i += step) {
+            density[i] -= (long) count * positions[i];
+            positions[i] = 0;
+        }
+        if (count == 0 || length > size) {
+            return;
+        }
+
+        // slide a window of the ship length along the line
+        int blocked = 0;
+        int hits = 0;
+        for (int i = 0; i < size; i++) {
+            byte cell = cells[start + i * step];
+            if (cell == EMPTY || cell == SUNK) blocked++;
+            if (cell == HIT) hits++;
+            if (i >= length) {
+                byte first = cells[start + (i - length) * step];
+                if (first == EMPTY || first == SUNK) blocked--;
+                if (first == HIT) hits--;
+            }
+            if (i >= length - 1 && blocked == 0) {
+                int weight = 1 + hits * HIT_WEIGHT;
+                for (int j = i - length + 1; j <= i; j++) {
+                    positions[start + j * step] += weight;
+                }
+            }
+        }
+
+        for (int i = start; i < end; i += step) {
+            density[i] += (long) count * positions[i];
+        }
+    }
+}
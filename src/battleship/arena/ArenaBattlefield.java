@@ -0,0 +1,379 @@
+package battleship.arena;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import battleship.model.Coordinate;
+import battleship.model.Coordinates;
+import battleship.model.field.AbstractBattlefield;
+import battleship.model.field.Battlefield;
+import battleship.model.field.Cell;
+import battleship.model.field.Mark;
+import battleship.model.ship.Ship;
+import battleship.model.ship.ShipPart;
+import battleship.model.ship.ShipType;
+
+/**
+ * This class is a flyweight {@link Battlefield} that reads and writes a battlefield in the slot of a
+ * {@link GameArena}. It keeps only the position of the battlefield, all the state is in the slot.
+ * The {@link Ship}s it returns are created from the slot when they are asked for, they show the damage
+ * at that moment and changing them does not change the battlefield. The shots never create them: whether
+ * a ship has sunk and which cells it covers are read from its record in the slot.
+ */
+final class ArenaBattlefield extends AbstractBattlefield {
+    // all ship types by the ordinal
+    private static final ShipType[] SHIP_TYPES = ShipType.values();
+    // offset of the number of the first part in the record of a ship, an int
+    private static final int FIRST_PART = 0;
+    // offset of the ordinal of the type in the record of a ship
+    private static final int TYPE = 4;
+    // offset of the length in the record of a ship
+    private static final int LENGTH = 5;
+    // offset of the number of parts that are not damaged in the record of a ship
+    private static final int UNDAMAGED_PARTS = 6;
+
+    // the arena that knows the layout of the slot
+    private final GameArena arena;
+    // the buffer that holds the slot
+    private final ByteBuffer memory;
+    // the offset of the battlefield in the buffer
+    private final int base;
+
+    /**
+     * Constructs a flyweight of the battlefield
+     *
+     * @param arena		the {@link GameArena}
+     * @param memory	the {@link ByteBuffer} that holds the slot
+     * @param base		the offset of the battlefield in the buffer
+     */
+    ArenaBattlefield(GameArena arena, ByteBuffer memory, int base) {
+        super(arena.getRules().getHeight(), arena.getRules().getWidth());
+        this.arena = arena;
+        this.memory = memory;
+        this.base = base;
+    }
+
+    @Override
+    public List<Ship> getShips() {
+        int ships = memory.getInt(base + GameArena.SHIPS);
+        List<Ship> list = new ArrayList<>(ships);
+        for (int ship = 0; ship < ships; ship++) {
+            list.add(createShip(ship));
+        }
+        return list;
+    }
+
+    @Override
+    public boolean allShipsSank() {
+        return memory.getInt(base + GameArena.UNDAMAGED) == 0;
+    }
+
+    @Override
+    public int shipsAfloat() {
+        int afloat = memory.getInt(base + GameArena.SHIPS);
+        for (int i = 0; i < SHIP_TYPES.length; i++) {
+            afloat -= memory.getInt(base + GameArena.SUNK + i * Integer.BYTES);
+        }
+        return afloat;
+    }
+
+    @Override
+    public long getZobristHash() {
+        return memory.getLong(base + GameArena.HASH);
+    }
+
+    /**
+     * This method adds the ship to the slot, the ship object is not kept
+     *
+     * @param ship						the {@link Ship} to add
+     * @throws IllegalStateException	if the slot has no room for the ship
+     */
+    @Override
+    public void addShip(Ship ship) throws IllegalStateException {
+        int number = memory.getInt(base + GameArena.SHIPS);
+        int first = memory.getInt(base + GameArena.PARTS_USED);
+        if (number == arena.fleetSize || first + ship.getLength() > arena.fleetParts) {
+            throw new IllegalStateException("The fleet is larger than the fleet of the arena.");
+        }
+        int record = shipRecord(number);
+        memory.putInt(record + FIRST_PART, first);
+        memory.put(record + TYPE, (byte) ship.getShipType().ordinal());
+        memory.put(record + LENGTH, (byte) ship.getLength());
+        memory.put(record + UNDAMAGED_PARTS, (byte) ship.getLength());
+        for (int i = 0; i < ship.getLength(); i++) {
+            int cell = indexOf(ship.getShipPart(i).getCoordinate());
+            memory.putInt(base + arena.parts + (first + i) * Integer.BYTES, cell);
+            memory.put(base + arena.shipOf + cell, (byte) (number + 1));
+            setBit(arena.occupied, cell);
+        }
+        forbidZone(ship);
+        memory.putInt(base + GameArena.SHIPS, number + 1);
+        memory.putInt(base + GameArena.PARTS_USED, first + ship.getLength());
+        memory.putInt(base + GameArena.UNDAMAGED, memory.getInt(base + GameArena.UNDAMAGED) + ship.getLength());
+    }
+
+    /**
+     * This method returns a view of the cell with the specified index, the view is created on every
+     * call because the slot keeps no cell objects
+     *
+     * @param cell	the cell index, {@code vertical * width + horizontal}
+     * @return		the {@link Cell} that reads and writes the slot
+     */
+    @Override
+    public Cell getCell(int cell) {
+        return new ArenaCell(cell);
+    }
+
+    @Override
+    public Mark getMark(int cell) {
+        if (getBit(arena.hits, cell)) {
+            int ship = shipNumber(cell);
+            return ship >= 0 && memory.get(shipRecord(ship) + UNDAMAGED_PARTS) == 0 ? Mark.SANK : Mark.HIT;
+        } else if (getBit(arena.misses, cell)) {
+            return Mark.MISS;
+        } else if (getBit(arena.occupied, cell)) {
+            return Mark.SHIP;
+        }
+        return Mark.FOG;
+    }
+
+    /**
+     * This method creates the ship in the cell with the specified index from the slot, it is meant for
+     * the rare callers that need a {@link Ship}: {@link #getMark(int)} tells a sunk ship without one
+     *
+     * @param cell	the cell index, {@code vertical * width + horizontal}
+     * @return		the {@link Ship} in the cell, {@code null} if the cell is empty
+     */
+    @Override
+    public Ship getShip(int cell) {
+        int ship = shipNumber(cell);
+        return ship < 0 ? null : createShip(ship);
+    }
+
+    /**
+     * This method creates the ship from its record, the parts in cells that have been shot at are damaged
+     *
+     * @param ship	the number of the ship
+     * @return		the {@link Ship}
+     */
+    private Ship createShip(int ship) {
+        Coordinates cells = arena.getRules().getCoordinates();
+        int record = shipRecord(ship);
+        int first = memory.getInt(record + FIRST_PART);
+        Coordinate[] coordinates = new Coordinate[memory.get(record + LENGTH)];
+        for (int i = 0; i < coordinates.length; i++) {
+            coordinates[i] = cells.get(memory.getInt(base + arena.parts + (first + i) * Integer.BYTES));
+        }
+        Ship created = new Ship(SHIP_TYPES[memory.get(record + TYPE)], coordinates);
+        for (int i = 0; i < coordinates.length; i++) {
+            int cell = cells.cellOf(coordinates[i]);
+            if (getBit(arena.hits, cell) || getBit(arena.misses, cell)) {
+                created.getShipPart(i).setDamaged();
+            }
+        }
+        return created;
+    }
+
+    @Override
+    protected Mark markAt(int vertical, int horizontal) {
+        return getMark(vertical * width + horizontal);
+    }
+
+    @Override
+    protected Mark setMark(int cell, Mark mark) {
+        Mark before = getMark(cell);
+        if (Mark.SHIP.equals(before) && !Mark.SHIP.equals(mark)) {
+            countUndamaged(cell, -1);
+        }
+        setBits(cell, mark);
+        return before;
+    }
+
+    @Override
+    protected void restoreMark(int cell, Mark mark) {
+        if (Mark.SHIP.equals(mark)) {
+            countUndamaged(cell, 1);
+        }
+        setBits(cell, mark);
+    }
+
+    @Override
+    protected boolean isForbidden(int from, int to) {
+        for (int cell = from; cell < to; cell++) {
+            if (getBit(arena.forbidden, cell)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    protected void forbid(int from, int to) {
+        for (int cell = from; cell < to; cell++) {
+            setBit(arena.forbidden, cell);
+        }
+    }
+
+    @Override
+    protected void setZobristHash(long zobristHash) {
+        memory.putLong(base + GameArena.HASH, zobristHash);
+    }
+
+    @Override
+    protected int sunkShips(ShipType shipType) {
+        return memory.getInt(base + GameArena.SUNK + shipType.ordinal() * Integer.BYTES);
+    }
+
+    @Override
+    protected void setSunkShips(ShipType shipType, int count) {
+        memory.putInt(base + GameArena.SUNK + shipType.ordinal() * Integer.BYTES, count);
+    }
+
+    @Override
+    protected ShipType shipType(int cell) {
+        return SHIP_TYPES[memory.get(shipRecord(shipNumber(cell)) + TYPE)];
+    }
+
+    @Override
+    protected int shipLength(int cell) {
+        return memory.get(shipRecord(shipNumber(cell)) + LENGTH);
+    }
+
+    @Override
+    protected int shipPart(int cell, int part) {
+        int first = memory.getInt(shipRecord(shipNumber(cell)) + FIRST_PART);
+        return memory.getInt(base + arena.parts + (first + part) * Integer.BYTES);
+    }
+
+    /**
+     * This method sets the hit and miss bits of the cell for the mark
+     *
+     * @param cell	the cell index
+     * @param mark	the {@link Mark}
+     */
+    private void setBits(int cell, Mark mark) {
+        clearBit(arena.hits, cell);
+        clearBit(arena.misses, cell);
+        if (Mark.HIT.equals(mark) || Mark.SANK.equals(mark)) {
+            setBit(arena.hits, cell);
+        } else if (Mark.MISS.equals(mark)) {
+            setBit(arena.misses, cell);
+        }
+    }
+
+    /**
+     * This method changes the number of undamaged parts of the ship in the cell and of the battlefield
+     *
+     * @param cell		the cell index of a part of the ship
+     * @param change	-1 for a part that has just been damaged, 1 for a part that has just been repaired
+     */
+    private void countUndamaged(int cell, int change) {
+        int record = shipRecord(shipNumber(cell));
+        memory.put(record + UNDAMAGED_PARTS, (byte) (memory.get(record + UNDAMAGED_PARTS) + change));
+        memory.putInt(base + GameArena.UNDAMAGED, memory.getInt(base + GameArena.UNDAMAGED) + change);
+    }
+
+    /**
+     * This method returns the number of the ship in the cell
+     *
+     * @param cell	the cell index
+     * @return		the number of the ship, -1 for an empty cell
+     */
+    private int shipNumber(int cell) {
+        return (memory.get(base + arena.shipOf + cell) & 0xFF) - 1;
+    }
+
+    /**
+     * This method returns the offset of the record of the ship
+     *
+     * @param ship	the number of the ship
+     * @return		the offset in the buffer
+     */
+    private int shipRecord(int ship) {
+        return base + arena.shipRecords + ship * Long.BYTES;
+    }
+
+    /**
+     * This method checks a bit of a bit set of the battlefield
+     *
+     * @param bitSet	the offset of the bit set
+     * @param cell		the cell index
+     * @return			true if the bit is set, false otherwise
+     */
+    private boolean getBit(int bitSet, int cell) {
+        return (memory.getLong(base + bitSet + (cell >>> 6) * Long.BYTES) & (1L << cell)) != 0;
+    }
+
+    /**
+     * This method sets a bit of a bit set of the battlefield
+     *
+     * @param bitSet	the offset of the bit set
+     * @param cell		the cell index
+     */
+    private void setBit(int bitSet, int cell) {
+        int word = base + bitSet + (cell >>> 6) * Long.BYTES;
+        memory.putLong(word, memory.getLong(word) | 1L << cell);
+    }
+
+    /**
+     * This method clears a bit of a bit set of the battlefield
+     *
+     * @param bitSet	the offset of the bit set
+     * @param cell		the cell index
+     */
+    private void clearBit(int bitSet, int cell) {
+        int word = base + bitSet + (cell >>> 6) * Long.BYTES;
+        memory.putLong(word, memory.getLong(word) & ~(1L << cell));
+    }
+
+    /**
+     * This class is a {@link Cell} that reads and writes the slot
+     */
+    private class ArenaCell extends Cell {
+        // the cell index
+        private final int index;
+
+        /**
+         * Constructs a cell view
+         *
+         * @param index		the cell index
+         */
+        ArenaCell(int index) {
+            super(Mark.FOG);
+            this.index = index;
+        }
+
+        @Override
+        public Mark getMark() {
+            return ArenaBattlefield.this.getMark(index);
+        }
+
+        @Override
+        public void setMark(Mark mark) {
+            markCell(index, mark);
+        }
+
+        @Override
+        public Ship getPlacedShip() {
+            return getShip(index);
+        }
+
+        /**
+         * This method adds the ship of the part to the slot with all its parts, like
+         * {@link ArenaBattlefield#addShip}, unless there is a ship in this cell already
+         *
+         * @param shipPart						the {@link ShipPart} in this cell
+         * @throws IllegalArgumentException		if the part does not lie in this cell
+         */
+        @Override
+        public void setShipPart(ShipPart shipPart) throws IllegalArgumentException {
+            if (indexOf(shipPart.getCoordinate()) != index) {
+                throw new IllegalArgumentException("The ship part does not lie in this cell.");
+            }
+            if (!getBit(arena.occupied, index)) {
+                addShip(shipPart.getShip());
+            }
+        }
+    }
+}
@@ -0,0 +1,349 @@
+package battleship.arena;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import battleship.controller.GameSession;
+import battleship.controller.GameState;
+import battleship.model.GameRules;
+import battleship.model.Player;
+import battleship.model.field.Battlefield;
+import battleship.model.ship.ShipType;
+
+/**
+ * This class stores games outside the heap. Every game takes a slot of the same size in large direct
+ * buffers: the state of the game, the names of the players and both battlefields with their ships,
+ * marks and hashes packed into bit sets and bytes. A game is addressed by its slot number and its
+ * battlefields are read and written through flyweight {@link Battlefield}s, so a game that waits for
+ * a move keeps no object on the heap and the heap does not grow with the number of games.
+ * <p>
+ * A game is played by taking its {@link #session(int)}, which writes the ships and marks straight
+ * into the slot, and {@link #park(int, GameSession) parking} the session when the move has been made.
+ * The slots of freed games are linked into a free list inside the arena.
+ */
+public class GameArena {
+    // number of bytes of a buffer
+    private static final int CHUNK_SIZE = 64 * 1024 * 1024;
+    // number of bytes of the name of a player, a length byte and UTF-8
+    private static final int NAME_SIZE = 32;
+    // the game states by the ordinal
+    private static final GameState[] STATES = GameState.values();
+
+    // offsets of the header of a slot
+    // the ordinal of the state plus one, 0 for a free slot
+    private static final int STATE = 0;
+    // the index of the player who moves now
+    private static final int CURRENT = 1;
+    // the number of players that have been added
+    private static final int PLAYERS = 2;
+    // the next free slot plus one, 0 for the last one, only in a free slot
+    private static final int NEXT_FREE = 4;
+    // the names of the players
+    private static final int NAMES = 8;
+    // number of bytes of the header
+    private static final int HEADER_SIZE = NAMES + 2 * NAME_SIZE;
+
+    // offsets of a battlefield in a slot
+    // the Zobrist hash, a long
+    static final int HASH = 0;
+    // the number of ship parts that are not damaged, an int
+    static final int UNDAMAGED = 8;
+    // the number of ships, an int
+    static final int SHIPS = 12;
+    // the number of ship parts, an int
+    static final int PARTS_USED = 16;
+    // the number of sunk ships of every type, ints
+    static final int SUNK = 20;
+
+    // the rules of the games
+    private final GameRules rules;
+    // offset of the cells occupied by ships, a bit set
+    final int occupied;
+    // offset of the cells marked as hit, a bit set
+    final int hits;
+    // offset of the cells marked as missed, a bit set
+    final int misses;
+    // offset of the ship cells and the cells around them, a bit set
+    final int forbidden;
+    // offset of the ships, an int with the first part and bytes with the type, the length and the undamaged parts
+    final int shipRecords;
+    // offset of the cells of the ship parts, ints
+    final int parts;
+    // offset of the number of the ship in every cell plus one, bytes
+    final int shipOf;
+    // the number of ships of a battlefield
+    final int fleetSize;
+    // the number of ship parts of a battlefield
+    final int fleetParts;
+    // number of bytes of a battlefield
+    private final int battlefieldSize;
+    // number of bytes of a slot
+    private final int slotSize;
+    // number of slots of a buffer
+    private final int slotsPerChunk;
+    // the buffers, replaced by a longer array when a buffer is added
+    private volatile ByteBuffer[] chunks;
+    // the number of slots that have ever been allocated
+    private int used;
+    // the first free slot plus one, 0 if there is none
+    private int freeHead;
+    // number of games
+    private int size;
+
+    /**
+     * Constructs an empty arena
+     *
+     * @param rules							the {@link GameRules} of the games
+     * @throws IllegalArgumentException		if a fleet has more than 255 ships
+     */
+    public GameArena(GameRules rules) throws IllegalArgumentException {
+        List<ShipType> fleet = rules.getFleet();
+        if (fleet.size() > 255) {
+            throw new IllegalArgumentException("An arena holds fleets of up to 255 ships.");
+        }
+        this.rules = rules;
+        this.fleetSize = fleet.size();
+        int partCount = 0;
+        for (ShipType shipType : fleet) {
+            partCount += shipType.getSize();
+        }
+        this.fleetParts = partCount;
+
+        int cells = rules.getHeight() * rules.getWidth();
+        int bitSetSize = (cells + Long.SIZE - 1) / Long.SIZE * Long.BYTES;
+        this.occupied = align(SUNK + ShipType.values().length * Integer.BYTES);
+        this.hits = occupied + bitSetSize;
+        this.misses = hits + bitSetSize;
+        this.forbidden = misses + bitSetSize;
+        this.shipRecords = forbidden + bitSetSize;
+        this.parts = shipRecords + fleetSize * Long.BYTES;
+        this.shipOf = parts + fleetParts * Integer.BYTES;
+        this.battlefieldSize = align(shipOf + cells);
+        this.slotSize = HEADER_SIZE + 2 * battlefieldSize;
+        if (slotSize > CHUNK_SIZE) {
+            throw new IllegalArgumentException("The battlefield is too large for an arena.");
+        }
+        this.slotsPerChunk = CHUNK_SIZE / slotSize;
+        this.chunks = new ByteBuffer[0];
+    }
+
+    /**
+     * This method allocates the slot of a new game, its players have not been added yet
+     *
+     * @return	the number of the slot
+     */
+    public synchronized int allocate() {
+        int game;
+        if (freeHead != 0) {
+            game = freeHead - 1;
+            freeHead = chunk(game).getInt(offset(game) + NEXT_FREE);
+        } else {
+            game = used++;
+            if (game / slotsPerChunk == chunks.length) {
+                ByteBuffer[] longer = new ByteBuffer[chunks.length + 1];
+                System.arraycopy(chunks, 0, longer, 0, chunks.length);
+                longer[chunks.length] = ByteBuffer.allocateDirect(slotsPerChunk * slotSize).order(ByteOrder.nativeOrder());
+                chunks = longer;
+            }
+        }
+        ByteBuffer memory = chunk(game);
+        int offset = offset(game);
+        for (int i = 0; i < slotSize; i += Long.BYTES) {
+            memory.putLong(offset + i, 0L);
+        }
+        memory.put(offset + STATE, (byte) (GameState.CREATE_PLAYERS.ordinal() + 1));
+        size++;
+        return game;
+    }
+
+    /**
+     * This method frees the slot of a game, the slot is reused by a later game
+     *
+     * @param game							the number of the slot
+     * @throws IllegalArgumentException		if the slot is not allocated
+     */
+    public synchronized void free(int game) throws IllegalArgumentException {
+        ByteBuffer memory = chunk(game);
+        int offset = offset(game);
+        if (memory.get(offset + STATE) == 0) {
+            throw new IllegalArgumentException("The game " + game + " is not in the arena.");
+        }
+        memory.put(offset + STATE, (byte) 0);
+        memory.putInt(offset + NEXT_FREE, freeHead);
+        freeHead = game + 1;
+        size--;
+    }
+
+    /**
+     * This method returns a session that plays the game in the slot. The ships and marks of the
+     * session are the ones in the slot, the state of the session is saved by {@link #park}.
+     *
+     * @param game							the number of the slot
+     * @return								the {@link GameSession}
+     * @throws IllegalArgumentException		if the slot is not allocated
+     */
+    public GameSession session(int game) throws IllegalArgumentException {
+        ByteBuffer memory = chunk(game);
+        int offset = offset(game);
+        int stateOrdinal = memory.get(offset + STATE);
+        if (stateOrdinal == 0) {
+            throw new IllegalArgumentException("The game " + game + " is not in the arena.");
+        }
+        GameState state = STATES[stateOrdinal - 1];
+        int current = memory.get(offset + CURRENT);
+        List<String> names = new ArrayList<>(2);
+        for (int player = 0; player < memory.get(offset + PLAYERS); player++) {
+            names.add(readName(memory, offset + NAMES + player * NAME_SIZE));
+        }
+        int nextShip = state == GameState.PLACE_SHIPS
+                ? memory.getInt(offset + HEADER_SIZE + current * battlefieldSize + SHIPS)
+                : 0;
+        return new GameSession(rules, player -> battlefield(game, player), names, current, nextShip, state);
+    }
+
+    /**
+     * This method saves the state of the session in the slot of the game, after that the
+     * session may be dropped
+     *
+     * @param game							the number of the slot
+     * @param session						the {@link GameSession} returned by {@link #session(int)}
+     * @throws IllegalArgumentException		if the name of a player is longer than 31 bytes
+     */
+    public void park(int game, GameSession session) throws IllegalArgumentException {
+        ByteBuffer memory = chunk(game);
+        int offset = offset(game);
+        List<Player> players = session.getPlayers();
+        for (int player = 0; player < players.size(); player++) {
+            writeName(memory, offset + NAMES + player * NAME_SIZE, players.get(player).getName());
+        }
+        Player current = session.getCurrentPlayer();
+        memory.put(offset + CURRENT, (byte) (current == null || current == players.get(0) ? 0 : 1));
+        memory.put(offset + PLAYERS, (byte) players.size());
+        memory.put(offset + STATE, (byte) (session.getState().ordinal() + 1));
+    }
+
+    /**
+     * This method returns the flyweight battlefield of a player of the game
+     *
+     * @param game		the number of the slot
+     * @param player	the index of the player
+     * @return			the {@link Battlefield} that reads and writes the slot
+     */
+    public Battlefield battlefield(int game, int player) {
+        return new ArenaBattlefield(this, chunk(game), offset(game) + HEADER_SIZE + player * battlefieldSize);
+    }
+
+    /**
+     * This method returns the state of the game without creating a session
+     *
+     * @param game	the number of the slot
+     * @return		the {@link GameState}, null if the slot is free
+     */
+    public GameState getState(int game) {
+        int stateOrdinal = chunk(game).get(offset(game) + STATE);
+        return stateOrdinal == 0 ? null : STATES[stateOrdinal - 1];
+    }
+
+    /**
+     * This method returns the rules of the games
+     *
+     * @return	the {@link GameRules}
+     */
+    public GameRules getRules() {
+        return rules;
+    }
+
+    /**
+     * This method returns the number of games in the arena
+     *
+     * @return	the number of games
+     */
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * This method returns the number of bytes of a slot
+     *
+     * @return	the number of bytes
+     */
+    public int getSlotSize() {
+        return slotSize;
+    }
+
+    /**
+     * This method returns the number of bytes of the buffers outside the heap
+     *
+     * @return	the number of bytes
+     */
+    public long getMemoryBytes() {
+        return (long) chunks.length * slotsPerChunk * slotSize;
+    }
+
+    /**
+     * This method returns the buffer that holds the slot
+     *
+     * @param game	the number of the slot
+     * @return		the {@link ByteBuffer}
+     */
+    private ByteBuffer chunk(int game) {
+        return chunks[game / slotsPerChunk];
+    }
+
+    /**
+     * This method returns the offset of the slot in its buffer
+     *
+     * @param game	the number of the slot
+     * @return		the offset
+     */
+    private int offset(int game) {
+        return game % slotsPerChunk * slotSize;
+    }
+
+    /**
+     * This method reads the name of a player
+     *
+     * @param memory	the {@link ByteBuffer} of the slot
+     * @param offset	the offset of the name
+     * @return			the {@link String} name
+     */
+    private static String readName(ByteBuffer memory, int offset) {
+        byte[] bytes = new byte[memory.get(offset)];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = memory.get(offset + 1 + i);
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * This method writes the name of a player
+     *
+     * @param memory	the {@link ByteBuffer} of the slot
+     * @param offset	the offset of the name
+     * @param name		the {@link String} name
+     * @throws IllegalArgumentException		if the name is longer than 31 bytes
+     */
+    private static void writeName(ByteBuffer memory, int offset, String name) throws IllegalArgumentException {
+        byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length >= NAME_SIZE) {
+            throw new IllegalArgumentException("The name " + name + " is too long for an arena.");
+        }
+        memory.put(offset, (byte) bytes.length);
+        for (int i = 0; i < bytes.length; i++) {
+            memory.put(offset + 1 + i, bytes[i]);
+        }
+    }
+
+    /**
+     * This method rounds the offset up to a multiple of 8
+     *
+     * @param offset	the offset
+     * @return			the aligned offset
+     */
+    private static int align(int offset) {
+        return (offset + Long.BYTES - 1) & -Long.BYTES;
+    }
+}
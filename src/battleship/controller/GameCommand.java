@@ -0,0 +1,118 @@
+package battleship.controller;
+
+import battleship.model.Coordinate;
+
+/**
+ * This class represents an input of a player submitted to the {@link GameSession}
+ */
+public final class GameCommand {
+    /**
+     * This enum represents the kinds of commands
+     */
+    public enum Type {
+        ADD_PLAYER,
+        PLACE_SHIP,
+        SHOT,
+        SALVO
+    }
+
+    // the kind of the command
+    private final Type type;
+    // the name of the player to add
+    private final String playerName;
+    // the coordinates of the ship or of the shots of the salvo
+    private final Coordinate[] coordinates;
+    // the coordinate of the shot
+    private final Coordinate coordinate;
+
+    /**
+     * Constructs a command
+     *
+     * @param type			the {@link Type} of the command
+     * @param playerName	the {@link String} name of the player to add
+     * @param coordinates	the {@link Coordinate} array of the ship or of the salvo
+     * @param coordinate	the {@link Coordinate} of the shot
+     */
+    private GameCommand(Type type, String playerName, Coordinate[] coordinates, Coordinate coordinate) {
+        this.type = type;
+        this.playerName = playerName;
+        this.coordinates = coordinates;
+        this.coordinate = coordinate;
+    }
+
+    /**
+     * This method creates a command that adds a player
+     *
+     * @param playerName	the {@link String} player name
+     * @return				the {@link GameCommand}
+     */
+    public static GameCommand addPlayer(String playerName) {
+        return new GameCommand(Type.ADD_PLAYER, playerName, null, null);
+    }
+
+    /**
+     * This method creates a command that places the next ship of the current player
+     *
+     * @param coordinates	the {@link Coordinate} array with the coordinates of the ship
+     * @return				the {@link GameCommand}
+     */
+    public static GameCommand placeShip(Coordinate[] coordinates) {
+        return new GameCommand(Type.PLACE_SHIP, null, coordinates, null);
+    }
+
+    /**
+     * This method creates a command that shoots at the battlefield of the enemy
+     *
+     * @param coordinate	the {@link Coordinate} of the shot
+     * @return				the {@link GameCommand}
+     */
+    public static GameCommand shot(Coordinate coordinate) {
+        return new GameCommand(Type.SHOT, null, null, coordinate);
+    }
+
+    /**
+     * This method creates a command that fires a salvo at the battlefield of the enemy
+     *
+     * @param coordinates	the {@link Coordinate} array with the coordinates of the shots
+     * @return				the {@link GameCommand}
+     */
+    public static GameCommand salvo(Coordinate[] coordinates) {
+        return new GameCommand(Type.SALVO, null, coordinates, null);
+    }
+
+    /**
+     * This method returns the kind of the command
+     *
+     * @return	the {@link Type}
+     */
+    public Type getType() {
+        return type;
+    }
+
+    /**
+     * This method returns the name of the player to add
+     *
+     * @return	the {@link String} player name, null for other commands
+     */
+    public String getPlayerName() {
+        return playerName;
+    }
+
+    /**
+     * This method returns the coordinates of the ship
+     *
+     * @return	the {@link Coordinate} array, null for other commands
+     */
+    public Coordinate[] getCoordinates() {
+        return coordinates;
+    }
+
+    /**
+     * This method returns the coordinate of the shot
+     *
+     * @return	the {@link Coordinate}, null for other commands
+     */
+    public Coordinate getCoordinate() {
+        return coordinate;
+    }
+}
@@ -1,152 +1,327 @@
-package battleship.controller;
-
-import java.util.ArrayList;
-import java.util.List;
-
-import battleship.action.GameAction;
-import battleship.model.Coordinate;
-import battleship.model.Player;
-import battleship.model.ShotResult;
-import battleship.model.ship.ShipType;
-
-/**
- * This class is the controller of this game
- */
-public class GameController {
-    // state of the game
-    private enum GameState {
-        CREATE_PLAYERS,
-        PLACE_SHIPS,
-        PERFORM_SHOT,
-        END_GAME
-    }
-
-    // the view of the game
-    private final GameView view;
-    // list of players
-    private final List<Player> players;
-    // current player
-    private Player currentPlayer;
-    // enemy player
-    private Player enemyPlayer;
-    // current state of the game
-    private GameState state;
-
-    /**
-     * Constructs game controller
-     *
-     * @param view	the {@link GameView}
-     */
-    public GameController(GameView view) {
-        this.players = new ArrayList<>();
-        this.state = GameState.CREATE_PLAYERS;
-        this.view = view;
-        view.setController(this);
-    }
-
-    /**
-     * This method starts and controls the stages of the game
-     */
-    public void run() {
-        boolean playGame = true;
-        while (playGame) {
-            switch (state) {
-                case CREATE_PLAYERS:
-                    createPlayers();
-                    break;
-                case PLACE_SHIPS:
-                    placeShips();
-                    break;
-                case PERFORM_SHOT:
-                    play();
-                    break;
-                case END_GAME:
-                    playGame = false;
-            }
-        }
-    }
-
-    /**
-     * This method adds a new player to the list of players
-     *
-     * @param playerName	the {@link String} player name
-     */
-    public void addPlayer(String playerName) {
-        players.add(new Player(playerName));
-    }
-
-    /**
-     * This method swap players
-     */
-    public void switchPlayer() {
-        Player tmp = currentPlayer;
-        currentPlayer = enemyPlayer;
-        enemyPlayer = tmp;
-    }
-
-    /**
-     * This method adds the ship to the battlefield of the current player
-     *
-     * @param shipType			the {@link ShipType}
-     * @param shipCoordinates	the {@link Coordinate} array of ship coordinates
-     */
-    public void placeShip(ShipType shipType, Coordinate[] shipCoordinates) {
-        GameAction.placeShip(currentPlayer, shipType, shipCoordinates);
-    }
-
-    /**
-     * This method performs a player's shot
-     *
-     * @param coordinate	the  {@link Coordinate} of the shot
-     */
-    public void performShot(Coordinate coordinate) {
-        ShotResult shotResult = GameAction.shot(enemyPlayer, coordinate);
-        if (enemyPlayer.loss()) {
-            view.showBattlefields(enemyPlayer.getBattlefieldUnderFog(), currentPlayer.getBattlefield());
-            view.showWinner(currentPlayer.getName());
-            state = GameState.END_GAME;
-        } else {
-            view.showShotResult(shotResult);
-            view.promptForAnotherPlayer();
-        }
-    }
-
-    /**
-     * This method is responsible for creating players
-     */
-    private void createPlayers() {
-        view.promptForPlayer();
-
-        if (players.size() == 2) {
-            currentPlayer = players.get(0);
-            enemyPlayer = players.get(1);
-            state = GameState.PLACE_SHIPS;
-        }
-    }
-
-    /**
-     * This method is responsible for placing ships
-     */
-    private void placeShips() {
-        view.promptForShipsPlacement(currentPlayer.getName());
-        view.showBattlefield(currentPlayer.getBattlefield());
-
-        for (ShipType shipType : ShipType.values()) {
-            view.promptForShipCoordinates(shipType);
-            view.showBattlefield(currentPlayer.getBattlefield());
-        }
-
-        if (currentPlayer.equals(players.get(players.size() - 1))) {
-            state = GameState.PERFORM_SHOT;
-        }
-        view.promptForAnotherPlayer();
-    }
-
-    /**
-     * This method prompts for a shot
-     */
-    private void play() {
-        view.showBattlefields(enemyPlayer.getBattlefieldUnderFog(), currentPlayer.getBattlefield());
-        view.promptForShot(currentPlayer.getName());
-    }
-}
+package battleship.controller;
+
+import battleship.metrics.EngineMetrics;
+import battleship.model.Coordinate;
+import battleship.model.GameRules;
+import battleship.model.Player;
+import battleship.model.Validation;
+import battleship.model.ship.ShipType;
+
+/**
+ * This class is the controller of this game. It adapts the {@link GameSession} to the {@link GameView}:
+ * the controller prompts the view for input and submits it to the session, the session decides how
+ * the game goes on.
+ */
+public class GameController {
+    // the view of the game
+    private final GameView view;
+    // the state machine of the game
+    private final GameSession session;
+
+    /**
+     * Constructs game controller with the standard rules
+     *
+     * @param view	the {@link GameView}
+     */
+    public GameController(GameView view) {
+        this(view, GameRules.standard());
+    }
+
+    /**
+     * Constructs game controller
+     *
+     * @param view	the {@link GameView}
+     * @param rules	the {@link GameRules}
+     */
+    public GameController(GameView view, GameRules rules) {
+        this(view, new GameSession(rules));
+    }
+
+    /**
+     * Constructs game controller that drives an existing session, e.g. a restored game
+     * goes on from the state it was saved in
+     *
+     * @param view		the {@link GameView}
+     * @param session	the {@link GameSession}
+     */
+    public GameController(GameView view, GameSession session) {
+        this.session = session;
+        this.view = view;
+        view.setController(this);
+    }
+
+    /**
+     * This method starts and controls the stages of the game
+     */
+    public void run() {
+        if (EngineMetrics.ENABLED) {
+            EngineMetrics.get().gameStarted();
+        }
+        try {
+            boolean playGame = true;
+            while (playGame) {
+                switch (session.getState()) {
+                    case CREATE_PLAYERS:
+                        createPlayers();
+                        break;
+                    case PLACE_SHIPS:
+                        placeShips();
+                        break;
+                    case PERFORM_SHOT:
+                        play();
+                        break;
+                    case END_GAME:
+                        playGame = false;
+                }
+            }
+        } finally {
+            if (EngineMetrics.ENABLED) {
+                EngineMetrics.get().gameEnded();
+            }
+        }
+    }
+
+    /**
+     * This method returns the rules of the game
+     *
+     * @return	the {@link GameRules}
+     */
+    public GameRules getRules() {
+        return session.getRules();
+    }
+
+    /**
+     * This method returns the session the controller drives
+     *
+     * @return	the {@link GameSession}
+     */
+    public GameSession getSession() {
+        return session;
+    }
+
+    /**
+     * This method adds a new player to the list of players
+     *
+     * @param playerName	the {@link String} player name
+     */
+    public void addPlayer(String playerName) {
+        submit(GameCommand.addPlayer(playerName));
+    }
+
+    /**
+     * This method acknowledges that the move has been passed to another player.
+     * The session passes the move itself, so there is nothing to do.
+     */
+    public void switchPlayer() {
+    }
+
+    /**
+     * This method adds the ship to the battlefield of the current player
+     *
+     * @param shipType						the {@link ShipType}
+     * @param shipCoordinates				the {@link Coordinate} array of ship coordinates
+     * @throws IllegalArgumentException		if the ship is not the next one or it could not be placed
+     */
+    public void placeShip(ShipType shipType, Coordinate[] shipCoordinates) throws IllegalArgumentException {
+        GameEvent event = submitShip(shipType, shipCoordinates);
+        if (event.isRejected()) {
+            throw new IllegalArgumentException(event.getMessage());
+        }
+    }
+
+    /**
+     * This method adds the ship to the battlefield of the current player if it can be placed there.
+     * A bot tries its candidate placements with it, a placement that is not valid throws no exception.
+     *
+     * @param shipType						the {@link ShipType}
+     * @param shipCoordinates				the {@link Coordinate} array of ship coordinates
+     * @return								{@link Validation#OK} if the ship has been placed, the reason why not otherwise
+     * @throws IllegalArgumentException		if the ship is not the next one or no ship is placed now
+     */
+    public Validation tryPlaceShip(ShipType shipType, Coordinate[] shipCoordinates) throws IllegalArgumentException {
+        return validationOf(submitShip(shipType, shipCoordinates));
+    }
+
+    /**
+     * This method performs a player's shot
+     *
+     * @param coordinate					the  {@link Coordinate} of the shot
+     * @throws IllegalArgumentException		if the shot was rejected
+     */
+    public void performShot(Coordinate coordinate) throws IllegalArgumentException {
+        GameEvent event = fire(GameCommand.shot(coordinate));
+        if (event.isRejected()) {
+            throw new IllegalArgumentException(event.getMessage());
+        }
+    }
+
+    /**
+     * This method performs a player's shot if it is valid. A script fires with it, a shot that is
+     * not valid, e.g. at a cell that has been shot already, throws no exception.
+     *
+     * @param coordinate					the {@link Coordinate} of the shot
+     * @return								{@link Validation#OK} if the shot has been fired, the reason why not otherwise
+     * @throws IllegalArgumentException		if no shot is fired now
+     */
+    public Validation tryShot(Coordinate coordinate) throws IllegalArgumentException {
+        return validationOf(fire(GameCommand.shot(coordinate)));
+    }
+
+    /**
+     * This method fires a salvo of the player, the results of all shots are displayed at once
+     *
+     * @param coordinates					the {@link Coordinate} array of the shots
+     * @throws IllegalArgumentException		if the salvo was rejected
+     */
+    public void performSalvo(Coordinate[] coordinates) throws IllegalArgumentException {
+        GameEvent event = fire(GameCommand.salvo(coordinates));
+        if (event.isRejected()) {
+            throw new IllegalArgumentException(event.getMessage());
+        }
+    }
+
+    /**
+     * This method fires a salvo of the player if it is valid, a salvo that is not valid throws no exception
+     *
+     * @param coordinates					the {@link Coordinate} array of the shots
+     * @return								{@link Validation#OK} if the salvo has been fired, the reason why not otherwise
+     * @throws IllegalArgumentException		if no salvo is fired now
+     */
+    public Validation trySalvo(Coordinate[] coordinates) throws IllegalArgumentException {
+        return validationOf(fire(GameCommand.salvo(coordinates)));
+    }
+
+    /**
+     * This method submits a shot or a salvo to the session and displays the results if it was accepted
+     *
+     * @param command	the {@link GameCommand} of the shot or the salvo
+     * @return			the {@link GameEvent}, it may be rejected
+     */
+    private GameEvent fire(GameCommand command) {
+        long started = 0;
+        long allocated = 0;
+        if (EngineMetrics.ENABLED) {
+            started = System.nanoTime();
+            allocated = EngineMetrics.allocatedBytes();
+        }
+        GameEvent event = apply(command);
+        if (event.isRejected()) {
+            return event;
+        }
+        if (event.getType() == GameEvent.Type.WON) {
+            Player currentPlayer = session.getCurrentPlayer();
+            view.showBattlefields(session.getEnemyPlayer().getBattlefieldUnderFog(), currentPlayer.getBattlefield());
+            view.showWinner(currentPlayer.getName());
+        } else {
+            if (command.getType() == GameCommand.Type.SALVO) {
+                view.showSalvoResults(command.getCoordinates(), event.getShotResults());
+            } else {
+                view.showShotResult(event.getShotResult());
+            }
+            view.promptForAnotherPlayer();
+        }
+        if (EngineMetrics.ENABLED) {
+            EngineMetrics.get().turnEnded(started, allocated);
+        }
+        return event;
+    }
+
+    /**
+     * This method returns the result of the check of a move
+     *
+     * @param event							the {@link GameEvent} of the move
+     * @return								the {@link Validation}
+     * @throws IllegalArgumentException		if the move was rejected because it does not fit the state of the game
+     */
+    private static Validation validationOf(GameEvent event) throws IllegalArgumentException {
+        if (event.getValidation() == null) {
+            throw new IllegalArgumentException(event.getMessage());
+        }
+        return event.getValidation();
+    }
+
+    /**
+     * This method submits the command to the session
+     *
+     * @param command						the {@link GameCommand}
+     * @return								the {@link GameEvent} of the accepted command
+     * @throws IllegalArgumentException		if the command was rejected
+     */
+    private GameEvent submit(GameCommand command) throws IllegalArgumentException {
+        GameEvent event = apply(command);
+        if (event.isRejected()) {
+            throw new IllegalArgumentException(event.getMessage());
+        }
+        return event;
+    }
+
+    /**
+     * This method submits the placement of the next ship to the session
+     *
+     * @param shipType						the {@link ShipType}
+     * @param shipCoordinates				the {@link Coordinate} array of ship coordinates
+     * @return								the {@link GameEvent}, it may be rejected
+     * @throws IllegalArgumentException		if the ship is not the next one
+     */
+    private GameEvent submitShip(ShipType shipType, Coordinate[] shipCoordinates) throws IllegalArgumentException {
+        if (shipType != session.getNextShipType()) {
+            throw new IllegalArgumentException(String.format("Place the %s now.", session.getNextShipType().getName()));
+        }
+        GameEvent event = apply(GameCommand.placeShip(shipCoordinates));
+        if (EngineMetrics.ENABLED) {
+            EngineMetrics.get().shipPlaced(event.isRejected());
+        }
+        return event;
+    }
+
+    /**
+     * This method submits the command to the session and counts the state it enters
+     *
+     * @param command	the {@link GameCommand}
+     * @return			the {@link GameEvent}, it may be rejected
+     */
+    private GameEvent apply(GameCommand command) {
+        GameState before = EngineMetrics.ENABLED ? session.getState() : null;
+        GameEvent event = session.submit(command);
+        if (EngineMetrics.ENABLED && event.getState() != before) {
+            EngineMetrics.get().stateEntered(event.getState());
+        }
+        return event;
+    }
+
+    /**
+     * This method is responsible for creating players
+     */
+    private void createPlayers() {
+        view.promptForPlayer();
+    }
+
+    /**
+     * This method is responsible for placing ships
+     */
+    private void placeShips() {
+        Player currentPlayer = session.getCurrentPlayer();
+        view.promptForShipsPlacement(currentPlayer.getName());
+        view.showBattlefield(currentPlayer.getBattlefield());
+
+        while (currentPlayer == session.getCurrentPlayer() && session.getState() == GameState.PLACE_SHIPS) {
+            view.promptForShipCoordinates(session.getNextShipType());
+            view.showBattlefield(currentPlayer.getBattlefield());
+        }
+
+        view.promptForAnotherPlayer();
+    }
+
+    /**
+     * This method prompts for a shot, or for a salvo in a salvo game
+     */
+    private void play() {
+        view.showBattlefields(session.getEnemyPlayer().getBattlefieldUnderFog(),
+                session.getCurrentPlayer().getBattlefield());
+        if (session.getRules().isSalvo()) {
+            view.promptForSalvo(session.getCurrentPlayer().getName(), session.getSalvoSize());
+        } else {
+            view.promptForShot(session.getCurrentPlayer().getName());
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package battleship.controller;
+
+import battleship.model.ShotResult;
+import battleship.model.Validation;
+
+/**
+ * This class represents the outcome of a {@link GameCommand} submitted to the {@link GameSession}
+ */
+public final class GameEvent {
+    /**
+     * This enum represents the kinds of events
+     */
+    public enum Type {
+        PLAYER_ADDED,
+        SHIP_PLACED,
+        SHOT,
+        WON,
+        REJECTED
+    }
+
+    // the kind of the event
+    private final Type type;
+    // the state of the game after the command
+    private final GameState state;
+    // the name of the player who submitted the command
+    private final String playerName;
+    // the result of the shot
+    private final ShotResult shotResult;
+    // the results of the shots of the salvo, the array is reused by the session
+    private final ShotResult[] shotResults;
+    // the number of shots of the salvo
+    private final int shotCount;
+    // the check of the move that failed, OK if the command was accepted
+    private final Validation validation;
+    // the reason why the command was rejected
+    private final String message;
+
+    /**
+     * Constructs an event
+     *
+     * @param type			the {@link Type} of the event
+     * @param state			the {@link GameState} after the command
+     * @param playerName	the {@link String} name of the player who submitted the command
+     * @param shotResult	the {@link ShotResult}, null if there was no shot
+     * @param message		the {@link String} reason of the rejection, null if the command was accepted
+     */
+    GameEvent(Type type, GameState state, String playerName, ShotResult shotResult, String message) {
+        this.type = type;
+        this.state = state;
+        this.playerName = playerName;
+        this.shotResult = shotResult;
+        this.shotResults = null;
+        this.shotCount = 0;
+        this.validation = type == Type.REJECTED ? null : Validation.OK;
+        this.message = message;
+    }
+
+    /**
+     * Constructs the event of a command rejected because the move is not valid
+     *
+     * @param state			the {@link GameState}, it has not changed
+     * @param playerName	the {@link String} name of the player who submitted the command
+     * @param validation	the {@link Validation} that failed
+     * @param message		the {@link String} reason of the rejection
+     */
+    GameEvent(GameState state, String playerName, Validation validation, String message) {
+        this.type = Type.REJECTED;
+        this.state = state;
+        this.playerName = playerName;
+        this.shotResult = null;
+        this.shotResults = null;
+        this.shotCount = 0;
+        this.validation = validation;
+        this.message = message;
+    }
+
+    /**
+     * Constructs the event of a salvo
+     *
+     * @param type			the {@link Type} of the event
+     * @param state			the {@link GameState} after the command
+     * @param playerName	the {@link String} name of the player who fired the salvo
+     * @param shotResults	the {@link ShotResult} array the session writes the results of every salvo of the player to
+     * @param shotCount		the number of shots of the salvo
+     */
+    GameEvent(Type type, GameState state, String playerName, ShotResult[] shotResults, int shotCount) {
+        this.type = type;
+        this.state = state;
+        this.playerName = playerName;
+        this.shotResult = null;
+        this.shotResults = shotResults;
+        this.shotCount = shotCount;
+        this.validation = Validation.OK;
+        this.message = null;
+    }
+
+    /**
+     * This method returns the kind of the event
+     *
+     * @return	the {@link Type}
+     */
+    public Type getType() {
+        return type;
+    }
+
+    /**
+     * This method checks if the command was rejected
+     *
+     * @return	true if the command was rejected, false otherwise
+     */
+    public boolean isRejected() {
+        return type == Type.REJECTED;
+    }
+
+    /**
+     * This method returns the state of the game after the command
+     *
+     * @return	the {@link GameState}
+     */
+    public GameState getState() {
+        return state;
+    }
+
+    /**
+     * This method returns the name of the player who submitted the command
+     *
+     * @return	the {@link String} player name, null if there are no players yet
+     */
+    public String getPlayerName() {
+        return playerName;
+    }
+
+    /**
+     * This method returns the result of the shot
+     *
+     * @return	the {@link ShotResult}, null if there was no shot
+     */
+    public ShotResult getShotResult() {
+        return shotResult;
+    }
+
+    /**
+     * This method returns the results of the shots of a salvo. The session reuses an array for every
+     * salvo of the same player, so the results are valid only until that player fires the next salvo,
+     * a listener that keeps them longer must copy them.
+     *
+     * @return	the {@link ShotResult} array in the order of the shots, the first {@link #getShotCount()}
+     * 			results belong to the salvo, it must not be changed, null if there was no salvo
+     */
+    public ShotResult[] getShotResults() {
+        return shotResults;
+    }
+
+    /**
+     * This method returns the number of shots of a salvo
+     *
+     * @return	the number of shots, 0 if there was no salvo
+     */
+    public int getShotCount() {
+        return shotCount;
+    }
+
+    /**
+     * This method returns the result of the check of the move
+     *
+     * @return	the {@link Validation}, {@link Validation#OK} if the command was accepted,
+     * 			null if it was rejected because it does not fit the state of the game
+     */
+    public Validation getValidation() {
+        return validation;
+    }
+
+    /**
+     * This method returns the reason why the command was rejected
+     *
+     * @return	the {@link String} message, null if the command was accepted
+     */
+    public String getMessage() {
+        return message;
+    }
+}
@@ -0,0 +1,14 @@
+package battleship.controller;
+
+/**
+ * This interface contains the method required to follow the commands applied by a {@link GameSession}
+ */
+public interface GameListener {
+    /**
+     * This method is called after the session has applied a command, rejected commands are not reported
+     *
+     * @param command	the applied {@link GameCommand}
+     * @param event		the {@link GameEvent} of the command
+     */
+    void commandApplied(GameCommand command, GameEvent event);
+}
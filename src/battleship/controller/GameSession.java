@@ -0,0 +1,375 @@
+package battleship.controller;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.IntFunction;
+
+import battleship.action.GameAction;
+import battleship.model.Coordinate;
+import battleship.model.Coordinates;
+import battleship.model.GameRules;
+import battleship.model.Player;
+import battleship.model.ShotResult;
+import battleship.model.Validation;
+import battleship.model.field.Battlefield;
+import battleship.model.field.BitboardBattlefield;
+import battleship.model.ship.ShipType;
+
+/**
+ * This class is the state machine of a game driven by {@link GameCommand}s. The game advances only
+ * when a command is submitted and {@link #submit} never waits for input, so a session does not need
+ * a thread of its own and many sessions can share a small thread pool. The methods are synchronized,
+ * a session may be driven by different threads one after another.
+ * <p>
+ * The first player places the whole fleet, then the second player. The players shoot in turns,
+ * starting with the first player, the move passes to the other player after every shot. In a
+ * salvo game a player fires a salvo of one shot per ship afloat instead of a single shot.
+ */
+public class GameSession {
+    // the rules of the game
+    private final GameRules rules;
+    // creates the battlefield of a player by the index of the player
+    private final IntFunction<Battlefield> battlefields;
+    // list of players
+    private final List<Player> players;
+    // the listeners notified of the applied commands
+    private final List<GameListener> listeners;
+    // index of the player who moves now
+    private int current;
+    // index of the next ship of the fleet to place
+    private int nextShip;
+    // current state of the game
+    private GameState state;
+    // the events of the shots that did not end the game by the player and the shot result,
+    // they are created once because they are the same for every shot
+    private final GameEvent[][] shotEvents;
+    // the cells of the shots of a salvo, reused for every salvo
+    private final int[] salvoCells;
+    // the results of the shots of a salvo by the player, reused for every salvo of the player
+    private final ShotResult[][] salvoResults;
+    // the events of the salvos that did not end the game by the player and the number of shots,
+    // they are created once because their results are in the reused array
+    private final GameEvent[][] salvoEvents;
+
+    /**
+     * Constructs a game session with the standard rules
+     */
+    public GameSession() {
+        this(GameRules.standard());
+    }
+
+    /**
+     * Constructs a game session
+     *
+     * @param rules	the {@link GameRules}
+     */
+    public GameSession(GameRules rules) {
+        this(rules, player -> new BitboardBattlefield(rules.getHeight(), rules.getWidth()));
+    }
+
+    /**
+     * Constructs a game session whose players get the battlefields of the factory
+     *
+     * @param rules			the {@link GameRules}
+     * @param battlefields	creates the empty {@link Battlefield} of the player with the index
+     */
+    public GameSession(GameRules rules, IntFunction<Battlefield> battlefields) {
+        this.rules = rules;
+        this.battlefields = battlefields;
+        this.players = new ArrayList<>();
+        this.listeners = new ArrayList<>();
+        this.state = GameState.CREATE_PLAYERS;
+        this.shotEvents = new GameEvent[2][ShotResult.values().length];
+        this.salvoCells = new int[rules.isSalvo() ? rules.getFleet().size() : 0];
+        this.salvoResults = new ShotResult[2][salvoCells.length];
+        this.salvoEvents = new GameEvent[2][salvoCells.length + 1];
+    }
+
+    /**
+     * Constructs a game session that goes on from a saved state. The battlefields of the
+     * factory already hold the ships and marks of the players, e.g. they are stored in a
+     * {@code GameArena}.
+     *
+     * @param rules			the {@link GameRules}
+     * @param battlefields	returns the {@link Battlefield} of the player with the index
+     * @param names			the names of the players that have been added
+     * @param current		the index of the player who moves now
+     * @param nextShip		the index of the next ship of the fleet to place
+     * @param state			the {@link GameState}
+     */
+    public GameSession(GameRules rules, IntFunction<Battlefield> battlefields, List<String> names, int current,
+            int nextShip, GameState state) {
+        this(rules, battlefields);
+        for (String name : names) {
+            players.add(new Player(name, battlefields.apply(players.size())));
+        }
+        this.current = current;
+        this.nextShip = nextShip;
+        this.state = state;
+    }
+
+    /**
+     * This method applies the command of the player who moves now
+     *
+     * @param command	the {@link GameCommand}
+     * @return			the {@link GameEvent} describing the outcome, a command that does not
+     * 					fit the state of the game is rejected and changes nothing
+     */
+    public synchronized GameEvent submit(GameCommand command) {
+        GameEvent event;
+        switch (command.getType()) {
+            case ADD_PLAYER:
+                event = addPlayer(command.getPlayerName());
+                break;
+            case PLACE_SHIP:
+                event = placeShip(command.getCoordinates());
+                break;
+            case SHOT:
+                event = shot(command.getCoordinate());
+                break;
+            case SALVO:
+                event = salvo(command.getCoordinates());
+                break;
+            default:
+                event = reject("Unknown command.");
+        }
+        if (!event.isRejected()) {
+            for (GameListener listener : listeners) {
+                listener.commandApplied(command, event);
+            }
+        }
+        return event;
+    }
+
+    /**
+     * This method adds a listener that is notified of every applied command
+     *
+     * @param listener	the {@link GameListener}
+     */
+    public synchronized void addListener(GameListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * This method returns the rules of the game
+     *
+     * @return	the {@link GameRules}
+     */
+    public GameRules getRules() {
+        return rules;
+    }
+
+    /**
+     * This method returns the current state of the game
+     *
+     * @return	the {@link GameState}
+     */
+    public synchronized GameState getState() {
+        return state;
+    }
+
+    /**
+     * This method returns the players in the order they were added
+     *
+     * @return	the unmodifiable {@link Player} list
+     */
+    public synchronized List<Player> getPlayers() {
+        return Collections.unmodifiableList(new ArrayList<>(players));
+    }
+
+    /**
+     * This method returns the player who moves now, the winner after the end of the game
+     *
+     * @return	the {@link Player}, null while the players are being added
+     */
+    public synchronized Player getCurrentPlayer() {
+        return state == GameState.CREATE_PLAYERS ? null : players.get(current);
+    }
+
+    /**
+     * This method returns the enemy of the player who moves now
+     *
+     * @return	the {@link Player}, null while the players are being added
+     */
+    public synchronized Player getEnemyPlayer() {
+        return state == GameState.CREATE_PLAYERS ? null : players.get(1 - current);
+    }
+
+    /**
+     * This method returns the type of the ship the current player places next
+     *
+     * @return	the {@link ShipType}, null if the ships are not being placed
+     */
+    public synchronized ShipType getNextShipType() {
+        return state == GameState.PLACE_SHIPS ? rules.getFleet().get(nextShip) : null;
+    }
+
+    /**
+     * This method returns the number of shots of the salvo the current player fires next
+     *
+     * @return	the number of ships afloat of the current player, 0 if it is not the time for a salvo
+     */
+    public synchronized int getSalvoSize() {
+        return state == GameState.PERFORM_SHOT && rules.isSalvo() ? players.get(current).shipsAfloat() : 0;
+    }
+
+    /**
+     * This method adds a new player to the list of players
+     *
+     * @param playerName	the {@link String} player name
+     * @return				the {@link GameEvent}
+     */
+    private GameEvent addPlayer(String playerName) {
+        if (state != GameState.CREATE_PLAYERS) {
+            return reject("The players have already been added.");
+        }
+        players.add(new Player(playerName, battlefields.apply(players.size())));
+        if (players.size() == 2) {
+            current = 0;
+            state = GameState.PLACE_SHIPS;
+        }
+        return new GameEvent(GameEvent.Type.PLAYER_ADDED, state, playerName, null, null);
+    }
+
+    /**
+     * This method places the next ship of the current player, after the last ship of the fleet
+     * the move passes to the next player
+     *
+     * @param coordinates	the {@link Coordinate} array with the coordinates of the ship
+     * @return				the {@link GameEvent}
+     */
+    private GameEvent placeShip(Coordinate[] coordinates) {
+        if (state != GameState.PLACE_SHIPS) {
+            return reject("It is not the time to place ships.");
+        }
+        ShipType shipType = rules.getFleet().get(nextShip);
+        Player player = players.get(current);
+        Validation validation = GameAction.tryPlaceShip(player, shipType, coordinates);
+        if (validation == Validation.WRONG_LENGTH) {
+            return reject(validation, String.format("Wrong length of the %s!", shipType.getName()));
+        } else if (validation != Validation.OK) {
+            return reject(validation, validation.getMessage());
+        }
+
+        if (++nextShip == rules.getFleet().size()) {
+            nextShip = 0;
+            if (current == players.size() - 1) {
+                current = 0;
+                state = GameState.PERFORM_SHOT;
+            } else {
+                current++;
+            }
+        }
+        return new GameEvent(GameEvent.Type.SHIP_PLACED, state, player.getName(), null, null);
+    }
+
+    /**
+     * This method performs a shot of the current player, if the enemy still has ships
+     * the move passes to the enemy. A shot at a cell that has been shot already is rejected
+     * and changes nothing.
+     *
+     * @param coordinate	the {@link Coordinate} of the shot
+     * @return				the {@link GameEvent}
+     */
+    private GameEvent shot(Coordinate coordinate) {
+        if (state != GameState.PERFORM_SHOT) {
+            return reject("It is not the time to shoot.");
+        }
+        if (rules.isSalvo()) {
+            return reject("Fire a salvo.");
+        }
+        Coordinates cells = rules.getCoordinates();
+        if (coordinate == null || !cells.contains(coordinate)) {
+            return reject(Validation.OUT_OF_BOUNDS, Validation.OUT_OF_BOUNDS.getMessage());
+        }
+
+        Player player = players.get(current);
+        Player enemy = players.get(1 - current);
+        int cell = cells.cellOf(coordinate);
+        Validation validation = GameAction.validateShot(enemy, cell);
+        if (validation != Validation.OK) {
+            return reject(validation, validation.getMessage());
+        }
+        ShotResult shotResult = GameAction.shot(enemy, cell);
+        if (enemy.loss()) {
+            state = GameState.END_GAME;
+            return new GameEvent(GameEvent.Type.WON, state, player.getName(), shotResult, null);
+        }
+        GameEvent event = shotEvents[current][shotResult.ordinal()];
+        if (event == null) {
+            event = new GameEvent(GameEvent.Type.SHOT, state, player.getName(), shotResult, null);
+            shotEvents[current][shotResult.ordinal()] = event;
+        }
+        current = 1 - current;
+        return event;
+    }
+
+    /**
+     * This method fires a salvo of the current player, the shots are applied in one batch and
+     * the enemy is checked for a loss once. If the enemy still has ships the move passes to the enemy.
+     * A salvo with a shot at a cell that had been shot before the salvo is rejected and changes nothing,
+     * a cell may occur more than once in the salvo and is shot once.
+     *
+     * @param coordinates	the {@link Coordinate} array with the coordinates of the shots, one for
+     * 						every ship afloat of the current player
+     * @return				the {@link GameEvent}
+     */
+    private GameEvent salvo(Coordinate[] coordinates) {
+        if (state != GameState.PERFORM_SHOT || !rules.isSalvo()) {
+            return reject("It is not the time for a salvo.");
+        }
+        Player player = players.get(current);
+        int size = player.shipsAfloat();
+        if (coordinates == null || coordinates.length != size) {
+            return reject(Validation.WRONG_LENGTH, String.format("Fire %d shots!", size));
+        }
+        Coordinates cells = rules.getCoordinates();
+        Player enemy = players.get(1 - current);
+        for (int i = 0; i < size; i++) {
+            if (coordinates[i] == null || !cells.contains(coordinates[i])) {
+                return reject(Validation.OUT_OF_BOUNDS, Validation.OUT_OF_BOUNDS.getMessage());
+            }
+            salvoCells[i] = cells.cellOf(coordinates[i]);
+            Validation validation = GameAction.validateShot(enemy, salvoCells[i]);
+            if (validation != Validation.OK) {
+                return reject(validation, validation.getMessage());
+            }
+        }
+
+        ShotResult[] results = salvoResults[current];
+        if (GameAction.shots(enemy, salvoCells, size, results)) {
+            state = GameState.END_GAME;
+            return new GameEvent(GameEvent.Type.WON, state, player.getName(), results, size);
+        }
+        GameEvent event = salvoEvents[current][size];
+        if (event == null) {
+            event = new GameEvent(GameEvent.Type.SHOT, state, player.getName(), results, size);
+            salvoEvents[current][size] = event;
+        }
+        current = 1 - current;
+        return event;
+    }
+
+    /**
+     * This method creates the event of a rejected command
+     *
+     * @param message	the {@link String} reason of the rejection
+     * @return			the {@link GameEvent}
+     */
+    private GameEvent reject(String message) {
+        String playerName = state == GameState.CREATE_PLAYERS ? null : players.get(current).getName();
+        return new GameEvent(GameEvent.Type.REJECTED, state, playerName, null, message);
+    }
+
+    /**
+     * This method creates the event of a command rejected because the move is not valid
+     *
+     * @param validation	the {@link Validation} that failed
+     * @param message		the {@link String} reason of the rejection
+     * @return				the {@link GameEvent}
+     */
+    private GameEvent reject(Validation validation, String message) {
+        return new GameEvent(state, players.get(current).getName(), validation, message);
+    }
+}
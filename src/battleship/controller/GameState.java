@@ -0,0 +1,11 @@
+package battleship.controller;
+
+/**
+ * This enum represents the stages of the game
+ */
+public enum GameState {
+    CREATE_PLAYERS,
+    PLACE_SHIPS,
+    PERFORM_SHOT,
+    END_GAME
+}
@@ -1,77 +1,100 @@
-package battleship.controller;
-
-import battleship.model.ShotResult;
-import battleship.model.field.Mark;
-import battleship.model.ship.ShipType;
-
-/**
- * This interface contains the methods required to implement the view class
- */
-public interface GameView {
-    /**
-     * This method sets the controller for this game view
-     *
-     * @param controller    the game {@link GameController}
-     */
-    void setController(GameController controller);
-
-    /**
-     * This method displays the specified battlefield
-     *
-     * @param battlefield	the {@link Mark} a matrix array representing battlefield
-     */
-    void showBattlefield(Mark[][] battlefield);
-
-    /**
-     * This method displays the battlefield of the enemy and the player
-     *
-     * @param enemyBattlefield		the {@link Mark} a matrix array representing the enemy's battlefield
-     * @param playerBattlefield		the {@link Mark} a matrix array representing the player's battlefield
-     */
-    void showBattlefields(Mark[][] enemyBattlefield, Mark[][] playerBattlefield);
-
-    /**
-     * This method displays a winner
-     *
-     * @param playerName	the {@link String} player name
-     */
-    void showWinner(String playerName);
-
-    /**
-     * This method displays the result of the shot
-     *
-     * @param shotResult    the {@link ShotResult}
-     */
-    void showShotResult(ShotResult shotResult);
-
-    /**
-     * This method prompts to add a players
-     */
-    void promptForPlayer();
-
-    /**
-     * This method prompts the player to place a ship
-     *
-     * @param playerName	the {@link String} player name
-     */
-    void promptForShipsPlacement(String playerName);
-
-    /**
-     * This method prompts the player to enter the coordinates of the ship
-     *
-     * @param shipType		the {@link ShipType}
-     */
-    void promptForShipCoordinates(ShipType shipType);
-
-    /**
-     * This method prompts for another player
-     */
-    void promptForAnotherPlayer();
-
-    /**
-     * This method makes a request to execute a shot
-     *
-     * @param playerName	the {@link String} player name
-     */
-    void promptForShot(String playerName);
-}
+package battleship.controller;
+
+import battleship.model.Coordinate;
+import battleship.model.ShotResult;
+import battleship.model.field.BoardView;
+import battleship.model.ship.ShipType;
+
+/**
+ * This interface contains the methods required to implement the view class
+ */
+public interface GameView {
+    /**
+     * This method sets the controller for this game view
+     *
+     * @param controller    the game {@link GameController}
+     */
+    void setController(GameController controller);
+
+    /**
+     * This method displays the specified battlefield
+     *
+     * @param battlefield	the {@link BoardView} of the battlefield
+     */
+    void showBattlefield(BoardView battlefield);
+
+    /**
+     * This method displays the battlefield of the enemy and the player
+     *
+     * @param enemyBattlefield		the {@link BoardView} of the enemy's battlefield
+     * @param playerBattlefield		the {@link BoardView} of the player's battlefield
+     */
+    void showBattlefields(BoardView enemyBattlefield, BoardView playerBattlefield);
+
+    /**
+     * This method displays a winner
+     *
+     * @param playerName	the {@link String} player name
+     */
+    void showWinner(String playerName);
+
+    /**
+     * This method displays the result of the shot
+     *
+     * @param shotResult    the {@link ShotResult}
+     */
+    void showShotResult(ShotResult shotResult);
+
+    /**
+     * This method prompts to add a players
+     */
+    void promptForPlayer();
+
+    /**
+     * This method prompts the player to place a ship
+     *
+     * @param playerName	the {@link String} player name
+     */
+    void promptForShipsPlacement(String playerName);
+
+    /**
+     * This method prompts the player to enter the coordinates of the ship
+     *
+     * @param shipType		the {@link ShipType}
+     */
+    void promptForShipCoordinates(ShipType shipType);
+
+    /**
+     * This method prompts for another player
+     */
+    void promptForAnotherPlayer();
+
+    /**
+     * This method makes a request to execute a shot
+     *
+     * @param playerName	the {@link String} player name
+     */
+    void promptForShot(String playerName);
+
+    /**
+     * This method makes a request to fire a salvo. Only the views of salvo games implement it.
+     *
+     * @param playerName	the {@link String} player name
+     * @param shots			the number of shots of the salvo
+     */
+    default void promptForSalvo(String playerName, int shots) {
+        throw new UnsupportedOperationException("This view does not play salvo games.");
+    }
+
+    /**
+     * This method displays the results of the shots of a salvo, by default one after another
+     *
+     * @param coordinates	the {@link Coordinate} array of the shots
+     * @param shotResults	the {@link ShotResult} array in the order of the shots, it may be longer than the salvo
+     */
+    default void showSalvoResults(Coordinate[] coordinates, ShotResult[] shotResults) {
+        for (int i = 0; i < coordinates.length; i++) {
+            showShotResult(shotResults[i]);
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package battleship.log;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.List;
+
+import battleship.controller.GameCommand;
+import battleship.controller.GameEvent;
+import battleship.controller.GameListener;
+import battleship.controller.GameSession;
+import battleship.model.GameRules;
+import battleship.model.ship.ShipType;
+
+/**
+ * This class journals the players, the placements and the shots of a game that is being played,
+ * so that a {@link SnapshotWriter} can save the game and a {@link SnapshotReader} can restore it.
+ * The state of a game follows from its moves, so the journal keeps only the moves in the units of
+ * the game log and a snapshot writes only the moves since the previous snapshot. The journal is only
+ * appended to, a snapshot takes a view of its new bytes without copying them.
+ */
+public class GameJournal implements GameListener {
+    // the rules of the game
+    private final GameRules rules;
+    // true if the units are ints
+    private final boolean wide;
+    // the names of the players
+    private final String[] names = new String[2];
+    // the number of players added
+    private int players;
+    // the units of the moves
+    private ByteBuffer units;
+    // the number of bytes of units that have been taken by snapshots, -1 before the first snapshot
+    private int saved = -1;
+    // true after the game has ended, no more snapshots are taken
+    private boolean ended;
+
+    /**
+     * Constructs a journal
+     *
+     * @param rules						the {@link GameRules} of the game
+     * @throws IllegalArgumentException	if the battlefield is too large for the format or the game is a salvo game
+     */
+    public GameJournal(GameRules rules) throws IllegalArgumentException {
+        if ((long) rules.getHeight() * rules.getWidth() > GameLogFormat.MAX_CELLS) {
+            throw new IllegalArgumentException("The battlefield is too large for a snapshot.");
+        }
+        if (rules.isSalvo()) {
+            throw new IllegalArgumentException("A snapshot holds no salvo games.");
+        }
+        this.rules = rules;
+        this.wide = GameLogFormat.isWide(rules.getHeight(), rules.getWidth());
+        // the placements of both players and a few dozen shots
+        this.units = ByteBuffer.allocate((2 * rules.getFleet().size() + 64) * (wide ? 4 : 2));
+    }
+
+    /**
+     * This method creates a journal and adds it to the session
+     *
+     * @param session	the {@link GameSession} to journal, no command has been applied yet
+     * @return			the {@link GameJournal}
+     */
+    public static GameJournal attach(GameSession session) {
+        GameJournal journal = new GameJournal(session.getRules());
+        session.addListener(journal);
+        return journal;
+    }
+
+    @Override
+    public synchronized void commandApplied(GameCommand command, GameEvent event) {
+        switch (command.getType()) {
+            case ADD_PLAYER:
+                names[players++] = command.getPlayerName();
+                break;
+            case PLACE_SHIP:
+                putUnit(GameLogFormat.placementUnit(command.getCoordinates(), rules.getWidth()));
+                break;
+            case SHOT:
+                putUnit(rules.getCoordinates().cellOf(command.getCoordinate()) << 2 | event.getShotResult().ordinal());
+                break;
+            default:
+                break;
+        }
+    }
+
+    /**
+     * This method returns the payload of the start record of the game and marks the moves
+     * so far as taken
+     *
+     * @return	the {@link ByteBuffer} with the payload, null if the game has already been started
+     * 			or the players have not been added yet
+     */
+    synchronized ByteBuffer takeStart() {
+        if (ended || saved >= 0 || players < 2) {
+            return null;
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            List<ShipType> fleet = rules.getFleet();
+            out.writeByte(wide ? GameLogFormat.FLAG_WIDE : 0);
+            out.writeInt(rules.getHeight());
+            out.writeInt(rules.getWidth());
+            out.writeInt(fleet.size());
+            for (ShipType shipType : fleet) {
+                out.writeByte(shipType.ordinal());
+            }
+            out.writeUTF(names[0]);
+            out.writeUTF(names[1]);
+            out.write(units.array(), 0, units.position());
+        } catch (IOException e) {
+            // a byte array stream does not throw
+            throw new UncheckedIOException(e);
+        }
+        saved = units.position();
+        return ByteBuffer.wrap(bytes.toByteArray());
+    }
+
+    /**
+     * This method returns the units of the moves since the previous snapshot and marks them as taken
+     *
+     * @return	the {@link ByteBuffer} view of the units, empty if there are no new moves
+     * 			or the game has not been started yet
+     */
+    synchronized ByteBuffer takeDelta() {
+        if (ended || saved < 0) {
+            return ByteBuffer.allocate(0);
+        }
+        ByteBuffer delta = units.duplicate();
+        delta.limit(units.position()).position(saved);
+        saved = units.position();
+        return delta.slice();
+    }
+
+    /**
+     * This method marks the game as ended, no more snapshots are taken
+     *
+     * @return	true if a snapshot of the game has been taken, false otherwise
+     */
+    synchronized boolean end() {
+        ended = true;
+        return saved >= 0;
+    }
+
+    /**
+     * This method appends a unit to the journal
+     *
+     * @param value		the value of the unit
+     */
+    private void putUnit(int value) {
+        if (units.remaining() < 4) {
+            // the bytes given to snapshots stay in the old buffer, they are never changed
+            ByteBuffer larger = ByteBuffer.allocate(units.capacity() * 2);
+            larger.put(units.array(), 0, units.position());
+            units = larger;
+        }
+        if (wide) {
+            units.putInt(value);
+        } else {
+            units.putShort((short) value);
+        }
+    }
+}
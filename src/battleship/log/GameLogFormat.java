@@ -0,0 +1,120 @@
+package battleship.log;
+
+import battleship.model.Coordinate;
+import battleship.model.Coordinates;
+
+/**
+ * This class describes the binary format of the game log.
+ * <p>
+ * The file starts with the magic number and the version, both ints, followed by the games.
+ * A game is written as:
+ * <pre>
+ *   int    length of the rest of the record in bytes
+ *   byte   flags: {@link #FLAG_WIDE}, {@link #FLAG_FINISHED}
+ *   int    battlefield height
+ *   int    battlefield width
+ *   int    number of ships in the fleet
+ *   byte[] ordinal of the ship type of every ship of the fleet
+ *   unit[] placements, the fleet of the first player then the fleet of the second player:
+ *          index of the first cell of the ship &lt;&lt; 1 | 1 if the ship is vertical
+ *   unit[] shots until the end of the record, the players shoot in turns starting with the first player:
+ *          index of the cell &lt;&lt; 2 | ordinal of the shot result
+ * </pre>
+ * The index of a cell is {@code row * width + column}. A unit is an unsigned short on a battlefield of at
+ * most {@link #NARROW_CELLS} cells and an int on a larger battlefield, which sets {@link #FLAG_WIDE}.
+ * All numbers are big-endian.
+ * <p>
+ * A snapshot file starts with {@link #SNAPSHOT_MAGIC} and the version, followed by records:
+ * <pre>
+ *   long   game id
+ *   byte   kind: {@link #SNAPSHOT_START}, {@link #SNAPSHOT_DELTA} or {@link #SNAPSHOT_END}
+ *   int    length of the payload in bytes
+ *   START  byte flags, int height, int width, int number of ships, byte[] fleet as in the game log,
+ *          the names of both players in modified UTF-8 as written by {@code DataOutput.writeUTF},
+ *          unit[] placements and shots so far
+ *   DELTA  unit[] placements and shots since the previous record of the game
+ *   END    nothing, the game has ended
+ * </pre>
+ * The units are the same as in the game log, the placements of a game always come before its shots.
+ */
+final class GameLogFormat {
+    // the first int of a game log, "BSLG"
+    static final int MAGIC = 0x42534C47;
+    // the version of the format
+    static final int VERSION = 1;
+    // size of the file header in bytes
+    static final int FILE_HEADER_SIZE = 8;
+    // size of the game header in bytes without the fleet, the length included
+    static final int GAME_HEADER_SIZE = 17;
+
+    // the units are ints
+    static final int FLAG_WIDE = 1;
+    // the last shot sank the last ship of a player
+    static final int FLAG_FINISHED = 2;
+
+    // the largest number of cells of a battlefield written with short units
+    static final int NARROW_CELLS = 1 << 14;
+    // the largest number of cells of a battlefield that can be written
+    static final int MAX_CELLS = 1 << 29;
+
+    // the first int of a snapshot file, "BSSN"
+    static final int SNAPSHOT_MAGIC = 0x4253534E;
+    // the size of the header of a snapshot record in bytes
+    static final int SNAPSHOT_RECORD_HEADER_SIZE = 13;
+    // the first record of a game
+    static final byte SNAPSHOT_START = 1;
+    // the moves since the previous record
+    static final byte SNAPSHOT_DELTA = 2;
+    // the game has ended
+    static final byte SNAPSHOT_END = 3;
+
+    private GameLogFormat() {
+    }
+
+    /**
+     * This method checks if a battlefield of the specified size is written with int units
+     *
+     * @param height	battlefield height
+     * @param width		battlefield width
+     * @return			true if the units are ints, false if they are shorts
+     */
+    static boolean isWide(int height, int width) {
+        return (long) height * width > NARROW_CELLS;
+    }
+
+    /**
+     * This method encodes the placement of a ship
+     *
+     * @param coordinates	the {@link Coordinate} array of the ship
+     * @param width			battlefield width
+     * @return				the unit: index of the first cell &lt;&lt; 1 | 1 if the ship is vertical
+     */
+    static int placementUnit(Coordinate[] coordinates, int width) {
+        Coordinate first = coordinates[0];
+        Coordinate last = coordinates[coordinates.length - 1];
+        boolean vertical = first.getVertical() != last.getVertical();
+        int start = Math.min(first.getVertical() * width + first.getHorizontal(),
+                last.getVertical() * width + last.getHorizontal());
+        return start << 1 | (vertical ? 1 : 0);
+    }
+
+    /**
+     * This method decodes the placement of a ship
+     *
+     * @param unit		the unit of the placement
+     * @param length	the length of the ship
+     * @param cells		the {@link Coordinates} of the battlefield
+     * @return			the {@link Coordinate} array of the ship
+     */
+    static Coordinate[] placement(int unit, int length, Coordinates cells) {
+        int cell = unit >>> 1;
+        boolean vertical = (unit & 1) != 0;
+        int row = cells.verticalOf(cell);
+        int column = cells.horizontalOf(cell);
+        Coordinate[] coordinates = new Coordinate[length];
+        for (int i = 0; i < length; i++) {
+            coordinates[i] = vertical ? cells.get(row + i, column) : cells.get(row, column + i);
+        }
+        return coordinates;
+    }
+}
@@ -0,0 +1,299 @@
+package battleship.log;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import battleship.controller.GameCommand;
+import battleship.controller.GameEvent;
+import battleship.controller.GameSession;
+import battleship.model.Coordinate;
+import battleship.model.Coordinates;
+import battleship.model.GameRules;
+import battleship.model.ShotResult;
+import battleship.model.ship.ShipType;
+
+/**
+ * This class reads a game log written by {@link GameLogWriter}. The file is mapped into memory and
+ * the reader moves from one game to the next, the placements and the shots of the current game are read
+ * straight from the mapped file, so scanning a log creates no objects. {@link #replay} rebuilds the
+ * state of the current game after any number of shots.
+ * <p>
+ * The whole file is mapped at once, so a log may not be larger than 2 GB.
+ */
+public class GameLogReader implements Closeable {
+    // the ship types by the ordinal
+    private static final ShipType[] SHIP_TYPES = ShipType.values();
+    // the shot results by the ordinal
+    private static final ShotResult[] SHOT_RESULTS = ShotResult.values();
+
+    // the channel of the file
+    private final FileChannel channel;
+    // the mapped file
+    private final MappedByteBuffer log;
+    // the offset of the next game
+    private int next;
+    // the flags of the current game
+    private int flags;
+    // battlefield height of the current game
+    private int height;
+    // battlefield width of the current game
+    private int width;
+    // number of ships in the fleet of the current game
+    private int fleetSize;
+    // the offset of the fleet of the current game
+    private int fleet;
+    // the offset of the placements of the current game
+    private int placements;
+    // the offset of the shots of the current game
+    private int shots;
+    // number of shots in the current game
+    private int shotCount;
+    // size of a unit in bytes
+    private int unit;
+
+    /**
+     * Constructs a reader positioned before the first game
+     *
+     * @param file			the {@link Path} of the log
+     * @throws IOException	if the file could not be mapped or it is not a game log
+     */
+    public GameLogReader(Path file) throws IOException {
+        this.channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException(file + " is too large to be mapped at once.");
+            }
+            this.log = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (log.limit() < GameLogFormat.FILE_HEADER_SIZE
+                    || log.getInt(0) != GameLogFormat.MAGIC || log.getInt(4) != GameLogFormat.VERSION) {
+                throw new IOException(file + " is not a game log.");
+            }
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+        rewind();
+    }
+
+    /**
+     * This method moves the reader before the first game
+     */
+    public void rewind() {
+        next = GameLogFormat.FILE_HEADER_SIZE;
+    }
+
+    /**
+     * This method moves the reader to the next game. A game that was cut off by a crash of the writer
+     * ends the log like the end of the file.
+     *
+     * @return	true if there is a next game, false at the end of the log or at a truncated game
+     */
+    public boolean next() {
+        int start = next;
+        if (start + GameLogFormat.GAME_HEADER_SIZE > log.limit()) {
+            return false;
+        }
+        long end = start + 4L + log.getInt(start);
+        int size = log.getInt(start + 13);
+        int wide = (log.get(start + 4) & GameLogFormat.FLAG_WIDE) != 0 ? 4 : 2;
+        if (end > log.limit() || size < 0
+                || start + GameLogFormat.GAME_HEADER_SIZE + (long) size * (1 + 2 * wide) > end) {
+            return false;
+        }
+        flags = log.get(start + 4);
+        height = log.getInt(start + 5);
+        width = log.getInt(start + 9);
+        fleetSize = size;
+        fleet = start + GameLogFormat.GAME_HEADER_SIZE;
+        unit = wide;
+        placements = fleet + fleetSize;
+        shots = placements + 2 * fleetSize * unit;
+        shotCount = ((int) end - shots) / unit;
+        next = (int) end;
+        return true;
+    }
+
+    /**
+     * This method checks if the current game has been played to the end
+     *
+     * @return	true if a player has lost all ships, false otherwise
+     */
+    public boolean isFinished() {
+        return (flags & GameLogFormat.FLAG_FINISHED) != 0;
+    }
+
+    /**
+     * This method returns the battlefield height of the current game
+     *
+     * @return	the battlefield height
+     */
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     * This method returns the battlefield width of the current game
+     *
+     * @return	the battlefield width
+     */
+    public int getWidth() {
+        return width;
+    }
+
+    /**
+     * This method returns the number of ships in the fleet of the current game
+     *
+     * @return	the number of ships
+     */
+    public int getFleetSize() {
+        return fleetSize;
+    }
+
+    /**
+     * This method returns the type of a ship of the fleet
+     *
+     * @param ship	the index of the ship in the fleet
+     * @return		the {@link ShipType}
+     */
+    public ShipType getShipType(int ship) {
+        return SHIP_TYPES[log.get(fleet + ship)];
+    }
+
+    /**
+     * This method returns the index of the first cell of a placed ship, the index is {@code row * width + column}
+     *
+     * @param player	the index of the player
+     * @param ship		the index of the ship in the fleet
+     * @return			the index of the cell
+     */
+    public int getPlacementCell(int player, int ship) {
+        return unitAt(placements, player * fleetSize + ship) >>> 1;
+    }
+
+    /**
+     * This method checks if a placed ship is vertical
+     *
+     * @param player	the index of the player
+     * @param ship		the index of the ship in the fleet
+     * @return			true if the ship is vertical, false if it is horizontal
+     */
+    public boolean isPlacementVertical(int player, int ship) {
+        return (unitAt(placements, player * fleetSize + ship) & 1) != 0;
+    }
+
+    /**
+     * This method returns the number of shots in the current game
+     *
+     * @return	the number of shots
+     */
+    public int getShotCount() {
+        return shotCount;
+    }
+
+    /**
+     * This method returns the index of the player who fired a shot
+     *
+     * @param shot	the index of the shot
+     * @return		the index of the player
+     */
+    public int getShooter(int shot) {
+        return shot % 2;
+    }
+
+    /**
+     * This method returns the index of the cell hit by a shot, the index is {@code row * width + column}
+     *
+     * @param shot	the index of the shot
+     * @return		the index of the cell
+     */
+    public int getShotCell(int shot) {
+        return unitAt(shots, shot) >>> 2;
+    }
+
+    /**
+     * This method returns the result of a shot
+     *
+     * @param shot	the index of the shot
+     * @return		the {@link ShotResult}
+     */
+    public ShotResult getShotResult(int shot) {
+        return SHOT_RESULTS[unitAt(shots, shot) & 3];
+    }
+
+    /**
+     * This method returns the winner of the current game
+     *
+     * @return	the index of the player, -1 if the game has not been played to the end
+     */
+    public int getWinner() {
+        return isFinished() ? getShooter(shotCount - 1) : -1;
+    }
+
+    /**
+     * This method rebuilds the current game after the specified number of shots
+     *
+     * @param shotCount					the number of shots to apply
+     * @return							the {@link GameSession} in the state after the shots
+     * @throws IllegalStateException	if the log does not describe a legal game
+     */
+    public GameSession replay(int shotCount) throws IllegalStateException {
+        List<ShipType> fleetTypes = new ArrayList<>(fleetSize);
+        for (int i = 0; i < fleetSize; i++) {
+            fleetTypes.add(getShipType(i));
+        }
+        GameSession session = new GameSession(new GameRules(height, width, fleetTypes));
+        Coordinates cells = session.getRules().getCoordinates();
+        apply(session, GameCommand.addPlayer("Player1"));
+        apply(session, GameCommand.addPlayer("Player2"));
+
+        for (int player = 0; player < 2; player++) {
+            for (int ship = 0; ship < fleetSize; ship++) {
+                int unit = unitAt(placements, player * fleetSize + ship);
+                Coordinate[] coordinates = GameLogFormat.placement(unit, fleetTypes.get(ship).getSize(), cells);
+                apply(session, GameCommand.placeShip(coordinates));
+            }
+        }
+
+        for (int shot = 0; shot < Math.min(shotCount, this.shotCount); shot++) {
+            int cell = getShotCell(shot);
+            apply(session, GameCommand.shot(cells.get(cell / width, cell % width)));
+        }
+        return session;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * This method submits a command of the log to the session
+     *
+     * @param session					the {@link GameSession}
+     * @param command					the {@link GameCommand}
+     * @throws IllegalStateException	if the command was rejected
+     */
+    private void apply(GameSession session, GameCommand command) throws IllegalStateException {
+        GameEvent event = session.submit(command);
+        if (event.isRejected()) {
+            throw new IllegalStateException("The game log does not describe a legal game: " + event.getMessage());
+        }
+    }
+
+    /**
+     * This method reads a unit
+     *
+     * @param offset	the offset of the first unit
+     * @param index		the index of the unit
+     * @return			the value of the unit
+     */
+    private int unitAt(int offset, int index) {
+        return unit == 4 ? log.getInt(offset + index * 4) : log.getShort(offset + index * 2) & 0xFFFF;
+    }
+}
@@ -0,0 +1,100 @@
+package battleship.log;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * This class appends games to a game log file. The games are collected in a buffer and the buffer
+ * is written to the file when it is full, so the file is written in large blocks. The writer can be
+ * shared by the threads that play the games.
+ */
+public class GameLogWriter implements Closeable {
+    // size of the buffer in bytes
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    // the channel of the file
+    private final FileChannel channel;
+    // the games that are not written yet
+    private final ByteBuffer buffer;
+
+    /**
+     * Constructs a writer that appends to the file, a new file is created if it does not exist
+     *
+     * @param file			the {@link Path} of the log
+     * @throws IOException	if the file could not be opened or it is not a game log
+     */
+    public GameLogWriter(Path file) throws IOException {
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        this.buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+
+        try {
+            if (channel.size() == 0) {
+                buffer.putInt(GameLogFormat.MAGIC).putInt(GameLogFormat.VERSION);
+            } else {
+                ByteBuffer header = ByteBuffer.allocate(GameLogFormat.FILE_HEADER_SIZE);
+                channel.read(header, 0);
+                if (header.getInt(0) != GameLogFormat.MAGIC || header.getInt(4) != GameLogFormat.VERSION) {
+                    throw new IOException(file + " is not a game log.");
+                }
+            }
+            channel.position(channel.size());
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * This method appends a game to the log
+     *
+     * @param game			the {@link ByteBuffer} with the record of the game between its position and limit
+     * @throws IOException	if the log could not be written
+     */
+    public synchronized void append(ByteBuffer game) throws IOException {
+        if (game.remaining() > buffer.remaining()) {
+            flush();
+        }
+        if (game.remaining() > buffer.capacity()) {
+            write(game);
+        } else {
+            buffer.put(game);
+        }
+    }
+
+    /**
+     * This method writes the buffered games to the file
+     *
+     * @throws IOException	if the log could not be written
+     */
+    public synchronized void flush() throws IOException {
+        buffer.flip();
+        write(buffer);
+        buffer.clear();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            channel.close();
+        }
+    }
+
+    /**
+     * This method writes all the bytes to the file
+     *
+     * @param bytes			the {@link ByteBuffer} with the bytes
+     * @throws IOException	if the log could not be written
+     */
+    private void write(ByteBuffer bytes) throws IOException {
+        while (bytes.hasRemaining()) {
+            channel.write(bytes);
+        }
+    }
+}
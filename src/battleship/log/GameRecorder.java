@@ -0,0 +1,132 @@
+package battleship.log;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.List;
+
+import battleship.controller.GameCommand;
+import battleship.controller.GameEvent;
+import battleship.controller.GameListener;
+import battleship.controller.GameSession;
+import battleship.model.Coordinate;
+import battleship.model.GameRules;
+import battleship.model.ship.ShipType;
+
+/**
+ * This class records the placements and the shots of a game and appends the game to a {@link GameLogWriter}
+ * when it ends. A recorder is added to the {@link GameSession} of one game. The names of the players
+ * are not recorded.
+ */
+public class GameRecorder implements GameListener {
+    // the log the game is appended to
+    private final GameLogWriter log;
+    // battlefield width
+    private final int width;
+    // true if the units are ints
+    private final boolean wide;
+    // the record of the game
+    private ByteBuffer record;
+
+    /**
+     * Constructs a recorder
+     *
+     * @param log						the {@link GameLogWriter} the game is appended to
+     * @param rules						the {@link GameRules} of the game
+     * @throws IllegalArgumentException	if the battlefield is too large for the log or the game is a salvo game
+     */
+    public GameRecorder(GameLogWriter log, GameRules rules) throws IllegalArgumentException {
+        if ((long) rules.getHeight() * rules.getWidth() > GameLogFormat.MAX_CELLS) {
+            throw new IllegalArgumentException("The battlefield is too large for the game log.");
+        }
+        if (rules.isSalvo()) {
+            throw new IllegalArgumentException("The game log holds no salvo games.");
+        }
+        this.log = log;
+        this.width = rules.getWidth();
+        this.wide = GameLogFormat.isWide(rules.getHeight(), rules.getWidth());
+
+        List<ShipType> fleet = rules.getFleet();
+        int unit = wide ? 4 : 2;
+        // the placements and a shot at every cell of one battlefield
+        this.record = ByteBuffer.allocate(GameLogFormat.GAME_HEADER_SIZE + fleet.size() * (1 + 2 * unit)
+                + Math.min(rules.getHeight() * rules.getWidth(), 1024) * unit);
+        record.putInt(0)
+                .put((byte) (wide ? GameLogFormat.FLAG_WIDE : 0))
+                .putInt(rules.getHeight())
+                .putInt(rules.getWidth())
+                .putInt(fleet.size());
+        for (ShipType shipType : fleet) {
+            record.put((byte) shipType.ordinal());
+        }
+    }
+
+    /**
+     * This method creates a recorder and adds it to the session
+     *
+     * @param log		the {@link GameLogWriter} the game is appended to
+     * @param session	the {@link GameSession} to record
+     */
+    public static void record(GameLogWriter log, GameSession session) {
+        session.addListener(new GameRecorder(log, session.getRules()));
+    }
+
+    @Override
+    public void commandApplied(GameCommand command, GameEvent event) {
+        switch (command.getType()) {
+            case PLACE_SHIP:
+                putUnit(GameLogFormat.placementUnit(command.getCoordinates(), width));
+                break;
+            case SHOT:
+                putUnit(index(command.getCoordinate()) << 2 | event.getShotResult().ordinal());
+                if (event.getType() == GameEvent.Type.WON) {
+                    finish();
+                }
+                break;
+            default:
+                break;
+        }
+    }
+
+    /**
+     * This method completes the record and appends it to the log
+     */
+    private void finish() {
+        record.putInt(0, record.position() - 4);
+        record.put(4, (byte) (record.get(4) | GameLogFormat.FLAG_FINISHED));
+        record.flip();
+        try {
+            log.append(record);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * This method appends a unit to the record
+     *
+     * @param value		the value of the unit
+     */
+    private void putUnit(int value) {
+        if (record.remaining() < 4) {
+            ByteBuffer larger = ByteBuffer.allocate(record.capacity() * 2);
+            record.flip();
+            record = larger.put(record);
+        }
+        if (wide) {
+            record.putInt(value);
+        } else {
+            record.putShort((short) value);
+        }
+    }
+
+    /**
+     * This method returns the index of the cell
+     *
+     * @param coordinate	the {@link Coordinate} of the cell
+     * @return				the index of the cell
+     */
+    private int index(Coordinate coordinate) {
+        return coordinate.getVertical() * width + coordinate.getHorizontal();
+    }
+}
@@ -0,0 +1,96 @@
+package battleship.log;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import battleship.controller.GameSession;
+import battleship.model.Player;
+import battleship.model.ShotResult;
+import battleship.view.BoardRenderer;
+
+/**
+ * This class reads a game log from the command line: {@code LogMain file [game [shots]]}.
+ * Without a game it scans the log and prints statistics, with a game it prints the battlefields
+ * of the game after the specified number of shots, after all shots by default.
+ */
+public class LogMain {
+
+    public static void main(String[] args) throws IOException {
+        Path file = Paths.get(args[0]);
+        try (GameLogReader reader = new GameLogReader(file)) {
+            if (args.length > 1) {
+                show(reader, Integer.parseInt(args[1]), args.length > 2 ? Integer.parseInt(args[2]) : Integer.MAX_VALUE);
+            } else {
+                scan(reader, Files.size(file));
+            }
+        }
+    }
+
+    /**
+     * This method scans the log and prints statistics of the games
+     *
+     * @param reader	the {@link GameLogReader}
+     * @param size		size of the log in bytes
+     */
+    private static void scan(GameLogReader reader, long size) {
+        long start = System.nanoTime();
+        long games = 0;
+        long finished = 0;
+        long shots = 0;
+        long hits = 0;
+        long firstWins = 0;
+        while (reader.next()) {
+            games++;
+            int shotCount = reader.getShotCount();
+            for (int i = 0; i < shotCount; i++) {
+                if (reader.getShotResult(i) != ShotResult.MISS) {
+                    hits++;
+                }
+            }
+            if (reader.isFinished()) {
+                finished++;
+                shots += shotCount;
+                if (reader.getWinner() == 0) {
+                    firstWins++;
+                }
+            }
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        System.out.printf("games:            %d (%d finished)%n", games, finished);
+        if (finished > 0) {
+            System.out.printf("shots per game:   %.2f%n", (double) shots / finished);
+            System.out.printf("hit rate:         %.2f%%%n", hits * 100.0 / shots);
+            System.out.printf("first player won: %.2f%%%n", firstWins * 100.0 / finished);
+        }
+        System.out.printf("scanned in:       %.3f s, %.0f games/s, %.1f MB/s%n",
+                seconds, games / seconds, size / seconds / (1024 * 1024));
+    }
+
+    /**
+     * This method prints the battlefields of a game after the specified number of shots
+     *
+     * @param reader	the {@link GameLogReader}
+     * @param game		the index of the game in the log
+     * @param shots		the number of shots
+     */
+    private static void show(GameLogReader reader, int game, int shots) {
+        for (int i = 0; i <= game; i++) {
+            if (!reader.next()) {
+                System.out.printf("The log contains only %d games.%n", i);
+                return;
+            }
+        }
+        GameSession session = reader.replay(shots);
+        BoardRenderer renderer = new BoardRenderer();
+        for (Player player : session.getPlayers()) {
+            System.out.println(player.getName());
+            renderer.drawBattlefield(player.getBattlefield());
+            renderer.writeTo(System.out);
+        }
+        System.out.printf("%d of %d shots, %s%n", Math.min(shots, reader.getShotCount()), reader.getShotCount(),
+                session.getState());
+    }
+}
@@ -0,0 +1,211 @@
+package battleship.log;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import battleship.controller.GameCommand;
+import battleship.controller.GameEvent;
+import battleship.controller.GameSession;
+import battleship.model.Coordinates;
+import battleship.model.GameRules;
+import battleship.model.ShotResult;
+import battleship.model.ship.ShipType;
+
+/**
+ * This class restores the games saved by a {@link SnapshotWriter} that have not ended. The records of a
+ * game are joined and its moves are applied to a new {@link GameSession}, so a restored game is checked
+ * by the same rules as a game that is played. A record cut off by a crash at the end of the file is ignored.
+ */
+public final class SnapshotReader {
+    // all ship types by the ordinal
+    private static final ShipType[] SHIP_TYPES = ShipType.values();
+    // all shot results by the ordinal
+    private static final ShotResult[] SHOT_RESULTS = ShotResult.values();
+
+    private SnapshotReader() {
+    }
+
+    /**
+     * This method restores the games of the snapshot file that have not ended
+     *
+     * @param file						the {@link Path} of the snapshot file
+     * @return							the {@link GameSession}s by the game id, in the order the games started
+     * @throws IOException				if the file could not be read or it is not a snapshot file
+     * @throws IllegalStateException	if the file does not describe legal games
+     */
+    public static Map<Long, GameSession> restore(Path file) throws IOException, IllegalStateException {
+        Map<Long, SavedGame> games = new LinkedHashMap<>();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer snapshots = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (snapshots.limit() < GameLogFormat.FILE_HEADER_SIZE
+                    || snapshots.getInt(0) != GameLogFormat.SNAPSHOT_MAGIC
+                    || snapshots.getInt(4) != GameLogFormat.VERSION) {
+                throw new IOException(file + " is not a snapshot file.");
+            }
+            snapshots.position(GameLogFormat.FILE_HEADER_SIZE);
+            while (snapshots.remaining() >= GameLogFormat.SNAPSHOT_RECORD_HEADER_SIZE) {
+                long game = snapshots.getLong();
+                byte kind = snapshots.get();
+                int length = snapshots.getInt();
+                if (length < 0 || length > snapshots.remaining()) {
+                    break;
+                }
+                ByteBuffer payload = snapshots.slice();
+                payload.limit(length);
+                snapshots.position(snapshots.position() + length);
+                switch (kind) {
+                    case GameLogFormat.SNAPSHOT_START:
+                        games.put(game, new SavedGame(payload));
+                        break;
+                    case GameLogFormat.SNAPSHOT_DELTA:
+                        SavedGame saved = games.get(game);
+                        if (saved != null) {
+                            saved.append(payload);
+                        }
+                        break;
+                    case GameLogFormat.SNAPSHOT_END:
+                        games.remove(game);
+                        break;
+                    default:
+                        throw new IOException(file + " has a record of an unknown kind " + kind + ".");
+                }
+            }
+        }
+
+        Map<Long, GameSession> sessions = new LinkedHashMap<>();
+        for (Map.Entry<Long, SavedGame> entry : games.entrySet()) {
+            sessions.put(entry.getKey(), entry.getValue().restore());
+        }
+        return sessions;
+    }
+
+    /**
+     * This class collects the records of one game
+     */
+    private static class SavedGame {
+        // the rules of the game
+        private final GameRules rules;
+        // the name of the first player
+        private final String first;
+        // the name of the second player
+        private final String second;
+        // true if the units are ints
+        private final boolean wide;
+        // the units of the moves
+        private final ByteArrayOutputStream units = new ByteArrayOutputStream();
+
+        /**
+         * Constructs a game from its start record
+         *
+         * @param start			the {@link ByteBuffer} with the payload of the start record
+         * @throws IOException	if the record is broken
+         */
+        SavedGame(ByteBuffer start) throws IOException {
+            DataInputStream in = new DataInputStream(new ByteBufferInputStream(start));
+            this.wide = (in.readByte() & GameLogFormat.FLAG_WIDE) != 0;
+            int height = in.readInt();
+            int width = in.readInt();
+            int fleetSize = in.readInt();
+            List<ShipType> fleet = new ArrayList<>(fleetSize);
+            for (int i = 0; i < fleetSize; i++) {
+                fleet.add(SHIP_TYPES[in.readByte()]);
+            }
+            this.rules = new GameRules(height, width, fleet);
+            this.first = in.readUTF();
+            this.second = in.readUTF();
+            append(start);
+        }
+
+        /**
+         * This method appends the units of a record
+         *
+         * @param payload	the {@link ByteBuffer} with the units between its position and limit
+         */
+        void append(ByteBuffer payload) {
+            while (payload.hasRemaining()) {
+                units.write(payload.get());
+            }
+        }
+
+        /**
+         * This method applies the moves to a new session
+         *
+         * @return							the {@link GameSession}
+         * @throws IllegalStateException	if the moves are not legal
+         */
+        GameSession restore() throws IllegalStateException {
+            GameSession session = new GameSession(rules);
+            Coordinates cells = rules.getCoordinates();
+            List<ShipType> fleet = rules.getFleet();
+            apply(session, GameCommand.addPlayer(first));
+            apply(session, GameCommand.addPlayer(second));
+
+            ByteBuffer moves = ByteBuffer.wrap(units.toByteArray());
+            int move = 0;
+            while (moves.remaining() >= (wide ? 4 : 2)) {
+                int unit = wide ? moves.getInt() : moves.getShort() & 0xFFFF;
+                if (move < 2 * fleet.size()) {
+                    int length = fleet.get(move % fleet.size()).getSize();
+                    apply(session, GameCommand.placeShip(GameLogFormat.placement(unit, length, cells)));
+                } else {
+                    GameEvent event = apply(session, GameCommand.shot(cells.get(unit >>> 2)));
+                    if (event.getShotResult() != SHOT_RESULTS[unit & 3]) {
+                        throw new IllegalStateException("The snapshot does not describe a legal game: "
+                                + "the shot result differs.");
+                    }
+                }
+                move++;
+            }
+            return session;
+        }
+
+        /**
+         * This method submits a saved move to the session
+         *
+         * @param session					the {@link GameSession}
+         * @param command					the {@link GameCommand}
+         * @return							the {@link GameEvent}
+         * @throws IllegalStateException	if the command was rejected
+         */
+        private GameEvent apply(GameSession session, GameCommand command) throws IllegalStateException {
+            GameEvent event = session.submit(command);
+            if (event.isRejected()) {
+                throw new IllegalStateException("The snapshot does not describe a legal game: " + event.getMessage());
+            }
+            return event;
+        }
+    }
+
+    /**
+     * This class is an input stream that reads a {@link ByteBuffer}
+     */
+    private static class ByteBufferInputStream extends InputStream {
+        // the bytes
+        private final ByteBuffer bytes;
+
+        /**
+         * Constructs a stream
+         *
+         * @param bytes		the {@link ByteBuffer}, the stream advances its position
+         */
+        ByteBufferInputStream(ByteBuffer bytes) {
+            this.bytes = bytes;
+        }
+
+        @Override
+        public int read() {
+            return bytes.hasRemaining() ? bytes.get() & 0xFF : -1;
+        }
+    }
+}
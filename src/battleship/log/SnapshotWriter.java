@@ -0,0 +1,186 @@
+package battleship.log;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * This class appends snapshots of games that are being played to a snapshot file. The first snapshot
+ * of a game writes its rules, its players and its moves so far, every later snapshot writes only the
+ * moves since the previous one, so saving many games takes a few bytes per game and move. The records
+ * are buffered and written by {@link #flush()}, which forces them to the disk. A record cut off by a crash
+ * is removed when the file is opened again, so the records appended after it can be read. The format is
+ * described in {@link GameLogFormat}.
+ */
+public class SnapshotWriter implements Closeable {
+    // size of the write buffer
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    // the snapshot file
+    private final FileChannel channel;
+    // the records that have not been written yet
+    private final ByteBuffer buffer;
+
+    /**
+     * Constructs a writer that appends to the file, a new file is created if it does not exist. The file
+     * is cut after its last complete record.
+     *
+     * @param file			the {@link Path} of the snapshot file
+     * @throws IOException	if the file could not be opened or it is not a snapshot file
+     */
+    public SnapshotWriter(Path file) throws IOException {
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        this.buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+
+        try {
+            if (channel.size() == 0) {
+                buffer.putInt(GameLogFormat.SNAPSHOT_MAGIC).putInt(GameLogFormat.VERSION);
+            } else {
+                ByteBuffer header = ByteBuffer.allocate(GameLogFormat.FILE_HEADER_SIZE);
+                channel.read(header, 0);
+                if (header.getInt(0) != GameLogFormat.SNAPSHOT_MAGIC || header.getInt(4) != GameLogFormat.VERSION) {
+                    throw new IOException(file + " is not a snapshot file.");
+                }
+                long end = completeRecordsEnd();
+                if (end < channel.size()) {
+                    channel.truncate(end);
+                }
+            }
+            channel.position(channel.size());
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * This method saves the moves of the game since its previous snapshot
+     *
+     * @param game			the id of the game, unique in the file
+     * @param journal		the {@link GameJournal} of the game
+     * @throws IOException	if the file could not be written
+     */
+    public synchronized void snapshot(long game, GameJournal journal) throws IOException {
+        ByteBuffer start = journal.takeStart();
+        if (start != null) {
+            append(game, GameLogFormat.SNAPSHOT_START, start);
+            return;
+        }
+        ByteBuffer delta = journal.takeDelta();
+        if (delta.hasRemaining()) {
+            append(game, GameLogFormat.SNAPSHOT_DELTA, delta);
+        }
+    }
+
+    /**
+     * This method records that the game has ended, it is not restored and no more snapshots of it are taken
+     *
+     * @param game			the id of the game
+     * @param journal		the {@link GameJournal} of the game
+     * @throws IOException	if the file could not be written
+     */
+    public synchronized void end(long game, GameJournal journal) throws IOException {
+        if (journal.end()) {
+            append(game, GameLogFormat.SNAPSHOT_END, ByteBuffer.allocate(0));
+        }
+    }
+
+    /**
+     * This method writes the buffered records to the file and forces them to the disk, so that they
+     * survive a crash of the process or of the machine
+     *
+     * @throws IOException	if the file could not be written
+     */
+    public synchronized void flush() throws IOException {
+        drain();
+        channel.force(false);
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            channel.close();
+        }
+    }
+
+    /**
+     * This method appends a record to the buffer
+     *
+     * @param game			the id of the game
+     * @param kind			the kind of the record
+     * @param payload		the {@link ByteBuffer} with the payload between its position and limit
+     * @throws IOException	if the file could not be written
+     */
+    private void append(long game, byte kind, ByteBuffer payload) throws IOException {
+        if (GameLogFormat.SNAPSHOT_RECORD_HEADER_SIZE + payload.remaining() > buffer.remaining()) {
+            drain();
+        }
+        buffer.putLong(game).put(kind).putInt(payload.remaining());
+        if (payload.remaining() > buffer.remaining()) {
+            drain();
+            write(payload);
+        } else {
+            buffer.put(payload);
+        }
+    }
+
+    /**
+     * This method writes the buffered records to the file
+     *
+     * @throws IOException	if the file could not be written
+     */
+    private void drain() throws IOException {
+        buffer.flip();
+        write(buffer);
+        buffer.clear();
+    }
+
+    /**
+     * This method finds the end of the last complete record of the file, the records are read
+     * through the write buffer before anything is buffered
+     *
+     * @return				the offset after the last complete record
+     * @throws IOException	if the file could not be read
+     */
+    private long completeRecordsEnd() throws IOException {
+        long size = channel.size();
+        long end = GameLogFormat.FILE_HEADER_SIZE;
+        try {
+            while (size - end >= GameLogFormat.SNAPSHOT_RECORD_HEADER_SIZE) {
+                buffer.clear();
+                channel.read(buffer, end);
+                long next = end;
+                while (next - end + GameLogFormat.SNAPSHOT_RECORD_HEADER_SIZE <= buffer.position()) {
+                    // the length follows the game id and the kind
+                    int length = buffer.getInt((int) (next - end) + Long.BYTES + 1);
+                    if (length < 0 || length > size - next - GameLogFormat.SNAPSHOT_RECORD_HEADER_SIZE) {
+                        return next;
+                    }
+                    next += GameLogFormat.SNAPSHOT_RECORD_HEADER_SIZE + length;
+                }
+                end = next;
+            }
+            return end;
+        } finally {
+            buffer.clear();
+        }
+    }
+
+    /**
+     * This method writes all the bytes to the file
+     *
+     * @param bytes			the {@link ByteBuffer} with the bytes
+     * @throws IOException	if the file could not be written
+     */
+    private void write(ByteBuffer bytes) throws IOException {
+        while (bytes.hasRemaining()) {
+            channel.write(bytes);
+        }
+    }
+}
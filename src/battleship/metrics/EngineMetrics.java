@@ -0,0 +1,301 @@
+package battleship.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+import battleship.controller.GameState;
+import battleship.model.ShotResult;
+
+/**
+ * This class collects the metrics of the game engine: shots, ship placements, state transitions,
+ * active games and the latency and the allocation of the turns.
+ * <p>
+ * The metrics are off unless the JVM runs with {@code -Dbattleship.metrics=true}. Every call site
+ * checks {@link #ENABLED} first; it is a static final field, so the JIT compiler removes the
+ * instrumentation when the metrics are off. When they are on, recording takes a few atomic
+ * additions without locks: the counters are {@link LongAdder}s and the latencies go to a
+ * {@link Histogram}. The allocation of a turn is measured only with
+ * {@code -Dbattleship.metrics.allocation=true}, it reads the allocation counter of the thread.
+ * <p>
+ * When the metrics are on, they are registered as the MBean {@value #OBJECT_NAME}, and with
+ * {@code -Dbattleship.metrics.interval=<seconds>} a {@link MetricsReporter} prints them to the
+ * standard error stream periodically.
+ */
+public final class EngineMetrics implements EngineMetricsMBean {
+    // true if the metrics are recorded
+    public static final boolean ENABLED = Boolean.getBoolean("battleship.metrics");
+    // true if the allocation of the turns is measured
+    public static final boolean ALLOCATION = ENABLED && Boolean.getBoolean("battleship.metrics.allocation");
+    // the name of the MBean
+    public static final String OBJECT_NAME = "battleship:type=EngineMetrics";
+
+    // the metrics of this JVM
+    private static final EngineMetrics INSTANCE = new EngineMetrics();
+    // the bean that counts allocated bytes of a thread, null if the allocation is not measured
+    private static final com.sun.management.ThreadMXBean THREADS = ALLOCATION
+            ? (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean() : null;
+
+    static {
+        if (ENABLED) {
+            try {
+                ManagementFactory.getPlatformMBeanServer().registerMBean(INSTANCE, new ObjectName(OBJECT_NAME));
+            } catch (JMException e) {
+                System.err.println("The metrics could not be registered: " + e.getMessage());
+            }
+            long interval = Long.getLong("battleship.metrics.interval", 0);
+            if (interval > 0) {
+                new MetricsReporter(INSTANCE, System.err).start(interval);
+            }
+        }
+    }
+
+    // shots by the result
+    private final LongAdder[] shots;
+    // ships the players tried to place
+    private final LongAdder placements;
+    // rejected ship placements
+    private final LongAdder placementRejections;
+    // transitions by the state entered
+    private final LongAdder[] transitions;
+    // games that are being played
+    private final LongAdder activeGames;
+    // games that have ended
+    private final LongAdder finishedGames;
+    // latency of the turns in nanoseconds
+    private final Histogram turnLatency;
+    // bytes allocated by the turns
+    private final Histogram turnAllocation;
+    // the time of the start or the last reset
+    private volatile long startNanos;
+
+    /**
+     * Constructs empty metrics
+     */
+    private EngineMetrics() {
+        this.shots = adders(ShotResult.values().length);
+        this.placements = new LongAdder();
+        this.placementRejections = new LongAdder();
+        this.transitions = adders(GameState.values().length);
+        this.activeGames = new LongAdder();
+        this.finishedGames = new LongAdder();
+        this.turnLatency = new Histogram();
+        this.turnAllocation = new Histogram();
+        this.startNanos = System.nanoTime();
+    }
+
+    /**
+     * This method returns the metrics of this JVM
+     *
+     * @return	the {@link EngineMetrics}
+     */
+    public static EngineMetrics get() {
+        return INSTANCE;
+    }
+
+    /**
+     * This method returns the number of bytes the current thread has allocated, if the allocation is measured
+     *
+     * @return	the number of bytes, 0 if the allocation is not measured
+     */
+    public static long allocatedBytes() {
+        return ALLOCATION ? THREADS.getThreadAllocatedBytes(Thread.currentThread().getId()) : 0;
+    }
+
+    /**
+     * This method records a shot
+     *
+     * @param shotResult	the {@link ShotResult} of the shot
+     */
+    public void shotFired(ShotResult shotResult) {
+        shots[shotResult.ordinal()].increment();
+    }
+
+    /**
+     * This method records an attempt to place a ship
+     *
+     * @param rejected	true if the placement was rejected
+     */
+    public void shipPlaced(boolean rejected) {
+        placements.increment();
+        if (rejected) {
+            placementRejections.increment();
+        }
+    }
+
+    /**
+     * This method records that a game entered a state
+     *
+     * @param state		the {@link GameState} entered
+     */
+    public void stateEntered(GameState state) {
+        transitions[state.ordinal()].increment();
+    }
+
+    /**
+     * This method records that a game has started
+     */
+    public void gameStarted() {
+        activeGames.increment();
+    }
+
+    /**
+     * This method records that a game has ended, whether it was won or abandoned
+     */
+    public void gameEnded() {
+        activeGames.decrement();
+        finishedGames.increment();
+    }
+
+    /**
+     * This method records a turn
+     *
+     * @param startNanos		the {@link System#nanoTime} at the start of the turn
+     * @param allocatedBefore	the {@link #allocatedBytes} at the start of the turn
+     */
+    public void turnEnded(long startNanos, long allocatedBefore) {
+        turnLatency.record(System.nanoTime() - startNanos);
+        if (ALLOCATION) {
+            turnAllocation.record(allocatedBytes() - allocatedBefore);
+        }
+    }
+
+    @Override
+    public long getShots() {
+        long sum = 0;
+        for (LongAdder adder : shots) {
+            sum += adder.sum();
+        }
+        return sum;
+    }
+
+    @Override
+    public long getHits() {
+        return shots[ShotResult.HIT.ordinal()].sum();
+    }
+
+    @Override
+    public long getSunkShips() {
+        return shots[ShotResult.SANK.ordinal()].sum();
+    }
+
+    @Override
+    public double getShotsPerSecond() {
+        double seconds = (System.nanoTime() - startNanos) / 1e9;
+        return seconds > 0 ? getShots() / seconds : 0;
+    }
+
+    @Override
+    public long getPlacements() {
+        return placements.sum();
+    }
+
+    @Override
+    public long getPlacementRejections() {
+        return placementRejections.sum();
+    }
+
+    @Override
+    public double getPlacementRejectionRate() {
+        long total = placements.sum();
+        return total == 0 ? 0 : (double) placementRejections.sum() / total;
+    }
+
+    @Override
+    public long getActiveGames() {
+        return activeGames.sum();
+    }
+
+    @Override
+    public long getFinishedGames() {
+        return finishedGames.sum();
+    }
+
+    @Override
+    public long getTransitionsToPlaceShips() {
+        return transitions[GameState.PLACE_SHIPS.ordinal()].sum();
+    }
+
+    @Override
+    public long getTransitionsToPerformShot() {
+        return transitions[GameState.PERFORM_SHOT.ordinal()].sum();
+    }
+
+    @Override
+    public long getTransitionsToEndGame() {
+        return transitions[GameState.END_GAME.ordinal()].sum();
+    }
+
+    @Override
+    public long getTurns() {
+        return turnLatency.getCount();
+    }
+
+    @Override
+    public double getTurnLatencyP50Micros() {
+        return turnLatency.getValueAtPercentile(50) / 1e3;
+    }
+
+    @Override
+    public double getTurnLatencyP99Micros() {
+        return turnLatency.getValueAtPercentile(99) / 1e3;
+    }
+
+    @Override
+    public double getTurnLatencyMaxMicros() {
+        return turnLatency.getMax() / 1e3;
+    }
+
+    @Override
+    public double getAllocatedBytesPerTurn() {
+        return turnAllocation.getMean();
+    }
+
+    @Override
+    public void reset() {
+        for (LongAdder adder : shots) {
+            adder.reset();
+        }
+        placements.reset();
+        placementRejections.reset();
+        for (LongAdder adder : transitions) {
+            adder.reset();
+        }
+        finishedGames.reset();
+        turnLatency.reset();
+        turnAllocation.reset();
+        startNanos = System.nanoTime();
+    }
+
+    /**
+     * This method formats the metrics as one line of text
+     *
+     * @return	the {@link String} with the metrics
+     */
+    public String format() {
+        return String.format("shots %d (%.1f/s), hits %d, sunk %d | placements %d, rejected %.2f%% | "
+                        + "games active %d, finished %d | turns %d, p50 %.1f us, p99 %.1f us, max %.1f us | "
+                        + "%.0f B/turn",
+                getShots(), getShotsPerSecond(), getHits(), getSunkShips(),
+                getPlacements(), getPlacementRejectionRate() * 100,
+                getActiveGames(), getFinishedGames(),
+                getTurns(), getTurnLatencyP50Micros(), getTurnLatencyP99Micros(), getTurnLatencyMaxMicros(),
+                getAllocatedBytesPerTurn());
+    }
+
+    /**
+     * This method creates the adders
+     *
+     * @param count		the number of adders
+     * @return			the {@link LongAdder} array
+     */
+    private static LongAdder[] adders(int count) {
+        LongAdder[] adders = new LongAdder[count];
+        for (int i = 0; i < count; i++) {
+            adders[i] = new LongAdder();
+        }
+        return adders;
+    }
+}
@@ -0,0 +1,131 @@
+package battleship.metrics;
+
+/**
+ * This interface contains the attributes and operations of {@link EngineMetrics} exposed through JMX
+ */
+public interface EngineMetricsMBean {
+    /**
+     * This method returns the number of shots
+     *
+     * @return	the number of shots
+     */
+    long getShots();
+
+    /**
+     * This method returns the number of shots that hit a ship without sinking it
+     *
+     * @return	the number of hits
+     */
+    long getHits();
+
+    /**
+     * This method returns the number of shots that sank a ship
+     *
+     * @return	the number of sunk ships
+     */
+    long getSunkShips();
+
+    /**
+     * This method returns the average number of shots per second since the start or the last reset
+     *
+     * @return	shots per second
+     */
+    double getShotsPerSecond();
+
+    /**
+     * This method returns the number of ships the players tried to place
+     *
+     * @return	the number of placements
+     */
+    long getPlacements();
+
+    /**
+     * This method returns the number of ship placements that were rejected
+     *
+     * @return	the number of rejected placements
+     */
+    long getPlacementRejections();
+
+    /**
+     * This method returns the share of the rejected ship placements
+     *
+     * @return	the rejection rate from 0 to 1
+     */
+    double getPlacementRejectionRate();
+
+    /**
+     * This method returns the number of games that are being played
+     *
+     * @return	the number of active games
+     */
+    long getActiveGames();
+
+    /**
+     * This method returns the number of games that have ended
+     *
+     * @return	the number of finished games
+     */
+    long getFinishedGames();
+
+    /**
+     * This method returns the number of times the games entered the state of placing ships
+     *
+     * @return	the number of transitions
+     */
+    long getTransitionsToPlaceShips();
+
+    /**
+     * This method returns the number of times the games entered the state of shooting
+     *
+     * @return	the number of transitions
+     */
+    long getTransitionsToPerformShot();
+
+    /**
+     * This method returns the number of times the games entered the end state
+     *
+     * @return	the number of transitions
+     */
+    long getTransitionsToEndGame();
+
+    /**
+     * This method returns the number of measured turns
+     *
+     * @return	the number of turns
+     */
+    long getTurns();
+
+    /**
+     * This method returns the median latency of a turn
+     *
+     * @return	the latency in microseconds
+     */
+    double getTurnLatencyP50Micros();
+
+    /**
+     * This method returns the 99th percentile of the latency of a turn
+     *
+     * @return	the latency in microseconds
+     */
+    double getTurnLatencyP99Micros();
+
+    /**
+     * This method returns the largest latency of a turn
+     *
+     * @return	the latency in microseconds
+     */
+    double getTurnLatencyMaxMicros();
+
+    /**
+     * This method returns the average number of bytes allocated by a turn,
+     * if allocation is measured
+     *
+     * @return	allocated bytes per turn, 0 if allocation is not measured
+     */
+    double getAllocatedBytesPerTurn();
+
+    /**
+     * This method resets all counters except the number of active games
+     */
+    void reset();
+}
@@ -0,0 +1,149 @@
+package battleship.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * This class counts values in log-linear buckets: every power of two is split into 32 buckets of
+ * equal width, so a value is kept with a relative error below 3%. A value is recorded with
+ * two atomic additions and no lock, so many threads can record at once; the number of values
+ * and the largest value are derived from the buckets when they are read.
+ */
+public class Histogram {
+    // the number of bits of the sub-buckets of a power of two
+    private static final int SUB_BITS = 5;
+    // the number of sub-buckets of a power of two
+    private static final int SUB_BUCKETS = 1 << SUB_BITS;
+    // the number of buckets for all non-negative long values
+    private static final int BUCKETS = SUB_BUCKETS + (63 - SUB_BITS) * SUB_BUCKETS;
+
+    // the number of values in every bucket
+    private final AtomicLongArray counts;
+    // the sum of the values
+    private final LongAdder sum;
+
+    /**
+     * Constructs an empty histogram
+     */
+    public Histogram() {
+        this.counts = new AtomicLongArray(BUCKETS);
+        this.sum = new LongAdder();
+    }
+
+    /**
+     * This method records a value, a negative value is recorded as 0
+     *
+     * @param value		the value
+     */
+    public void record(long value) {
+        long v = Math.max(value, 0);
+        counts.getAndIncrement(bucketOf(v));
+        sum.add(v);
+    }
+
+    /**
+     * This method returns the number of recorded values
+     *
+     * @return	the number of values
+     */
+    public long getCount() {
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            total += counts.get(i);
+        }
+        return total;
+    }
+
+    /**
+     * This method returns the mean of the recorded values
+     *
+     * @return	the mean, 0 if there are no values
+     */
+    public double getMean() {
+        long n = getCount();
+        return n == 0 ? 0 : (double) sum.sum() / n;
+    }
+
+    /**
+     * This method returns the largest recorded value, up to the width of its bucket
+     *
+     * @return	the upper bound of the bucket of the largest value, 0 if there are no values
+     */
+    public long getMax() {
+        for (int i = BUCKETS - 1; i >= 0; i--) {
+            if (counts.get(i) > 0) {
+                return upperBoundOf(i);
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * This method returns the value below which the given share of the recorded values lie.
+     * The value is the upper bound of its bucket.
+     *
+     * @param percentile	the share in percent
+     * @return				the value, 0 if there are no values
+     */
+    public long getValueAtPercentile(double percentile) {
+        long total = 0;
+        long[] snapshot = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            snapshot[i] = counts.get(i);
+            total += snapshot[i];
+        }
+        if (total == 0) {
+            return 0;
+        }
+        long rank = Math.max((long) Math.ceil(total * Math.min(percentile, 100) / 100), 1);
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += snapshot[i];
+            if (seen >= rank) {
+                return upperBoundOf(i);
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * This method forgets all recorded values. Values recorded at the same time may be
+     * partly forgotten.
+     */
+    public void reset() {
+        for (int i = 0; i < BUCKETS; i++) {
+            counts.set(i, 0);
+        }
+        sum.reset();
+    }
+
+    /**
+     * This method returns the bucket of a value
+     *
+     * @param value		the non-negative value
+     * @return			the index of the bucket
+     */
+    private static int bucketOf(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int sub = (int) (value >>> (exponent - SUB_BITS)) & (SUB_BUCKETS - 1);
+        return SUB_BUCKETS + (exponent - SUB_BITS) * SUB_BUCKETS + sub;
+    }
+
+    /**
+     * This method returns the largest value of a bucket
+     *
+     * @param bucket	the index of the bucket
+     * @return			the largest value
+     */
+    private static long upperBoundOf(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int shift = (bucket - SUB_BUCKETS) / SUB_BUCKETS;
+        long sub = (bucket - SUB_BUCKETS) % SUB_BUCKETS;
+        return ((SUB_BUCKETS + sub + 1) << shift) - 1;
+    }
+}
@@ -0,0 +1,60 @@
+package battleship.metrics;
+
+import java.io.PrintStream;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This class prints the {@link EngineMetrics} periodically on a daemon thread, with the number
+ * of shots per second in the last period
+ */
+public class MetricsReporter implements Runnable {
+    // the metrics
+    private final EngineMetrics metrics;
+    // the stream the metrics are printed to
+    private final PrintStream out;
+    // the number of shots at the last report
+    private long lastShots;
+    // the time of the last report
+    private long lastNanos;
+
+    /**
+     * Constructs the reporter
+     *
+     * @param metrics	the {@link EngineMetrics}
+     * @param out		the {@link PrintStream} the metrics are printed to
+     */
+    public MetricsReporter(EngineMetrics metrics, PrintStream out) {
+        this.metrics = metrics;
+        this.out = out;
+        this.lastShots = metrics.getShots();
+        this.lastNanos = System.nanoTime();
+    }
+
+    /**
+     * This method starts printing the metrics
+     *
+     * @param seconds	the period in seconds
+     * @return			the {@link ScheduledExecutorService} that prints the metrics, shut it down to stop
+     */
+    public ScheduledExecutorService start(long seconds) {
+        ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "metrics-reporter");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleAtFixedRate(this, seconds, seconds, TimeUnit.SECONDS);
+        return executor;
+    }
+
+    @Override
+    public void run() {
+        long shots = metrics.getShots();
+        long now = System.nanoTime();
+        double rate = (shots - lastShots) * 1e9 / Math.max(now - lastNanos, 1);
+        lastShots = shots;
+        lastNanos = now;
+        out.printf("metrics: %.1f shots/s now | %s%n", rate, metrics.format());
+    }
+}
@@ -0,0 +1,185 @@
+package battleship.model;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * This class addresses the cells of a battlefield of a given size. A cell is passed around
+ * as a packed {@code int} ({@code vertical * width + horizontal}) and the {@link Coordinate}
+ * of every cell is created once and shared, so the hot paths that still need a
+ * {@link Coordinate} do not allocate.
+ * <p>
+ * There is one instance per battlefield size, it is safe to use from several threads.
+ */
+public final class Coordinates {
+    // the largest battlefield whose coordinates are cached, larger ones create coordinates on demand
+    private static final int MAX_CACHED_CELLS = 1 << 20;
+    // the instances by battlefield size
+    private static final ConcurrentMap<Long, Coordinates> INSTANCES = new ConcurrentHashMap<>();
+    // the last returned instance, almost every lookup asks for the same size again
+    private static volatile Coordinates last = INSTANCES.computeIfAbsent(10L << 32 | 10, k -> new Coordinates(10, 10));
+
+    // battlefield height
+    private final int height;
+    // battlefield width
+    private final int width;
+    // the coordinate of every cell, filled on first use, null for a battlefield that is too large
+    private final Coordinate[] cells;
+
+    /**
+     * Constructs the coordinates of a battlefield
+     *
+     * @param height	battlefield height
+     * @param width		battlefield width
+     */
+    private Coordinates(int height, int width) {
+        this.height = height;
+        this.width = width;
+        long size = (long) height * width;
+        this.cells = size <= MAX_CACHED_CELLS ? new Coordinate[(int) size] : null;
+    }
+
+    /**
+     * This method returns the coordinates of a battlefield of the specified size
+     *
+     * @param height	battlefield height
+     * @param width		battlefield width
+     * @return			the shared {@link Coordinates}
+     * @throws IllegalArgumentException		if the battlefield is empty
+     */
+    public static Coordinates of(int height, int width) throws IllegalArgumentException {
+        if (height <= 0 || width <= 0) {
+            throw new IllegalArgumentException("The battlefield must not be empty.");
+        }
+        Coordinates coordinates = last;
+        if (coordinates.height != height || coordinates.width != width) {
+            coordinates = INSTANCES.computeIfAbsent((long) height << 32 | width, k -> new Coordinates(height, width));
+            last = coordinates;
+        }
+        return coordinates;
+    }
+
+    /**
+     * This method returns the battlefield height
+     *
+     * @return	battlefield height
+     */
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     * This method returns the battlefield width
+     *
+     * @return	battlefield width
+     */
+    public int getWidth() {
+        return width;
+    }
+
+    /**
+     * This method returns the number of cells of the battlefield
+     *
+     * @return	the number of cells
+     */
+    public int size() {
+        return height * width;
+    }
+
+    /**
+     * This method checks if the row and the column are on the battlefield
+     *
+     * @param vertical		the row
+     * @param horizontal	the column
+     * @return				true if the cell is on the battlefield, false otherwise
+     */
+    public boolean contains(int vertical, int horizontal) {
+        return vertical >= 0 && vertical < height && horizontal >= 0 && horizontal < width;
+    }
+
+    /**
+     * This method checks if the coordinate is on the battlefield
+     *
+     * @param coordinate	the {@link Coordinate}
+     * @return				true if the coordinate is on the battlefield, false otherwise
+     */
+    public boolean contains(Coordinate coordinate) {
+        return contains(coordinate.getVertical(), coordinate.getHorizontal());
+    }
+
+    /**
+     * This method packs the row and the column into the cell
+     *
+     * @param vertical		the row
+     * @param horizontal	the column
+     * @return				the cell
+     */
+    public int cellOf(int vertical, int horizontal) {
+        return vertical * width + horizontal;
+    }
+
+    /**
+     * This method packs the coordinate into the cell
+     *
+     * @param coordinate	the {@link Coordinate} on the battlefield
+     * @return				the cell
+     */
+    public int cellOf(Coordinate coordinate) {
+        return coordinate.getVertical() * width + coordinate.getHorizontal();
+    }
+
+    /**
+     * This method returns the row of the cell
+     *
+     * @param cell	the cell
+     * @return		the row
+     */
+    public int verticalOf(int cell) {
+        return cell / width;
+    }
+
+    /**
+     * This method returns the column of the cell
+     *
+     * @param cell	the cell
+     * @return		the column
+     */
+    public int horizontalOf(int cell) {
+        return cell % width;
+    }
+
+    /**
+     * This method returns the coordinate of the cell
+     *
+     * @param cell	the cell
+     * @return		the shared {@link Coordinate} of the cell
+     * @throws IndexOutOfBoundsException	if the cell is not on the battlefield
+     */
+    public Coordinate get(int cell) throws IndexOutOfBoundsException {
+        if (cell < 0 || cell >= size()) {
+            throw new IndexOutOfBoundsException("Wrong cell " + cell);
+        }
+        if (cells == null) {
+            return new Coordinate(cell / width, cell % width);
+        }
+        // a race only creates an equal coordinate twice, the fields of a coordinate are final
+        Coordinate coordinate = cells[cell];
+        if (coordinate == null) {
+            coordinate = new Coordinate(cell / width, cell % width);
+            cells[cell] = coordinate;
+        }
+        return coordinate;
+    }
+
+    /**
+     * This method returns the coordinate of the row and the column. A coordinate outside
+     * the battlefield is not cached, it is created, so that the caller can still reject it.
+     *
+     * @param vertical		the row
+     * @param horizontal	the column
+     * @return				the {@link Coordinate}
+     */
+    public Coordinate get(int vertical, int horizontal) {
+        return contains(vertical, horizontal) ? get(cellOf(vertical, horizontal)) : new Coordinate(vertical, horizontal);
+    }
+}
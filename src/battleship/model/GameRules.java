@@ -0,0 +1,142 @@
+package battleship.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import battleship.model.ship.ShipType;
+
+/**
+ * This class represents the rules of a game: the size of the battlefield, the ships of the fleet
+ * and the variant. In the salvo variant a player fires one shot for every ship that is still afloat
+ * in every turn.
+ */
+public class GameRules {
+    // battlefield height
+    private final int height;
+    // battlefield width
+    private final int width;
+    // ship types of the fleet in the order of placement
+    private final List<ShipType> fleet;
+    // true if the players fire salvos
+    private final boolean salvo;
+    // the coordinates of the battlefield, created on first use
+    private Coordinates coordinates;
+
+    /**
+     * Constructs game rules
+     *
+     * @param height	battlefield height
+     * @param width		battlefield width
+     * @param fleet		the {@link ShipType} list of the fleet in the order of placement
+     * @throws IllegalArgumentException		if the battlefield is empty or too large, or the fleet is empty
+     */
+    public GameRules(int height, int width, List<ShipType> fleet) throws IllegalArgumentException {
+        this(height, width, fleet, false);
+    }
+
+    /**
+     * Constructs game rules of a variant
+     *
+     * @param height	battlefield height
+     * @param width		battlefield width
+     * @param fleet		the {@link ShipType} list of the fleet in the order of placement
+     * @param salvo		true if the players fire salvos
+     * @throws IllegalArgumentException		if the battlefield is empty or too large, or the fleet is empty
+     */
+    public GameRules(int height, int width, List<ShipType> fleet, boolean salvo) throws IllegalArgumentException {
+        if (height <= 0 || width <= 0 || (long) height * width > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Wrong size of the battlefield!");
+        }
+        if (fleet.isEmpty()) {
+            throw new IllegalArgumentException("The fleet must contain at least one ship.");
+        }
+        this.height = height;
+        this.width = width;
+        this.fleet = Collections.unmodifiableList(new ArrayList<>(fleet));
+        this.salvo = salvo;
+    }
+
+    /**
+     * This method returns the rules of the original game: a 10x10 battlefield and one ship of every type
+     *
+     * @return	the standard {@link GameRules}
+     */
+    public static GameRules standard() {
+        return new GameRules(10, 10, Arrays.asList(ShipType.values()));
+    }
+
+    /**
+     * This method returns the rules of a game with several standard fleets on a larger battlefield
+     *
+     * @param height	battlefield height
+     * @param width		battlefield width
+     * @param copies	the number of standard fleets
+     * @return			the {@link GameRules}
+     */
+    public static GameRules scaled(int height, int width, int copies) {
+        List<ShipType> fleet = new ArrayList<>();
+        for (int i = 0; i < copies; i++) {
+            fleet.addAll(Arrays.asList(ShipType.values()));
+        }
+        return new GameRules(height, width, fleet);
+    }
+
+    /**
+     * This method returns the same rules in the salvo variant
+     *
+     * @return	the {@link GameRules}
+     */
+    public GameRules withSalvo() {
+        return new GameRules(height, width, fleet, true);
+    }
+
+    /**
+     * This method checks if the players fire salvos
+     *
+     * @return	true in the salvo variant, false if the players fire one shot per turn
+     */
+    public boolean isSalvo() {
+        return salvo;
+    }
+
+    /**
+     * This method returns the battlefield height
+     *
+     * @return	battlefield height
+     */
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     * This method returns the battlefield width
+     *
+     * @return	battlefield width
+     */
+    public int getWidth() {
+        return width;
+    }
+
+    /**
+     * This method returns the ship types of the fleet
+     *
+     * @return	the unmodifiable {@link ShipType} list in the order of placement
+     */
+    public List<ShipType> getFleet() {
+        return fleet;
+    }
+
+    /**
+     * This method returns the coordinates of the battlefield
+     *
+     * @return	the shared {@link Coordinates} of the battlefield size
+     */
+    public Coordinates getCoordinates() {
+        if (coordinates == null) {
+            coordinates = Coordinates.of(height, width);
+        }
+        return coordinates;
+    }
+}
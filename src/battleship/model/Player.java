@@ -1,105 +1,181 @@
-package battleship.model;
-
-import battleship.model.field.Battlefield;
-import battleship.model.field.Mark;
-import battleship.model.ship.Ship;
-
-/**
- * This class represents the player
- */
-public class Player {
-    // player's name
-    private final String name;
-    // player's battlefield
-    private final Battlefield battlefield;
-
-    /**
-     * Constructs a player
-     *
-     * @param name	player's name
-     */
-    public Player(String name) {
-        this.name = name;
-        this.battlefield = new Battlefield(10, 10);
-    }
-
-    /**
-     * This method returns the player's name
-     *
-     * @return	the {@link String} player name
-     */
-    public String getName() {
-        return name;
-    }
-
-    /**
-     * This method returns the player's battlefield with marks, including ships
-     *
-     * @return		the {@link Mark} matrix array with marks
-     */
-    public Mark[][] getBattlefield() {
-        return battlefield.getBattlefield();
-    }
-
-    /**
-     * This method returns the player's battlefield with marks, without ships
-     *
-     * @return		the {@link Mark} matrix array with marks
-     */
-    public Mark[][] getBattlefieldUnderFog() {
-        return battlefield.getBattlefieldUnderFog();
-    }
-
-    /**
-     * This method returns the mark on the battlefield at the specified coordinate
-     *
-     * @param coordinate	the given {@link Coordinate}
-     * @return				the {@link Mark} on the battlefield at the specified coordinate
-     */
-    public Mark getMarkByCoordinate(Coordinate coordinate) {
-        return battlefield.getCell(coordinate).getMark();
-    }
-
-    /**
-     * This method changes the mark at the specified coordinate
-     *
-     * @param coordinate	the {@link Coordinate}
-     * @param mark			the {@link Mark} to be change
-     */
-    public void setMarkByCoordinate(Coordinate coordinate, Mark mark) {
-        battlefield.markCell(coordinate, mark);
-    }
-
-    /**
-     * This method returns a ship that is at a given coordinate
-     *
-     * @param coordiante	the given {@link Coordinate}
-     * @return				the {@link Ship} that is at a given coordinate
-     */
-    public Ship getShipByCoordinate(Coordinate coordiante) {
-        return battlefield.getCell(coordiante).getPlacedShip();
-    }
-
-    /**
-     * This method adds a ship to the player's battlefield
-     *
-     * @param ship	the {@link Ship} to be added
-     */
-    public void addShip(Ship ship) {
-        battlefield.addShip(ship);
-    }
-
-    /**
-     * This method returns the player's status (lost or not)
-     *
-     * @return	true if the player lost, false otherwise
-     */
-    public boolean loss() {
-        for (Ship ship : battlefield.getShips()) {
-            if (!ship.isSank()) {
-                return false;
-            }
-        }
-        return true;
-    }
-}
+package battleship.model;
+
+import battleship.model.field.Battlefield;
+import battleship.model.field.BitboardBattlefield;
+import battleship.model.field.BoardView;
+import battleship.model.field.Mark;
+import battleship.model.ship.Ship;
+
+/**
+ * This class represents the player
+ */
+public class Player {
+    // player's name
+    private final String name;
+    // player's battlefield
+    private final Battlefield battlefield;
+
+    /**
+     * Constructs a player
+     *
+     * @param name	player's name
+     */
+    public Player(String name) {
+        this(name, GameRules.standard());
+    }
+
+    /**
+     * Constructs a player with the battlefield of the given rules
+     *
+     * @param name	player's name
+     * @param rules	the {@link GameRules}
+     */
+    public Player(String name, GameRules rules) {
+        this(name, new BitboardBattlefield(rules.getHeight(), rules.getWidth()));
+    }
+
+    /**
+     * Constructs a player with the given battlefield
+     *
+     * @param name			player's name
+     * @param battlefield	player's {@link Battlefield}
+     */
+    public Player(String name, Battlefield battlefield) {
+        this.name = name;
+        this.battlefield = battlefield;
+    }
+
+    /**
+     * This method returns the player's name
+     *
+     * @return	the {@link String} player name
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * This method returns the player's battlefield with marks, including ships
+     *
+     * @return		the read-only {@link BoardView} of the battlefield
+     */
+    public BoardView getBattlefield() {
+        return battlefield.getView();
+    }
+
+    /**
+     * This method returns the player's battlefield with marks, without ships
+     *
+     * @return		the read-only {@link BoardView} of the battlefield
+     */
+    public BoardView getBattlefieldUnderFog() {
+        return battlefield.getViewUnderFog();
+    }
+
+    /**
+     * This method returns the mark on the battlefield at the specified coordinate
+     *
+     * @param coordinate	the given {@link Coordinate}
+     * @return				the {@link Mark} on the battlefield at the specified coordinate
+     */
+    public Mark getMarkByCoordinate(Coordinate coordinate) {
+        return battlefield.getMark(coordinate);
+    }
+
+    /**
+     * This method returns the mark on the battlefield in the cell with the specified index
+     *
+     * @param cell	the cell index, {@code vertical * width + horizontal}
+     * @return		the {@link Mark} on the battlefield in the cell
+     */
+    public Mark getMarkByCoordinate(int cell) {
+        return battlefield.getMark(cell);
+    }
+
+    /**
+     * This method changes the mark at the specified coordinate
+     *
+     * @param coordinate	the {@link Coordinate}
+     * @param mark			the {@link Mark} to be change
+     */
+    public void setMarkByCoordinate(Coordinate coordinate, Mark mark) {
+        battlefield.markCell(coordinate, mark);
+    }
+
+    /**
+     * This method changes the mark in the cell with the specified index
+     *
+     * @param cell	the cell index, {@code vertical * width + horizontal}
+     * @param mark	the {@link Mark} to be change
+     */
+    public void setMarkByCoordinate(int cell, Mark mark) {
+        battlefield.markCell(cell, mark);
+    }
+
+    /**
+     * This method takes back the last change of the mark in the cell with the specified index
+     *
+     * @param cell		the cell index, {@code vertical * width + horizontal}
+     * @param before	the {@link Mark} of the cell before the change
+     */
+    public void restoreMarkByCoordinate(int cell, Mark before) {
+        battlefield.unmarkCell(cell, before);
+    }
+
+    /**
+     * This method returns a ship that is at a given coordinate
+     *
+     * @param coordiante	the given {@link Coordinate}
+     * @return				the {@link Ship} that is at a given coordinate
+     */
+    public Ship getShipByCoordinate(Coordinate coordiante) {
+        return battlefield.getShip(coordiante);
+    }
+
+    /**
+     * This method returns a ship that is in the cell with the specified index
+     *
+     * @param cell	the cell index, {@code vertical * width + horizontal}
+     * @return		the {@link Ship} that is in the cell
+     */
+    public Ship getShipByCoordinate(int cell) {
+        return battlefield.getShip(cell);
+    }
+
+    /**
+     * This method checks if a ship can be placed at the specified coordinates of the player's battlefield
+     *
+     * @param coordinates	the {@link Coordinate} array with the coordinates of the ship
+     * @return				true if the location is free, false otherwise
+     */
+    public boolean isLocationFree(Coordinate[] coordinates) {
+        return battlefield.isLocationFree(coordinates);
+    }
+
+    /**
+     * This method adds a ship to the player's battlefield
+     *
+     * @param ship	the {@link Ship} to be added
+     */
+    public void addShip(Ship ship) {
+        battlefield.addShip(ship);
+    }
+
+    /**
+     * This method returns the player's status (lost or not)
+     *
+     * @return	true if the player lost, false otherwise
+     */
+    public boolean loss() {
+        return battlefield.allShipsSank();
+    }
+
+    /**
+     * This method returns the number of the player's ships that have not sunk
+     *
+     * @return	the number of ships
+     */
+    public int shipsAfloat() {
+        return battlefield.shipsAfloat();
+    }
+}
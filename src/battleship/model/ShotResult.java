@@ -1,8 +1,8 @@
-package battleship.model;
-
-/**
- * This enumeration class represents the result of a shot
- */
-public enum ShotResult {
-    HIT, MISS, SANK
-}
+package battleship.model;
+
+/**
+ * This enumeration class represents the result of a shot
+ */
+public enum ShotResult {
+    HIT, MISS, SANK
+}
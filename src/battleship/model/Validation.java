@@ -0,0 +1,31 @@
+package battleship.model;
+
+/**
+ * This enumeration class represents the result of checking a move before it is made. Bots and
+ * placement strategies check their candidate moves with it instead of catching exceptions, the
+ * exceptions with the messages are left to the input of people.
+ */
+public enum Validation {
+    OK(""),
+    OUT_OF_BOUNDS("Wrong coordinate!"),
+    ADJACENT("You placed it too close to another one."),
+    WRONG_LENGTH("Wrong length of the ship!"),
+    NOT_ALIGNED("Wrong ship location!"),
+    ALREADY_SHOT("You have already shot there.");
+
+    // the message shown to a player
+    private final String message;
+
+    Validation(String message) {
+        this.message = message;
+    }
+
+    /**
+     * This method returns the message that explains the result to a player
+     *
+     * @return	the {@link String} message, empty for {@link #OK}
+     */
+    public String getMessage() {
+        return message;
+    }
+}
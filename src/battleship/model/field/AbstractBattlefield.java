@@ -0,0 +1,373 @@
+package battleship.model.field;
+
+import battleship.model.Coordinate;
+import battleship.model.ship.Ship;
+import battleship.model.ship.ShipType;
+
+/**
+ * This class contains the part of the {@link Battlefield} that does not depend on how the cells,
+ * the ships and the counters are stored. A store answers the hooks: the marks, the forbidden zone,
+ * the hash, the number of sunk ships and the cells of the ship in a cell.
+ */
+public abstract class AbstractBattlefield implements Battlefield {
+    // battlefield height
+    protected final int height;
+    // battlefield width
+    protected final int width;
+    // the view with ships
+    private final BoardView view;
+    // the view without ships
+    private final BoardView viewUnderFog;
+
+    /**
+     * Constructs battlefield
+     *
+     * @param height	battlefield height
+     * @param width		battlefield width
+     */
+    protected AbstractBattlefield(int height, int width) {
+        this.height = height;
+        this.width = width;
+        this.view = new View(false);
+        this.viewUnderFog = new View(true);
+    }
+
+    @Override
+    public int getHeight() {
+        return height;
+    }
+
+    @Override
+    public int getWidth() {
+        return width;
+    }
+
+    @Override
+    public Mark[][] getBattlefield() {
+        Mark[][] bf = new Mark[height][width];
+        for (int i = 0; i < height; i++) {
+            for (int j = 0; j < width; j++) {
+                bf[i][j] = markAt(i, j);
+            }
+        }
+        return bf;
+    }
+
+    @Override
+    public Mark[][] getBattlefieldUnderFog() {
+        Mark[][] bf = new Mark[height][width];
+        for (int i = 0; i < height; i++) {
+            for (int j = 0; j < width; j++) {
+                Mark mark = markAt(i, j);
+                bf[i][j] = Mark.SHIP.equals(mark) ? Mark.FOG : mark;
+            }
+        }
+        return bf;
+    }
+
+    @Override
+    public BoardView getView() {
+        return view;
+    }
+
+    @Override
+    public BoardView getViewUnderFog() {
+        return viewUnderFog;
+    }
+
+    @Override
+    public void markCell(Coordinate coordinate, Mark mark) {
+        markCell(indexOf(coordinate), mark);
+    }
+
+    @Override
+    public void markCell(int cell, Mark mark) {
+        Mark before = setMark(cell, mark);
+        Mark after = getMark(cell);
+        if (after == before) {
+            return;
+        }
+        long change = Zobrist.markKey(cell, before) ^ Zobrist.markKey(cell, after);
+        if (after == Mark.SANK) {
+            // the other parts of the ship turn from hits to sunk
+            change ^= sunkPartsKey(cell);
+            ShipType shipType = shipType(cell);
+            int sunk = sunkShips(shipType);
+            change ^= Zobrist.sunkShipKey(shipType, sunk);
+            setSunkShips(shipType, sunk + 1);
+        }
+        setZobristHash(getZobristHash() ^ change);
+    }
+
+    @Override
+    public void unmarkCell(int cell, Mark before) {
+        Mark after = getMark(cell);
+        if (after == before) {
+            return;
+        }
+        long change = Zobrist.markKey(cell, before) ^ Zobrist.markKey(cell, after);
+        if (after == Mark.SANK) {
+            // the other parts of the ship turn from sunk back to hits
+            change ^= sunkPartsKey(cell);
+            ShipType shipType = shipType(cell);
+            int sunk = sunkShips(shipType) - 1;
+            change ^= Zobrist.sunkShipKey(shipType, sunk);
+            setSunkShips(shipType, sunk);
+        }
+        restoreMark(cell, before);
+        setZobristHash(getZobristHash() ^ change);
+    }
+
+    @Override
+    public Cell getCell(Coordinate coordinate) {
+        return getCell(indexOf(coordinate));
+    }
+
+    @Override
+    public Mark getMark(Coordinate coordinate) {
+        return getMark(indexOf(coordinate));
+    }
+
+    @Override
+    public Ship getShip(Coordinate coordinate) {
+        return getShip(indexOf(coordinate));
+    }
+
+    @Override
+    public boolean isLocationFree(Coordinate[] coordinates) {
+        int top = height;
+        int bottom = -1;
+        int left = width;
+        int right = -1;
+        for (Coordinate coordinate : coordinates) {
+            int vertical = coordinate.getVertical();
+            int horizontal = coordinate.getHorizontal();
+            if (vertical < 0 || vertical >= height || horizontal < 0 || horizontal >= width) {
+                return false;
+            }
+            top = Math.min(top, vertical);
+            bottom = Math.max(bottom, vertical);
+            left = Math.min(left, horizontal);
+            right = Math.max(right, horizontal);
+        }
+
+        if ((bottom - top + 1) * (right - left + 1) != coordinates.length) {
+            // not a straight ship, check the cells one by one
+            for (Coordinate coordinate : coordinates) {
+                int cell = indexOf(coordinate);
+                if (isForbidden(cell, cell + 1)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        // a straight ship covers one range of cells in every row it takes
+        for (int i = top; i <= bottom; i++) {
+            if (isForbidden(i * width + left, i * width + right + 1)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * This method adds the cells of the ship and the cells around them to the forbidden zone
+     *
+     * @param ship	the {@link Ship} that has been placed
+     */
+    protected void forbidZone(Ship ship) {
+        Coordinate first = ship.getShipPart(0).getCoordinate();
+        Coordinate last = ship.getShipPart(ship.getLength() - 1).getCoordinate();
+        int top = Math.min(first.getVertical(), last.getVertical());
+        int bottom = Math.max(first.getVertical(), last.getVertical());
+        int left = Math.min(first.getHorizontal(), last.getHorizontal());
+        int right = Math.max(first.getHorizontal(), last.getHorizontal());
+        if ((bottom - top + 1) * (right - left + 1) == ship.getLength()) {
+            forbidZone(top, bottom, left, right);
+        } else {
+            // not a straight ship, forbid the cells around every part
+            for (int i = 0; i < ship.getLength(); i++) {
+                Coordinate coordinate = ship.getShipPart(i).getCoordinate();
+                forbidZone(coordinate.getVertical(), coordinate.getVertical(),
+                        coordinate.getHorizontal(), coordinate.getHorizontal());
+            }
+        }
+    }
+
+    /**
+     * This method adds the rectangle and the cells around it to the forbidden zone
+     *
+     * @param top		the first row of the rectangle
+     * @param bottom	the last row of the rectangle
+     * @param left		the first column of the rectangle
+     * @param right		the last column of the rectangle
+     */
+    private void forbidZone(int top, int bottom, int left, int right) {
+        int from = Math.max(left - 1, 0);
+        int to = Math.min(right + 2, width);
+        for (int i = Math.max(top - 1, 0); i <= Math.min(bottom + 1, height - 1); i++) {
+            forbid(i * width + from, i * width + to);
+        }
+    }
+
+    /**
+     * This method returns the change of the hash when the other parts of the ship in the cell turn
+     * from hits to sunk or back
+     *
+     * @param cell	the cell index of the part that sinks the ship or floats it again
+     * @return		the change of the hash
+     */
+    private long sunkPartsKey(int cell) {
+        long change = 0;
+        int length = shipLength(cell);
+        for (int i = 0; i < length; i++) {
+            int part = shipPart(cell, i);
+            if (part != cell) {
+                change ^= Zobrist.markKey(part, Mark.HIT) ^ Zobrist.markKey(part, Mark.SANK);
+            }
+        }
+        return change;
+    }
+
+    /**
+     * This method converts the coordinate to the cell index
+     *
+     * @param coordinate	the {@link Coordinate}
+     * @return				the cell index
+     */
+    protected int indexOf(Coordinate coordinate) {
+        return coordinate.getVertical() * width + coordinate.getHorizontal();
+    }
+
+    /**
+     * This method changes the mark of the cell with the specified index and damages the ship part in it,
+     * {@link #markCell(int, Mark)} updates the hash around it
+     *
+     * @param cell	the cell index
+     * @param mark	the {@link Mark}
+     * @return		the {@link Mark} of the cell before the change
+     */
+    protected abstract Mark setMark(int cell, Mark mark);
+
+    /**
+     * This method gives the cell with the specified index the mark it had before a change and repairs
+     * the ship part in it if the mark is {@link Mark#SHIP}, {@link #unmarkCell(int, Mark)} restores the
+     * hash around it
+     *
+     * @param cell	the cell index
+     * @param mark	the {@link Mark} before the change
+     */
+    protected abstract void restoreMark(int cell, Mark mark);
+
+    /**
+     * This method returns the mark of the cell in the specified row and column
+     *
+     * @param vertical		the row of the cell
+     * @param horizontal	the column of the cell
+     * @return				the {@link Mark} of the cell
+     */
+    protected abstract Mark markAt(int vertical, int horizontal);
+
+    /**
+     * This method checks if a cell of the range is in the forbidden zone
+     *
+     * @param from	the first cell index of the range
+     * @param to	the cell index after the range
+     * @return		true if a cell of the range is forbidden, false otherwise
+     */
+    protected abstract boolean isForbidden(int from, int to);
+
+    /**
+     * This method adds the cells of the range to the forbidden zone
+     *
+     * @param from	the first cell index of the range
+     * @param to	the cell index after the range
+     */
+    protected abstract void forbid(int from, int to);
+
+    /**
+     * This method changes the Zobrist hash, see {@link #getZobristHash()}
+     *
+     * @param zobristHash	the new hash
+     */
+    protected abstract void setZobristHash(long zobristHash);
+
+    /**
+     * This method returns the number of sunk ships of the type
+     *
+     * @param shipType	the {@link ShipType}
+     * @return			the number of sunk ships
+     */
+    protected abstract int sunkShips(ShipType shipType);
+
+    /**
+     * This method changes the number of sunk ships of the type
+     *
+     * @param shipType	the {@link ShipType}
+     * @param count		the number of sunk ships
+     */
+    protected abstract void setSunkShips(ShipType shipType, int count);
+
+    /**
+     * This method returns the type of the ship in the cell
+     *
+     * @param cell	the cell index of a part of the ship
+     * @return		the {@link ShipType}
+     */
+    protected abstract ShipType shipType(int cell);
+
+    /**
+     * This method returns the length of the ship in the cell
+     *
+     * @param cell	the cell index of a part of the ship
+     * @return		the number of parts
+     */
+    protected abstract int shipLength(int cell);
+
+    /**
+     * This method returns the cell of a part of the ship in the cell
+     *
+     * @param cell	the cell index of a part of the ship
+     * @param part	the number of the part, from 0 to the length of the ship
+     * @return		the cell index of the part
+     */
+    protected abstract int shipPart(int cell, int part);
+
+    /**
+     * This class is a {@link BoardView} that reads the marks of this battlefield
+     */
+    private class View implements BoardView {
+        // true if the ships are hidden
+        private final boolean underFog;
+
+        /**
+         * Constructs a view
+         *
+         * @param underFog	true if the ships are hidden
+         */
+        View(boolean underFog) {
+            this.underFog = underFog;
+        }
+
+        @Override
+        public int getHeight() {
+            return height;
+        }
+
+        @Override
+        public int getWidth() {
+            return width;
+        }
+
+        @Override
+        public Mark markAt(int vertical, int horizontal) {
+            Mark mark = AbstractBattlefield.this.markAt(vertical, horizontal);
+            return underFog && mark == Mark.SHIP ? Mark.FOG : mark;
+        }
+
+        @Override
+        public long getZobristHash() {
+            return AbstractBattlefield.this.getZobristHash();
+        }
+    }
+}
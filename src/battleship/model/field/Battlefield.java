@@ -1,117 +1,178 @@
-package battleship.model.field;
-
-import java.util.ArrayList;
-import java.util.List;
-
-import battleship.model.Coordinate;
-import battleship.model.ship.Ship;
-
-/**
- * This class represents the battlefield of the game
- */
-public class Battlefield {
-    // the battlefield matrix
-    private final Cell[][] battlefield;
-    // ships on the battlefield
-    private final List<Ship> ships;
-
-    /**
-     * Constructs battlefield
-     *
-     * @param height	battlefield height
-     * @param width		battlefield width
-     */
-    public Battlefield(int height, int width) {
-        this.battlefield = createBattlefield(height, width);
-        this.ships = new ArrayList<>();
-    }
-
-    /**
-     * This method returns battlefield with marks, including ships
-     *
-     * @return	the {@link Mark} matrix array with marks
-     */
-    public Mark[][] getBattlefield() {
-        Mark[][] bf = new Mark[battlefield.length][battlefield[0].length];
-        for (int i = 0; i < bf.length; i++) {
-            for (int j = 0; j < bf[i].length; j++) {
-                bf[i][j] = battlefield[i][j].getMark();
-            }
-        }
-        return bf;
-    }
-
-    /**
-     *  This method returns battlefield with marks, without ships
-     *
-     * @return	the {@link Mark} matrix array with marks
-     */
-    public Mark[][] getBattlefieldUnderFog() {
-        Mark[][] bf = new Mark[battlefield.length][battlefield[0].length];
-        for (int i = 0; i < bf.length; i++) {
-            for (int j = 0; j < bf[i].length; j++) {
-                bf[i][j] = Mark.SHIP.equals(battlefield[i][j].getMark()) ? Mark.FOG : battlefield[i][j].getMark();
-            }
-        }
-        return bf;
-    }
-
-    /**
-     * This method returns ships placed on the battlefield
-     *
-     * @return		the {@link Ship} list with ships
-     */
-    public List<Ship> getShips() {
-        return ships;
-    }
-
-    /**
-     * This method changes the cell mark at the specified coordinate
-     *
-     * @param coordinate	the specified {@link Coordinate}
-     * @param mark			the specified {@link Mark}
-     */
-    public void markCell(Coordinate coordinate, Mark mark) {
-        getCell(coordinate).setMark(mark);
-    }
-
-    /**
-     * This method adds the ship to the battlefield
-     *
-     * @param ship	the {@link Ship} to add
-     */
-    public void addShip(Ship ship) {
-        for (int i = 0; i < ship.getLength(); i++) {
-            Coordinate c = ship.getShipPart(i).getCoordinate();
-            getCell(c).setShipPart(ship.getShipPart(i));
-        }
-        ships.add(ship);
-    }
-
-    /**
-     * This method returns a cell at the specified coordinate
-     *
-     * @param coordinate	the specified {@link Coordinate}
-     * @return				the {@link Cell} at the specified coordinate
-     */
-    public Cell getCell(Coordinate coordinate) {
-        return battlefield[coordinate.getVertical()][coordinate.getHorizontal()];
-    }
-
-    /**
-     * This method creates a battlefield matrix and fills it with mark represented fog
-     *
-     * @param height	battlefield height
-     * @param width		battlefield width
-     * @return			the {@link Cell} battlefield matrix
-     */
-    private Cell[][] createBattlefield(int height, int width) {
-        Cell[][] battlefield = new Cell[height][width];
-        for (int i = 0; i < height; i++) {
-            for (int j = 0; j < width; j++) {
-                battlefield[i][j] = new Cell(Mark.FOG);
-            }
-        }
-        return battlefield;
-    }
-}
+package battleship.model.field;
+
+import java.util.List;
+
+import battleship.model.Coordinate;
+import battleship.model.ship.Ship;
+
+/**
+ * This interface represents the battlefield of the game
+ */
+public interface Battlefield {
+    /**
+     * This method returns the height of the battlefield
+     *
+     * @return	the battlefield height
+     */
+    int getHeight();
+
+    /**
+     * This method returns the width of the battlefield
+     *
+     * @return	the battlefield width
+     */
+    int getWidth();
+
+    /**
+     * This method returns battlefield with marks, including ships
+     *
+     * @return	the {@link Mark} matrix array with marks
+     */
+    Mark[][] getBattlefield();
+
+    /**
+     *  This method returns battlefield with marks, without ships
+     *
+     * @return	the {@link Mark} matrix array with marks
+     */
+    Mark[][] getBattlefieldUnderFog();
+
+    /**
+     * This method returns a read-only view of the battlefield with marks, including ships.
+     * The view is not a copy, it always shows the current marks.
+     *
+     * @return	the {@link BoardView} of the battlefield
+     */
+    BoardView getView();
+
+    /**
+     * This method returns a read-only view of the battlefield with marks, without ships.
+     * The view is not a copy, it always shows the current marks.
+     *
+     * @return	the {@link BoardView} of the battlefield under fog
+     */
+    BoardView getViewUnderFog();
+
+    /**
+     * This method returns ships placed on the battlefield
+     *
+     * @return		the {@link Ship} list with ships
+     */
+    List<Ship> getShips();
+
+    /**
+     * This method checks if all ships on the battlefield sank, it takes constant time
+     *
+     * @return	true if every ship sank, false otherwise
+     */
+    boolean allShipsSank();
+
+    /**
+     * This method returns the number of ships that have not sunk, it takes constant time
+     *
+     * @return	the number of ships
+     */
+    int shipsAfloat();
+
+    /**
+     * This method returns the Zobrist hash of the marks the enemy can see and of the sunk ships,
+     * it is updated when a cell is marked and takes constant time
+     *
+     * @return	the hash, see {@link Zobrist}
+     */
+    long getZobristHash();
+
+    /**
+     * This method changes the cell mark at the specified coordinate
+     *
+     * @param coordinate	the specified {@link Coordinate}
+     * @param mark			the specified {@link Mark}
+     */
+    void markCell(Coordinate coordinate, Mark mark);
+
+    /**
+     * This method changes the mark of the cell with the specified index
+     *
+     * @param cell		the cell index, {@code vertical * width + horizontal}
+     * @param mark		the specified {@link Mark}
+     */
+    void markCell(int cell, Mark mark);
+
+    /**
+     * This method takes back a change of the mark of the cell with the specified index: the cell gets
+     * the mark it had before, a ship part damaged by the change is repaired, a ship sunk by it floats
+     * again and the hash is restored. The changes must be taken back in the reverse order they were made.
+     *
+     * @param cell		the cell index, {@code vertical * width + horizontal}
+     * @param before	the {@link Mark} of the cell before the change
+     */
+    void unmarkCell(int cell, Mark before);
+
+    /**
+     * This method checks if a ship can be placed at the specified coordinates: every cell is
+     * inside the battlefield and neither contains nor touches, even diagonally, another ship
+     *
+     * @param coordinates	the {@link Coordinate} array with the coordinates of the ship
+     * @return				true if the location is free, false otherwise
+     */
+    boolean isLocationFree(Coordinate[] coordinates);
+
+    /**
+     * This method adds the ship to the battlefield
+     *
+     * @param ship	the {@link Ship} to add
+     */
+    void addShip(Ship ship);
+
+    /**
+     * This method returns a cell at the specified coordinate, see {@link #getCell(int)}
+     *
+     * @param coordinate	the specified {@link Coordinate}
+     * @return				the {@link Cell} at the specified coordinate
+     */
+    Cell getCell(Coordinate coordinate);
+
+    /**
+     * This method returns the cell with the specified index. A battlefield that keeps no cell
+     * objects returns a view that it creates on every call, so the engine and the bots do not use
+     * cells: {@link #getMark(int)}, {@link #markCell(int, Mark)} and {@link #getShip(int)} do the
+     * same without allocating.
+     *
+     * @param cell	the cell index, {@code vertical * width + horizontal}
+     * @return		the {@link Cell} with the specified index
+     */
+    Cell getCell(int cell);
+
+    /**
+     * This method returns the mark at the specified coordinate
+     *
+     * @param coordinate	the specified {@link Coordinate}
+     * @return				the {@link Mark} at the specified coordinate
+     */
+    Mark getMark(Coordinate coordinate);
+
+    /**
+     * This method returns the mark of the cell with the specified index
+     *
+     * @param cell	the cell index, {@code vertical * width + horizontal}
+     * @return		the {@link Mark} of the cell
+     */
+    Mark getMark(int cell);
+
+    /**
+     * This method returns the ship placed at the specified coordinate
+     *
+     * @param coordinate	the specified {@link Coordinate}
+     * @return				the {@link Ship} at the specified coordinate,
+     * 						{@code null} if the cell is empty
+     */
+    Ship getShip(Coordinate coordinate);
+
+    /**
+     * This method returns the ship placed in the cell with the specified index
+     *
+     * @param cell	the cell index, {@code vertical * width + horizontal}
+     * @return		the {@link Ship} in the cell, {@code null} if the cell is empty
+     */
+    Ship getShip(int cell);
+}
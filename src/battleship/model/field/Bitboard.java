@@ -0,0 +1,182 @@
+package battleship.model.field;
+
+/**
+ * This class represents a set of battlefield cells packed into {@code long} words,
+ * one bit per cell, where the cell index is {@code vertical * width + horizontal}
+ */
+public class Bitboard {
+    // number of bits in a word
+    private static final int WORD_SIZE = Long.SIZE;
+
+    // the packed bits, two words cover a 10x10 battlefield
+    private final long[] words;
+    // number of cells in this bitboard
+    private final int size;
+
+    /**
+     * Constructs an empty bitboard
+     *
+     * @param size	the number of cells
+     */
+    public Bitboard(int size) {
+        this.words = new long[(size + WORD_SIZE - 1) / WORD_SIZE];
+        this.size = size;
+    }
+
+    /**
+     * This method returns the number of cells in this bitboard
+     *
+     * @return	the number of cells
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * This method returns the state of the cell
+     *
+     * @param index		the cell index
+     * @return			true if the cell is set, false otherwise
+     */
+    public boolean get(int index) {
+        return (words[index >>> 6] & (1L << index)) != 0;
+    }
+
+    /**
+     * This method sets the cell
+     *
+     * @param index		the cell index
+     */
+    public void set(int index) {
+        words[index >>> 6] |= 1L << index;
+    }
+
+    /**
+     * This method clears the cell
+     *
+     * @param index		the cell index
+     */
+    public void clear(int index) {
+        words[index >>> 6] &= ~(1L << index);
+    }
+
+    /**
+     * This method sets the cells in the range
+     *
+     * @param from	the index of the first cell
+     * @param to	the index after the last cell
+     */
+    public void set(int from, int to) {
+        if (from >= to) {
+            return;
+        }
+        int first = from >>> 6;
+        int last = (to - 1) >>> 6;
+        long firstMask = -1L << from;
+        long lastMask = -1L >>> -to;
+        if (first == last) {
+            words[first] |= firstMask & lastMask;
+            return;
+        }
+        words[first] |= firstMask;
+        for (int i = first + 1; i < last; i++) {
+            words[i] = -1L;
+        }
+        words[last] |= lastMask;
+    }
+
+    /**
+     * This method clears all cells
+     */
+    public void clear() {
+        for (int i = 0; i < words.length; i++) {
+            words[i] = 0L;
+        }
+    }
+
+    /**
+     * This method checks whether every cell set in the other bitboard is also set in this one
+     *
+     * @param other		the other {@link Bitboard} of the same size
+     * @return			true if this bitboard contains all cells of the other one, false otherwise
+     */
+    public boolean containsAll(Bitboard other) {
+        for (int i = 0; i < words.length; i++) {
+            if ((other.words[i] & ~words[i]) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * This method checks whether the bitboard has at least one cell in common with the other one
+     *
+     * @param other		the other {@link Bitboard} of the same size
+     * @return			true if the bitboards intersect, false otherwise
+     */
+    public boolean intersects(Bitboard other) {
+        for (int i = 0; i < words.length; i++) {
+            if ((other.words[i] & words[i]) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * This method checks whether at least one cell in the range is set
+     *
+     * @param from	the index of the first cell
+     * @param to	the index after the last cell
+     * @return		true if a cell in the range is set, false otherwise
+     */
+    public boolean intersects(int from, int to) {
+        if (from >= to) {
+            return false;
+        }
+        int first = from >>> 6;
+        int last = (to - 1) >>> 6;
+        long firstMask = -1L << from;
+        long lastMask = -1L >>> -to;
+        if (first == last) {
+            return (words[first] & firstMask & lastMask) != 0;
+        }
+        if ((words[first] & firstMask) != 0) {
+            return true;
+        }
+        for (int i = first + 1; i < last; i++) {
+            if (words[i] != 0) {
+                return true;
+            }
+        }
+        return (words[last] & lastMask) != 0;
+    }
+
+    /**
+     * This method returns the number of set cells
+     *
+     * @return	the number of set cells
+     */
+    public int cardinality() {
+        int count = 0;
+        for (long word : words) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    /**
+     * This method checks whether no cell is set
+     *
+     * @return	true if no cell is set, false otherwise
+     */
+    public boolean isEmpty() {
+        for (long word : words) {
+            if (word != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,199 @@
+package battleship.model.field;
+
+import battleship.model.ship.Ship;
+import battleship.model.ship.ShipPart;
+
+/**
+ * This class represents the battlefield of the game as a set of {@link Bitboard}s.
+ * Unlike {@link CellBattlefield} it does not keep an object per cell: ship occupancy,
+ * hits and misses are packed into {@code long} words and the ship in a cell is found
+ * by its number, so the battlefield stays compact on large boards with many ships.
+ */
+public class BitboardBattlefield extends HeapBattlefield {
+    // cells occupied by ships
+    private final Bitboard occupied;
+    // cells marked as hit
+    private final Bitboard hits;
+    // cells marked as missed
+    private final Bitboard misses;
+    // number of the ship in every cell, starting from 1, 0 for an empty cell
+    private final int[] shipNumbers;
+
+    /**
+     * Constructs battlefield
+     *
+     * @param height	battlefield height
+     * @param width		battlefield width
+     */
+    public BitboardBattlefield(int height, int width) {
+        super(height, width);
+        int size = height * width;
+        this.occupied = new Bitboard(size);
+        this.hits = new Bitboard(size);
+        this.misses = new Bitboard(size);
+        this.shipNumbers = new int[size];
+    }
+
+    @Override
+    public void addShip(Ship ship) {
+        registerShip(ship);
+        for (int i = 0; i < ship.getLength(); i++) {
+            int index = indexOf(ship.getShipPart(i).getCoordinate());
+            occupied.set(index);
+            shipNumbers[index] = ships.size();
+        }
+    }
+
+    /**
+     * This method returns a view of the cell with the specified index, the view is created on every
+     * call because the battlefield keeps no cell objects
+     *
+     * @param cell	the cell index, {@code vertical * width + horizontal}
+     * @return		the {@link Cell} that reads and writes the bitboards
+     */
+    @Override
+    public Cell getCell(int cell) {
+        return new BitboardCell(cell);
+    }
+
+    @Override
+    protected Mark markAt(int vertical, int horizontal) {
+        return getMark(vertical * width + horizontal);
+    }
+
+    @Override
+    public Mark getMark(int index) {
+        if (hits.get(index)) {
+            Ship ship = getShip(index);
+            return ship != null && ship.isSank() ? Mark.SANK : Mark.HIT;
+        } else if (misses.get(index)) {
+            return Mark.MISS;
+        } else if (occupied.get(index)) {
+            return Mark.SHIP;
+        }
+        return Mark.FOG;
+    }
+
+    @Override
+    protected Mark setMark(int index, Mark mark) {
+        Mark before = getMark(index);
+        if (Mark.SHIP.equals(before) && !Mark.SHIP.equals(mark)) {
+            damage(index);
+        }
+        setBits(index, mark);
+        return before;
+    }
+
+    @Override
+    protected void restoreMark(int index, Mark mark) {
+        if (Mark.SHIP.equals(mark)) {
+            repair(index);
+        }
+        setBits(index, mark);
+    }
+
+    /**
+     * This method sets the hit and miss bits of the cell with the specified index for the mark
+     *
+     * @param index		the cell index
+     * @param mark		the {@link Mark}
+     */
+    private void setBits(int index, Mark mark) {
+        hits.clear(index);
+        misses.clear(index);
+        if (Mark.HIT.equals(mark) || Mark.SANK.equals(mark)) {
+            hits.set(index);
+        } else if (Mark.MISS.equals(mark)) {
+            misses.set(index);
+        }
+    }
+
+    /**
+     * This method marks the ship part in the cell with the specified index as damaged
+     *
+     * @param index		the cell index
+     */
+    private void damage(int index) {
+        Ship ship = getShip(index);
+        for (int i = 0; i < ship.getLength(); i++) {
+            ShipPart part = ship.getShipPart(i);
+            if (indexOf(part.getCoordinate()) == index && !part.isDamaged()) {
+                part.setDamaged();
+                partDamaged();
+                return;
+            }
+        }
+    }
+
+    /**
+     * This method marks the ship part in the cell with the specified index as not damaged again
+     *
+     * @param index		the cell index
+     */
+    private void repair(int index) {
+        Ship ship = getShip(index);
+        for (int i = 0; i < ship.getLength(); i++) {
+            ShipPart part = ship.getShipPart(i);
+            if (indexOf(part.getCoordinate()) == index && part.isDamaged()) {
+                part.setRepaired();
+                partRepaired();
+                return;
+            }
+        }
+    }
+
+    @Override
+    public Ship getShip(int index) {
+        return shipNumbers[index] == 0 ? null : ships.get(shipNumbers[index] - 1);
+    }
+
+    /**
+     * This class is a {@link Cell} that reads and writes the bitboards of this battlefield
+     */
+    private class BitboardCell extends Cell {
+        // the cell index
+        private final int index;
+
+        /**
+         * Constructs a cell view
+         *
+         * @param index		the cell index
+         */
+        BitboardCell(int index) {
+            super(Mark.FOG);
+            this.index = index;
+        }
+
+        @Override
+        public Mark getMark() {
+            return BitboardBattlefield.this.getMark(index);
+        }
+
+        @Override
+        public void setMark(Mark mark) {
+            BitboardBattlefield.this.markCell(index, mark);
+        }
+
+        @Override
+        public Ship getPlacedShip() {
+            return getShip(index);
+        }
+
+        /**
+         * This method adds the ship of the part to the battlefield with all its parts, like
+         * {@link BitboardBattlefield#addShip}, unless the ship is already in this cell
+         *
+         * @param shipPart						the {@link ShipPart} in this cell
+         * @throws IllegalArgumentException		if the part does not lie in this cell
+         */
+        @Override
+        public void setShipPart(ShipPart shipPart) throws IllegalArgumentException {
+            if (indexOf(shipPart.getCoordinate()) != index) {
+                throw new IllegalArgumentException("The ship part does not lie in this cell.");
+            }
+            if (getShip(index) != shipPart.getShip()) {
+                addShip(shipPart.getShip());
+            }
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package battleship.model.field;
+
+/**
+ * This interface represents a read-only view of a battlefield. A view is not a copy:
+ * it reads the marks from the battlefield at the moment they are requested.
+ */
+public interface BoardView {
+    /**
+     * This method returns the height of the battlefield
+     *
+     * @return	the battlefield height
+     */
+    int getHeight();
+
+    /**
+     * This method returns the width of the battlefield
+     *
+     * @return	the battlefield width
+     */
+    int getWidth();
+
+    /**
+     * This method returns the mark of the cell
+     *
+     * @param vertical		the row of the cell
+     * @param horizontal	the column of the cell
+     * @return				the {@link Mark} of the cell
+     */
+    Mark markAt(int vertical, int horizontal);
+
+    /**
+     * This method returns the Zobrist hash of the state the enemy can see. The views of a
+     * {@link Battlefield} keep it up to date and include the sunk ships, other views compute
+     * it from the marks.
+     *
+     * @return	the hash, see {@link Zobrist}
+     */
+    default long getZobristHash() {
+        return Zobrist.hash(this);
+    }
+}
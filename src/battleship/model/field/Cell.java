@@ -1,64 +1,100 @@
-package battleship.model.field;
-
-import battleship.model.ship.Ship;
-import battleship.model.ship.ShipPart;
-
-/**
- * This class represents the battlefield cell
- */
-public class Cell {
-    // cell mark
-    private Mark mark;
-    // part of the ship in this cell
-    private ShipPart shipPart;
-
-    /**
-     * Constructs cell
-     *
-     * @param mark	the cell {@link Mark}
-     */
-    public Cell(Mark mark) {
-        this.mark = mark;
-    }
-
-    /**
-     * This method returns the current cell mark
-     *
-     * @return	the cell {@link Mark}
-     */
-    public Mark getMark() {
-        return mark;
-    }
-
-    /**
-     * This method changes the cell mark
-     *
-     * @param mark	the {@link Mark} to mark for change
-     */
-    public void setMark(Mark mark) {
-        if (Mark.SHIP.equals(this.mark)) {
-            shipPart.setDamaged();
-        }
-        this.mark = mark;
-    }
-
-    /**
-     * This method returns the ship placed in this cell
-     *
-     * @return	the {@link Ship} placed in this cell,
-     * 			{@code null} if the cell is empty
-     */
-    public Ship getPlacedShip() {
-        return shipPart.getShip();
-    }
-
-    /**
-     * This method adds a ship part to this cell
-     *
-     * @param shipPart	the {@link ShipPart} to be added
-     */
-    public void setShipPart(ShipPart shipPart) {
-        this.shipPart = shipPart;
-        this.mark = Mark.SHIP;
-    }
-}
+package battleship.model.field;
+
+import battleship.model.ship.Ship;
+import battleship.model.ship.ShipPart;
+
+/**
+ * This class represents the battlefield cell
+ */
+public class Cell {
+    // cell mark
+    private Mark mark;
+    // part of the ship in this cell
+    private ShipPart shipPart;
+    // the battlefield that counts the damaged parts, null for a cell outside a battlefield
+    private final HeapBattlefield battlefield;
+
+    /**
+     * Constructs cell
+     *
+     * @param mark	the cell {@link Mark}
+     */
+    public Cell(Mark mark) {
+        this(mark, null);
+    }
+
+    /**
+     * Constructs cell of the battlefield
+     *
+     * @param mark			the cell {@link Mark}
+     * @param battlefield	the battlefield that counts the damaged parts
+     */
+    Cell(Mark mark, HeapBattlefield battlefield) {
+        this.mark = mark;
+        this.battlefield = battlefield;
+    }
+
+    /**
+     * This method returns the current cell mark
+     *
+     * @return	the cell {@link Mark}, {@link Mark#SANK} for a hit part of a sunk ship
+     */
+    public Mark getMark() {
+        if (Mark.HIT.equals(mark) && shipPart != null && shipPart.getShip().isSank()) {
+            return Mark.SANK;
+        }
+        return mark;
+    }
+
+    /**
+     * This method changes the cell mark
+     *
+     * @param mark	the {@link Mark} to mark for change
+     */
+    public void setMark(Mark mark) {
+        if (Mark.SHIP.equals(this.mark) && !shipPart.isDamaged()) {
+            shipPart.setDamaged();
+            if (battlefield != null) {
+                battlefield.partDamaged();
+            }
+        }
+        this.mark = mark;
+    }
+
+    /**
+     * This method gives this cell the mark it had before a change, the ship part in it is
+     * repaired if the mark is {@link Mark#SHIP}
+     *
+     * @param mark	the {@link Mark} before the change
+     */
+    void restoreMark(Mark mark) {
+        if (Mark.SHIP.equals(mark) && shipPart != null && shipPart.isDamaged()) {
+            shipPart.setRepaired();
+            if (battlefield != null) {
+                battlefield.partRepaired();
+            }
+        }
+        // a sunk part is kept as a hit, it shows as sunk while its ship has sunk
+        this.mark = Mark.SANK.equals(mark) ? Mark.HIT : mark;
+    }
+
+    /**
+     * This method returns the ship placed in this cell
+     *
+     * @return	the {@link Ship} placed in this cell,
+     * 			{@code null} if the cell is empty
+     */
+    public Ship getPlacedShip() {
+        return shipPart == null ? null : shipPart.getShip();
+    }
+
+    /**
+     * This method adds a ship part to this cell
+     *
+     * @param shipPart	the {@link ShipPart} to be added
+     */
+    public void setShipPart(ShipPart shipPart) {
+        this.shipPart = shipPart;
+        this.mark = Mark.SHIP;
+    }
+}
@@ -0,0 +1,97 @@
+package battleship.model.field;
+
+import battleship.model.Coordinate;
+import battleship.model.ship.Ship;
+
+/**
+ * This class represents the battlefield of the game as a matrix of {@link Cell} objects
+ */
+public class CellBattlefield extends HeapBattlefield {
+    // the battlefield matrix
+    private final Cell[][] battlefield;
+
+    /**
+     * Constructs battlefield
+     *
+     * @param height	battlefield height
+     * @param width		battlefield width
+     */
+    public CellBattlefield(int height, int width) {
+        super(height, width);
+        this.battlefield = createBattlefield(height, width);
+    }
+
+    @Override
+    protected Mark setMark(int cell, Mark mark) {
+        Cell target = getCell(cell);
+        Mark before = target.getMark();
+        target.setMark(mark);
+        return before;
+    }
+
+    @Override
+    protected void restoreMark(int cell, Mark mark) {
+        getCell(cell).restoreMark(mark);
+    }
+
+    @Override
+    public void addShip(Ship ship) {
+        for (int i = 0; i < ship.getLength(); i++) {
+            Coordinate c = ship.getShipPart(i).getCoordinate();
+            getCell(c).setShipPart(ship.getShipPart(i));
+        }
+        registerShip(ship);
+    }
+
+    @Override
+    public Cell getCell(Coordinate coordinate) {
+        return battlefield[coordinate.getVertical()][coordinate.getHorizontal()];
+    }
+
+    @Override
+    public Cell getCell(int cell) {
+        return battlefield[cell / width][cell % width];
+    }
+
+    @Override
+    public Mark getMark(Coordinate coordinate) {
+        return getCell(coordinate).getMark();
+    }
+
+    @Override
+    public Mark getMark(int cell) {
+        return getCell(cell).getMark();
+    }
+
+    @Override
+    public Ship getShip(Coordinate coordinate) {
+        return getCell(coordinate).getPlacedShip();
+    }
+
+    @Override
+    public Ship getShip(int cell) {
+        return getCell(cell).getPlacedShip();
+    }
+
+    @Override
+    protected Mark markAt(int vertical, int horizontal) {
+        return battlefield[vertical][horizontal].getMark();
+    }
+
+    /**
+     * This method creates a battlefield matrix and fills it with mark represented fog
+     *
+     * @param height	battlefield height
+     * @param width		battlefield width
+     * @return			the {@link Cell} battlefield matrix
+     */
+    private Cell[][] createBattlefield(int height, int width) {
+        Cell[][] battlefield = new Cell[height][width];
+        for (int i = 0; i < height; i++) {
+            for (int j = 0; j < width; j++) {
+                battlefield[i][j] = new Cell(Mark.FOG, this);
+            }
+        }
+        return battlefield;
+    }
+}
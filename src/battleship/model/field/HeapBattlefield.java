@@ -0,0 +1,127 @@
+package battleship.model.field;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import battleship.model.ship.Ship;
+import battleship.model.ship.ShipType;
+
+/**
+ * This class contains the part of the battlefields that keep the ships, the forbidden zone and
+ * the counters in objects on the heap
+ */
+abstract class HeapBattlefield extends AbstractBattlefield {
+    // ships on the battlefield
+    protected final List<Ship> ships;
+    // ship cells and the cells around them, a new ship must not have a cell here
+    private final Bitboard forbidden;
+    // number of ship parts that are not damaged
+    private int undamagedParts;
+    // the number of sunk ships of every type
+    private final int[] sunkShips;
+    // the Zobrist hash of the marks the enemy can see and of the sunk ships
+    private long zobristHash;
+
+    /**
+     * Constructs battlefield
+     *
+     * @param height	battlefield height
+     * @param width		battlefield width
+     */
+    protected HeapBattlefield(int height, int width) {
+        super(height, width);
+        this.ships = new ArrayList<>();
+        this.forbidden = new Bitboard(height * width);
+        this.sunkShips = new int[ShipType.values().length];
+    }
+
+    @Override
+    public long getZobristHash() {
+        return zobristHash;
+    }
+
+    @Override
+    public List<Ship> getShips() {
+        return ships;
+    }
+
+    @Override
+    public boolean allShipsSank() {
+        return undamagedParts == 0;
+    }
+
+    @Override
+    public int shipsAfloat() {
+        int afloat = ships.size();
+        for (int sunk : sunkShips) {
+            afloat -= sunk;
+        }
+        return afloat;
+    }
+
+    /**
+     * This method adds the ship to the list of ships, counts its parts and adds its cells
+     * and the cells around them to the forbidden zone
+     *
+     * @param ship	the {@link Ship} to add
+     */
+    protected void registerShip(Ship ship) {
+        ships.add(ship);
+        undamagedParts += ship.getLength();
+        forbidZone(ship);
+    }
+
+    /**
+     * This method counts a ship part that has just been damaged
+     */
+    void partDamaged() {
+        undamagedParts--;
+    }
+
+    /**
+     * This method counts a ship part that has just been repaired
+     */
+    void partRepaired() {
+        undamagedParts++;
+    }
+
+    @Override
+    protected boolean isForbidden(int from, int to) {
+        return forbidden.intersects(from, to);
+    }
+
+    @Override
+    protected void forbid(int from, int to) {
+        forbidden.set(from, to);
+    }
+
+    @Override
+    protected void setZobristHash(long zobristHash) {
+        this.zobristHash = zobristHash;
+    }
+
+    @Override
+    protected int sunkShips(ShipType shipType) {
+        return sunkShips[shipType.ordinal()];
+    }
+
+    @Override
+    protected void setSunkShips(ShipType shipType, int count) {
+        sunkShips[shipType.ordinal()] = count;
+    }
+
+    @Override
+    protected ShipType shipType(int cell) {
+        return getShip(cell).getShipType();
+    }
+
+    @Override
+    protected int shipLength(int cell) {
+        return getShip(cell).getLength();
+    }
+
+    @Override
+    protected int shipPart(int cell, int part) {
+        return indexOf(getShip(cell).getShipPart(part).getCoordinate());
+    }
+}
@@ -1,21 +1,23 @@
-package battleship.model.field;
-
-/**
- * This enumeration class represents the marks on the battlefield
- */
-public enum Mark {
-    FOG('~'),
-    HIT('X'),
-    MISS('M'),
-    SHIP('O');
-
-    private final char sign;
-
-    Mark(char sign) {
-        this.sign = sign;
-    }
-
-    public char getSign() {
-        return sign;
-    }
-}
+package battleship.model.field;
+
+/**
+ * This enumeration class represents the marks on the battlefield. A hit part of a ship
+ * that has sunk is marked {@link #SANK}, it looks the same as {@link #HIT}.
+ */
+public enum Mark {
+    FOG('~'),
+    HIT('X'),
+    MISS('M'),
+    SHIP('O'),
+    SANK('X');
+
+    private final char sign;
+
+    Mark(char sign) {
+        this.sign = sign;
+    }
+
+    public char getSign() {
+        return sign;
+    }
+}
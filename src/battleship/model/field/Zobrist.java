@@ -0,0 +1,73 @@
+package battleship.model.field;
+
+import battleship.model.ship.ShipType;
+
+/**
+ * This class computes Zobrist keys of the state of a battlefield that the enemy can see: the
+ * {@link Mark#HIT}, {@link Mark#MISS} and {@link Mark#SANK} marks and the ships that have sunk.
+ * The hash of a state is the exclusive or of the keys of its marks and sunk ships, so it changes
+ * with a few exclusive ors when a cell is marked. The keys are derived from the cell index and
+ * do not depend on the run, equal states of different games have equal hashes.
+ */
+public final class Zobrist {
+    // the seed of the keys of the marks
+    private static final long MARK_SEED = 0x9E3779B97F4A7C15L;
+    // the seed of the keys of the sunk ships
+    private static final long SHIP_SEED = 0xD1B54A32D192ED03L;
+
+    private Zobrist() {
+    }
+
+    /**
+     * This method returns the key of the mark in the cell
+     *
+     * @param cell	the cell index, {@code vertical * width + horizontal}
+     * @param mark	the {@link Mark}
+     * @return		the key, 0 for the marks the enemy cannot see
+     */
+    public static long markKey(int cell, Mark mark) {
+        if (mark == Mark.FOG || mark == Mark.SHIP) {
+            return 0;
+        }
+        return mix(MARK_SEED * (((long) cell << 3) | mark.ordinal()));
+    }
+
+    /**
+     * This method returns the key of a sunk ship
+     *
+     * @param shipType	the {@link ShipType} of the ship
+     * @param count		the number of ships of this type that sank before it
+     * @return			the key
+     */
+    public static long sunkShipKey(ShipType shipType, int count) {
+        return mix(SHIP_SEED * (((long) count << 8) | shipType.ordinal()));
+    }
+
+    /**
+     * This method computes the hash of the marks of the view from scratch
+     *
+     * @param view	the {@link BoardView}
+     * @return		the exclusive or of the keys of all marks
+     */
+    public static long hash(BoardView view) {
+        long hash = 0;
+        for (int i = 0; i < view.getHeight(); i++) {
+            for (int j = 0; j < view.getWidth(); j++) {
+                hash ^= markKey(i * view.getWidth() + j, view.markAt(i, j));
+            }
+        }
+        return hash;
+    }
+
+    /**
+     * This method mixes the bits of the value, it is the finalizer of the SplitMix64 generator
+     *
+     * @param value		the value
+     * @return			the mixed value
+     */
+    public static long mix(long value) {
+        value = (value ^ (value >>> 30)) * 0xBF58476D1CE4E5B9L;
+        value = (value ^ (value >>> 27)) * 0x94D049BB133111EBL;
+        return value ^ (value >>> 31);
+    }
+}
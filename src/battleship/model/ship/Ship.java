@@ -1,78 +1,102 @@
-package battleship.model.ship;
-
-import battleship.model.Coordinate;
-
-/**
- * This class represents the ship
- */
-public class Ship {
-    // the type of this ship
-    private final String type;
-    // array with parts of this ship
-    private final ShipPart[] ship;
-
-    /**
-     * Constructs a Ship
-     *
-     * @param shipType		the {@link ShipType}
-     * @param coordinates	the {@link Coordinate} array with coordinates for this ship
-     */
-    public Ship(ShipType shipType, Coordinate[] coordinates) {
-        this.type = shipType.getName();
-        this.ship = new ShipPart[shipType.getSize()];
-        constructShip(coordinates);
-    }
-
-    /**
-     * This method returns the ship type of this ship
-     *
-     * @return	the {@link String} ship type
-     */
-    public String getType() {
-        return type;
-    }
-
-    /**
-     * This method returns the length of this ship
-     *
-     * @return	the length of this ship
-     */
-    public int getLength() {
-        return ship.length;
-    }
-
-    /**
-     * This method returns ship part
-     *
-     * @param part		the ship part
-     * @return			the {@link ShipPart}
-     */
-    public ShipPart getShipPart(int part) {
-        return ship[part];
-    }
-
-    /**
-     * This method returns the state of this ship
-     *
-     * @return	true if the ship sank, false otherwise
-     */
-    public boolean isSank() {
-        for (ShipPart part : ship) {
-            if (!part.isDamaged()) {
-                return false;
-            }
-        }
-        return true;
-    }
-
-    /**
-     * This method builds the ship according to the given coordinates
-     *
-     * @param coordinates	the {@link Coordinate} array with coordinates for this ship
-     */
-    private void constructShip(Coordinate[] coordinates) {
-        for (int i = 0; i < ship.length; i++) {
-            ship[i] = new ShipPart(this, coordinates[i]);
-        }
-    }
-}
+package battleship.model.ship;
+
+import battleship.model.Coordinate;
+
+/**
+ * This class represents the ship
+ */
+public class Ship {
+    // the type of this ship
+    private final ShipType shipType;
+    // the name of the type of this ship
+    private final String type;
+    // array with parts of this ship
+    private final ShipPart[] ship;
+    // number of parts that are not damaged
+    private int undamagedParts;
+
+    /**
+     * Constructs a Ship
+     *
+     * @param shipType		the {@link ShipType}
+     * @param coordinates	the {@link Coordinate} array with coordinates for this ship
+     */
+    public Ship(ShipType shipType, Coordinate[] coordinates) {
+        this.shipType = shipType;
+        this.type = shipType.getName();
+        this.ship = new ShipPart[shipType.getSize()];
+        this.undamagedParts = ship.length;
+        constructShip(coordinates);
+    }
+
+    /**
+     * This method returns the ship type of this ship
+     *
+     * @return	the {@link String} ship type
+     */
+    public String getType() {
+        return type;
+    }
+
+    /**
+     * This method returns the type of this ship
+     *
+     * @return	the {@link ShipType}
+     */
+    public ShipType getShipType() {
+        return shipType;
+    }
+
+    /**
+     * This method returns the length of this ship
+     *
+     * @return	the length of this ship
+     */
+    public int getLength() {
+        return ship.length;
+    }
+
+    /**
+     * This method returns ship part
+     *
+     * @param part		the ship part
+     * @return			the {@link ShipPart}
+     */
+    public ShipPart getShipPart(int part) {
+        return ship[part];
+    }
+
+    /**
+     * This method returns the state of this ship
+     *
+     * @return	true if the ship sank, false otherwise
+     */
+    public boolean isSank() {
+        return undamagedParts == 0;
+    }
+
+    /**
+     * This method counts a part of this ship that has just been damaged
+     */
+    void partDamaged() {
+        undamagedParts--;
+    }
+
+    /**
+     * This method counts a part of this ship that has just been repaired
+     */
+    void partRepaired() {
+        undamagedParts++;
+    }
+
+    /**
+     * This method builds the ship according to the given coordinates
+     *
+     * @param coordinates	the {@link Coordinate} array with coordinates for this ship
+     */
+    private void constructShip(Coordinate[] coordinates) {
+        for (int i = 0; i < ship.length; i++) {
+            ship[i] = new ShipPart(this, coordinates[i]);
+        }
+    }
+}
@@ -1,28 +1,28 @@
-package battleship.model.ship;
-
-/**
- * This enumeration class represents ship types
- */
-public enum ShipType {
-    AIRCRAFT_CARRIER("Aircraft Carrier", 5),
-    BATTLESHIP("Battleship", 4),
-    SUBMARINE("Submarine", 3),
-    CRUISER("Cruiser", 3),
-    DESTROYER("Destroyer", 2);
-
-    private final String name;
-    private final int size;
-
-    ShipType(String name, int size) {
-        this.name = name;
-        this.size = size;
-    }
-
-    public String getName() {
-        return name;
-    }
-
-    public int getSize() {
-        return size;
-    }
-}
+package battleship.model.ship;
+
+/**
+ * This enumeration class represents ship types
+ */
+public enum ShipType {
+    AIRCRAFT_CARRIER("Aircraft Carrier", 5),
+    BATTLESHIP("Battleship", 4),
+    SUBMARINE("Submarine", 3),
+    CRUISER("Cruiser", 3),
+    DESTROYER("Destroyer", 2);
+
+    private final String name;
+    private final int size;
+
+    ShipType(String name, int size) {
+        this.name = name;
+        this.size = size;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getSize() {
+        return size;
+    }
+}
@@ -0,0 +1,155 @@
+package battleship.server;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * This class represents the connection of a player to the {@link GameServer}. The buffers
+ * are small, so an idle connection takes little memory. The commands are plain ASCII, the
+ * input is read without a charset decoder, whose buffers would be much larger than the commands.
+ */
+class Connection {
+    // size of the input buffer in characters
+    private static final int READ_BUFFER_SIZE = 128;
+    // size of the output buffer in bytes, enough for a 10x10 battlefield
+    private static final int WRITE_BUFFER_SIZE = 512;
+    // the end of a line sent to the player
+    private static final byte[] LINE_SEPARATOR = System.lineSeparator().getBytes(StandardCharsets.UTF_8);
+
+    // the socket of the player
+    private final Socket socket;
+    // reads the lines of the player
+    private final BufferedReader reader;
+    // writes the text for the player
+    private final OutputStream out;
+
+    /**
+     * Constructs a connection
+     *
+     * @param socket		the connected {@link Socket}
+     * @throws IOException	if the streams of the socket could not be opened
+     */
+    Connection(Socket socket) throws IOException {
+        this.socket = socket;
+        this.reader = new BufferedReader(new ByteReader(socket.getInputStream()), READ_BUFFER_SIZE);
+        this.out = new BufferedOutputStream(socket.getOutputStream(), WRITE_BUFFER_SIZE);
+    }
+
+    /**
+     * This method returns the reader of the player's lines
+     *
+     * @return	the {@link BufferedReader}
+     */
+    BufferedReader getReader() {
+        return reader;
+    }
+
+    /**
+     * This method returns the stream of the text for the player
+     *
+     * @return	the {@link OutputStream}
+     */
+    OutputStream getOut() {
+        return out;
+    }
+
+    /**
+     * This method writes a line to the player at once, the errors are ignored
+     *
+     * @param line	the {@link String} line
+     */
+    void send(String line) {
+        try {
+            out.write(line.getBytes(StandardCharsets.UTF_8));
+            out.write(LINE_SEPARATOR);
+            out.flush();
+        } catch (IOException e) {
+            // the player has gone, the game ends when the input of the player is read
+        }
+    }
+
+    /**
+     * This method checks if the player is still connected, e.g. while waiting for another player.
+     * It waits for input for at most a millisecond and the input that has arrived is kept for the game.
+     *
+     * @return	true if the connection is open, false if the player has closed or reset it
+     */
+    boolean isConnected() {
+        try {
+            int timeout = socket.getSoTimeout();
+            socket.setSoTimeout(1);
+            try {
+                reader.mark(1);
+                if (reader.read() < 0) {
+                    return false;
+                }
+                reader.reset();
+            } finally {
+                socket.setSoTimeout(timeout);
+            }
+            return true;
+        } catch (SocketTimeoutException e) {
+            // nothing has arrived, the player is still waiting
+            return true;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * This method flushes the output and closes the connection, the errors are ignored
+     */
+    void close() {
+        try {
+            out.flush();
+        } catch (IOException e) {
+            // the player has already gone
+        }
+        try {
+            socket.close();
+        } catch (IOException e) {
+            // the player has already gone
+        }
+    }
+
+    /**
+     * This class is a {@link Reader} that turns every byte into a character
+     */
+    private static class ByteReader extends Reader {
+        // the input of the socket
+        private final InputStream in;
+        // the bytes read from the socket
+        private final byte[] bytes;
+
+        /**
+         * Constructs a reader
+         *
+         * @param in	the {@link InputStream} to read from
+         */
+        ByteReader(InputStream in) {
+            this.in = in;
+            this.bytes = new byte[READ_BUFFER_SIZE];
+        }
+
+        @Override
+        public int read(char[] buffer, int offset, int length) throws IOException {
+            int read = in.read(bytes, 0, Math.min(length, bytes.length));
+            for (int i = 0; i < read; i++) {
+                buffer[offset + i] = (char) (bytes[i] & 0xFF);
+            }
+            return read;
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+    }
+}
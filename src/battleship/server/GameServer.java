@@ -0,0 +1,309 @@
+package battleship.server;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import battleship.controller.GameSession;
+import battleship.log.GameJournal;
+import battleship.log.SnapshotWriter;
+import battleship.model.GameRules;
+
+/**
+ * This class hosts many games at once. Players connect over TCP and type the same commands as in
+ * the console, e.g. "A1 A5" to place a ship and "B3" to shoot. Every two players who connect one after
+ * another play a game together.
+ * <p>
+ * Every game runs on its own thread that blocks while it waits for a player. The threads are created
+ * with small stacks, so an idle game takes little memory, and a player who stays idle longer than
+ * the timeout loses the connection. The accept loop never reads from the players, a slow player
+ * does not hold up the others.
+ * <p>
+ * With a snapshot file the server saves the moves of every game since the previous snapshot
+ * periodically, the games that have not ended can be restored with {@code SnapshotReader}.
+ */
+public class GameServer {
+    // the default port of the server
+    public static final int DEFAULT_PORT = 4000;
+
+    // stack size of a game thread, the game needs only a few frames
+    private static final long MATCH_STACK_SIZE = 256 * 1024;
+    // length of the queue of connections that are not accepted yet
+    private static final int BACKLOG = 1024;
+
+    // the rules of the games
+    private final GameRules rules;
+    // the address to listen on
+    private final InetSocketAddress address;
+    // the largest number of games played at once
+    private final int maxMatches;
+    // the time a player may stay idle in milliseconds, 0 for no limit
+    private final int idleTimeout;
+    // number of games that are being played
+    private final AtomicInteger activeMatches;
+    // number of games that have finished
+    private final AtomicLong finishedMatches;
+    // the socket that accepts the players
+    private ServerSocket serverSocket;
+    // the thread of the accept loop
+    private Thread acceptor;
+    // false after the server has been closed
+    private volatile boolean running;
+    // the file the games are saved to, null if they are not saved
+    private SnapshotWriter snapshots;
+    // the journals of the games that are being played by the game id
+    private final Map<Long, GameJournal> journals = new ConcurrentHashMap<>();
+    // the ids of the games that are being played by the session
+    private final Map<GameSession, Long> gameIds = new ConcurrentHashMap<>();
+    // the id of the next game, the ids of games of different runs do not overlap
+    private final AtomicLong nextGameId = new AtomicLong(System.currentTimeMillis() << 20);
+    // takes the snapshots
+    private ScheduledExecutorService snapshotter;
+
+    /**
+     * Constructs a server
+     *
+     * @param rules			the {@link GameRules} of the games
+     * @param address		the {@link InetSocketAddress} to listen on, port 0 picks a free port
+     * @param maxMatches	the largest number of games played at once
+     * @param idleTimeout	the time a player may stay idle in milliseconds, 0 for no limit
+     */
+    public GameServer(GameRules rules, InetSocketAddress address, int maxMatches, int idleTimeout) {
+        this.rules = rules;
+        this.address = address;
+        this.maxMatches = maxMatches;
+        this.idleTimeout = idleTimeout;
+        this.activeMatches = new AtomicInteger();
+        this.finishedMatches = new AtomicLong();
+    }
+
+    public static void main(String[] args) throws IOException {
+        // arguments: [port] [height width fleets], -Dbattleship.snapshots=file saves the games every 5 seconds
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+        GameRules rules = args.length > 3
+                ? GameRules.scaled(Integer.parseInt(args[1]), Integer.parseInt(args[2]), Integer.parseInt(args[3]))
+                : GameRules.standard();
+
+        GameServer server = new GameServer(rules, new InetSocketAddress(port), 10_000, 5 * 60 * 1000);
+        String snapshotFile = System.getProperty("battleship.snapshots");
+        if (snapshotFile != null) {
+            server.saveSnapshots(new SnapshotWriter(Paths.get(snapshotFile)), 5);
+        }
+        server.start();
+        System.out.printf("Listening on port %d%n", server.getPort());
+    }
+
+    /**
+     * This method opens the socket and starts the accept loop
+     *
+     * @throws IOException	if the socket could not be opened
+     */
+    public void start() throws IOException {
+        serverSocket = new ServerSocket();
+        serverSocket.setReuseAddress(true);
+        serverSocket.bind(address, BACKLOG);
+        running = true;
+        acceptor = new Thread(this::acceptLoop, "battleship-acceptor");
+        acceptor.start();
+    }
+
+    /**
+     * This method saves the games that are being played to the snapshot file periodically,
+     * it is called before the server starts
+     *
+     * @param writer	the {@link SnapshotWriter} of the snapshot file
+     * @param seconds	the interval between two snapshots in seconds
+     */
+    public void saveSnapshots(SnapshotWriter writer, long seconds) {
+        this.snapshots = writer;
+        this.snapshotter = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "battleship-snapshots");
+            thread.setDaemon(true);
+            return thread;
+        });
+        snapshotter.scheduleWithFixedDelay(this::snapshot, seconds, seconds, TimeUnit.SECONDS);
+    }
+
+    /**
+     * This method returns the port the server listens on
+     *
+     * @return	the port
+     */
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    /**
+     * This method returns the number of games that are being played
+     *
+     * @return	the number of games
+     */
+    public int getActiveMatches() {
+        return activeMatches.get();
+    }
+
+    /**
+     * This method returns the number of games that have finished
+     *
+     * @return	the number of games
+     */
+    public long getFinishedMatches() {
+        return finishedMatches.get();
+    }
+
+    /**
+     * This method stops accepting players, the games that are being played go on
+     *
+     * @throws InterruptedException	if the thread was interrupted while the accept loop stopped
+     */
+    public void close() throws InterruptedException {
+        running = false;
+        try {
+            serverSocket.close();
+        } catch (IOException e) {
+            // the socket is closed anyway
+        }
+        acceptor.join();
+        if (snapshotter != null) {
+            snapshotter.shutdown();
+            snapshot();
+        }
+    }
+
+    /**
+     * This method creates the session of a new game, its moves are journaled if the games are saved
+     *
+     * @param rules		the {@link GameRules} of the game
+     * @return			the {@link GameSession}
+     */
+    GameSession matchStarted(GameRules rules) {
+        GameSession session = new GameSession(rules);
+        if (snapshots != null) {
+            long id = nextGameId.getAndIncrement();
+            gameIds.put(session, id);
+            journals.put(id, GameJournal.attach(session));
+        }
+        return session;
+    }
+
+    /**
+     * This method counts a game that has finished, it is not saved any more
+     *
+     * @param session	the {@link GameSession} of the game
+     */
+    void matchFinished(GameSession session) {
+        activeMatches.decrementAndGet();
+        finishedMatches.incrementAndGet();
+        Long id = gameIds.remove(session);
+        if (id == null) {
+            return;
+        }
+        try {
+            snapshots.end(id, journals.remove(id));
+        } catch (IOException e) {
+            System.err.println("The snapshot could not be saved: " + e.getMessage());
+        }
+    }
+
+    /**
+     * This method saves the moves of all games since the previous snapshot
+     */
+    private void snapshot() {
+        try {
+            for (Map.Entry<Long, GameJournal> entry : journals.entrySet()) {
+                snapshots.snapshot(entry.getKey(), entry.getValue());
+            }
+            snapshots.flush();
+        } catch (IOException e) {
+            System.err.println("The snapshot could not be saved: " + e.getMessage());
+        }
+    }
+
+    /**
+     * This method accepts the players and pairs them until the server is closed
+     */
+    private void acceptLoop() {
+        Connection waiting = null;
+        long matches = 0;
+        while (running) {
+            Socket socket;
+            try {
+                socket = serverSocket.accept();
+            } catch (IOException e) {
+                // the socket has been closed or the connection has been reset before it was accepted
+                continue;
+            }
+
+            if (waiting != null && !waiting.isConnected()) {
+                // the player left before a partner arrived, the new player waits instead
+                waiting.close();
+                waiting = null;
+            }
+            try {
+                if (waiting == null && activeMatches.get() >= maxMatches) {
+                    reject(socket);
+                    continue;
+                }
+                socket.setTcpNoDelay(true);
+                socket.setSoTimeout(idleTimeout);
+                Connection connection = new Connection(socket);
+                if (waiting == null) {
+                    waiting = connection;
+                    connection.send("Waiting for another player...");
+                } else {
+                    activeMatches.incrementAndGet();
+                    Thread thread = new Thread(null, new Match(this, rules, waiting, connection),
+                            "battleship-match-" + matches++, MATCH_STACK_SIZE);
+                    thread.setDaemon(true);
+                    thread.start();
+                    waiting = null;
+                }
+            } catch (IOException e) {
+                close(socket);
+            }
+        }
+        if (waiting != null) {
+            waiting.send("The server has been closed.");
+            waiting.close();
+        }
+    }
+
+    /**
+     * This method tells the player that the server is full and closes the socket
+     *
+     * @param socket	the {@link Socket} of the player
+     */
+    private void reject(Socket socket) {
+        try {
+            OutputStream out = socket.getOutputStream();
+            out.write(String.format("The server is full. Try again later.%n").getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            // the player has already gone
+        }
+        close(socket);
+    }
+
+    /**
+     * This method closes the socket, the errors are ignored
+     *
+     * @param socket	the {@link Socket}
+     */
+    private void close(Socket socket) {
+        try {
+            socket.close();
+        } catch (IOException e) {
+            // the player has already gone
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package battleship.server;
+
+import battleship.controller.GameController;
+import battleship.controller.GameSession;
+import battleship.model.GameRules;
+
+/**
+ * This class plays a game between two connected players
+ */
+class Match implements Runnable {
+    // the server that hosts the match
+    private final GameServer server;
+    // the rules of the game
+    private final GameRules rules;
+    // the connection of the first player
+    private final Connection first;
+    // the connection of the second player
+    private final Connection second;
+
+    /**
+     * Constructs a match
+     *
+     * @param server	the {@link GameServer} that hosts the match
+     * @param rules		the {@link GameRules} of the game
+     * @param first		the {@link Connection} of the first player
+     * @param second	the {@link Connection} of the second player
+     */
+    Match(GameServer server, GameRules rules, Connection first, Connection second) {
+        this.server = server;
+        this.rules = rules;
+        this.first = first;
+        this.second = second;
+    }
+
+    @Override
+    public void run() {
+        RemoteView view = new RemoteView(first, second);
+        GameSession session = server.matchStarted(rules);
+        try {
+            new GameController(view, session).run();
+        } catch (IllegalStateException e) {
+            // a player has left or has been idle for too long
+            view.interrupt(e.getMessage());
+        } finally {
+            first.close();
+            second.close();
+            server.matchFinished(session);
+        }
+    }
+}
@@ -0,0 +1,198 @@
+package battleship.server;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+
+import battleship.controller.GameController;
+import battleship.controller.GameView;
+import battleship.model.Coordinate;
+import battleship.model.ShotResult;
+import battleship.model.field.BoardView;
+import battleship.model.ship.ShipType;
+import battleship.view.ConsoleView;
+
+/**
+ * This class is an implementation of the {@link GameView} for two players connected to the {@link GameServer}.
+ * Every player talks to a {@link ConsoleView} over the own connection, so the commands are the same as
+ * in the console, and the player who waits is told what the other one does.
+ * <p>
+ * Only the player who moves is written to by a console view, so both console views share one
+ * {@link PrintStream}, which is switched to the player who moves. A print stream keeps large
+ * encoder buffers and the game keeps only one of them while it is idle.
+ */
+public class RemoteView implements GameView {
+    // the names of the players
+    private static final String[] NAMES = {"Player1", "Player2"};
+
+    // the connections in the order of the players
+    private final Connection[] connections;
+    // the console views in the order of the players
+    private final ConsoleView[] views;
+    // the stream the console views write to, it goes to the player who moves
+    private final Relay relay;
+    // game controller
+    private GameController controller;
+    // index of the player who moves now
+    private int current;
+
+    /**
+     * Constructs RemoteView
+     *
+     * @param first		the {@link Connection} of the first player
+     * @param second	the {@link Connection} of the second player
+     */
+    RemoteView(Connection first, Connection second) {
+        this.connections = new Connection[] {first, second};
+        this.relay = new Relay(first.getOut());
+        PrintStream out = new PrintStream(relay, false);
+        this.views = new ConsoleView[] {
+                new ConsoleView(first.getReader(), out),
+                new ConsoleView(second.getReader(), out)
+        };
+    }
+
+    @Override
+    public void setController(GameController controller) {
+        this.controller = controller;
+        for (ConsoleView view : views) {
+            view.setController(controller);
+        }
+    }
+
+    @Override
+    public void showBattlefield(BoardView battlefield) {
+        views[current].showBattlefield(battlefield);
+    }
+
+    @Override
+    public void showBattlefields(BoardView enemyBattlefield, BoardView playerBattlefield) {
+        views[current].showBattlefields(enemyBattlefield, playerBattlefield);
+    }
+
+    @Override
+    public void showWinner(String playerName) {
+        views[current].showWinner(playerName);
+        connections[1 - current].send(String.format("%s sank your last ship. You lost.", playerName));
+    }
+
+    @Override
+    public void showShotResult(ShotResult shotResult) {
+        views[current].showShotResult(shotResult);
+        notifyEnemy(shotResult);
+    }
+
+    @Override
+    public void showSalvoResults(Coordinate[] coordinates, ShotResult[] shotResults) {
+        views[current].showSalvoResults(coordinates, shotResults);
+        for (int i = 0; i < coordinates.length; i++) {
+            notifyEnemy(shotResults[i]);
+        }
+    }
+
+    @Override
+    public void promptForPlayer() {
+        for (int i = 0; i < NAMES.length; i++) {
+            controller.addPlayer(NAMES[i]);
+            connections[i].send(String.format("You play as %s", NAMES[i]));
+        }
+    }
+
+    @Override
+    public void promptForShipsPlacement(String playerName) {
+        connections[1 - current].send(String.format("%s places the ships on the game field", playerName));
+        views[current].promptForShipsPlacement(playerName);
+    }
+
+    @Override
+    public void promptForShipCoordinates(ShipType shipType) {
+        views[current].promptForShipCoordinates(shipType);
+    }
+
+    @Override
+    public void promptForAnotherPlayer() {
+        // every player has an own screen, there is no need to pass the move,
+        // but the player who has moved must see the result at once
+        try {
+            relay.flush();
+        } catch (IOException e) {
+            // the player has gone, the game ends when the input of the player is read
+        }
+        current = 1 - current;
+        relay.target = connections[current].getOut();
+        controller.switchPlayer();
+    }
+
+    @Override
+    public void promptForShot(String playerName) {
+        connections[1 - current].send(String.format("%s shoots", playerName));
+        views[current].promptForShot(playerName);
+    }
+
+    @Override
+    public void promptForSalvo(String playerName, int count) {
+        connections[1 - current].send(String.format("%s fires a salvo of %d shots", playerName, count));
+        views[current].promptForSalvo(playerName, count);
+    }
+
+    /**
+     * This method tells the players that the game has been interrupted
+     *
+     * @param message	the {@link String} with the reason
+     */
+    void interrupt(String message) {
+        for (Connection connection : connections) {
+            connection.send("The game is over. " + message);
+        }
+    }
+
+    /**
+     * This method tells the player who waits the result of a shot at the own battlefield
+     *
+     * @param shotResult	the {@link ShotResult}
+     */
+    private void notifyEnemy(ShotResult shotResult) {
+        switch (shotResult) {
+            case HIT:
+                connections[1 - current].send(NAMES[current] + " hit your ship!");
+                break;
+            case MISS:
+                connections[1 - current].send(NAMES[current] + " missed!");
+                break;
+            case SANK:
+                connections[1 - current].send(NAMES[current] + " sank your ship!");
+        }
+    }
+
+    /**
+     * This class is an {@link OutputStream} that writes to the stream of the player who moves
+     */
+    private static class Relay extends OutputStream {
+        // the stream of the player who moves
+        private OutputStream target;
+
+        /**
+         * Constructs a relay
+         *
+         * @param target	the {@link OutputStream} of the first player
+         */
+        Relay(OutputStream target) {
+            this.target = target;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            target.write(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            target.write(b, off, len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            target.flush();
+        }
+    }
+}
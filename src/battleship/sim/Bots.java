@@ -0,0 +1,128 @@
+package battleship.sim;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import battleship.ai.MctsShotStrategy;
+import battleship.ai.MonteCarloShotStrategy;
+import battleship.ai.ProbabilityShotStrategy;
+import battleship.model.GameRules;
+import battleship.model.field.Zobrist;
+import battleship.strategy.Bot;
+import battleship.strategy.CachingShotStrategy;
+import battleship.strategy.FleetPlacementStrategy;
+import battleship.strategy.HuntTargetShotStrategy;
+import battleship.strategy.PlacementStrategy;
+import battleship.strategy.RandomPlacementStrategy;
+import battleship.strategy.RandomShotStrategy;
+import battleship.strategy.SequentialFleetGenerator;
+import battleship.strategy.ShotStrategy;
+import battleship.strategy.TranspositionCache;
+
+/**
+ * This class creates bots by the name of their shooting strategy
+ */
+public final class Bots {
+
+    private Bots() {
+    }
+
+    /**
+     * This method returns a supplier of bots with the named strategies. The name is the name of the
+     * shooting strategy, optionally followed by a slash and the name of the placement strategy:
+     * "fleet" places random legal fleets and is the default, "random" places every ship at a random
+     * position on free cells. The bots made on the same thread share a {@link SequentialFleetGenerator},
+     * its fleets are not uniform over all legal fleets and put fewer ships along the edges.
+     * The "mcts" strategy may be followed by a colon and its latency budget per shot in milliseconds.
+     *
+     * @param name		the name of the shooting strategy: "random", "hunt", "probability", "montecarlo"
+     * 					or "mcts", e.g. "hunt", "hunt/random" or "mcts:50"
+     * @param rules		the {@link GameRules} of the games the bots play
+     * @return			the {@link Supplier} of {@link Bot}s
+     * @throws IllegalArgumentException		if the name is unknown
+     */
+    public static Supplier<Bot> byName(String name, GameRules rules) throws IllegalArgumentException {
+        return byName(name, rules, null);
+    }
+
+    /**
+     * This method returns a supplier of bots with the named strategies. The "probability",
+     * "montecarlo" and "mcts" shooting strategies look up their shots in the cache, the other strategies
+     * do not use it because their shots depend on more than the enemy's battlefield.
+     *
+     * @param name		the name of the shooting strategy, optionally followed by a slash and the name
+     * 					of the placement strategy, see {@link #byName(String, GameRules)}
+     * @param rules		the {@link GameRules} of the games the bots play
+     * @param cache		the {@link TranspositionCache} shared by the bots, null for no cache
+     * @return			the {@link Supplier} of {@link Bot}s
+     * @throws IllegalArgumentException		if the name is unknown
+     */
+    public static Supplier<Bot> byName(String name, GameRules rules, TranspositionCache cache)
+            throws IllegalArgumentException {
+        int slash = name.indexOf('/');
+        String shooting = slash < 0 ? name : name.substring(0, slash);
+        Supplier<PlacementStrategy> placement = placementByName(slash < 0 ? "fleet" : name.substring(slash + 1), rules);
+        int colon = shooting.indexOf(':');
+        long budgetNanos = colon < 0 ? MctsShotStrategy.DEFAULT_BUDGET_NANOS
+                : TimeUnit.MILLISECONDS.toNanos(Long.parseLong(shooting.substring(colon + 1)));
+        if (colon >= 0) {
+            if (!"mcts".equals(shooting.substring(0, colon))) {
+                throw new IllegalArgumentException("Only the mcts strategy has a budget: " + shooting);
+            }
+            shooting = shooting.substring(0, colon);
+        }
+        long salt = Zobrist.mix(shooting.hashCode() * 31L + rules.getFleet().hashCode())
+                ^ Zobrist.mix((long) rules.getHeight() << 32 | rules.getWidth());
+        switch (shooting) {
+            case "random":
+                return () -> new Bot(placement.get(), new RandomShotStrategy());
+            case "hunt":
+                return () -> new Bot(placement.get(), new HuntTargetShotStrategy());
+            case "probability":
+                return () -> new Bot(placement.get(), cached(new ProbabilityShotStrategy(
+                        rules.getHeight(), rules.getWidth(), rules.getFleet()), cache, salt));
+            case "montecarlo":
+                return () -> new Bot(placement.get(), cached(new MonteCarloShotStrategy(rules.getFleet()), cache, salt));
+            case "mcts":
+                return () -> new Bot(placement.get(), cached(new MctsShotStrategy(rules.getFleet(),
+                        ForkJoinPool.commonPool(), budgetNanos), cache, salt));
+            default:
+                throw new IllegalArgumentException("Unknown strategy " + shooting);
+        }
+    }
+
+    /**
+     * This method returns a supplier of the named placement strategy
+     *
+     * @param name		the name of the placement strategy: "fleet" or "random"
+     * @param rules		the {@link GameRules} of the games
+     * @return			the {@link Supplier} of {@link PlacementStrategy}s
+     * @throws IllegalArgumentException		if the name is unknown
+     */
+    private static Supplier<PlacementStrategy> placementByName(String name, GameRules rules)
+            throws IllegalArgumentException {
+        switch (name) {
+            case "fleet":
+                ThreadLocal<SequentialFleetGenerator> generators =
+                        ThreadLocal.withInitial(() -> new SequentialFleetGenerator(rules));
+                return () -> new FleetPlacementStrategy(generators.get());
+            case "random":
+                return RandomPlacementStrategy::new;
+            default:
+                throw new IllegalArgumentException("Unknown placement strategy " + name);
+        }
+    }
+
+    /**
+     * This method wraps the strategy with the cache
+     *
+     * @param strategy	the {@link ShotStrategy}
+     * @param cache		the {@link TranspositionCache}, null for no cache
+     * @param salt		the salt of the keys of the strategy
+     * @return			the {@link ShotStrategy} that uses the cache, the strategy itself without a cache
+     */
+    private static ShotStrategy cached(ShotStrategy strategy, TranspositionCache cache, long salt) {
+        return cache == null ? strategy : new CachingShotStrategy(strategy, cache, salt);
+    }
+}
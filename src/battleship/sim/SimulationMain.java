@@ -0,0 +1,67 @@
+package battleship.sim;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+import battleship.log.GameLogWriter;
+import battleship.model.GameRules;
+import battleship.strategy.TranspositionCache;
+
+/**
+ * This class runs a simulation from the command line:
+ * {@code SimulationMain [games] [first strategy] [second strategy] [threads] [height width fleets]}.
+ * With {@code --log file} anywhere in the arguments the games are appended to a game log, with
+ * {@code --cache megabytes} the bots share a {@link TranspositionCache} of their shots of this size,
+ * with {@code --salvo} the bots play the salvo variant.
+ */
+public class SimulationMain {
+
+    public static void main(String[] arguments) throws IOException {
+        String logFile = null;
+        long cacheMegabytes = 0;
+        boolean salvo = false;
+        List<String> args = new ArrayList<>();
+        for (int i = 0; i < arguments.length; i++) {
+            if ("--log".equals(arguments[i]) && i + 1 < arguments.length) {
+                logFile = arguments[++i];
+            } else if ("--cache".equals(arguments[i]) && i + 1 < arguments.length) {
+                cacheMegabytes = Long.parseLong(arguments[++i]);
+            } else if ("--salvo".equals(arguments[i])) {
+                salvo = true;
+            } else {
+                args.add(arguments[i]);
+            }
+        }
+
+        int games = args.size() > 0 ? Integer.parseInt(args.get(0)) : 100_000;
+        String first = args.size() > 1 ? args.get(1) : "hunt";
+        String second = args.size() > 2 ? args.get(2) : "random";
+        int threads = args.size() > 3 ? Integer.parseInt(args.get(3)) : Runtime.getRuntime().availableProcessors();
+        GameRules rules = args.size() > 6
+                ? GameRules.scaled(Integer.parseInt(args.get(4)), Integer.parseInt(args.get(5)),
+                        Integer.parseInt(args.get(6)))
+                : GameRules.standard();
+        if (salvo) {
+            rules = rules.withSalvo();
+        }
+
+        TranspositionCache cache = cacheMegabytes > 0 ? new TranspositionCache(cacheMegabytes << 20) : null;
+        Simulator simulator = new Simulator(rules, Bots.byName(first, rules, cache),
+                Bots.byName(second, rules, cache), threads);
+        GameLogWriter log = logFile != null ? new GameLogWriter(Paths.get(logFile)) : null;
+        simulator.setLog(log);
+        System.out.printf("%s vs %s on %d threads, %dx%d battlefield with %d ships%s%n",
+                first, second, threads, rules.getHeight(), rules.getWidth(), rules.getFleet().size(),
+                rules.isSalvo() ? ", salvo" : "");
+        System.out.print(simulator.run(games));
+        if (cache != null) {
+            System.out.println(cache);
+        }
+        simulator.shutdown();
+        if (log != null) {
+            log.close();
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package battleship.sim;
+
+/**
+ * This class represents the results of a simulation
+ */
+public class SimulationReport {
+    // results of all games
+    private final Tally tally;
+    // duration of the simulation in nanoseconds
+    private final long nanos;
+
+    /**
+     * Constructs a report
+     *
+     * @param tally		the {@link Tally} of all games
+     * @param nanos		duration of the simulation in nanoseconds
+     */
+    SimulationReport(Tally tally, long nanos) {
+        this.tally = tally;
+        this.nanos = nanos;
+    }
+
+    /**
+     * This method returns the number of played games
+     *
+     * @return	the number of games
+     */
+    public long getGames() {
+        return tally.getGames();
+    }
+
+    /**
+     * This method returns the number of games played per second
+     *
+     * @return	games per second
+     */
+    public double getGamesPerSecond() {
+        return tally.getGames() * 1e9 / nanos;
+    }
+
+    /**
+     * This method returns the average number of shots the winner needed
+     *
+     * @return	the average number of shots to win
+     */
+    public double getAverageShotsToWin() {
+        return tally.getGames() == 0 ? 0 : (double) tally.getShotsToWin() / tally.getGames();
+    }
+
+    /**
+     * This method returns the share of games won by the side
+     *
+     * @param side	0 for the first bot, 1 for the second bot
+     * @return		the win rate between 0 and 1
+     */
+    public double getWinRate(int side) {
+        return tally.getGames() == 0 ? 0 : (double) tally.getWins(side) / tally.getGames();
+    }
+
+    /**
+     * This method returns the share of games won by the side that moved first
+     *
+     * @return	the win rate between 0 and 1
+     */
+    public double getFirstMoverWinRate() {
+        return tally.getGames() == 0 ? 0 : (double) tally.getFirstMoverWins() / tally.getGames();
+    }
+
+    /**
+     * This method returns the number of shots to win that the given share of games did not exceed
+     *
+     * @param percentile	the share of games between 0 and 1
+     * @return				the number of shots
+     */
+    public int getShotsToWinPercentile(double percentile) {
+        long[] histogram = tally.getHistogram();
+        long threshold = (long) Math.ceil(percentile * tally.getGames());
+        long count = 0;
+        for (int shots = 0; shots < histogram.length; shots++) {
+            count += histogram[shots];
+            if (count >= threshold && count > 0) {
+                return shots;
+            }
+        }
+        return histogram.length - 1;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("games:            %d%n", getGames())
+                + String.format("games per second: %.1f%n", getGamesPerSecond())
+                + String.format("win rate:         %.2f%% / %.2f%% (first mover %.2f%%)%n",
+                        getWinRate(0) * 100, getWinRate(1) * 100, getFirstMoverWinRate() * 100)
+                + String.format("shots to win:     avg %.2f, min %d, p10 %d, p50 %d, p90 %d, max %d%n",
+                        getAverageShotsToWin(), getShotsToWinPercentile(0), getShotsToWinPercentile(0.1),
+                        getShotsToWinPercentile(0.5), getShotsToWinPercentile(0.9), getShotsToWinPercentile(1));
+    }
+}
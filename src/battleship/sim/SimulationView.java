@@ -0,0 +1,184 @@
+package battleship.sim;
+
+import java.util.Arrays;
+
+import battleship.controller.GameController;
+import battleship.controller.GameView;
+import battleship.model.Coordinate;
+import battleship.model.ShotResult;
+import battleship.model.Validation;
+import battleship.model.field.BoardView;
+import battleship.model.ship.ShipType;
+import battleship.strategy.Bot;
+
+/**
+ * This class is an implementation of the {@link GameView} in which two {@link Bot}s play
+ * a game without any input or output
+ */
+public class SimulationView implements GameView {
+    // the bots in the order of the players
+    private final Bot[] bots;
+    // game controller
+    private GameController controller;
+    // index of the player who moves now
+    private int current;
+    // the last battlefield shown to the current player
+    private BoardView battlefield;
+    // the last enemy battlefield shown to the current player
+    private BoardView enemyBattlefield;
+    // the coordinate of the last shot
+    private Coordinate lastShot;
+    // the arrays of the salvos by the number of shots, reused for every salvo
+    private Coordinate[][] salvos = new Coordinate[0][];
+    // the cells of the current salvo by the cell of the enemy battlefield, cleared after every salvo
+    private boolean[] fired = new boolean[0];
+    // number of shots of each player
+    private final int[] shots;
+    // index of the winner, -1 while the game goes on
+    private int winner;
+
+    /**
+     * Constructs SimulationView
+     *
+     * @param first		the {@link Bot} playing as the first player
+     * @param second	the {@link Bot} playing as the second player
+     */
+    public SimulationView(Bot first, Bot second) {
+        this.bots = new Bot[] {first, second};
+        this.shots = new int[2];
+        this.winner = -1;
+    }
+
+    @Override
+    public void setController(GameController controller) {
+        this.controller = controller;
+    }
+
+    @Override
+    public void showBattlefield(BoardView battlefield) {
+        this.battlefield = battlefield;
+    }
+
+    @Override
+    public void showBattlefields(BoardView enemyBattlefield, BoardView playerBattlefield) {
+        this.enemyBattlefield = enemyBattlefield;
+    }
+
+    @Override
+    public void showWinner(String playerName) {
+        winner = current;
+    }
+
+    @Override
+    public void showShotResult(ShotResult shotResult) {
+        bots[current].getShotStrategy().shotResult(lastShot, shotResult);
+    }
+
+    @Override
+    public void promptForPlayer() {
+        controller.addPlayer("Player1");
+        controller.addPlayer("Player2");
+    }
+
+    @Override
+    public void promptForShipsPlacement(String playerName) {
+    }
+
+    @Override
+    public void promptForShipCoordinates(ShipType shipType) {
+        while (controller.tryPlaceShip(shipType,
+                bots[current].getPlacementStrategy().shipCoordinates(shipType, battlefield)) != Validation.OK) {
+            // the ship is too close to another one, the strategy tries again
+        }
+    }
+
+    @Override
+    public void promptForAnotherPlayer() {
+        current = 1 - current;
+        controller.switchPlayer();
+    }
+
+    @Override
+    public void promptForShot(String playerName) {
+        lastShot = bots[current].getShotStrategy().nextShot(enemyBattlefield);
+        shots[current]++;
+        controller.performShot(lastShot);
+    }
+
+    @Override
+    public void promptForSalvo(String playerName, int count) {
+        Coordinate[] salvo = salvo(count);
+        bots[current].getShotStrategy().nextShots(enemyBattlefield, salvo, count);
+        shots[current] += distinctCells(salvo);
+        controller.performSalvo(salvo);
+    }
+
+    @Override
+    public void showSalvoResults(Coordinate[] coordinates, ShotResult[] shotResults) {
+        for (int i = 0; i < coordinates.length; i++) {
+            bots[current].getShotStrategy().shotResult(coordinates[i], shotResults[i]);
+        }
+    }
+
+    /**
+     * This method returns the index of the winner
+     *
+     * @return	0 for the first player, 1 for the second player, -1 if the game is not over
+     */
+    public int getWinner() {
+        return winner;
+    }
+
+    /**
+     * This method returns the number of shots of the player
+     *
+     * @param player	0 for the first player, 1 for the second player
+     * @return			the number of shots
+     */
+    public int getShots(int player) {
+        return shots[player];
+    }
+
+    /**
+     * This method counts the cells of a salvo, the strategies repeat a shot of the salvo when there are
+     * fewer cells in the fog than shots
+     *
+     * @param salvo		the {@link Coordinate} array of the salvo
+     * @return			the number of distinct cells
+     */
+    private int distinctCells(Coordinate[] salvo) {
+        int width = enemyBattlefield.getWidth();
+        int size = enemyBattlefield.getHeight() * width;
+        if (fired.length < size) {
+            fired = new boolean[size];
+        }
+        int count = 0;
+        for (Coordinate coordinate : salvo) {
+            int cell = coordinate.getVertical() * width + coordinate.getHorizontal();
+            if (!fired[cell]) {
+                fired[cell] = true;
+                count++;
+            }
+        }
+        for (Coordinate coordinate : salvo) {
+            fired[coordinate.getVertical() * width + coordinate.getHorizontal()] = false;
+        }
+        return count;
+    }
+
+    /**
+     * This method returns the array for a salvo
+     *
+     * @param count		the number of shots of the salvo
+     * @return			the {@link Coordinate} array of the length
+     */
+    private Coordinate[] salvo(int count) {
+        if (count >= salvos.length) {
+            salvos = Arrays.copyOf(salvos, count + 1);
+        }
+        if (salvos[count] == null) {
+            salvos[count] = new Coordinate[count];
+        }
+        return salvos[count];
+    }
+}
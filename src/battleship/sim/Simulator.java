@@ -0,0 +1,148 @@
+package battleship.sim;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Supplier;
+
+import battleship.controller.GameController;
+import battleship.log.GameLogWriter;
+import battleship.log.GameRecorder;
+import battleship.model.GameRules;
+import battleship.strategy.Bot;
+
+/**
+ * This class plays many games between two kinds of {@link Bot}s in parallel
+ */
+public class Simulator {
+    // number of games a task plays without splitting
+    private static final int GAMES_PER_TASK = 256;
+
+    // the rules of the games
+    private final GameRules rules;
+    // creates the first bot for every game
+    private final Supplier<Bot> first;
+    // creates the second bot for every game
+    private final Supplier<Bot> second;
+    // the pool the games run on
+    private final ForkJoinPool pool;
+    // the log the games are recorded to, null if they are not recorded
+    private GameLogWriter log;
+
+    /**
+     * Constructs a simulator that uses all available processors
+     *
+     * @param rules		the {@link GameRules} of the games
+     * @param first		the {@link Supplier} of the first {@link Bot}
+     * @param second	the {@link Supplier} of the second {@link Bot}
+     */
+    public Simulator(GameRules rules, Supplier<Bot> first, Supplier<Bot> second) {
+        this(rules, first, second, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Constructs a simulator
+     *
+     * @param rules			the {@link GameRules} of the games
+     * @param first			the {@link Supplier} of the first {@link Bot}
+     * @param second		the {@link Supplier} of the second {@link Bot}
+     * @param parallelism	the number of threads
+     */
+    public Simulator(GameRules rules, Supplier<Bot> first, Supplier<Bot> second, int parallelism) {
+        this.rules = rules;
+        this.first = first;
+        this.second = second;
+        this.pool = new ForkJoinPool(parallelism);
+    }
+
+    /**
+     * This method plays the specified number of games. The bots take turns in moving first.
+     *
+     * @param games		the number of games
+     * @return			the {@link SimulationReport}
+     */
+    public SimulationReport run(int games) {
+        long start = System.nanoTime();
+        Tally tally = pool.invoke(new SimulationTask(0, games));
+        return new SimulationReport(tally, System.nanoTime() - start);
+    }
+
+    /**
+     * This method sets the log the games are recorded to
+     *
+     * @param log							the {@link GameLogWriter}, null to stop recording
+     * @throws IllegalArgumentException		if the games are salvo games, the log holds no salvos
+     */
+    public void setLog(GameLogWriter log) throws IllegalArgumentException {
+        if (log != null && rules.isSalvo()) {
+            throw new IllegalArgumentException("The game log holds no salvo games.");
+        }
+        this.log = log;
+    }
+
+    /**
+     * This method stops the threads of the simulator
+     */
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+    /**
+     * This method plays one game and adds its result to the tally
+     *
+     * @param game		the number of the game, the first bot moves first in even games
+     * @param tally		the {@link Tally}
+     */
+    private void play(int game, Tally tally) {
+        int movedFirst = game % 2;
+        Bot a = first.get();
+        Bot b = second.get();
+        SimulationView view = movedFirst == 0 ? new SimulationView(a, b) : new SimulationView(b, a);
+        GameController controller = new GameController(view, rules);
+        if (log != null) {
+            GameRecorder.record(log, controller.getSession());
+        }
+        controller.run();
+
+        int winner = view.getWinner();
+        tally.add(winner == 0 ? movedFirst : 1 - movedFirst, movedFirst, view.getShots(winner));
+    }
+
+    /**
+     * This class is a task that plays a range of games, splitting it while it is large
+     */
+    private class SimulationTask extends RecursiveTask<Tally> {
+        private static final long serialVersionUID = 1L;
+
+        // the first game of the range
+        private final int from;
+        // the game after the last game of the range
+        private final int to;
+
+        /**
+         * Constructs a task
+         *
+         * @param from	the first game of the range
+         * @param to	the game after the last game of the range
+         */
+        SimulationTask(int from, int to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Tally compute() {
+            if (to - from <= GAMES_PER_TASK) {
+                Tally tally = new Tally();
+                for (int game = from; game < to; game++) {
+                    play(game, tally);
+                }
+                return tally;
+            }
+            int middle = (from + to) >>> 1;
+            SimulationTask left = new SimulationTask(from, middle);
+            left.fork();
+            Tally right = new SimulationTask(middle, to).compute();
+            return left.join().merge(right);
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package battleship.sim;
+
+import java.util.Arrays;
+
+/**
+ * This class accumulates the results of the games played by one task, the tallies of
+ * different tasks are merged when the tasks finish
+ */
+class Tally {
+    // number of games
+    private long games;
+    // number of wins of each side
+    private final long[] wins = new long[2];
+    // number of wins of the side that moved first
+    private long firstMoverWins;
+    // sum of the shots of the winners
+    private long shotsToWin;
+    // number of games won with the number of shots equal to the index
+    private long[] histogram = new long[0];
+
+    /**
+     * This method adds the result of a game
+     *
+     * @param winner			the side that won, 0 or 1
+     * @param movedFirst		the side that moved first, 0 or 1
+     * @param winnerShots		the number of shots of the winner
+     */
+    void add(int winner, int movedFirst, int winnerShots) {
+        games++;
+        wins[winner]++;
+        if (winner == movedFirst) {
+            firstMoverWins++;
+        }
+        shotsToWin += winnerShots;
+        if (winnerShots >= histogram.length) {
+            histogram = Arrays.copyOf(histogram, winnerShots + 1);
+        }
+        histogram[winnerShots]++;
+    }
+
+    /**
+     * This method adds the results of another tally
+     *
+     * @param other		the other {@link Tally}
+     * @return			this tally
+     */
+    Tally merge(Tally other) {
+        games += other.games;
+        wins[0] += other.wins[0];
+        wins[1] += other.wins[1];
+        firstMoverWins += other.firstMoverWins;
+        shotsToWin += other.shotsToWin;
+        if (other.histogram.length > histogram.length) {
+            histogram = Arrays.copyOf(histogram, other.histogram.length);
+        }
+        for (int i = 0; i < other.histogram.length; i++) {
+            histogram[i] += other.histogram[i];
+        }
+        return this;
+    }
+
+    /**
+     * This method returns the number of games
+     *
+     * @return	the number of games
+     */
+    long getGames() {
+        return games;
+    }
+
+    /**
+     * This method returns the number of wins of the side
+     *
+     * @param side	the side, 0 or 1
+     * @return		the number of wins of the side
+     */
+    long getWins(int side) {
+        return wins[side];
+    }
+
+    /**
+     * This method returns the number of wins of the side that moved first
+     *
+     * @return	the number of wins of the side that moved first
+     */
+    long getFirstMoverWins() {
+        return firstMoverWins;
+    }
+
+    /**
+     * This method returns the sum of the shots of the winners
+     *
+     * @return	the sum of the shots of the winners
+     */
+    long getShotsToWin() {
+        return shotsToWin;
+    }
+
+    /**
+     * This method returns the number of games won with the number of shots equal to the index
+     *
+     * @return	the number of games won with the number of shots equal to the index
+     */
+    long[] getHistogram() {
+        return histogram;
+    }
+}
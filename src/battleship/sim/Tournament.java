@@ -0,0 +1,337 @@
+package battleship.sim;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Supplier;
+
+import battleship.controller.GameController;
+import battleship.model.GameRules;
+import battleship.strategy.Bot;
+
+/**
+ * This class plays a round-robin tournament: every two entrants play the same number of games
+ * against each other and take turns in moving first. The games are split into batches that run
+ * on a work-stealing pool. A batch counts its wins locally and adds them to the results of its
+ * pair with one atomic addition, so the threads do not share anything while they play.
+ * <p>
+ * The results can be saved to a checkpoint file periodically. A tournament that starts with an
+ * existing checkpoint plays only the games that are missing.
+ */
+public class Tournament {
+    // number of games a batch plays, even so that the entrants move first equally often
+    private static final int GAMES_PER_BATCH = 64;
+    // the wins of the first entrant of a pair are kept in the high half of the result
+    private static final int FIRST_WINS_SHIFT = 32;
+
+    // the rules of the games
+    private final GameRules rules;
+    // the names of the entrants
+    private final List<String> names;
+    // creates the bots of every entrant
+    private final List<Supplier<Bot>> entrants;
+    // the pool the games run on
+    private final ForkJoinPool pool;
+    // the wins of both entrants of every pair packed into one value, see pair(int, int)
+    private final AtomicLongArray results;
+    // the checkpoint file, null if the results are not saved
+    private Path checkpoint;
+    // the interval between two checkpoints in nanoseconds
+    private long checkpointInterval;
+    // the time of the next checkpoint
+    private final AtomicLong nextCheckpoint = new AtomicLong();
+
+    /**
+     * Constructs a tournament
+     *
+     * @param rules			the {@link GameRules} of the games
+     * @param names			the names of the entrants
+     * @param entrants		the {@link Supplier}s of the {@link Bot}s of the entrants, in the order of the names
+     * @param parallelism	the number of threads
+     * @throws IllegalArgumentException		if there are less than two entrants
+     */
+    public Tournament(GameRules rules, List<String> names, List<Supplier<Bot>> entrants, int parallelism)
+            throws IllegalArgumentException {
+        if (names.size() < 2 || names.size() != entrants.size()) {
+            throw new IllegalArgumentException("A tournament needs at least two entrants.");
+        }
+        this.rules = rules;
+        this.names = new ArrayList<>(names);
+        this.entrants = new ArrayList<>(entrants);
+        this.pool = new ForkJoinPool(parallelism);
+        this.results = new AtomicLongArray(names.size() * (names.size() - 1) / 2);
+    }
+
+    /**
+     * This method sets the checkpoint file and loads the results saved in it, if it exists
+     *
+     * @param file		the checkpoint file
+     * @param seconds	the interval between two checkpoints in seconds
+     * @throws IOException					if the checkpoint could not be read
+     * @throws IllegalArgumentException		if the checkpoint was saved with other rules
+     */
+    public void setCheckpoint(Path file, long seconds) throws IOException, IllegalArgumentException {
+        this.checkpoint = file;
+        this.checkpointInterval = seconds * 1_000_000_000L;
+        if (!Files.exists(file)) {
+            return;
+        }
+        Properties saved = new Properties();
+        try (InputStream in = Files.newInputStream(file)) {
+            saved.load(in);
+        }
+        if (!rulesKey().equals(saved.getProperty("rules"))) {
+            throw new IllegalArgumentException("The checkpoint was saved with other rules.");
+        }
+        for (int a = 0; a < names.size(); a++) {
+            for (int b = a + 1; b < names.size(); b++) {
+                String value = saved.getProperty(pairKey(a, b));
+                if (value != null) {
+                    String[] wins = value.split(",");
+                    results.set(pair(a, b), pack(Long.parseLong(wins[0]), Long.parseLong(wins[1])));
+                }
+            }
+        }
+    }
+
+    /**
+     * This method plays the games that are missing for every pair to have played the specified number of games
+     *
+     * @param gamesPerPair	the number of games every pair plays
+     * @return				the {@link TournamentReport}
+     * @throws UncheckedIOException		if a checkpoint could not be saved
+     */
+    public TournamentReport run(int gamesPerPair) throws UncheckedIOException {
+        long start = System.nanoTime();
+        nextCheckpoint.set(start + checkpointInterval);
+        List<Batch> batches = new ArrayList<>();
+        long played = 0;
+        for (int a = 0; a < names.size(); a++) {
+            for (int b = a + 1; b < names.size(); b++) {
+                int from = (int) games(results.get(pair(a, b)));
+                played += from;
+                for (int game = from; game < gamesPerPair; game += GAMES_PER_BATCH) {
+                    batches.add(new Batch(a, b, game, Math.min(game + GAMES_PER_BATCH, gamesPerPair)));
+                }
+            }
+        }
+        pool.invoke(new RecursiveAction() {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected void compute() {
+                invokeAll(batches);
+            }
+        });
+        long nanos = System.nanoTime() - start;
+        if (checkpoint != null) {
+            saveCheckpoint();
+        }
+        return new TournamentReport(names, wins(), total(wins()) - played, nanos);
+    }
+
+    /**
+     * This method stops the threads of the tournament
+     */
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+    /**
+     * This method returns the wins of every entrant against every other one
+     *
+     * @return	the matrix where the element {@code [a][b]} is the number of wins of a against b
+     */
+    public long[][] wins() {
+        long[][] wins = new long[names.size()][names.size()];
+        for (int a = 0; a < names.size(); a++) {
+            for (int b = a + 1; b < names.size(); b++) {
+                long result = results.get(pair(a, b));
+                wins[a][b] = result >>> FIRST_WINS_SHIFT;
+                wins[b][a] = result & 0xFFFFFFFFL;
+            }
+        }
+        return wins;
+    }
+
+    /**
+     * This method saves the results to the checkpoint file. The results are written to a temporary
+     * file first and moved over the checkpoint, so a crash never leaves a broken checkpoint.
+     *
+     * @throws UncheckedIOException		if the checkpoint could not be saved
+     */
+    private synchronized void saveCheckpoint() throws UncheckedIOException {
+        Properties saved = new Properties();
+        saved.setProperty("rules", rulesKey());
+        long[][] wins = wins();
+        for (int a = 0; a < names.size(); a++) {
+            for (int b = a + 1; b < names.size(); b++) {
+                saved.setProperty(pairKey(a, b), wins[a][b] + "," + wins[b][a]);
+            }
+        }
+        Path temporary = checkpoint.resolveSibling(checkpoint.getFileName() + ".tmp");
+        try {
+            try (OutputStream out = Files.newOutputStream(temporary)) {
+                saved.store(out, "battleship tournament checkpoint");
+            }
+            Files.move(temporary, checkpoint, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * This method saves the checkpoint if it is time to, only one thread saves it
+     */
+    private void checkpointIfDue() {
+        long due = nextCheckpoint.get();
+        long now = System.nanoTime();
+        if (now - due >= 0 && nextCheckpoint.compareAndSet(due, now + checkpointInterval)) {
+            saveCheckpoint();
+        }
+    }
+
+    /**
+     * This method plays one game
+     *
+     * @param first		the {@link Bot} that moves first
+     * @param second	the {@link Bot} that moves second
+     * @return			0 if the first bot won, 1 otherwise
+     */
+    private int play(Bot first, Bot second) {
+        SimulationView view = new SimulationView(first, second);
+        new GameController(view, rules).run();
+        return view.getWinner();
+    }
+
+    /**
+     * This method returns the index of the result of the pair
+     *
+     * @param a		the first entrant, less than b
+     * @param b		the second entrant
+     * @return		the index in the results
+     */
+    private int pair(int a, int b) {
+        return a * (2 * names.size() - a - 1) / 2 + (b - a - 1);
+    }
+
+    /**
+     * This method returns the key of the pair in the checkpoint
+     *
+     * @param a		the first entrant
+     * @param b		the second entrant
+     * @return		the {@link String} key
+     */
+    private String pairKey(int a, int b) {
+        return names.get(a) + " vs " + names.get(b);
+    }
+
+    /**
+     * This method returns the description of the rules stored in the checkpoint
+     *
+     * @return	the {@link String} description of the rules
+     */
+    private String rulesKey() {
+        return rules.getHeight() + "x" + rules.getWidth() + " " + rules.getFleet();
+    }
+
+    /**
+     * This method packs the wins of both entrants of a pair into one value
+     *
+     * @param first		the wins of the first entrant
+     * @param second	the wins of the second entrant
+     * @return			the packed result
+     */
+    private static long pack(long first, long second) {
+        return first << FIRST_WINS_SHIFT | second;
+    }
+
+    /**
+     * This method returns the number of games in a packed result
+     *
+     * @param result	the packed result
+     * @return			the number of games
+     */
+    private static long games(long result) {
+        return (result >>> FIRST_WINS_SHIFT) + (result & 0xFFFFFFFFL);
+    }
+
+    /**
+     * This method returns the number of games in a matrix of wins
+     *
+     * @param wins	the matrix of wins
+     * @return		the number of games
+     */
+    private static long total(long[][] wins) {
+        long total = 0;
+        for (long[] row : wins) {
+            for (long value : row) {
+                total += value;
+            }
+        }
+        return total;
+    }
+
+    /**
+     * This class is a task that plays a batch of games of a pair
+     */
+    private class Batch extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        // the first entrant
+        private final int a;
+        // the second entrant
+        private final int b;
+        // the number of the first game of the batch, the first entrant moves first in even games
+        private final int from;
+        // the number of the game after the last game of the batch
+        private final int to;
+
+        /**
+         * Constructs a batch
+         *
+         * @param a		the first entrant
+         * @param b		the second entrant
+         * @param from	the number of the first game
+         * @param to	the number of the game after the last game
+         */
+        Batch(int a, int b, int from, int to) {
+            this.a = a;
+            this.b = b;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            long winsOfA = 0;
+            long winsOfB = 0;
+            for (int game = from; game < to; game++) {
+                Bot botA = entrants.get(a).get();
+                Bot botB = entrants.get(b).get();
+                boolean aMovesFirst = game % 2 == 0;
+                int winner = aMovesFirst ? play(botA, botB) : play(botB, botA);
+                if ((winner == 0) == aMovesFirst) {
+                    winsOfA++;
+                } else {
+                    winsOfB++;
+                }
+            }
+            results.addAndGet(pair(a, b), pack(winsOfA, winsOfB));
+            if (checkpoint != null) {
+                checkpointIfDue();
+            }
+        }
+    }
+}
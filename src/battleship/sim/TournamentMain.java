@@ -0,0 +1,84 @@
+package battleship.sim;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import battleship.model.GameRules;
+import battleship.strategy.Bot;
+import battleship.strategy.TranspositionCache;
+
+/**
+ * This class runs a round-robin tournament from the command line:
+ * {@code TournamentMain games entrant entrant [entrant...]}, where games is the number of games
+ * of every pair and an entrant is named as in {@link Bots#byName(String, GameRules)}.
+ * <p>
+ * Options:
+ * <pre>
+ *   --threads count           number of threads (default all processors)
+ *   --size height width fleets  battlefield size and copies of the standard fleet
+ *   --checkpoint file         save the results every minute and resume from the file
+ *   --interval seconds        interval between two checkpoints (default 60)
+ *   --cache megabytes         share a {@link TranspositionCache} of this size between the bots
+ * </pre>
+ */
+public class TournamentMain {
+
+    public static void main(String[] args) throws IOException {
+        int threads = Runtime.getRuntime().availableProcessors();
+        GameRules rules = GameRules.standard();
+        String checkpoint = null;
+        long interval = 60;
+        long cacheMegabytes = 0;
+        List<String> positional = new ArrayList<>();
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--threads":
+                    threads = Integer.parseInt(args[++i]);
+                    break;
+                case "--size":
+                    rules = GameRules.scaled(Integer.parseInt(args[++i]), Integer.parseInt(args[++i]),
+                            Integer.parseInt(args[++i]));
+                    break;
+                case "--checkpoint":
+                    checkpoint = args[++i];
+                    break;
+                case "--interval":
+                    interval = Long.parseLong(args[++i]);
+                    break;
+                case "--cache":
+                    cacheMegabytes = Long.parseLong(args[++i]);
+                    break;
+                default:
+                    positional.add(args[i]);
+            }
+        }
+        if (positional.size() < 3) {
+            System.err.println("Usage: TournamentMain games entrant entrant [entrant...] [--threads count]"
+                    + " [--size height width fleets] [--checkpoint file] [--interval seconds] [--cache megabytes]");
+            System.exit(2);
+        }
+
+        int games = Integer.parseInt(positional.get(0));
+        List<String> names = positional.subList(1, positional.size());
+        TranspositionCache cache = cacheMegabytes > 0 ? new TranspositionCache(cacheMegabytes << 20) : null;
+        List<Supplier<Bot>> entrants = new ArrayList<>();
+        for (String name : names) {
+            entrants.add(Bots.byName(name, rules, cache));
+        }
+
+        Tournament tournament = new Tournament(rules, names, entrants, threads);
+        if (checkpoint != null) {
+            tournament.setCheckpoint(Paths.get(checkpoint), interval);
+        }
+        System.out.printf("%d entrants, %d games per pair on %d threads, %dx%d battlefield with %d ships%n",
+                names.size(), games, threads, rules.getHeight(), rules.getWidth(), rules.getFleet().size());
+        System.out.print(tournament.run(games));
+        if (cache != null) {
+            System.out.println(cache);
+        }
+        tournament.shutdown();
+    }
+}
@@ -0,0 +1,251 @@
+package battleship.sim;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * This class represents the results of a tournament. The ratings are Elo ratings fitted to all
+ * games with the Bradley-Terry model, their mean is 0. Every pair gets half a win on both sides,
+ * so an entrant that never won still has a finite rating. The confidence intervals of the
+ * ratings come from the curvature of the likelihood, the intervals of the scores of the pairs
+ * are Wilson score intervals.
+ */
+public class TournamentReport {
+    // the z-score of the 95% confidence intervals
+    private static final double Z = 1.96;
+    // the number of iterations of the rating fit
+    private static final int ITERATIONS = 10_000;
+    // the fit stops when no rating changes more than this
+    private static final double PRECISION = 1e-9;
+    // converts the natural logarithm of a strength to Elo points
+    private static final double ELO_PER_NEPER = 400 / Math.log(10);
+
+    // the names of the entrants
+    private final List<String> names;
+    // the number of wins of every entrant against every other one
+    private final long[][] wins;
+    // the number of games played by this run, without the games loaded from a checkpoint
+    private final long played;
+    // duration of the run in nanoseconds
+    private final long nanos;
+    // the rating of every entrant
+    private final double[] ratings;
+    // the half width of the 95% confidence interval of every rating
+    private final double[] errors;
+
+    /**
+     * Constructs a report
+     *
+     * @param names		the names of the entrants
+     * @param wins		the matrix where the element {@code [a][b]} is the number of wins of a against b
+     * @param played	the number of games played by this run
+     * @param nanos		duration of the run in nanoseconds
+     */
+    TournamentReport(List<String> names, long[][] wins, long played, long nanos) {
+        this.names = names;
+        this.wins = wins;
+        this.played = played;
+        this.nanos = nanos;
+        this.ratings = new double[names.size()];
+        this.errors = new double[names.size()];
+        fitRatings();
+    }
+
+    /**
+     * This method returns the names of the entrants
+     *
+     * @return	the list of names
+     */
+    public List<String> getNames() {
+        return Collections.unmodifiableList(names);
+    }
+
+    /**
+     * This method returns the Elo rating of the entrant
+     *
+     * @param entrant	the index of the entrant
+     * @return			the rating, the mean rating is 0
+     */
+    public double getRating(int entrant) {
+        return ratings[entrant];
+    }
+
+    /**
+     * This method returns the half width of the 95% confidence interval of the rating
+     *
+     * @param entrant	the index of the entrant
+     * @return			the half width in Elo points
+     */
+    public double getRatingError(int entrant) {
+        return errors[entrant];
+    }
+
+    /**
+     * This method returns the number of wins of an entrant against another one
+     *
+     * @param a		the index of the entrant
+     * @param b		the index of the opponent
+     * @return		the number of wins
+     */
+    public long getWins(int a, int b) {
+        return wins[a][b];
+    }
+
+    /**
+     * This method returns the number of games played by the run per second
+     *
+     * @return	games per second
+     */
+    public double getGamesPerSecond() {
+        return played * 1e9 / nanos;
+    }
+
+    /**
+     * This method returns the lower bound of the 95% Wilson score interval of a share
+     *
+     * @param successes		the number of successes
+     * @param trials		the number of trials
+     * @return				the lower bound, 0 without trials
+     */
+    public static double wilsonLower(long successes, long trials) {
+        return trials == 0 ? 0 : wilsonCenter(successes, trials) - wilsonHalfWidth(successes, trials);
+    }
+
+    /**
+     * This method returns the upper bound of the 95% Wilson score interval of a share
+     *
+     * @param successes		the number of successes
+     * @param trials		the number of trials
+     * @return				the upper bound, 1 without trials
+     */
+    public static double wilsonUpper(long successes, long trials) {
+        return trials == 0 ? 1 : wilsonCenter(successes, trials) + wilsonHalfWidth(successes, trials);
+    }
+
+    /**
+     * This method returns the center of the Wilson score interval
+     *
+     * @param successes		the number of successes
+     * @param trials		the number of trials, positive
+     * @return				the center
+     */
+    private static double wilsonCenter(long successes, long trials) {
+        double share = (double) successes / trials;
+        return (share + Z * Z / (2 * trials)) / (1 + Z * Z / trials);
+    }
+
+    /**
+     * This method returns the half width of the Wilson score interval
+     *
+     * @param successes		the number of successes
+     * @param trials		the number of trials, positive
+     * @return				the half width
+     */
+    private static double wilsonHalfWidth(long successes, long trials) {
+        double share = (double) successes / trials;
+        return Z / (1 + Z * Z / trials) * Math.sqrt(share * (1 - share) / trials + Z * Z / (4.0 * trials * trials));
+    }
+
+    /**
+     * This method fits the ratings with the minorization-maximization algorithm of the
+     * Bradley-Terry model and computes their confidence intervals
+     */
+    private void fitRatings() {
+        int n = names.size();
+        double[] strength = new double[n];
+        Arrays.fill(strength, 1);
+        for (int iteration = 0; iteration < ITERATIONS; iteration++) {
+            double change = 0;
+            for (int a = 0; a < n; a++) {
+                double won = 0;
+                double weight = 0;
+                for (int b = 0; b < n; b++) {
+                    long games = wins[a][b] + wins[b][a];
+                    if (b == a || games == 0) {
+                        continue;
+                    }
+                    won += wins[a][b] + 0.5;
+                    weight += (games + 1) / (strength[a] + strength[b]);
+                }
+                double updated = weight > 0 ? won / weight : strength[a];
+                change = Math.max(change, Math.abs(Math.log(updated / strength[a])));
+                strength[a] = updated;
+            }
+            normalize(strength);
+            if (change < PRECISION) {
+                break;
+            }
+        }
+
+        for (int a = 0; a < n; a++) {
+            ratings[a] = ELO_PER_NEPER * Math.log(strength[a]);
+            double information = 0;
+            for (int b = 0; b < n; b++) {
+                long games = wins[a][b] + wins[b][a];
+                if (b != a && games > 0) {
+                    double expected = strength[a] / (strength[a] + strength[b]);
+                    information += (games + 1) * expected * (1 - expected);
+                }
+            }
+            errors[a] = information > 0 ? Z * ELO_PER_NEPER / Math.sqrt(information) : Double.POSITIVE_INFINITY;
+        }
+    }
+
+    /**
+     * This method scales the strengths so that their geometric mean is 1, the mean rating is then 0
+     *
+     * @param strength	the strengths
+     */
+    private static void normalize(double[] strength) {
+        double logSum = 0;
+        for (double value : strength) {
+            logSum += Math.log(value);
+        }
+        double scale = Math.exp(-logSum / strength.length);
+        for (int i = 0; i < strength.length; i++) {
+            strength[i] *= scale;
+        }
+    }
+
+    @Override
+    public String toString() {
+        int n = names.size();
+        List<Integer> order = new ArrayList<>();
+        int width = 8;
+        for (int a = 0; a < n; a++) {
+            order.add(a);
+            width = Math.max(width, names.get(a).length());
+        }
+        order.sort((a, b) -> Double.compare(ratings[b], ratings[a]));
+
+        StringBuilder report = new StringBuilder();
+        report.append(String.format("games played:     %d%n", played));
+        report.append(String.format("games per second: %.1f%n%n", getGamesPerSecond()));
+        report.append(String.format("rank  %-" + width + "s  %8s  %8s  %8s  %7s%n", "entrant", "elo", "95% ci", "games", "score"));
+        for (int rank = 0; rank < n; rank++) {
+            int a = order.get(rank);
+            long won = 0;
+            long games = 0;
+            for (int b = 0; b < n; b++) {
+                won += wins[a][b];
+                games += wins[a][b] + wins[b][a];
+            }
+            report.append(String.format("%4d  %-" + width + "s  %+8.1f  %8s  %8d  %6.2f%%%n", rank + 1, names.get(a),
+                    ratings[a], String.format("+-%.1f", errors[a]), games, games == 0 ? 0 : won * 100.0 / games));
+        }
+        report.append(String.format("%n"));
+        for (int i = 0; i < n; i++) {
+            for (int j = i + 1; j < n; j++) {
+                int a = order.get(i);
+                int b = order.get(j);
+                long games = wins[a][b] + wins[b][a];
+                report.append(String.format("%" + width + "s vs %-" + width + "s  %6.2f%%  (%.2f%% - %.2f%%) of %d games%n",
+                        names.get(a), names.get(b), games == 0 ? 0 : wins[a][b] * 100.0 / games,
+                        wilsonLower(wins[a][b], games) * 100, wilsonUpper(wins[a][b], games) * 100, games));
+            }
+        }
+        return report.toString();
+    }
+}
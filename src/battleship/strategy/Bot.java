@@ -0,0 +1,40 @@
+package battleship.strategy;
+
+/**
+ * This class represents a computer player that places ships and shoots according to its strategies
+ */
+public class Bot {
+    // the strategy of the ship placement
+    private final PlacementStrategy placementStrategy;
+    // the strategy of the shooting
+    private final ShotStrategy shotStrategy;
+
+    /**
+     * Constructs a bot
+     *
+     * @param placementStrategy	the {@link PlacementStrategy}
+     * @param shotStrategy		the {@link ShotStrategy}
+     */
+    public Bot(PlacementStrategy placementStrategy, ShotStrategy shotStrategy) {
+        this.placementStrategy = placementStrategy;
+        this.shotStrategy = shotStrategy;
+    }
+
+    /**
+     * This method returns the strategy of the ship placement
+     *
+     * @return	the {@link PlacementStrategy}
+     */
+    public PlacementStrategy getPlacementStrategy() {
+        return placementStrategy;
+    }
+
+    /**
+     * This method returns the strategy of the shooting
+     *
+     * @return	the {@link ShotStrategy}
+     */
+    public ShotStrategy getShotStrategy() {
+        return shotStrategy;
+    }
+}
@@ -0,0 +1,57 @@
+package battleship.strategy;
+
+import battleship.model.Coordinate;
+import battleship.model.Coordinates;
+import battleship.model.ShotResult;
+import battleship.model.field.BoardView;
+
+/**
+ * This class looks up the shot of a strategy in a {@link TranspositionCache} before it asks the
+ * strategy. It suits only strategies whose shot depends on nothing but the marks and the sunk
+ * ships of the enemy's battlefield: the strategy still receives every shot result, but it is not
+ * asked for the shots that are found in the cache. The shots of a salvo are not cached.
+ */
+public class CachingShotStrategy implements ShotStrategy {
+    // the strategy that chooses the shots that are not cached
+    private final ShotStrategy strategy;
+    // the cache
+    private final TranspositionCache cache;
+    // mixed into the hash to tell the strategies and the rules that share the cache apart
+    private final long salt;
+
+    /**
+     * Constructs the strategy
+     *
+     * @param strategy	the {@link ShotStrategy} that chooses the shots that are not cached
+     * @param cache		the {@link TranspositionCache}
+     * @param salt		a value that is different for every strategy and rules sharing the cache
+     */
+    public CachingShotStrategy(ShotStrategy strategy, TranspositionCache cache, long salt) {
+        this.strategy = strategy;
+        this.cache = cache;
+        this.salt = salt;
+    }
+
+    @Override
+    public Coordinate nextShot(BoardView enemyBattlefield) {
+        long key = enemyBattlefield.getZobristHash() ^ salt;
+        int cell = cache.get(key);
+        Coordinates coordinates = Coordinates.of(enemyBattlefield.getHeight(), enemyBattlefield.getWidth());
+        if (cell >= 0) {
+            return coordinates.get(cell);
+        }
+        Coordinate shot = strategy.nextShot(enemyBattlefield);
+        cache.put(key, coordinates.cellOf(shot));
+        return shot;
+    }
+
+    @Override
+    public void nextShots(BoardView enemyBattlefield, Coordinate[] shots, int count) {
+        strategy.nextShots(enemyBattlefield, shots, count);
+    }
+
+    @Override
+    public void shotResult(Coordinate coordinate, ShotResult shotResult) {
+        strategy.shotResult(coordinate, shotResult);
+    }
+}
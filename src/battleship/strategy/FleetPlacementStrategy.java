@@ -0,0 +1,54 @@
+package battleship.strategy;
+
+import battleship.model.Coordinate;
+import battleship.model.GameRules;
+import battleship.model.field.BoardView;
+import battleship.model.ship.ShipType;
+
+/**
+ * This class places the ships of a random legal fleet made by a {@link SequentialFleetGenerator}.
+ * The fleets are not drawn uniformly from all legal fleets, see the generator for the bias.
+ * The whole fleet is generated when the first ship is requested, the ships must be requested
+ * in the order of the fleet of the rules the generator was made for.
+ */
+public class FleetPlacementStrategy implements PlacementStrategy {
+    // the generator of the fleets
+    private final SequentialFleetGenerator generator;
+    // the ship types of the fleet
+    private final ShipType[] types;
+    // the coordinates of the ships of the current fleet
+    private Coordinate[][] fleet;
+    // index of the next ship of the current fleet
+    private int next;
+
+    /**
+     * Constructs a strategy with an own generator
+     *
+     * @param rules		the {@link GameRules} of the game
+     */
+    public FleetPlacementStrategy(GameRules rules) {
+        this(new SequentialFleetGenerator(rules));
+    }
+
+    /**
+     * Constructs a strategy that uses the generator, the generator must not be used by another thread
+     *
+     * @param generator		the {@link SequentialFleetGenerator}
+     */
+    public FleetPlacementStrategy(SequentialFleetGenerator generator) {
+        this.generator = generator;
+        this.types = generator.getFleet();
+    }
+
+    @Override
+    public Coordinate[] shipCoordinates(ShipType shipType, BoardView battlefield) {
+        if (fleet == null || next == fleet.length || types[next] != shipType) {
+            fleet = generator.nextFleet();
+            next = 0;
+            while (next < types.length - 1 && types[next] != shipType) {
+                next++;
+            }
+        }
+        return fleet[next++];
+    }
+}
@@ -0,0 +1,99 @@
+package battleship.strategy;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.ThreadLocalRandom;
+
+import battleship.model.Coordinate;
+import battleship.model.Coordinates;
+import battleship.model.ShotResult;
+import battleship.model.field.BoardView;
+import battleship.model.field.Mark;
+
+/**
+ * This class hunts at random cells of a checkerboard pattern until it hits a ship,
+ * then it targets the neighbouring cells until the ship sinks
+ */
+public class HuntTargetShotStrategy implements ShotStrategy {
+    // cells next to the hits that have not been shot yet
+    private final Deque<Coordinate> targets = new ArrayDeque<>();
+    // the coordinates of the enemy's battlefield
+    private Coordinates coordinates;
+
+    @Override
+    public Coordinate nextShot(BoardView enemyBattlefield) {
+        coordinates = Coordinates.of(enemyBattlefield.getHeight(), enemyBattlefield.getWidth());
+        while (!targets.isEmpty()) {
+            Coordinate target = targets.pop();
+            if (enemyBattlefield.markAt(target.getVertical(), target.getHorizontal()) == Mark.FOG) {
+                return target;
+            }
+        }
+        return hunt(enemyBattlefield);
+    }
+
+    @Override
+    public void shotResult(Coordinate coordinate, ShotResult shotResult) {
+        switch (shotResult) {
+            case HIT:
+                pushTarget(coordinate.getVertical() - 1, coordinate.getHorizontal());
+                pushTarget(coordinate.getVertical() + 1, coordinate.getHorizontal());
+                pushTarget(coordinate.getVertical(), coordinate.getHorizontal() - 1);
+                pushTarget(coordinate.getVertical(), coordinate.getHorizontal() + 1);
+                break;
+            case SANK:
+                targets.clear();
+                break;
+            case MISS:
+        }
+    }
+
+    /**
+     * This method adds the cell to the targets if it is on the battlefield
+     *
+     * @param vertical		the row of the cell
+     * @param horizontal	the column of the cell
+     */
+    private void pushTarget(int vertical, int horizontal) {
+        if (coordinates.contains(vertical, horizontal)) {
+            targets.push(coordinates.get(coordinates.cellOf(vertical, horizontal)));
+        }
+    }
+
+    /**
+     * This method chooses a random cell of the checkerboard pattern that has not been shot yet,
+     * or any cell if the pattern is exhausted
+     *
+     * @param enemyBattlefield	the {@link BoardView} of the enemy's battlefield under fog
+     * @return					the {@link Coordinate} of the shot
+     */
+    private Coordinate hunt(BoardView enemyBattlefield) {
+        int height = enemyBattlefield.getHeight();
+        int width = enemyBattlefield.getWidth();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+
+        for (int parity = 0; parity < 2; parity++) {
+            int fog = 0;
+            for (int i = 0; i < height; i++) {
+                for (int j = 0; j < width; j++) {
+                    if ((i + j) % 2 == parity && enemyBattlefield.markAt(i, j) == Mark.FOG) {
+                        fog++;
+                    }
+                }
+            }
+            if (fog == 0) {
+                continue;
+            }
+
+            int target = random.nextInt(fog);
+            for (int i = 0; i < height; i++) {
+                for (int j = 0; j < width; j++) {
+                    if ((i + j) % 2 == parity && enemyBattlefield.markAt(i, j) == Mark.FOG && target-- == 0) {
+                        return coordinates.get(coordinates.cellOf(i, j));
+                    }
+                }
+            }
+        }
+        throw new IllegalStateException("There are no cells left to shoot at.");
+    }
+}
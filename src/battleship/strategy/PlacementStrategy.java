@@ -0,0 +1,20 @@
+package battleship.strategy;
+
+import battleship.model.Coordinate;
+import battleship.model.field.BoardView;
+import battleship.model.ship.ShipType;
+
+/**
+ * This interface contains the methods required to implement a ship placement strategy
+ */
+public interface PlacementStrategy {
+    /**
+     * This method chooses the coordinates of the ship. The coordinates may be rejected
+     * if the ship is too close to another one, the method is then called again.
+     *
+     * @param shipType		the {@link ShipType}
+     * @param battlefield	the {@link BoardView} of the player's battlefield
+     * @return				the {@link Coordinate} array with the coordinates of the ship in ascending order
+     */
+    Coordinate[] shipCoordinates(ShipType shipType, BoardView battlefield);
+}
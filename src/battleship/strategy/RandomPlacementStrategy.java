@@ -0,0 +1,39 @@
+package battleship.strategy;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+import battleship.model.Coordinate;
+import battleship.model.Coordinates;
+import battleship.model.field.BoardView;
+import battleship.model.field.Mark;
+import battleship.model.ship.ShipType;
+
+/**
+ * This class places every ship at a random position and orientation on free cells
+ */
+public class RandomPlacementStrategy implements PlacementStrategy {
+
+    @Override
+    public Coordinate[] shipCoordinates(ShipType shipType, BoardView battlefield) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int height = battlefield.getHeight();
+        int width = battlefield.getWidth();
+        Coordinates cells = Coordinates.of(height, width);
+        Coordinate[] coordinates = new Coordinate[shipType.getSize()];
+
+        while (true) {
+            boolean vertical = random.nextBoolean();
+            int row = random.nextInt(vertical ? height - coordinates.length + 1 : height);
+            int column = random.nextInt(vertical ? width : width - coordinates.length + 1);
+
+            boolean free = true;
+            for (int i = 0; i < coordinates.length && free; i++) {
+                coordinates[i] = vertical ? cells.get(row + i, column) : cells.get(row, column + i);
+                free = battlefield.markAt(coordinates[i].getVertical(), coordinates[i].getHorizontal()) == Mark.FOG;
+            }
+            if (free) {
+                return coordinates;
+            }
+        }
+    }
+}
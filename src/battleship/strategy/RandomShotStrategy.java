@@ -0,0 +1,39 @@
+package battleship.strategy;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+import battleship.model.Coordinate;
+import battleship.model.Coordinates;
+import battleship.model.ShotResult;
+import battleship.model.field.BoardView;
+import battleship.model.field.Mark;
+
+/**
+ * This class shoots at a random cell that has not been shot yet
+ */
+public class RandomShotStrategy implements ShotStrategy {
+
+    @Override
+    public Coordinate nextShot(BoardView enemyBattlefield) {
+        int width = enemyBattlefield.getWidth();
+        int fog = 0;
+        for (int i = 0; i < enemyBattlefield.getHeight(); i++) {
+            for (int j = 0; j < width; j++) {
+                if (enemyBattlefield.markAt(i, j) == Mark.FOG) {
+                    fog++;
+                }
+            }
+        }
+
+        int target = ThreadLocalRandom.current().nextInt(fog);
+        for (int i = 0; ; i++) {
+            if (enemyBattlefield.markAt(i / width, i % width) == Mark.FOG && target-- == 0) {
+                return Coordinates.of(enemyBattlefield.getHeight(), width).get(i);
+            }
+        }
+    }
+
+    @Override
+    public void shotResult(Coordinate coordinate, ShotResult shotResult) {
+    }
+}
@@ -0,0 +1,83 @@
+package battleship.strategy;
+
+import battleship.model.field.Bitboard;
+import battleship.model.field.BoardView;
+import battleship.model.field.Mark;
+
+/**
+ * This class is a {@link BoardView} of the enemy's battlefield that shows the shots already chosen
+ * for a salvo as misses, so a strategy that chooses one shot at a time does not choose a cell twice.
+ * The chosen cells are kept in a {@link Bitboard}, a view is reused by its thread for every salvo.
+ */
+class SalvoBoardView implements BoardView {
+    // the view of every thread, it is reused for the salvos the thread chooses
+    private static final ThreadLocal<SalvoBoardView> VIEWS = ThreadLocal.withInitial(SalvoBoardView::new);
+
+    // the enemy's battlefield under fog
+    private BoardView battlefield;
+    // the cells chosen for the salvo
+    private Bitboard chosen = new Bitboard(0);
+
+    private SalvoBoardView() {
+    }
+
+    /**
+     * This method returns the view of the thread for a new salvo, no cell has been chosen yet
+     *
+     * @param battlefield	the {@link BoardView} of the enemy's battlefield under fog
+     * @return				the {@link SalvoBoardView}
+     */
+    static SalvoBoardView of(BoardView battlefield) {
+        SalvoBoardView view = VIEWS.get();
+        int size = battlefield.getHeight() * battlefield.getWidth();
+        if (view.chosen.size() < size) {
+            view.chosen = new Bitboard(size);
+        } else {
+            view.chosen.clear();
+        }
+        view.battlefield = battlefield;
+        return view;
+    }
+
+    /**
+     * This method adds a cell to the shots chosen for the salvo
+     *
+     * @param cell	the cell index, {@code vertical * width + horizontal}
+     */
+    void choose(int cell) {
+        chosen.set(cell);
+    }
+
+    /**
+     * This method counts the fogged cells that have not been chosen, up to the limit, so a salvo
+     * on a large battlefield does not read all of it
+     *
+     * @param limit		the largest count that is needed
+     * @return			the number of fogged cells, at most the limit
+     */
+    int countFog(int limit) {
+        int fog = 0;
+        int cells = getHeight() * getWidth();
+        for (int i = 0; i < cells && fog < limit; i++) {
+            if (markAt(i / getWidth(), i % getWidth()) == Mark.FOG) {
+                fog++;
+            }
+        }
+        return fog;
+    }
+
+    @Override
+    public int getHeight() {
+        return battlefield.getHeight();
+    }
+
+    @Override
+    public int getWidth() {
+        return battlefield.getWidth();
+    }
+
+    @Override
+    public Mark markAt(int vertical, int horizontal) {
+        return chosen.get(vertical * getWidth() + horizontal) ? Mark.MISS : battlefield.markAt(vertical, horizontal);
+    }
+}
@@ -0,0 +1,354 @@
+package battleship.strategy;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import battleship.model.Coordinate;
+import battleship.model.Coordinates;
+import battleship.model.GameRules;
+import battleship.model.ship.ShipType;
+
+/**
+ * This class generates random legal fleets: no two ships overlap or touch, even diagonally.
+ * <p>
+ * For every ship length and orientation the generator keeps a bitmap of the cells where a ship
+ * can still start, together with the number of these cells. The longest ships are placed first,
+ * every ship is drawn uniformly from the positions that are still legal, and the area around the
+ * new ship is cleared from the positions of all lengths. No position is ever drawn and rejected.
+ * In the rare case that a ship has no legal position left, the fleet is started again.
+ * <p>
+ * The ships are drawn one after another, so the fleets are not uniform over all legal fleets: a fleet
+ * is drawn more often when its first ships leave fewer positions to the others. A ship along an edge
+ * blocks fewer cells than a ship in the middle, so the fleets put fewer ships along the edges, on the
+ * standard battlefield about 32% of the ship cells are on an edge instead of 38% in uniform fleets.
+ * Uniform fleets could be drawn by rejecting whole fleets, but only about one fleet in twenty is legal
+ * on the standard battlefield and almost none with several fleets on a larger battlefield.
+ * <p>
+ * Every row of a bitmap starts in a new {@code long} word, so the area around a ship is cleared
+ * with one mask per row, a single word on a battlefield up to 64 cells wide.
+ * A generator is not thread-safe, every thread needs its own.
+ */
+public class SequentialFleetGenerator {
+    // the number of times a fleet is started again before the generator gives up
+    private static final int MAX_ATTEMPTS = 1000;
+
+    // battlefield height
+    private final int height;
+    // battlefield width
+    private final int width;
+    // number of words in a row of a bitmap
+    private final int rowWords;
+    // the ship types of the fleet
+    private final ShipType[] fleet;
+    // indices of the ships of the fleet from the longest to the shortest
+    private final int[] order;
+    // the distinct ship lengths
+    private final int[] lengths;
+    // the index in lengths of every ship of the fleet
+    private final int[] slots;
+    // the number of ships of every length in the fleet
+    private final int[] shipCounts;
+    // the number of ships of every length that are not placed yet
+    private final int[] remaining;
+    // the horizontal start positions of every length on an empty battlefield
+    private final long[][] horizontalTemplates;
+    // the vertical start positions of every length on an empty battlefield
+    private final long[][] verticalTemplates;
+    // the horizontal start positions of every length that are still legal
+    private final long[][] horizontal;
+    // the vertical start positions of every length that are still legal
+    private final long[][] vertical;
+    // the number of horizontal start positions of every length that are still legal
+    private final int[] horizontalCounts;
+    // the number of vertical start positions of every length that are still legal
+    private final int[] verticalCounts;
+    // the source of random numbers
+    private final SplittableRandom random;
+
+    /**
+     * Constructs a generator with a random seed
+     *
+     * @param rules		the {@link GameRules} with the battlefield size and the fleet
+     */
+    public SequentialFleetGenerator(GameRules rules) {
+        this(rules, new SplittableRandom());
+    }
+
+    /**
+     * Constructs a generator
+     *
+     * @param rules		the {@link GameRules} with the battlefield size and the fleet
+     * @param random	the {@link SplittableRandom} source of random numbers
+     */
+    public SequentialFleetGenerator(GameRules rules, SplittableRandom random) {
+        this.height = rules.getHeight();
+        this.width = rules.getWidth();
+        this.rowWords = (width + Long.SIZE - 1) / Long.SIZE;
+        this.random = random;
+
+        List<ShipType> types = rules.getFleet();
+        this.fleet = types.toArray(new ShipType[0]);
+        this.order = new int[fleet.length];
+        this.slots = new int[fleet.length];
+        int[] distinct = new int[fleet.length];
+        int count = 0;
+        for (int i = 0; i < fleet.length; i++) {
+            int length = fleet[i].getSize();
+            int slot = 0;
+            while (slot < count && distinct[slot] != length) {
+                slot++;
+            }
+            if (slot == count) {
+                distinct[count++] = length;
+            }
+            slots[i] = slot;
+        }
+        this.lengths = Arrays.copyOf(distinct, count);
+        this.shipCounts = new int[count];
+        for (int slot : slots) {
+            shipCounts[slot]++;
+        }
+        this.remaining = new int[count];
+
+        // a stable insertion sort of the ships by length, the longest first
+        for (int i = 0; i < fleet.length; i++) {
+            int j = i;
+            while (j > 0 && fleet[order[j - 1]].getSize() < fleet[i].getSize()) {
+                order[j] = order[j - 1];
+                j--;
+            }
+            order[j] = i;
+        }
+
+        int words = height * rowWords;
+        this.horizontalTemplates = new long[count][words];
+        this.verticalTemplates = new long[count][words];
+        this.horizontal = new long[count][words];
+        this.vertical = new long[count][words];
+        this.horizontalCounts = new int[count];
+        this.verticalCounts = new int[count];
+        for (int slot = 0; slot < count; slot++) {
+            int length = lengths[slot];
+            for (int row = 0; row < height; row++) {
+                if (length <= width) {
+                    setRow(horizontalTemplates[slot], row, width - length + 1);
+                }
+                if (row + length <= height) {
+                    setRow(verticalTemplates[slot], row, width);
+                }
+            }
+        }
+    }
+
+    /**
+     * This method generates a fleet. The placement of every ship is written in the order of the fleet
+     * as {@code cell << 1 | 1 if vertical}, where the cell {@code row * width + column} is the first cell
+     * of the ship, the top one or the left one.
+     *
+     * @param placements				the array for the placements, at least as long as the fleet
+     * @throws IllegalStateException	if the fleet does not fit on the battlefield
+     */
+    public void next(int[] placements) throws IllegalStateException {
+        for (int attempt = 0; attempt < MAX_ATTEMPTS; attempt++) {
+            if (tryNext(placements)) {
+                return;
+            }
+        }
+        throw new IllegalStateException("The fleet does not fit on the battlefield.");
+    }
+
+    /**
+     * This method generates a fleet
+     *
+     * @return							the {@link Coordinate} arrays of the ships in the order of the fleet,
+     * 									the coordinates of a ship are in ascending order
+     * @throws IllegalStateException	if the fleet does not fit on the battlefield
+     */
+    public Coordinate[][] nextFleet() throws IllegalStateException {
+        int[] placements = new int[fleet.length];
+        next(placements);
+        Coordinates coordinates = Coordinates.of(height, width);
+        Coordinate[][] ships = new Coordinate[fleet.length][];
+        for (int i = 0; i < fleet.length; i++) {
+            int cell = placements[i] >>> 1;
+            int step = (placements[i] & 1) != 0 ? width : 1;
+            ships[i] = new Coordinate[fleet[i].getSize()];
+            for (int j = 0; j < ships[i].length; j++) {
+                ships[i][j] = coordinates.get(cell + j * step);
+            }
+        }
+        return ships;
+    }
+
+    /**
+     * This method returns the ship types of the fleet
+     *
+     * @return	the {@link ShipType} array in the order of the fleet
+     */
+    public ShipType[] getFleet() {
+        return fleet.clone();
+    }
+
+    /**
+     * This method tries to place the whole fleet once
+     *
+     * @param placements	the array for the placements
+     * @return				true if every ship has been placed, false if a ship had no legal position
+     */
+    private boolean tryNext(int[] placements) {
+        for (int slot = 0; slot < lengths.length; slot++) {
+            long[] horizontalTemplate = horizontalTemplates[slot];
+            long[] verticalTemplate = verticalTemplates[slot];
+            long[] horizontalBits = horizontal[slot];
+            long[] verticalBits = vertical[slot];
+            for (int i = 0; i < horizontalBits.length; i++) {
+                horizontalBits[i] = horizontalTemplate[i];
+                verticalBits[i] = verticalTemplate[i];
+            }
+            horizontalCounts[slot] = height * Math.max(width - lengths[slot] + 1, 0);
+            verticalCounts[slot] = Math.max(height - lengths[slot] + 1, 0) * width;
+            remaining[slot] = shipCounts[slot];
+        }
+
+        for (int ship : order) {
+            int slot = slots[ship];
+            int count = horizontalCounts[slot] + verticalCounts[slot];
+            if (count == 0) {
+                return false;
+            }
+            int rank = random.nextInt(count);
+            boolean isVertical = rank >= horizontalCounts[slot];
+            int cell = isVertical
+                    ? select(vertical[slot], rank - horizontalCounts[slot])
+                    : select(horizontal[slot], rank);
+            placements[ship] = cell << 1 | (isVertical ? 1 : 0);
+            remaining[slot]--;
+            block(cell / width, cell % width, fleet[ship].getSize(), isVertical);
+        }
+        return true;
+    }
+
+    /**
+     * This method removes the positions that touch the new ship, only for the lengths of the ships
+     * that are not placed yet
+     *
+     * @param row			the row of the first cell of the ship
+     * @param column		the column of the first cell of the ship
+     * @param length		the length of the ship
+     * @param isVertical	true if the ship is vertical
+     */
+    private void block(int row, int column, int length, boolean isVertical) {
+        // the ship with the cells around it
+        int top = Math.max(row - 1, 0);
+        int bottom = Math.min(row + (isVertical ? length : 1), height - 1);
+        int left = Math.max(column - 1, 0);
+        int right = Math.min(column + (isVertical ? 1 : length), width - 1);
+
+        for (int slot = 0; slot < lengths.length; slot++) {
+            if (remaining[slot] == 0) {
+                continue;
+            }
+            int reach = lengths[slot] - 1;
+            // a horizontal ship must not start in a row of the area up to its length to the left of it,
+            // a vertical ship must not start in a column of the area up to its length above it
+            int from = Math.max(left - reach, 0);
+            int above = Math.max(top - reach, 0);
+            if (rowWords == 1) {
+                long horizontalMask = (-1L << from) & (-1L >>> (63 - right));
+                long verticalMask = (-1L << left) & (-1L >>> (63 - right));
+                long[] bits = horizontal[slot];
+                int cleared = 0;
+                for (int i = top; i <= bottom; i++) {
+                    cleared += Long.bitCount(bits[i] & horizontalMask);
+                    bits[i] &= ~horizontalMask;
+                }
+                horizontalCounts[slot] -= cleared;
+                bits = vertical[slot];
+                cleared = 0;
+                for (int i = above; i <= bottom; i++) {
+                    cleared += Long.bitCount(bits[i] & verticalMask);
+                    bits[i] &= ~verticalMask;
+                }
+                verticalCounts[slot] -= cleared;
+            } else {
+                for (int i = top; i <= bottom; i++) {
+                    horizontalCounts[slot] -= clearRow(horizontal[slot], i, from, right);
+                }
+                for (int i = above; i <= bottom; i++) {
+                    verticalCounts[slot] -= clearRow(vertical[slot], i, left, right);
+                }
+            }
+        }
+    }
+
+    /**
+     * This method sets the first cells of a row of a bitmap
+     *
+     * @param bits		the bitmap
+     * @param row		the row
+     * @param count		the number of cells to set
+     */
+    private void setRow(long[] bits, int row, int count) {
+        for (int column = 0; column < count; column++) {
+            bits[row * rowWords + (column >>> 6)] |= 1L << column;
+        }
+    }
+
+    /**
+     * This method clears the columns of a row of a bitmap
+     *
+     * @param bits		the bitmap
+     * @param row		the row
+     * @param from		the first column
+     * @param to		the last column
+     * @return			the number of cells that were set before
+     */
+    private int clearRow(long[] bits, int row, int from, int to) {
+        int cleared = 0;
+        int last = to >>> 6;
+        for (int word = from >>> 6; word <= last; word++) {
+            long mask = -1L;
+            if (word == from >>> 6) {
+                mask &= -1L << from;
+            }
+            if (word == last) {
+                mask &= -1L >>> (63 - (to & 63));
+            }
+            int index = row * rowWords + word;
+            cleared += Long.bitCount(bits[index] & mask);
+            bits[index] &= ~mask;
+        }
+        return cleared;
+    }
+
+    /**
+     * This method finds the set cell of a bitmap with the specified rank,
+     * the set cells are ranked from zero in the order of their rows and columns
+     *
+     * @param bits	the bitmap
+     * @param rank	the rank of the cell
+     * @return		the cell {@code row * width + column}
+     */
+    private int select(long[] bits, int rank) {
+        int word = 0;
+        int count = Long.bitCount(bits[0]);
+        while (rank >= count) {
+            rank -= count;
+            count = Long.bitCount(bits[++word]);
+        }
+
+        // halve the word until the cell is found
+        long bitsLeft = bits[word];
+        int bit = 0;
+        for (int half = 32; half > 0; half >>>= 1) {
+            int lower = Long.bitCount(bitsLeft & ((1L << half) - 1));
+            if (rank >= lower) {
+                rank -= lower;
+                bit += half;
+                bitsLeft >>>= half;
+            }
+        }
+        return (word / rowWords) * width + (word % rowWords) * Long.SIZE + bit;
+    }
+}
@@ -0,0 +1,48 @@
+package battleship.strategy;
+
+import battleship.model.Coordinate;
+import battleship.model.Coordinates;
+import battleship.model.ShotResult;
+import battleship.model.field.BoardView;
+
+/**
+ * This interface contains the methods required to implement a shooting strategy.
+ * An instance plays one game and may keep state between the shots.
+ */
+public interface ShotStrategy {
+    /**
+     * This method chooses the coordinate of the next shot
+     *
+     * @param enemyBattlefield	the {@link BoardView} of the enemy's battlefield under fog
+     * @return					the {@link Coordinate} of the shot
+     */
+    Coordinate nextShot(BoardView enemyBattlefield);
+
+    /**
+     * This method chooses the coordinates of the shots of a salvo, all of them before any result
+     * is known. By default the shots are chosen one after another by {@link #nextShot}, the cells
+     * already chosen look like misses to it. If fewer cells are left than the salvo has shots, the
+     * first shot is repeated. The results are received by {@link #shotResult} in the order of the shots.
+     *
+     * @param enemyBattlefield	the {@link BoardView} of the enemy's battlefield under fog
+     * @param shots				the {@link Coordinate} array the shots are written to
+     * @param count				the number of shots of the salvo
+     */
+    default void nextShots(BoardView enemyBattlefield, Coordinate[] shots, int count) {
+        SalvoBoardView battlefield = SalvoBoardView.of(enemyBattlefield);
+        Coordinates coordinates = Coordinates.of(enemyBattlefield.getHeight(), enemyBattlefield.getWidth());
+        int fog = battlefield.countFog(count);
+        for (int i = 0; i < count; i++) {
+            shots[i] = i < Math.max(fog, 1) ? nextShot(battlefield) : shots[0];
+            battlefield.choose(coordinates.cellOf(shots[i]));
+        }
+    }
+
+    /**
+     * This method receives the result of the last shot
+     *
+     * @param coordinate	the {@link Coordinate} of the shot
+     * @param shotResult	the {@link ShotResult}
+     */
+    void shotResult(Coordinate coordinate, ShotResult shotResult);
+}
@@ -0,0 +1,204 @@
+package battleship.strategy;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * This class is a bounded cache of the shots chosen by strategies, keyed by the Zobrist hash of the
+ * state of the enemy's battlefield. It is shared by the threads of a simulation without locks.
+ * <p>
+ * The entries are kept in buckets of four slots, the hash chooses the bucket. A slot stores the
+ * key exclusive-ored with the value next to the value, so a reader that races with a writer sees
+ * a key that does not match instead of a wrong shot. A full bucket evicts with the CLOCK algorithm:
+ * every hit sets the reference bit of the slot, the insertion takes the first slot from the hand
+ * whose bit is clear and clears the bits it passes.
+ */
+public class TranspositionCache {
+    // the number of slots in a bucket
+    private static final int BUCKET_SIZE = 4;
+    // the memory taken by a slot: the key, the value and the reference bit
+    private static final int SLOT_BYTES = 2 * Long.BYTES + 1;
+
+    // the keys exclusive-ored with the values
+    private final AtomicLongArray keys;
+    // the values plus one, zero in an empty slot
+    private final AtomicLongArray values;
+    // the reference bits of the slots, a lost update only makes the eviction less precise
+    private final byte[] referenced;
+    // the mask of the bucket number
+    private final int bucketMask;
+    // lookups that found the key
+    private final LongAdder hits = new LongAdder();
+    // lookups that did not find the key
+    private final LongAdder misses = new LongAdder();
+    // entries that replaced another entry
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * Constructs a cache that takes at most the specified memory
+     *
+     * @param maxBytes	the memory cap in bytes, at least one bucket is allocated
+     */
+    public TranspositionCache(long maxBytes) {
+        long buckets = Math.max(maxBytes / (SLOT_BYTES * BUCKET_SIZE), 1);
+        int bucketCount = (int) Long.highestOneBit(Math.min(buckets, 1 << 26));
+        this.keys = new AtomicLongArray(bucketCount * BUCKET_SIZE);
+        this.values = new AtomicLongArray(bucketCount * BUCKET_SIZE);
+        this.referenced = new byte[bucketCount * BUCKET_SIZE];
+        this.bucketMask = bucketCount - 1;
+    }
+
+    /**
+     * This method returns the value cached for the key
+     *
+     * @param key	the key
+     * @return		the value, -1 if the key is not cached
+     */
+    public int get(long key) {
+        int first = bucket(key);
+        for (int i = first; i < first + BUCKET_SIZE; i++) {
+            long value = values.get(i);
+            if (value != 0 && (keys.get(i) ^ value) == key) {
+                referenced[i] = 1;
+                hits.increment();
+                return (int) (value - 1);
+            }
+        }
+        misses.increment();
+        return -1;
+    }
+
+    /**
+     * This method caches the value for the key
+     *
+     * @param key		the key
+     * @param value		the value, not negative
+     */
+    public void put(long key, int value) {
+        int first = bucket(key);
+        int slot = -1;
+        for (int i = first; i < first + BUCKET_SIZE; i++) {
+            long stored = values.get(i);
+            if (stored == 0 || (keys.get(i) ^ stored) == key) {
+                slot = i;
+                break;
+            }
+        }
+        if (slot < 0) {
+            slot = victim(first, key);
+            evictions.increment();
+        }
+        long stored = value + 1L;
+        // a reader of the old value and the new key sees a mismatch
+        values.set(slot, 0);
+        keys.set(slot, key ^ stored);
+        values.set(slot, stored);
+        referenced[slot] = 0;
+    }
+
+    /**
+     * This method chooses the slot to evict from a full bucket
+     *
+     * @param first		the first slot of the bucket
+     * @param key		the key of the new entry, its bits place the hand
+     * @return			the slot
+     */
+    private int victim(int first, long key) {
+        int hand = (int) (key >>> 62);
+        for (int i = 0; i < BUCKET_SIZE; i++) {
+            int slot = first + ((hand + i) & (BUCKET_SIZE - 1));
+            if (referenced[slot] == 0) {
+                return slot;
+            }
+            referenced[slot] = 0;
+        }
+        return first + hand;
+    }
+
+    /**
+     * This method returns the first slot of the bucket of the key
+     *
+     * @param key	the key
+     * @return		the slot index
+     */
+    private int bucket(long key) {
+        return ((int) key & bucketMask) * BUCKET_SIZE;
+    }
+
+    /**
+     * This method returns the number of slots
+     *
+     * @return	the capacity
+     */
+    public int capacity() {
+        return referenced.length;
+    }
+
+    /**
+     * This method counts the slots in use, it scans the whole cache
+     *
+     * @return	the number of entries
+     */
+    public int size() {
+        int size = 0;
+        for (int i = 0; i < referenced.length; i++) {
+            if (values.get(i) != 0) {
+                size++;
+            }
+        }
+        return size;
+    }
+
+    /**
+     * This method returns the memory taken by the slots
+     *
+     * @return	the number of bytes
+     */
+    public long getMemoryBytes() {
+        return (long) capacity() * SLOT_BYTES;
+    }
+
+    /**
+     * This method returns the number of lookups that found the key
+     *
+     * @return	the number of hits
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * This method returns the number of lookups that did not find the key
+     *
+     * @return	the number of misses
+     */
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * This method returns the number of entries that replaced another entry
+     *
+     * @return	the number of evictions
+     */
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    /**
+     * This method returns the share of the lookups that found the key
+     *
+     * @return	the hit rate from 0 to 1, 0 before the first lookup
+     */
+    public double getHitRate() {
+        long hits = getHits();
+        long lookups = hits + getMisses();
+        return lookups == 0 ? 0 : (double) hits / lookups;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("cache: %d of %d entries, %.1f MB, hit rate %.1f%%, %d evictions",
+                size(), capacity(), getMemoryBytes() / (1024.0 * 1024.0), getHitRate() * 100, getEvictions());
+    }
+}
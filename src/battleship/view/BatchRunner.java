@@ -0,0 +1,108 @@
+package battleship.view;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Stream;
+
+import battleship.controller.GameController;
+import battleship.model.GameRules;
+
+/**
+ * This class plays the games of script files one after another with a {@link BatchView}.
+ * A script file holds any number of games, every game starts where the previous one ended.
+ * Nothing is printed while the games are played, only a line per file and the totals at the end.
+ */
+public class BatchRunner {
+    // the rules of the games
+    private final GameRules rules;
+    // the stream the results are printed to
+    private final PrintStream out;
+    // number of games that were won
+    private long finished;
+    // number of games that were cut off by the end of their script
+    private long unfinished;
+    // number of games won by each player
+    private final long[] wins = new long[2];
+    // number of shots of all games
+    private long shots;
+    // number of commands that were rejected
+    private long rejected;
+
+    /**
+     * Constructs a runner
+     *
+     * @param rules		the {@link GameRules} of the games
+     * @param out		the {@link PrintStream} the results are printed to
+     */
+    public BatchRunner(GameRules rules, PrintStream out) {
+        this.rules = rules;
+        this.out = out;
+    }
+
+    /**
+     * This method plays the games of the script file or of all files in the directory, in the order of their names
+     *
+     * @param path			the {@link Path} of the script file or directory
+     * @throws IOException	if a script could not be read
+     */
+    public void run(Path path) throws IOException {
+        List<Path> scripts = new ArrayList<>();
+        if (Files.isDirectory(path)) {
+            try (Stream<Path> files = Files.list(path)) {
+                files.filter(Files::isRegularFile).forEach(scripts::add);
+            }
+            Collections.sort(scripts);
+        } else {
+            scripts.add(path);
+        }
+
+        long start = System.nanoTime();
+        for (Path script : scripts) {
+            play(script);
+        }
+        long nanos = System.nanoTime() - start;
+
+        out.printf("games:       %d finished, %d unfinished%n", finished, unfinished);
+        out.printf("wins:        Player1 %d, Player2 %d%n", wins[0], wins[1]);
+        out.printf("shots:       %d, %.1f per game%n", shots, finished == 0 ? 0.0 : (double) shots / finished);
+        out.printf("rejected:    %d commands%n", rejected);
+        out.printf("time:        %.3f s, %.0f games per second%n", nanos / 1e9,
+                (finished + unfinished) * 1e9 / Math.max(nanos, 1));
+        out.flush();
+    }
+
+    /**
+     * This method plays the games of one script file
+     *
+     * @param file			the {@link Path} of the script file
+     * @throws IOException	if the script could not be read
+     */
+    private void play(Path file) throws IOException {
+        long games = 0;
+        long start = System.nanoTime();
+        try (ScriptReader script = new ScriptReader(file)) {
+            while (script.hasNextLine()) {
+                BatchView view = new BatchView(script);
+                games++;
+                try {
+                    new GameController(view, rules).run();
+                } catch (IllegalStateException e) {
+                    // the script has ended in the middle of the game
+                    unfinished++;
+                    rejected += view.getRejected();
+                    break;
+                }
+                finished++;
+                wins[view.getWinner()]++;
+                shots += view.getShots(0) + view.getShots(1);
+                rejected += view.getRejected();
+            }
+        }
+        out.printf("%s: %d games in %.3f s%n", file, games, (System.nanoTime() - start) / 1e9);
+    }
+}
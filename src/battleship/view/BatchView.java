@@ -0,0 +1,169 @@
+package battleship.view;
+
+import battleship.controller.GameController;
+import battleship.controller.GameView;
+import battleship.model.Coordinate;
+import battleship.model.ShotResult;
+import battleship.model.Validation;
+import battleship.model.field.BoardView;
+import battleship.model.ship.ShipType;
+
+/**
+ * This class is an implementation of the {@link GameView} that plays a game from a script.
+ * It reads the input of both players from a {@link ScriptReader} like the {@link ConsoleView}
+ * reads it from the console, but it renders nothing and never waits for the move to be passed.
+ * The commands are parsed by a {@link CommandParser} straight from the script, so a move creates
+ * no line and a rejected command throws no exception. A rejected command is counted and the next
+ * one is read, as a player would type it again.
+ */
+public class BatchView implements GameView {
+    // the script of the game
+    private final ScriptReader script;
+    // game controller
+    private GameController controller;
+    // parses the commands of the script, created for the battlefield of the game
+    private CommandParser parser;
+    // index of the player who moves now
+    private int current;
+    // number of shots of each player
+    private final int[] shots;
+    // number of commands that were rejected
+    private int rejected;
+    // index of the winner, -1 while the game goes on
+    private int winner;
+
+    /**
+     * Constructs BatchView
+     *
+     * @param script	the {@link ScriptReader} positioned at the start of the game
+     */
+    public BatchView(ScriptReader script) {
+        this.script = script;
+        this.shots = new int[2];
+        this.winner = -1;
+    }
+
+    @Override
+    public void setController(GameController controller) {
+        this.controller = controller;
+        this.parser = new CommandParser(controller.getRules().getCoordinates());
+    }
+
+    @Override
+    public void showBattlefield(BoardView battlefield) {
+    }
+
+    @Override
+    public void showBattlefields(BoardView enemyBattlefield, BoardView playerBattlefield) {
+    }
+
+    @Override
+    public void showWinner(String playerName) {
+        winner = current;
+    }
+
+    @Override
+    public void showShotResult(ShotResult shotResult) {
+    }
+
+    @Override
+    public void promptForPlayer() {
+        controller.addPlayer("Player1");
+        controller.addPlayer("Player2");
+    }
+
+    @Override
+    public void promptForShipsPlacement(String playerName) {
+    }
+
+    @Override
+    public void promptForShipCoordinates(ShipType shipType) {
+        while (true) {
+            if (nextCommand() == 2) {
+                Coordinate[] shipCoordinates = new Coordinate[shipType.getSize()];
+                if (InputParser.shipCoordinates(parser.getCoordinates(), parser.getCell(0), parser.getCell(1),
+                        shipCoordinates) == Validation.OK
+                        && controller.tryPlaceShip(shipType, shipCoordinates) == Validation.OK) {
+                    return;
+                }
+            }
+            rejected++;
+        }
+    }
+
+    @Override
+    public void promptForAnotherPlayer() {
+        current = 1 - current;
+        controller.switchPlayer();
+    }
+
+    @Override
+    public void promptForShot(String playerName) {
+        // the move passes to the other player when the shot is fired
+        int shooter = current;
+        while (nextCommand() != 1 || controller.tryShot(parser.getCoordinate(0)) != Validation.OK) {
+            rejected++;
+        }
+        shots[shooter]++;
+    }
+
+    @Override
+    public void promptForSalvo(String playerName, int count) {
+        int shooter = current;
+        while (nextCommand() != count
+                || controller.trySalvo(InputParser.salvoCoordinates(parser, count)) != Validation.OK) {
+            rejected++;
+        }
+        shots[shooter] += count;
+    }
+
+    @Override
+    public void showSalvoResults(Coordinate[] coordinates, ShotResult[] shotResults) {
+    }
+
+    /**
+     * This method returns the index of the winner
+     *
+     * @return	0 for the first player, 1 for the second player, -1 if the game is not over
+     */
+    public int getWinner() {
+        return winner;
+    }
+
+    /**
+     * This method returns the number of shots of the player
+     *
+     * @param player	0 for the first player, 1 for the second player
+     * @return			the number of shots
+     */
+    public int getShots(int player) {
+        return shots[player];
+    }
+
+    /**
+     * This method returns the number of commands that were rejected
+     *
+     * @return	the number of commands
+     */
+    public int getRejected() {
+        return rejected;
+    }
+
+    /**
+     * This method parses the next command of the script, empty commands are skipped
+     *
+     * @return							the number of coordinates, {@link CommandParser#MALFORMED}
+     * 									or {@link CommandParser#OUT_OF_BOUNDS}
+     * @throws IllegalStateException	if the script has ended
+     */
+    private int nextCommand() throws IllegalStateException {
+        int result = 0;
+        while (result == 0) {
+            if (!script.hasNextLine()) {
+                throw new IllegalStateException("The script has ended.");
+            }
+            result = script.nextCommand(parser);
+        }
+        return result;
+    }
+}
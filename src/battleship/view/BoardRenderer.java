@@ -0,0 +1,173 @@
+package battleship.view;
+
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import battleship.model.field.BoardView;
+import battleship.model.field.Mark;
+
+/**
+ * This class draws battlefields into a frame that is written to the output with a single write.
+ * The frame buffer, the column numbering and the row labels are reused between the frames,
+ * so drawing a battlefield of the same size again allocates nothing.
+ */
+public class BoardRenderer {
+    // the end of a line
+    private static final byte[] LINE_SEPARATOR = System.lineSeparator().getBytes(StandardCharsets.US_ASCII);
+    // the signs of the marks by the ordinal of the mark
+    private static final byte[] SIGNS = new byte[Mark.values().length];
+
+    static {
+        for (Mark mark : Mark.values()) {
+            SIGNS[mark.ordinal()] = (byte) mark.getSign();
+        }
+    }
+
+    // the frame that is being drawn
+    private byte[] frame;
+    // the number of bytes in the frame
+    private int length;
+    // battlefield height the numbering and the labels are built for
+    private int height;
+    // battlefield width the numbering and the labels are built for
+    private int width;
+    // the number of characters of a column without the separating space
+    private int cellWidth;
+    // the first line - column numbering
+    private byte[] header;
+    // the row labels padded to the same width, one after another
+    private byte[] labels;
+    // the line between two battlefields
+    private byte[] separator;
+
+    /**
+     * Constructs a renderer
+     */
+    public BoardRenderer() {
+        this.frame = new byte[1024];
+    }
+
+    /**
+     * This method draws the battlefield into the frame
+     *
+     * @param battlefield	the {@link BoardView} of the battlefield
+     */
+    public void drawBattlefield(BoardView battlefield) {
+        prepare(battlefield.getHeight(), battlefield.getWidth());
+        append(header);
+
+        int labelLength = labels.length / height;
+        int rowLength = labelLength + width * (cellWidth + 1) - cellWidth + LINE_SEPARATOR.length;
+        for (int i = 0; i < height; i++) {
+            ensureCapacity(rowLength);
+            System.arraycopy(labels, i * labelLength, frame, length, labelLength);
+            length += labelLength;
+            for (int j = 0; j < width; j++) {
+                frame[length++] = SIGNS[battlefield.markAt(i, j).ordinal()];
+                if (j < width - 1) {
+                    for (int k = 0; k < cellWidth; k++) {
+                        frame[length++] = ' ';
+                    }
+                }
+            }
+            System.arraycopy(LINE_SEPARATOR, 0, frame, length, LINE_SEPARATOR.length);
+            length += LINE_SEPARATOR.length;
+        }
+    }
+
+    /**
+     * This method draws the line between two battlefields into the frame
+     *
+     * @param battlefield	the {@link BoardView} of a battlefield the line is drawn for
+     */
+    public void drawSeparator(BoardView battlefield) {
+        prepare(battlefield.getHeight(), battlefield.getWidth());
+        append(separator);
+    }
+
+    /**
+     * This method writes the frame to the stream and starts a new frame
+     *
+     * @param out	the {@link PrintStream}
+     */
+    public void writeTo(PrintStream out) {
+        out.write(frame, 0, length);
+        length = 0;
+    }
+
+    /**
+     * This method builds the column numbering, the row labels and the separator
+     * unless they have been built for a battlefield of the same size
+     *
+     * @param height	battlefield height
+     * @param width		battlefield width
+     */
+    private void prepare(int height, int width) {
+        if (header != null && this.height == height && this.width == width) {
+            return;
+        }
+        this.height = height;
+        this.width = width;
+        this.cellWidth = width <= 10 ? 1 : String.valueOf(width).length();
+        int labelWidth = RowLabel.width(height);
+
+        StringBuilder line = new StringBuilder();
+        pad(line, labelWidth + 1);
+        for (int i = 1; i <= width; i++) {
+            line.append(i);
+            if (i < width) {
+                pad(line, cellWidth - String.valueOf(i).length() + 1);
+            }
+        }
+        line.append(System.lineSeparator());
+        header = line.toString().getBytes(StandardCharsets.US_ASCII);
+
+        line.setLength(0);
+        for (int i = 0; i < height; i++) {
+            String label = RowLabel.of(i);
+            line.append(label);
+            pad(line, labelWidth - label.length() + 1);
+        }
+        labels = line.toString().getBytes(StandardCharsets.US_ASCII);
+
+        separator = new byte[labelWidth + width * (cellWidth + 1) + LINE_SEPARATOR.length];
+        Arrays.fill(separator, (byte) '-');
+        System.arraycopy(LINE_SEPARATOR, 0, separator, separator.length - LINE_SEPARATOR.length,
+                LINE_SEPARATOR.length);
+    }
+
+    /**
+     * This method appends the bytes to the frame
+     *
+     * @param bytes		the bytes to append
+     */
+    private void append(byte[] bytes) {
+        ensureCapacity(bytes.length);
+        System.arraycopy(bytes, 0, frame, length, bytes.length);
+        length += bytes.length;
+    }
+
+    /**
+     * This method grows the frame so that the specified number of bytes can be appended
+     *
+     * @param count		the number of bytes to append
+     */
+    private void ensureCapacity(int count) {
+        if (length + count > frame.length) {
+            frame = Arrays.copyOf(frame, Math.max(frame.length * 2, length + count));
+        }
+    }
+
+    /**
+     * This method appends spaces to the line
+     *
+     * @param line		the {@link StringBuilder} with the line
+     * @param count		the number of spaces
+     */
+    private static void pad(StringBuilder line, int count) {
+        for (int i = 0; i < count; i++) {
+            line.append(' ');
+        }
+    }
+}
@@ -0,0 +1,235 @@
+package battleship.view;
+
+import java.nio.ByteBuffer;
+
+import battleship.model.Coordinate;
+import battleship.model.Coordinates;
+
+/**
+ * This class parses the commands typed by a player into packed cells, {@code vertical * width + horizontal}.
+ * A command is a list of coordinates separated by spaces, e.g. "A1" for a shot, "A1 A5" for a ship or
+ * "A1 C3 J10" for a salvo. A line may hold several commands separated by ';'.
+ * <p>
+ * The text is read character by character straight from a {@link CharSequence} or a {@link ByteBuffer}
+ * and no strings, arrays or exceptions are created. The rows are labeled by letters like spreadsheet
+ * columns in either case, e.g. "ab12" is the row AB. A parser is reused for every command, the cells
+ * of the last command are kept until the next one is parsed.
+ */
+public final class CommandParser {
+    /**
+     * The result of a command that is not a list of coordinates
+     */
+    public static final int MALFORMED = -1;
+    /**
+     * The result of a command with a coordinate outside the battlefield
+     */
+    public static final int OUT_OF_BOUNDS = -2;
+
+    // number of letters
+    private static final int LETTERS = 26;
+
+    // the coordinates of the battlefield
+    private final Coordinates coordinates;
+    // the cells of the last command, replaced by a longer array when a command has more coordinates
+    private int[] cells;
+    // the number of cells of the last command
+    private int count;
+    // the result of the last command, the number of cells or an error
+    private int result;
+    // the row of the coordinate being read plus one, more than the height if it is too large
+    private int row;
+    // the number of letters of the coordinate being read
+    private int letters;
+    // the column of the coordinate being read plus one, more than the width if it is too large
+    private int column;
+    // the number of digits of the coordinate being read
+    private int digits;
+    // the index of the character after the last command in a character sequence
+    private int end;
+
+    /**
+     * Constructs a parser
+     *
+     * @param coordinates	the {@link Coordinates} of the battlefield
+     */
+    public CommandParser(Coordinates coordinates) {
+        this.coordinates = coordinates;
+        this.cells = new int[8];
+    }
+
+    /**
+     * This method parses the command that starts at the index. The command ends at a ';', which
+     * is skipped, at a line break or at the end of the text.
+     *
+     * @param input		the {@link CharSequence} with the text
+     * @param start		the index of the first character of the command
+     * @return			the number of coordinates, {@link #MALFORMED} or {@link #OUT_OF_BOUNDS}
+     */
+    public int parse(CharSequence input, int start) {
+        reset();
+        int i = start;
+        while (i < input.length()) {
+            char c = input.charAt(i++);
+            if (c == ';' || c == '\n') {
+                break;
+            }
+            accept(c);
+        }
+        end = i;
+        return finish();
+    }
+
+    /**
+     * This method parses the command that starts at the position of the buffer. The command ends at
+     * a ';' or a line break, which is skipped, or at the limit. The position is moved past the command.
+     *
+     * @param input		the {@link ByteBuffer} with the ASCII text
+     * @return			the number of coordinates, {@link #MALFORMED} or {@link #OUT_OF_BOUNDS}
+     */
+    public int parse(ByteBuffer input) {
+        reset();
+        while (input.hasRemaining()) {
+            char c = (char) (input.get() & 0xFF);
+            if (c == ';' || c == '\n') {
+                break;
+            }
+            accept(c);
+        }
+        return finish();
+    }
+
+    /**
+     * This method returns the index of the character after the last command parsed from a character
+     * sequence, the next command of the line starts there
+     *
+     * @return	the index
+     */
+    public int getEnd() {
+        return end;
+    }
+
+    /**
+     * This method returns the number of coordinates of the last command
+     *
+     * @return	the number of coordinates, 0 if the command was rejected
+     */
+    public int getCount() {
+        return result < 0 ? 0 : count;
+    }
+
+    /**
+     * This method returns a cell of the last command
+     *
+     * @param index		the index of the coordinate in the command
+     * @return			the cell, {@code vertical * width + horizontal}
+     */
+    public int getCell(int index) {
+        return cells[index];
+    }
+
+    /**
+     * This method returns a coordinate of the last command
+     *
+     * @param index		the index of the coordinate in the command
+     * @return			the shared {@link Coordinate}
+     */
+    public Coordinate getCoordinate(int index) {
+        return coordinates.get(cells[index]);
+    }
+
+    /**
+     * This method returns the coordinates of the battlefield
+     *
+     * @return	the {@link Coordinates}
+     */
+    public Coordinates getCoordinates() {
+        return coordinates;
+    }
+
+    /**
+     * This method starts a new command
+     */
+    private void reset() {
+        count = 0;
+        result = 0;
+        row = 0;
+        letters = 0;
+        column = 0;
+        digits = 0;
+    }
+
+    /**
+     * This method reads a character of the command, the first error is kept
+     *
+     * @param c		the character
+     */
+    private void accept(char c) {
+        if (c >= 'a' && c <= 'z') {
+            c -= 'a' - 'A';
+        }
+        if (c >= 'A' && c <= 'Z') {
+            if (digits > 0) {
+                fail(MALFORMED);
+            }
+            // a row beyond the battlefield stays beyond it and does not overflow
+            row = Math.min(row * LETTERS + c - 'A' + 1, coordinates.getHeight() + 1);
+            letters++;
+        } else if (c >= '0' && c <= '9') {
+            if (letters == 0) {
+                fail(MALFORMED);
+            }
+            column = Math.min(column * 10 + c - '0', coordinates.getWidth() + 1);
+            digits++;
+        } else if (c == ' ' || c == '\t' || c == '\r') {
+            endCoordinate();
+        } else {
+            fail(MALFORMED);
+        }
+    }
+
+    /**
+     * This method ends the coordinate being read, if there is one, and adds its cell to the command
+     */
+    private void endCoordinate() {
+        if (letters == 0 && digits == 0) {
+            return;
+        }
+        if (digits == 0) {
+            fail(MALFORMED);
+        } else if (row > coordinates.getHeight() || column == 0 || column > coordinates.getWidth()) {
+            fail(OUT_OF_BOUNDS);
+        } else {
+            if (count == cells.length) {
+                int[] longer = new int[2 * count];
+                System.arraycopy(cells, 0, longer, 0, count);
+                cells = longer;
+            }
+            cells[count++] = coordinates.cellOf(row - 1, column - 1);
+        }
+        row = 0;
+        letters = 0;
+        column = 0;
+        digits = 0;
+    }
+
+    /**
+     * This method ends the command
+     *
+     * @return	the number of coordinates, {@link #MALFORMED} or {@link #OUT_OF_BOUNDS}
+     */
+    private int finish() {
+        endCoordinate();
+        return result < 0 ? result : count;
+    }
+
+    /**
+     * This method rejects the command, only the first error is kept
+     *
+     * @param error		{@link #MALFORMED} or {@link #OUT_OF_BOUNDS}
+     */
+    private void fail(int error) {
+        if (result == 0) {
+            result = error;
+        }
+    }
+}
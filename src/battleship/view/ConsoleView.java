@@ -1,264 +1,346 @@
-package battleship.view;
-
-import java.io.BufferedReader;
-import java.io.IOException;
-import java.io.InputStreamReader;
-
-import battleship.controller.GameController;
-import battleship.controller.GameView;
-import battleship.model.Coordinate;
-import battleship.model.ShotResult;
-import battleship.model.field.Mark;
-import battleship.model.ship.ShipType;
-
-/**
- * This class is an implementation of the {@link GameView} in console mode
- */
-public class ConsoleView implements GameView {
-    // BufferedReader to read text from the input stream
-    private final BufferedReader reader;
-    // game controller
-    private GameController controller;
-
-    /**
-     * Constructs ConsoleView
-     */
-    public ConsoleView() {
-        this.reader = new BufferedReader(new InputStreamReader(System.in));
-    }
-
-    @Override
-    public void setController(GameController controller) {
-        this.controller = controller;
-    }
-
-    @Override
-    public void showBattlefield(Mark[][] battlefield) {
-        // print the first line - column numbering
-        System.out.print("  ");
-        for (int i = 1; i <= battlefield[0].length; i++) {
-            System.out.print(i == battlefield[0].length ? i : i + " ");
-        }
-        System.out.println();
-
-        // print the battlefield
-        for (int i = 0; i < battlefield.length; i++) {
-            // print a row iteration with the capital letter
-            System.out.printf("%c ", 'A' + i);
-            // print the row of the battlefield
-            for (int j = 0; j < battlefield[i].length; j++) {
-                System.out.print(battlefield[i][j].getSign());
-
-                if (j < battlefield[i].length - 1) {
-                    System.out.print(" ");
-                }
-            }
-            System.out.println();
-        }
-    }
-
-    @Override
-    public void showBattlefields(Mark[][] enemyBattlefield, Mark[][] playerBattlefield) {
-        showBattlefield(enemyBattlefield);
-        System.out.println("---------------------");
-        showBattlefield(playerBattlefield);
-    }
-
-    @Override
-    public void showWinner(String playerName) {
-        System.out.printf("You sank the last ship. %s won. Congratulations!%n", playerName);
-    }
-
-    @Override
-    public void showShotResult(ShotResult shotResult) {
-        switch (shotResult) {
-            case HIT:
-                System.out.println("You hit a ship!");
-                break;
-            case MISS:
-                System.out.println("You missed!");
-                break;
-            case SANK:
-                System.out.println("You sank a ship!");
-        }
-    }
-
-    @Override
-    public void promptForPlayer() {
-        controller.addPlayer("Player1");
-        controller.addPlayer("Player2");
-    }
-
-    @Override
-    public void promptForShipsPlacement(String playerName) {
-        System.out.printf("%s, place your ships on the game field%n", playerName);
-    }
-
-    @Override
-    public void promptForShipCoordinates(ShipType shipType) {
-        System.out.printf("Enter the coordinates of the %s (%d cells):%n", shipType.getName(), shipType.getSize());
-
-        while (true) {
-            try {
-                Coordinate[] coordinates = getShipCoordinates(shipType);
-                controller.placeShip(shipType, coordinates);
-                break;
-            } catch (IllegalArgumentException e) {
-                printErrorMessage(e.getMessage());
-            }
-        }
-    }
-
-    @Override
-    public void promptForAnotherPlayer() {
-        System.out.println("Press Enter and pass the move to another player");
-        System.out.println("...");
-        readInputData(reader);
-        controller.switchPlayer();
-    }
-
-    @Override
-    public void promptForShot(String playerName) {
-        System.out.printf("%n%s, it's your turn:%n", playerName);
-
-        while (true) {
-            try {
-                Coordinate coordinate = getCoordinate();
-                controller.performShot(coordinate);
-                break;
-            } catch (IllegalArgumentException e) {
-                printErrorMessage(e.getMessage());
-            }
-        }
-    }
-
-    /**
-     * This method reads the input data and converts it into an array with coordinates
-     *
-     * @param shipType						the {@link ShipType}
-     * @return								the {@link Coordinate} array with coordinates for the ship
-     * @throws IllegalArgumentException		if no two coordinates are specified
-     */
-    private Coordinate[] getShipCoordinates(ShipType shipType) throws IllegalArgumentException {
-        String[] coordinates = readInputData(reader).split(" ");
-        if (coordinates.length == 2) {
-            Coordinate a = getCoordinateFromString(coordinates[0]);
-            Coordinate b = getCoordinateFromString(coordinates[1]);
-            return buildShipCoordinates(shipType, a, b);
-        } else {
-            throw new IllegalArgumentException(
-                    "The coordinates must contain only the start and end points of the battleship.");
-        }
-    }
-
-
-    /**
-     * This method reads the input data and converts it into a coordinate
-     *
-     * @return								the converted {@link Coordinate}
-     * @throws IllegalArgumentException		if no single coordinate is specified
-     */
-    private Coordinate getCoordinate() throws IllegalArgumentException {
-        String[] coordinates = readInputData(reader).split(" ");
-        if (coordinates.length == 1 && !coordinates[0].isEmpty()) {
-            return getCoordinateFromString(coordinates[0]);
-        } else {
-            throw new IllegalArgumentException("Enter only one coordinate.");
-        }
-    }
-
-    /**
-     * This method builds the coordinates for the ship
-     *
-     * @param shipType						the {@link ShipType}
-     * @param a								the first {@link Coordinate}
-     * @param b								the second {@link Coordinate}
-     * @return								the {@link Coordinate} array with coordinates for the ship
-     * @throws IllegalArgumentException		if the coordinates do not indicate the correct length of the ship
-     */
-    private Coordinate[] buildShipCoordinates(ShipType shipType, Coordinate a, Coordinate b)
-            throws IllegalArgumentException {
-        if (Math.abs(a.getVertical() - b.getVertical()) + 1 == shipType.getSize()
-                || Math.abs(a.getHorizontal() - b.getHorizontal()) + 1 == shipType.getSize()) {
-
-            Coordinate[] shipCoordinates = new Coordinate[shipType.getSize()];
-
-            if (coordinatesAlignedHorizontally(a, b)) {
-                int vertical = Math.min(a.getVertical(), b.getVertical());
-                for (int i = 0; i < shipCoordinates.length; i++) {
-                    shipCoordinates[i] = new Coordinate(vertical++, a.getHorizontal());
-                }
-            } else {
-                int horizontal = Math.min(a.getHorizontal(), b.getHorizontal());
-                for (int i = 0; i < shipCoordinates.length; i++) {
-                    shipCoordinates[i] = new Coordinate(a.getVertical(), horizontal++);
-                }
-            }
-
-            return shipCoordinates;
-        } else {
-            throw new IllegalArgumentException(String.format("Wrong length of the %s!", shipType.getName()));
-        }
-    }
-
-    /**
-     * This method checks the alignment of coordinates vertically or horizontally
-     *
-     * @param a								the first {@link Coordinate}
-     * @param b								the second {@link Coordinate}
-     * @return								true if the ship is aligned horizontally, false otherwise
-     * @throws IllegalArgumentException		if the coordinates are not in the same row or the same column
-     */
-    private boolean coordinatesAlignedHorizontally(Coordinate a, Coordinate b) throws IllegalArgumentException {
-        if (a.getHorizontal() == b.getHorizontal()) {
-            return true;
-        } else if (a.getVertical() == b.getVertical()) {
-            return false;
-        } else {
-            throw new IllegalArgumentException("Wrong ship location!");
-        }
-    }
-
-    /**
-     * This method converts the string to {@link Coordinate}
-     *
-     * @param coordinate					the {@link String} with coordinate
-     * @return								the converted {@link Coordinate} from the string
-     * @throws IllegalArgumentException		if if the coordinate is incorrect
-     */
-    private Coordinate getCoordinateFromString(String coordinate) throws IllegalArgumentException {
-        int vertical = (int) coordinate.charAt(0) - 65;
-        int horizontal;
-        try {
-            horizontal = Integer.parseInt(coordinate.substring(1)) - 1;
-        } catch (NumberFormatException e) {
-            throw new IllegalArgumentException("Wrong coordinate!");
-        }
-        return new Coordinate(vertical, horizontal);
-    }
-
-    /**
-     * This method reads data from the {@link BufferedReader}
-     *
-     * @param reader	the {@link BufferedReader}
-     * @return			the {@link String} with input data
-     */
-    private String readInputData(BufferedReader reader) {
-        String input = "";
-        try {
-            input = reader.readLine();
-        } catch (IOException e) {
-            System.out.println("Could not read the input data: " + e.getMessage());
-        }
-        return input;
-    }
-
-    /**
-     * This method prints a specified error message
-     *
-     * @param message	{@link String} error message
-     */
-    private void printErrorMessage(String message) {
-        System.out.printf("Error! %s Try again:%n", message);
-    }
-}
+package battleship.view;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+
+import battleship.controller.GameController;
+import battleship.controller.GameView;
+import battleship.model.Coordinate;
+import battleship.model.ShotResult;
+import battleship.model.Validation;
+import battleship.model.field.BoardView;
+import battleship.model.ship.ShipType;
+import battleship.strategy.Bot;
+
+/**
+ * This class is an implementation of the {@link GameView} in console mode
+ */
+public class ConsoleView implements GameView {
+    // BufferedReader to read text from the input stream
+    private final BufferedReader reader;
+    // PrintStream to write text to the output stream
+    private final PrintStream out;
+    // draws the battlefields
+    private final BoardRenderer renderer;
+    // game controller
+    private GameController controller;
+    // the bot playing as the second player, null in a game between two people
+    private final Bot computer;
+    // index of the player who moves now
+    private int current;
+    // the last battlefield of the computer
+    private BoardView computerBattlefield;
+    // the last enemy battlefield of the computer
+    private BoardView computerEnemyBattlefield;
+    // the coordinate of the last shot of the computer
+    private Coordinate computerShot;
+    // parses the input, created for the battlefield of the game
+    private CommandParser parser;
+
+    /**
+     * Constructs ConsoleView
+     */
+    public ConsoleView() {
+        this(null);
+    }
+
+    /**
+     * Constructs ConsoleView for a game against the computer
+     *
+     * @param computer	the {@link Bot} playing as the second player
+     */
+    public ConsoleView(Bot computer) {
+        this(new BufferedReader(new InputStreamReader(System.in)), System.out, computer);
+    }
+
+    /**
+     * Constructs ConsoleView that reads and writes the specified streams
+     *
+     * @param reader	the {@link BufferedReader} to read the input from
+     * @param out		the {@link PrintStream} to write the output to
+     */
+    public ConsoleView(BufferedReader reader, PrintStream out) {
+        this(reader, out, null);
+    }
+
+    /**
+     * Constructs ConsoleView that reads and writes the specified streams
+     *
+     * @param reader	the {@link BufferedReader} to read the input from
+     * @param out		the {@link PrintStream} to write the output to
+     * @param computer	the {@link Bot} playing as the second player, null in a game between two people
+     */
+    public ConsoleView(BufferedReader reader, PrintStream out, Bot computer) {
+        this.reader = reader;
+        this.out = out;
+        this.renderer = new BoardRenderer();
+        this.computer = computer;
+    }
+
+    @Override
+    public void setController(GameController controller) {
+        this.controller = controller;
+    }
+
+    @Override
+    public void showBattlefield(BoardView battlefield) {
+        if (isComputerTurn()) {
+            computerBattlefield = battlefield;
+            return;
+        }
+        renderer.drawBattlefield(battlefield);
+        renderer.writeTo(out);
+    }
+
+    @Override
+    public void showBattlefields(BoardView enemyBattlefield, BoardView playerBattlefield) {
+        if (isComputerTurn()) {
+            computerEnemyBattlefield = enemyBattlefield;
+            return;
+        }
+        renderer.drawBattlefield(enemyBattlefield);
+        renderer.drawSeparator(playerBattlefield);
+        renderer.drawBattlefield(playerBattlefield);
+        renderer.writeTo(out);
+    }
+
+    @Override
+    public void showWinner(String playerName) {
+        out.printf("You sank the last ship. %s won. Congratulations!%n", playerName);
+    }
+
+    @Override
+    public void showShotResult(ShotResult shotResult) {
+        if (isComputerTurn()) {
+            computer.getShotStrategy().shotResult(computerShot, shotResult);
+            showComputerShotResult(shotResult);
+            return;
+        }
+
+        switch (shotResult) {
+            case HIT:
+                out.println("You hit a ship!");
+                break;
+            case MISS:
+                out.println("You missed!");
+                break;
+            case SANK:
+                out.println("You sank a ship!");
+        }
+    }
+
+    @Override
+    public void promptForPlayer() {
+        controller.addPlayer("Player1");
+        controller.addPlayer("Player2");
+    }
+
+    @Override
+    public void promptForShipsPlacement(String playerName) {
+        if (isComputerTurn()) {
+            out.printf("%s places the ships on the game field%n", playerName);
+            return;
+        }
+        out.printf("%s, place your ships on the game field%n", playerName);
+    }
+
+    @Override
+    public void promptForShipCoordinates(ShipType shipType) {
+        if (isComputerTurn()) {
+            placeComputerShip(shipType);
+            return;
+        }
+
+        out.printf("Enter the coordinates of the %s (%d cells):%n", shipType.getName(), shipType.getSize());
+
+        while (true) {
+            try {
+                Coordinate[] coordinates = getShipCoordinates(shipType);
+                controller.placeShip(shipType, coordinates);
+                break;
+            } catch (IllegalArgumentException e) {
+                printErrorMessage(e.getMessage());
+            }
+        }
+    }
+
+    @Override
+    public void promptForAnotherPlayer() {
+        // there is no need to pass the move when playing against the computer
+        if (computer == null) {
+            out.println("Press Enter and pass the move to another player");
+            out.println("...");
+            readInputData(reader);
+        }
+        current = 1 - current;
+        controller.switchPlayer();
+    }
+
+    @Override
+    public void promptForShot(String playerName) {
+        if (isComputerTurn()) {
+            computerShot = computer.getShotStrategy().nextShot(computerEnemyBattlefield);
+            out.printf("%n%s shoots at %s%n", playerName, coordinateToString(computerShot));
+            controller.performShot(computerShot);
+            return;
+        }
+
+        out.printf("%n%s, it's your turn:%n", playerName);
+
+        while (true) {
+            try {
+                Coordinate coordinate = getCoordinate();
+                controller.performShot(coordinate);
+                break;
+            } catch (IllegalArgumentException e) {
+                printErrorMessage(e.getMessage());
+            }
+        }
+    }
+
+    @Override
+    public void promptForSalvo(String playerName, int count) {
+        if (isComputerTurn()) {
+            Coordinate[] salvo = new Coordinate[count];
+            computer.getShotStrategy().nextShots(computerEnemyBattlefield, salvo, count);
+            out.printf("%n%s fires a salvo%n", playerName);
+            controller.performSalvo(salvo);
+            return;
+        }
+
+        out.printf("%n%s, it's your turn, fire %d shots:%n", playerName, count);
+
+        while (true) {
+            try {
+                Coordinate[] salvo = InputParser.salvoCoordinates(parser(), readInputData(reader), count);
+                controller.performSalvo(salvo);
+                break;
+            } catch (IllegalArgumentException e) {
+                printErrorMessage(e.getMessage());
+            }
+        }
+    }
+
+    @Override
+    public void showSalvoResults(Coordinate[] coordinates, ShotResult[] shotResults) {
+        for (int i = 0; i < coordinates.length; i++) {
+            computerShot = coordinates[i];
+            out.printf("%s: ", coordinateToString(coordinates[i]));
+            showShotResult(shotResults[i]);
+        }
+    }
+
+    /**
+     * This method checks if the computer moves now
+     *
+     * @return	true if the computer moves now, false otherwise
+     */
+    private boolean isComputerTurn() {
+        return computer != null && current == 1;
+    }
+
+    /**
+     * This method places the ship of the computer, the placement is repeated until it is accepted
+     *
+     * @param shipType	the {@link ShipType}
+     */
+    private void placeComputerShip(ShipType shipType) {
+        while (controller.tryPlaceShip(shipType,
+                computer.getPlacementStrategy().shipCoordinates(shipType, computerBattlefield)) != Validation.OK) {
+            // the ship is too close to another one, the computer tries again
+        }
+    }
+
+    /**
+     * This method displays the result of the shot of the computer
+     *
+     * @param shotResult    the {@link ShotResult}
+     */
+    private void showComputerShotResult(ShotResult shotResult) {
+        switch (shotResult) {
+            case HIT:
+                out.println("The computer hit your ship!");
+                break;
+            case MISS:
+                out.println("The computer missed!");
+                break;
+            case SANK:
+                out.println("The computer sank your ship!");
+        }
+    }
+
+    /**
+     * This method converts the {@link Coordinate} to the string
+     *
+     * @param coordinate	the {@link Coordinate}
+     * @return				the {@link String} with the coordinate, e.g. "A1"
+     */
+    private String coordinateToString(Coordinate coordinate) {
+        return RowLabel.of(coordinate.getVertical()) + (coordinate.getHorizontal() + 1);
+    }
+
+    /**
+     * This method reads the input data and converts it into an array with coordinates
+     *
+     * @param shipType						the {@link ShipType}
+     * @return								the {@link Coordinate} array with coordinates for the ship
+     * @throws IllegalArgumentException		if no two coordinates are specified
+     */
+    private Coordinate[] getShipCoordinates(ShipType shipType) throws IllegalArgumentException {
+        return InputParser.shipCoordinates(parser(), readInputData(reader), shipType);
+    }
+
+    /**
+     * This method reads the input data and converts it into a coordinate
+     *
+     * @return								the converted {@link Coordinate}
+     * @throws IllegalArgumentException		if no single coordinate is specified
+     */
+    private Coordinate getCoordinate() throws IllegalArgumentException {
+        return InputParser.coordinate(parser(), readInputData(reader));
+    }
+
+    /**
+     * This method returns the parser of the input
+     *
+     * @return	the {@link CommandParser} for the battlefield of the game
+     */
+    private CommandParser parser() {
+        if (parser == null) {
+            parser = new CommandParser(controller.getRules().getCoordinates());
+        }
+        return parser;
+    }
+
+    /**
+     * This method flushes the output and reads data from the {@link BufferedReader}
+     *
+     * @param reader					the {@link BufferedReader}
+     * @return							the {@link String} with input data
+     * @throws IllegalStateException	if the input has ended or could not be read
+     */
+    private String readInputData(BufferedReader reader) throws IllegalStateException {
+        out.flush();
+        String input;
+        try {
+            input = reader.readLine();
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not read the input data: " + e.getMessage(), e);
+        }
+        if (input == null) {
+            throw new IllegalStateException("The input has ended.");
+        }
+        return input;
+    }
+
+    /**
+     * This method prints a specified error message
+     *
+     * @param message	{@link String} error message
+     */
+    private void printErrorMessage(String message) {
+        out.printf("Error! %s Try again:%n", message);
+    }
+}
@@ -0,0 +1,144 @@
+package battleship.view;
+
+import battleship.model.Coordinate;
+import battleship.model.Coordinates;
+import battleship.model.Validation;
+import battleship.model.ship.ShipType;
+
+/**
+ * This class converts the lines typed by a player to coordinates, e.g. "A1" for a shot,
+ * "A1 A5" for a ship and "A1 C3 J10" for a salvo. The lines are parsed by a {@link CommandParser},
+ * this class turns its results into the messages shown to the player. The views that read the
+ * same input share it.
+ */
+final class InputParser {
+
+    private InputParser() {
+    }
+
+    /**
+     * This method converts the line into an array with coordinates of the ship
+     *
+     * @param parser						the {@link CommandParser} of the battlefield
+     * @param input							the {@link CharSequence} line with the start and end points of the ship
+     * @param shipType						the {@link ShipType}
+     * @return								the {@link Coordinate} array with coordinates for the ship
+     * @throws IllegalArgumentException		if no two coordinates are specified
+     */
+    static Coordinate[] shipCoordinates(CommandParser parser, CharSequence input, ShipType shipType)
+            throws IllegalArgumentException {
+        if (parse(parser, input) != 2) {
+            throw new IllegalArgumentException(
+                    "The coordinates must contain only the start and end points of the battleship.");
+        }
+        Coordinate[] shipCoordinates = new Coordinate[shipType.getSize()];
+        switch (shipCoordinates(parser.getCoordinates(), parser.getCell(0), parser.getCell(1), shipCoordinates)) {
+            case WRONG_LENGTH:
+                throw new IllegalArgumentException(String.format("Wrong length of the %s!", shipType.getName()));
+            case NOT_ALIGNED:
+                throw new IllegalArgumentException("Wrong ship location!");
+            default:
+                return shipCoordinates;
+        }
+    }
+
+    /**
+     * This method converts the line into a coordinate
+     *
+     * @param parser						the {@link CommandParser} of the battlefield
+     * @param input							the {@link CharSequence} line with one coordinate
+     * @return								the converted {@link Coordinate}
+     * @throws IllegalArgumentException		if no single coordinate is specified
+     */
+    static Coordinate coordinate(CommandParser parser, CharSequence input) throws IllegalArgumentException {
+        if (parse(parser, input) != 1) {
+            throw new IllegalArgumentException("Enter only one coordinate.");
+        }
+        return parser.getCoordinate(0);
+    }
+
+    /**
+     * This method converts the line into the coordinates of a salvo
+     *
+     * @param parser						the {@link CommandParser} of the battlefield
+     * @param input							the {@link CharSequence} line with the coordinates separated by spaces
+     * @param count							the number of shots of the salvo
+     * @return								the {@link Coordinate} array with the coordinates of the shots
+     * @throws IllegalArgumentException		if not exactly count coordinates are specified
+     */
+    static Coordinate[] salvoCoordinates(CommandParser parser, CharSequence input, int count)
+            throws IllegalArgumentException {
+        if (parse(parser, input) != count) {
+            throw new IllegalArgumentException(String.format("Enter %d coordinates.", count));
+        }
+        return salvoCoordinates(parser, count);
+    }
+
+    /**
+     * This method copies the coordinates of the last command of the parser into a salvo
+     *
+     * @param parser	the {@link CommandParser} that has parsed the salvo
+     * @param count		the number of shots of the salvo
+     * @return			the {@link Coordinate} array with the coordinates of the shots
+     */
+    static Coordinate[] salvoCoordinates(CommandParser parser, int count) {
+        Coordinate[] salvo = new Coordinate[count];
+        for (int i = 0; i < count; i++) {
+            salvo[i] = parser.getCoordinate(i);
+        }
+        return salvo;
+    }
+
+    /**
+     * This method builds the coordinates for the ship between the start and end points
+     *
+     * @param cells				the {@link Coordinates} of the battlefield
+     * @param a					the cell of the first point
+     * @param b					the cell of the second point
+     * @param shipCoordinates	the {@link Coordinate} array of the length of the ship the coordinates are written to
+     * @return					{@link Validation#OK}, {@link Validation#WRONG_LENGTH} if the points do not indicate
+     * 							the length of the ship or {@link Validation#NOT_ALIGNED} if they are not in one line
+     */
+    static Validation shipCoordinates(Coordinates cells, int a, int b, Coordinate[] shipCoordinates) {
+        int aVertical = cells.verticalOf(a);
+        int aHorizontal = cells.horizontalOf(a);
+        int bVertical = cells.verticalOf(b);
+        int bHorizontal = cells.horizontalOf(b);
+        int length = shipCoordinates.length;
+        if (Math.abs(aVertical - bVertical) + 1 != length && Math.abs(aHorizontal - bHorizontal) + 1 != length) {
+            return Validation.WRONG_LENGTH;
+        }
+
+        if (aHorizontal == bHorizontal) {
+            int vertical = Math.min(aVertical, bVertical);
+            for (int i = 0; i < length; i++) {
+                shipCoordinates[i] = cells.get(vertical++, aHorizontal);
+            }
+        } else if (aVertical == bVertical) {
+            int horizontal = Math.min(aHorizontal, bHorizontal);
+            for (int i = 0; i < length; i++) {
+                shipCoordinates[i] = cells.get(aVertical, horizontal++);
+            }
+        } else {
+            return Validation.NOT_ALIGNED;
+        }
+        return Validation.OK;
+    }
+
+    /**
+     * This method parses the line, which must hold a single command
+     *
+     * @param parser						the {@link CommandParser} of the battlefield
+     * @param input							the {@link CharSequence} line
+     * @return								the number of coordinates
+     * @throws IllegalArgumentException		if a coordinate is incorrect
+     */
+    private static int parse(CommandParser parser, CharSequence input) throws IllegalArgumentException {
+        int count = parser.parse(input, 0);
+        if (count < 0) {
+            throw new IllegalArgumentException("Wrong coordinate!");
+        }
+        // a second command on the line does not belong to this prompt
+        return parser.getEnd() < input.length() ? -1 : count;
+    }
+}
@@ -0,0 +1,41 @@
+package battleship.view;
+
+/**
+ * This class converts row numbers to letters. The rows are labeled
+ * like spreadsheet columns: A to Z, then AA to AZ, BA and so on.
+ */
+public final class RowLabel {
+    // number of letters
+    private static final int LETTERS = 26;
+
+    private RowLabel() {
+    }
+
+    /**
+     * This method returns the label of the row
+     *
+     * @param row	the row starting from 0
+     * @return		the {@link String} label
+     */
+    public static String of(int row) {
+        StringBuilder label = new StringBuilder();
+        for (int n = row + 1; n > 0; n = (n - 1) / LETTERS) {
+            label.append((char) ('A' + (n - 1) % LETTERS));
+        }
+        return label.reverse().toString();
+    }
+
+    /**
+     * This method returns the length of the longest label of the battlefield rows
+     *
+     * @param height	battlefield height
+     * @return			the number of letters
+     */
+    public static int width(int height) {
+        int width = 1;
+        for (long rows = LETTERS; rows < height; rows = rows * LETTERS + LETTERS) {
+            width++;
+        }
+        return width;
+    }
+}
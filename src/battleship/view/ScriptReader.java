@@ -0,0 +1,85 @@
+package battleship.view;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * This class reads the commands of a game script, the same lines a player types in the console.
+ * The file is mapped into memory and the commands are parsed straight from it by a {@link CommandParser},
+ * a script is ASCII. Empty lines, which pass the move in the console, and lines starting with '#' are skipped.
+ */
+public class ScriptReader implements Closeable {
+    // the channel of the script file
+    private final FileChannel channel;
+    // the mapped script
+    private final MappedByteBuffer script;
+
+    /**
+     * Constructs a reader of the script file
+     *
+     * @param file			the {@link Path} of the script file
+     * @throws IOException	if the file could not be mapped
+     */
+    public ScriptReader(Path file) throws IOException {
+        this.channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException(file + " is too large for a script.");
+            }
+            this.script = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * This method checks if the script has another line to read
+     *
+     * @return	true if a line that is not skipped follows, false otherwise
+     */
+    public boolean hasNextLine() {
+        skipLines();
+        return script.hasRemaining();
+    }
+
+    /**
+     * This method parses the next command straight from the script, without creating a line. A line
+     * may hold several commands separated by ';', the next command of the line is parsed by the next call.
+     *
+     * @param parser	the {@link CommandParser}
+     * @return			the number of coordinates, {@link CommandParser#MALFORMED} or
+     * 					{@link CommandParser#OUT_OF_BOUNDS}, 0 if the script has ended
+     */
+    public int nextCommand(CommandParser parser) {
+        skipLines();
+        return script.hasRemaining() ? parser.parse(script) : 0;
+    }
+
+    /**
+     * This method moves the position past the empty lines and the comments
+     */
+    private void skipLines() {
+        while (script.hasRemaining()) {
+            byte b = script.get(script.position());
+            if (b == '\n' || b == '\r') {
+                script.get();
+            } else if (b == '#') {
+                while (script.hasRemaining() && script.get() != '\n') {
+                    // the rest of the comment
+                }
+            } else {
+                return;
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}